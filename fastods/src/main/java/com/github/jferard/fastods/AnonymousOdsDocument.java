@@ -28,6 +28,8 @@ import com.github.jferard.fastods.odselement.ScriptEventListener;
 import com.github.jferard.fastods.util.AutoFilter;
 import com.github.jferard.fastods.util.Container;
 import com.github.jferard.fastods.util.PilotTable;
+import com.github.jferard.fastods.util.RawZipEntry;
+import com.github.jferard.fastods.util.XMLUTF8Writer;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
@@ -114,6 +116,12 @@ public final class AnonymousOdsDocument implements OdsDocument {
         this.commonOdsDocument.addExtraFile(fullPath, mediaType, bytes);
     }
 
+    @Override
+    public void addExtraRawFile(final String fullPath, final String mediaType,
+                                final RawZipEntry rawEntry) {
+        this.commonOdsDocument.addExtraRawFile(fullPath, mediaType, rawEntry);
+    }
+
     @Override
     public void addExtraDir(final String fullPath) {
         this.commonOdsDocument.addExtraDir(fullPath);
@@ -231,8 +239,8 @@ public final class AnonymousOdsDocument implements OdsDocument {
      * @throws IOException if the document can't be saved
      */
     void save(final ZipUTF8Writer writer) throws IOException {
-        this.odsElements.createEmptyElements(writer);
         this.odsElements.writeMimeType(this.xmlUtil, writer);
+        this.odsElements.createEmptyElements(writer);
         this.odsElements.writeMeta(this.xmlUtil, writer);
         this.odsElements.writeStyles(this.xmlUtil, writer);
         this.odsElements.writeContent(this.xmlUtil, writer);
@@ -241,4 +249,16 @@ public final class AnonymousOdsDocument implements OdsDocument {
         this.odsElements.writeExtras(writer);
         this.logger.log(Level.FINE, "file saved");
     }
+
+    /**
+     * Saves a flat XML document (.fods).
+     * Do not close the writer.
+     *
+     * @param writer where to write
+     * @throws IOException if the document can't be saved
+     */
+    void saveFlat(final XMLUTF8Writer writer) throws IOException {
+        this.odsElements.writeFlat(this.xmlUtil, writer);
+        this.logger.log(Level.FINE, "flat file saved");
+    }
 }
@@ -23,6 +23,7 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.FlatUTF8Writer;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 import com.github.jferard.fastods.util.ZipUTF8WriterBuilder;
 import com.github.jferard.fastods.util.ZipUTF8WriterImpl;
@@ -47,6 +48,7 @@ import java.util.logging.Logger;
 public class AnonymousOdsFileWriter {
     private final AnonymousOdsDocument document;
     private final Logger logger;
+    private final OdsDocumentStats stats;
 
     /**
      * Create a new ODS file.
@@ -55,8 +57,21 @@ public class AnonymousOdsFileWriter {
      * @param document the document to write
      */
     AnonymousOdsFileWriter(final Logger logger, final AnonymousOdsDocument document) {
+        this(logger, document, null);
+    }
+
+    /**
+     * Create a new ODS file.
+     *
+     * @param logger   the logger
+     * @param document the document to write
+     * @param stats    the stats of the document, or null
+     */
+    AnonymousOdsFileWriter(final Logger logger, final AnonymousOdsDocument document,
+                           final OdsDocumentStats stats) {
         this.logger = logger;
         this.document = document;
+        this.stats = stats;
     }
 
     /**
@@ -87,7 +102,7 @@ public class AnonymousOdsFileWriter {
      * @throws IOException The file can't be saved.
      */
     public void save(final OutputStream out, final ZipUTF8WriterBuilder builder) throws IOException {
-        final ZipUTF8Writer writer = builder.build(out);
+        final ZipUTF8Writer writer = builder.build(this.countBytes(out));
         this.save(writer);
         writer.finish(); // ensures the zip file is well formed
         writer.flush();
@@ -101,7 +116,63 @@ public class AnonymousOdsFileWriter {
      * @throws IOException If an I/O error occurs during the save
      */
     public void save(final ZipUTF8Writer writer) throws IOException {
-        this.document.save(writer);
+        try {
+            this.document.save(writer);
+        } finally {
+            this.unregisterStats();
+        }
+    }
+
+    /**
+     * Writes the document to a stream as a flat XML document (.fods): no zip archive, no
+     * extra file.
+     * WARNING: The user shall close the stream.
+     *
+     * @param out The OutputStream that should be used.
+     * @throws IOException The file can't be saved.
+     */
+    public void saveFlat(final OutputStream out) throws IOException {
+        try {
+            final FlatUTF8Writer writer = FlatUTF8Writer.create(this.countBytes(out));
+            this.document.saveFlat(writer);
+            writer.flush();
+        } finally {
+            this.unregisterStats();
+        }
+    }
+
+    /**
+     * Save the new file as a flat XML document (.fods).
+     *
+     * @param file the destination file
+     * @throws IOException If an I/O error occurs
+     */
+    public void saveFlatAs(final File file) throws IOException {
+        try {
+            final FileOutputStream out = new FileOutputStream(file);
+            try {
+                this.saveFlat(out);
+            } finally {
+                out.close();
+            }
+        } catch (final FileNotFoundException e) {
+            this.logger.log(Level.SEVERE, "Can't open " + file, e);
+            throw new IOException(e);
+        }
+    }
+
+    private void unregisterStats() {
+        if (this.stats != null) {
+            this.stats.unregister();
+        }
+    }
+
+    private OutputStream countBytes(final OutputStream out) {
+        if (this.stats == null) {
+            return out;
+        } else {
+            return this.stats.countBytes(out);
+        }
     }
 
     /**
@@ -162,7 +233,7 @@ public class AnonymousOdsFileWriter {
     public void saveAs(final File file, final ZipUTF8WriterBuilder builder) throws IOException {
         try {
             final FileOutputStream out = new FileOutputStream(file);
-            final ZipUTF8Writer writer = builder.build(out);
+            final ZipUTF8Writer writer = builder.build(this.countBytes(out));
             try {
                 this.save(writer);
             } finally {
@@ -23,6 +23,7 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.XMLUTF8Writer;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
@@ -34,7 +35,7 @@ import java.io.IOException;
  *
  * @author Julien Férard
  */
-public class BeginTableFlusher implements OdsAsyncFlusher {
+public class BeginTableFlusher implements OdsXMLFlusher {
     private final TableAppender appender;
 
     /**
@@ -46,6 +47,12 @@ public class BeginTableFlusher implements OdsAsyncFlusher {
 
     @Override
     public void flushInto(final XMLUtil xmlUtil, final ZipUTF8Writer writer) throws IOException {
+        this.flushXMLInto(xmlUtil, writer);
+    }
+
+    @Override
+    public void flushXMLInto(final XMLUtil xmlUtil, final XMLUTF8Writer writer)
+            throws IOException {
         this.appender.appendPreambleOnce(xmlUtil, writer);
     }
 
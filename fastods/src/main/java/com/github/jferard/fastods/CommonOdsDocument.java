@@ -33,6 +33,7 @@ import com.github.jferard.fastods.style.TableStyle;
 import com.github.jferard.fastods.util.AutoFilter;
 import com.github.jferard.fastods.util.Container;
 import com.github.jferard.fastods.util.PilotTable;
+import com.github.jferard.fastods.util.RawZipEntry;
 
 import java.io.IOException;
 import java.util.List;
@@ -228,6 +229,12 @@ class CommonOdsDocument implements OdsDocument {
         this.odsElements.addExtraFile(fullPath, mediaType, bytes);
     }
 
+    @Override
+    public void addExtraRawFile(final String fullPath, final String mediaType,
+                                final RawZipEntry rawEntry) {
+        this.odsElements.addExtraRawFile(fullPath, mediaType, rawEntry);
+    }
+
     @Override
     public void addExtraDir(final String fullPath) {
         this.odsElements.addExtraDir(fullPath);
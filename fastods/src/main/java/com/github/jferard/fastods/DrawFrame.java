@@ -65,7 +65,7 @@ public class DrawFrame implements Shape {
         util.appendAttribute(appendable, "draw:name", this.name);
         util.appendAttribute(appendable, "draw:z-index", this.zIndex);
         if (this.drawStyle != null) {
-            util.appendAttribute(appendable, "draw:style-name", this.drawStyle.getName());
+            this.drawStyle.getNameAttribute().appendTo(appendable);
         }
         if (this.textStyle != null) {
             util.appendAttribute(appendable, "draw:text-style-name", this.textStyle.getName());
@@ -23,6 +23,7 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.XMLUTF8Writer;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
@@ -31,11 +32,12 @@ import java.util.Collections;
 import java.util.List;
 
 /**
- * An async flusher for the end of the table. Writes remaining rows and the table postamble.
+ * An async flusher for the end of the table. Writes remaining rows, the rows of the row source
+ * and the table postamble.
  *
  * @author Julien Férard
  */
-public class EndTableFlusher implements OdsAsyncFlusher {
+public class EndTableFlusher implements OdsXMLFlusher {
     private final TableAppender appender;
     private final List<TableRowImpl> rows;
 
@@ -50,11 +52,16 @@ public class EndTableFlusher implements OdsAsyncFlusher {
 
     @Override
     public void flushInto(final XMLUtil xmlUtil, final ZipUTF8Writer writer) throws IOException {
-        for (final TableRowImpl row : this.rows) {
-            TableRowImpl.appendXMLToTable(row, xmlUtil, writer);
-        }
+        this.flushXMLInto(xmlUtil, writer);
+    }
+
+    @Override
+    public void flushXMLInto(final XMLUtil xmlUtil, final XMLUTF8Writer writer)
+            throws IOException {
+        TableAppender.appendRowList(xmlUtil, writer, this.rows);
         // free rows
         Collections.fill(this.rows, null);
+        this.appender.appendRowSource(xmlUtil, writer);
         this.appender.appendPostamble(writer);
     }
 
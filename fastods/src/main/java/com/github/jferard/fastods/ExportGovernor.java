@@ -0,0 +1,164 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import java.io.InterruptedIOException;
+
+/**
+ * A governor shared by the background writers of one or several factories. It bounds the
+ * memory of the rows that are queued by all the documents, and the number of writer threads
+ * that compress and write at the same time.
+ * <p>
+ * A producer gets credits for every batch of preprocessed rows it queues, and waits if the
+ * budget is exhausted. The credits are given back when the batch is written. A batch that is
+ * larger than the budget is accepted if no other batch is queued.
+ * <p>
+ * Only the documents created by {@link OdsFactory#createBackgroundWriter(java.io.File)} are
+ * governed. The escaper caches of a document are not counted: they are bounded on their own.
+ *
+ * @author Julien Férard
+ */
+public class ExportGovernor {
+    /**
+     * @param maxQueuedSize the maximum number of preprocessed chars queued by all the documents
+     * @param maxWorkers    the maximum number of writer threads that write at the same time
+     * @return the governor
+     */
+    public static ExportGovernor create(final long maxQueuedSize, final int maxWorkers) {
+        if (maxQueuedSize <= 0 || maxWorkers <= 0) {
+            throw new IllegalArgumentException(
+                    "Expected a positive budget, got " + maxQueuedSize + "/" + maxWorkers);
+        }
+        return new ExportGovernor(maxQueuedSize, maxWorkers);
+    }
+
+    private final long maxQueuedSize;
+    private final int maxWorkers;
+    private long queuedSize;
+    private int workerCount;
+    private int documentCount;
+
+    /**
+     * @param maxQueuedSize the maximum number of preprocessed chars queued by all the documents
+     * @param maxWorkers    the maximum number of writer threads that write at the same time
+     */
+    ExportGovernor(final long maxQueuedSize, final int maxWorkers) {
+        this.maxQueuedSize = maxQueuedSize;
+        this.maxWorkers = maxWorkers;
+    }
+
+    /**
+     * Register a new document
+     */
+    synchronized void register() {
+        this.documentCount++;
+    }
+
+    /**
+     * Unregister a document that was written or that failed
+     */
+    synchronized void unregister() {
+        this.documentCount--;
+    }
+
+    /**
+     * Get credits for a batch of rows. Waits while the budget is exhausted.
+     *
+     * @param size the size of the batch
+     * @throws InterruptedIOException if the thread was interrupted
+     */
+    synchronized void acquireCredits(final long size) throws InterruptedIOException {
+        while (this.queuedSize > 0 && this.queuedSize + size > this.maxQueuedSize) {
+            this.await();
+        }
+        this.queuedSize += size;
+    }
+
+    /**
+     * Give back the credits of a batch of rows.
+     *
+     * @param size the size of the batch
+     */
+    synchronized void releaseCredits(final long size) {
+        this.queuedSize -= size;
+        this.notifyAll();
+    }
+
+    /**
+     * Get a place for a writer thread. Waits while the max number of workers are writing.
+     *
+     * @throws InterruptedIOException if the thread was interrupted
+     */
+    synchronized void acquireWorker() throws InterruptedIOException {
+        while (this.workerCount >= this.maxWorkers) {
+            this.await();
+        }
+        this.workerCount++;
+    }
+
+    /**
+     * Give back the place of a writer thread
+     */
+    synchronized void releaseWorker() {
+        this.workerCount--;
+        this.notifyAll();
+    }
+
+    /**
+     * @return the number of preprocessed chars queued by all the documents
+     */
+    public synchronized long getQueuedSize() {
+        return this.queuedSize;
+    }
+
+    /**
+     * @return the max number of preprocessed chars queued by all the documents
+     */
+    public long getMaxQueuedSize() {
+        return this.maxQueuedSize;
+    }
+
+    /**
+     * @return the number of writer threads that are writing
+     */
+    public synchronized int getWorkerCount() {
+        return this.workerCount;
+    }
+
+    /**
+     * @return the number of registered documents, that are not written yet
+     */
+    public synchronized int getDocumentCount() {
+        return this.documentCount;
+    }
+
+    private void await() throws InterruptedIOException {
+        try {
+            this.wait();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the governor");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.ref.PositionUtil;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A formula of a column, with relative references. The placeholders are:
+ * <ul>
+ * <li>{r}, {r+n}, {r-n}: the number of the row (1 for the first row), plus or minus n;</li>
+ * <li>{c}, {c+n}, {c-n}: the letters of the column, plus or minus n.</li>
+ * </ul>
+ * E.g. "[.B{r}]*[.{c-1}{r}]" in the column D gives "[.B7]*[.C7]" in the row 7.
+ * <p>
+ * The template is escaped once: the cell is written by splicing the row number between
+ * the escaped fragments.
+ *
+ * @author J. Férard
+ */
+class FormulaTemplate {
+    private static final String CELL_START = "<table:table-cell table:formula=\"of:=";
+    private static final String CELL_END = "\"/>";
+
+    /**
+     * @param xmlUtil     an util to escape the fragments
+     * @param columnIndex the index of the column
+     * @param template    the template of the formula, without = sign
+     * @return the template
+     */
+    static FormulaTemplate create(final XMLUtil xmlUtil, final int columnIndex,
+                                  final String template) {
+        final List<String> fragments = new ArrayList<String>();
+        final List<Integer> rowOffsets = new ArrayList<Integer>();
+        final StringBuilder fragment = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            final char c = template.charAt(i);
+            final int end = FormulaTemplate.placeholderEnd(template, i);
+            if (end == -1) {
+                fragment.append(c);
+                i++;
+                continue;
+            }
+            final int offset = FormulaTemplate.parseOffset(template, i + 2, end);
+            if (template.charAt(i + 1) == 'c') {
+                FormulaTemplate.appendColumnLetters(fragment, columnIndex + offset);
+            } else {
+                fragments.add(xmlUtil.escapeXMLAttribute(fragment.toString()));
+                rowOffsets.add(offset);
+                fragment.setLength(0);
+            }
+            i = end + 1;
+        }
+        fragments.add(xmlUtil.escapeXMLAttribute(fragment.toString()));
+
+        final int count = rowOffsets.size();
+        final String[] escapedFragments = fragments.toArray(new String[count + 1]);
+        escapedFragments[0] = CELL_START + escapedFragments[0];
+        escapedFragments[count] = escapedFragments[count] + CELL_END;
+        final int[] offsets = new int[count];
+        for (int j = 0; j < count; j++) {
+            offsets[j] = rowOffsets.get(j);
+        }
+        return new FormulaTemplate(columnIndex, escapedFragments, offsets);
+    }
+
+    /**
+     * @return the index of the closing brace of the placeholder at i, or -1 if there is no
+     * placeholder at i ({1;2} is an inline array).
+     */
+    private static int placeholderEnd(final String template, final int i) {
+        if (template.charAt(i) != '{' || i + 2 >= template.length()) {
+            return -1;
+        }
+        final char kind = template.charAt(i + 1);
+        if (kind != 'r' && kind != 'c') {
+            return -1;
+        }
+        int j = i + 2;
+        if (template.charAt(j) == '+' || template.charAt(j) == '-') {
+            j++;
+            final int digitsStart = j;
+            while (j < template.length() && Character.isDigit(template.charAt(j))) {
+                j++;
+            }
+            if (j == digitsStart) {
+                return -1;
+            }
+        }
+        if (j < template.length() && template.charAt(j) == '}') {
+            return j;
+        }
+        return -1;
+    }
+
+    private static int parseOffset(final String template, final int start, final int end) {
+        if (start == end) {
+            return 0;
+        }
+        final int value = Integer.parseInt(template.substring(start + 1, end));
+        return template.charAt(start) == '-' ? -value : value;
+    }
+
+    private static void appendColumnLetters(final StringBuilder sb, final int columnIndex) {
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException("Negative column in formula: " + columnIndex);
+        }
+        sb.append(PositionUtil.getColumnLetters(columnIndex));
+    }
+
+    private final int columnIndex;
+    private final String[] escapedFragments;
+    private final int[] rowOffsets;
+
+    /**
+     * @param columnIndex      the index of the column
+     * @param escapedFragments the escaped fragments, the first one starts with the cell tag,
+     *                         the last one ends with the end of the cell tag
+     * @param rowOffsets       the offsets of the row placeholders between the fragments
+     */
+    FormulaTemplate(final int columnIndex, final String[] escapedFragments,
+                    final int[] rowOffsets) {
+        this.columnIndex = columnIndex;
+        this.escapedFragments = escapedFragments;
+        this.rowOffsets = rowOffsets;
+    }
+
+    /**
+     * @return the index of the column
+     */
+    int getColumnIndex() {
+        return this.columnIndex;
+    }
+
+    /**
+     * Append the cell of this column in a given row.
+     *
+     * @param appendable the destination
+     * @param rowIndex   the index of the row
+     * @throws IOException if an I/O error occurs
+     */
+    void appendXMLToTableRow(final Appendable appendable, final int rowIndex)
+            throws IOException {
+        appendable.append(this.escapedFragments[0]);
+        for (int i = 0; i < this.rowOffsets.length; i++) {
+            final int rowNumber = rowIndex + 1 + this.rowOffsets[i];
+            if (appendable instanceof StringBuilder) {
+                ((StringBuilder) appendable).append(rowNumber);
+            } else {
+                appendable.append(Integer.toString(rowNumber));
+            }
+            appendable.append(this.escapedFragments[i + 1]);
+        }
+    }
+}
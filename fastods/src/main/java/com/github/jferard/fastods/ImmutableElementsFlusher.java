@@ -50,8 +50,8 @@ public class ImmutableElementsFlusher implements OdsAsyncFlusher {
 
     @Override
     public void flushInto(final XMLUtil xmlUtil, final ZipUTF8Writer writer) throws IOException {
-        this.odsElements.createEmptyElements(writer);
         this.odsElements.writeMimeType(xmlUtil, writer);
+        this.odsElements.createEmptyElements(writer);
     }
 
     @Override
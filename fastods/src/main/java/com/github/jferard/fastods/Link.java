@@ -223,7 +223,7 @@ public final class Link implements ParagraphElement {
             throws IOException {
         appendable.append("<text:a");
         if (this.ts != null) {
-            util.appendEAttribute(appendable, "text:style-name", this.ts.getName());
+            this.ts.getNameAttribute().appendTo(appendable);
         }
         util.appendEAttribute(appendable, "xlink:href", this.href);
         util.appendAttribute(appendable, "xlink:type", "simple");
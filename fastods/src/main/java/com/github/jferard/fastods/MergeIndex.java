@@ -0,0 +1,272 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.style.TableRowStyle;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A table-level index of the cells covered by merges. A covered range is registered in every
+ * band of 1024 rows it overlaps: the ranges covering a row are found without a scan of the whole
+ * index, and without a row or a cell object per covered cell.
+ *
+ * @author J. Férard
+ */
+final class MergeIndex {
+    private static final int BAND_BITS = 10;
+
+    /**
+     * @return a new empty index
+     */
+    static MergeIndex create() {
+        return new MergeIndex(new TreeMap<Integer, List<CoveredRange>>());
+    }
+
+    /**
+     * Add the interval [from, to) to sorted disjoint intervals.
+     *
+     * @param ranges the intervals: from0, to0, from1, to1, ... or null
+     * @param from   the first index
+     * @param to     the last index, excluded
+     * @return the union, sorted. Adjacent intervals are joined.
+     */
+    static int[] union(final int[] ranges, final int from, final int to) {
+        if (ranges == null) {
+            return new int[]{from, to};
+        }
+        final int length = ranges.length;
+        final int[] result = new int[length + 2];
+        int newFrom = from;
+        int newTo = to;
+        int i = 0;
+        int j = 0;
+        while (i < length && ranges[i + 1] < newFrom) {
+            result[j++] = ranges[i++];
+            result[j++] = ranges[i++];
+        }
+        while (i < length && ranges[i] <= newTo) {
+            newFrom = Math.min(newFrom, ranges[i]);
+            newTo = Math.max(newTo, ranges[i + 1]);
+            i += 2;
+        }
+        result[j++] = newFrom;
+        result[j++] = newTo;
+        while (i < length) {
+            result[j++] = ranges[i++];
+        }
+        if (j == result.length) {
+            return result;
+        } else {
+            return Arrays.copyOf(result, j);
+        }
+    }
+
+    private final TreeMap<Integer, List<CoveredRange>> rangesByBand;
+    private int rowEnd;
+
+    /**
+     * @param rangesByBand the ranges, by band of rows
+     */
+    MergeIndex(final TreeMap<Integer, List<CoveredRange>> rangesByBand) {
+        this.rangesByBand = rangesByBand;
+        this.rowEnd = 0;
+    }
+
+    /**
+     * Cover a block of cells
+     *
+     * @param rowFrom the first row
+     * @param rowTo   the last row, excluded
+     * @param colFrom the first column
+     * @param colTo   the last column, excluded
+     */
+    void add(final int rowFrom, final int rowTo, final int colFrom, final int colTo) {
+        if (rowFrom >= rowTo || colFrom >= colTo) {
+            return;
+        }
+        final CoveredRange range = new CoveredRange(rowFrom, rowTo, colFrom, colTo);
+        final int lastBand = (rowTo - 1) >> BAND_BITS;
+        for (int band = rowFrom >> BAND_BITS; band <= lastBand; band++) {
+            List<CoveredRange> ranges = this.rangesByBand.get(band);
+            if (ranges == null) {
+                ranges = new ArrayList<CoveredRange>();
+                this.rangesByBand.put(band, ranges);
+            }
+            ranges.add(range);
+        }
+        if (rowTo > this.rowEnd) {
+            this.rowEnd = rowTo;
+        }
+    }
+
+    /**
+     * @return true if no cell is covered
+     */
+    boolean isEmpty() {
+        return this.rangesByBand.isEmpty();
+    }
+
+    /**
+     * @return the index of the row after the last covered row
+     */
+    int getRowEnd() {
+        return this.rowEnd;
+    }
+
+    /**
+     * @param r the row index
+     * @return true if some cells of the row are covered
+     */
+    boolean isCoveredRow(final int r) {
+        final List<CoveredRange> ranges = this.rangesByBand.get(r >> BAND_BITS);
+        if (ranges == null) {
+            return false;
+        }
+        for (final CoveredRange range : ranges) {
+            if (range.rowFrom <= r && r < range.rowTo) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param r the row index
+     * @return the index of the first covered row from r, or Integer.MAX_VALUE
+     */
+    int nextCoveredRowIndex(final int r) {
+        Map.Entry<Integer, List<CoveredRange>> entry = this.rangesByBand.ceilingEntry(
+                r >> BAND_BITS);
+        while (entry != null) {
+            int next = Integer.MAX_VALUE;
+            for (final CoveredRange range : entry.getValue()) {
+                if (range.rowTo > r && range.rowFrom < next) {
+                    next = range.rowFrom;
+                }
+            }
+            if (next != Integer.MAX_VALUE) {
+                return Math.max(next, r);
+            }
+            entry = this.rangesByBand.higherEntry(entry.getKey());
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @param r the row index
+     * @return the covered columns of the row: from0, to0, from1, to1, ... or null
+     */
+    int[] getCoveredColumns(final int r) {
+        final List<CoveredRange> ranges = this.rangesByBand.get(r >> BAND_BITS);
+        if (ranges == null) {
+            return null;
+        }
+        int[] columns = null;
+        for (final CoveredRange range : ranges) {
+            if (range.rowFrom <= r && r < range.rowTo) {
+                columns = MergeIndex.union(columns, range.colFrom, range.colTo);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Cover the cells of a new row
+     *
+     * @param row the row
+     */
+    void coverRow(final TableRowImpl row) {
+        final int[] columns = this.getCoveredColumns(row.rowIndex());
+        if (columns == null) {
+            return;
+        }
+        for (int i = 0; i < columns.length; i += 2) {
+            row.coverColumns(columns[i], columns[i + 1]);
+        }
+    }
+
+    /**
+     * Append a row that was never created, but has covered cells
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @param r          the row index
+     * @throws IOException if an I/O error occurs
+     */
+    void appendCoveredRow(final XMLUtil util, final Appendable appendable, final int r)
+            throws IOException {
+        TableXMLTokens.ROW_START.appendTo(appendable);
+        TableRowStyle.DEFAULT_TABLE_ROW_STYLE.getNameAttribute().appendTo(appendable);
+        appendable.append(">");
+        final int[] columns = this.getCoveredColumns(r);
+        if (columns != null) {
+            int c = 0;
+            for (int i = 0; i < columns.length; i += 2) {
+                TableRowImpl.appendBlankCells(util, appendable, columns[i] - c);
+                TableRowImpl.appendCoveredCells(util, appendable, columns[i + 1] - columns[i]);
+                c = columns[i + 1];
+            }
+        }
+        TableXMLTokens.ROW_END.appendTo(appendable);
+    }
+
+    /**
+     * Forget the ranges of the bands that are before a row. Those rows were flushed.
+     *
+     * @param r the row index
+     */
+    void removeRowsBefore(final int r) {
+        this.rangesByBand.headMap(r >> BAND_BITS).clear();
+    }
+
+    /**
+     * A block of covered cells
+     */
+    static final class CoveredRange {
+        private final int rowFrom;
+        private final int rowTo;
+        private final int colFrom;
+        private final int colTo;
+
+        /**
+         * @param rowFrom the first row
+         * @param rowTo   the last row, excluded
+         * @param colFrom the first column
+         * @param colTo   the last column, excluded
+         */
+        CoveredRange(final int rowFrom, final int rowTo, final int colFrom, final int colTo) {
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+            this.colFrom = colFrom;
+            this.colTo = colTo;
+        }
+    }
+}
@@ -37,6 +37,7 @@ import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.util.AutoFilter;
 import com.github.jferard.fastods.util.Container;
 import com.github.jferard.fastods.util.PilotTable;
+import com.github.jferard.fastods.util.RawZipEntry;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -292,6 +293,39 @@ public class NamedOdsDocument implements OdsDocument, StylesContainer {
         this.odsElements.freezeStyles();
     }
 
+    /**
+     * Stream the tables concurrently: adding a table does not end the previous one, and the
+     * rows of each table are flushed to a temporary spill segment. The segments are written to
+     * content.xml in table order as the tables are ended (see {@link #endTable(Table)}).
+     * <p>
+     * Must be called before the first table is added. The tables should be added from one
+     * thread, and the document created by a thread safe factory
+     * (see {@link OdsFactoryBuilder#threadSafe()}) if the tables are filled by several threads.
+     */
+    public void streamTablesConcurrently() {
+        this.odsElements.streamTablesConcurrently();
+    }
+
+    /**
+     * End a table. In the concurrent mode, this may be called by the thread that filled the
+     * table. Otherwise, a table is ended when the next table is added and this method does
+     * nothing.
+     *
+     * @param table the table
+     * @throws IOException if the table can't be written
+     */
+    public void endTable(final Table table) throws IOException {
+        this.odsElements.endTableAsync(table);
+    }
+
+    /**
+     * Write a flat XML document (.fods) instead of a zip archive. Must be called before the
+     * document is prepared.
+     */
+    void writeFlatDocument() {
+        this.odsElements.writeFlatDocument();
+    }
+
     /**
      * Prepare the document for flush (ie write empty elements, manifest, mime type, ...)
      *
@@ -306,6 +340,12 @@ public class NamedOdsDocument implements OdsDocument, StylesContainer {
         this.commonOdsDocument.addExtraFile(fullPath, mediaType, bytes);
     }
 
+    @Override
+    public void addExtraRawFile(final String fullPath, final String mediaType,
+                                final RawZipEntry rawEntry) {
+        this.commonOdsDocument.addExtraRawFile(fullPath, mediaType, rawEntry);
+    }
+
     @Override
     public void addExtraDir(final String fullPath) {
         this.commonOdsDocument.addExtraDir(fullPath);
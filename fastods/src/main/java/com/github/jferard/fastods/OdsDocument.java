@@ -27,6 +27,7 @@ import com.github.jferard.fastods.odselement.ScriptEventListener;
 import com.github.jferard.fastods.odselement.StylesModeSetter;
 import com.github.jferard.fastods.util.AutoFilter;
 import com.github.jferard.fastods.util.PilotTable;
+import com.github.jferard.fastods.util.RawZipEntry;
 
 import java.io.IOException;
 import java.util.List;
@@ -203,6 +204,17 @@ public interface OdsDocument extends StylesModeSetter {
      */
     void addExtraFile(final String fullPath, final String mediaType, final byte[] bytes);
 
+    /**
+     * Add an extra file to the document, from the raw data of another archive: the data is
+     * copied without being inflated and deflated again if the writer supports it.
+     *
+     * @param fullPath  the path of the file in the sequence
+     * @param mediaType the MIME type of the file
+     * @param rawEntry  the compressed content
+     */
+    void addExtraRawFile(final String fullPath, final String mediaType,
+                         final RawZipEntry rawEntry);
+
     /**
      * Add an extra directory
      *
@@ -0,0 +1,217 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.CountingOutputStream;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Live statistics of a document, exposed as a standard MBean (see jconsole). The stats are
+ * opt-in: use OdsFactoryBuilder.jmxStats() or set the system property
+ * {@code com.github.jferard.fastods.jmx} to true.
+ * <p>
+ * The MBean is registered when the writer is created and unregistered when the document was
+ * saved or when the writer is closed. The getters are called from another thread: they only read
+ * volatile snapshots of the document.
+ *
+ * @author Julien Férard
+ */
+public class OdsDocumentStats implements OdsDocumentStatsMBean {
+    /**
+     * The system property that enables the stats for every factory
+     */
+    public static final String JMX_PROPERTY = "com.github.jferard.fastods.jmx";
+
+    /**
+     * The domain of the object names
+     */
+    public static final String DOMAIN = "com.github.jferard.fastods";
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    /**
+     * Create new stats for the platform MBean server. The stats are not registered yet.
+     *
+     * @param logger      the logger
+     * @param xmlUtil     the XML util of the document
+     * @param odsElements the elements of the document
+     * @return the stats
+     */
+    static OdsDocumentStats create(final Logger logger, final XMLUtil xmlUtil,
+                                   final OdsElements odsElements) {
+        return new OdsDocumentStats(logger, ManagementFactory.getPlatformMBeanServer(), xmlUtil,
+                odsElements);
+    }
+
+    private final Logger logger;
+    private final MBeanServer server;
+    private final XMLUtil xmlUtil;
+    private final OdsElements odsElements;
+    private volatile FlusherQueue flusherQueue;
+    private volatile CountingOutputStream countingStream;
+    private ObjectName objectName;
+
+    /**
+     * @param logger      the logger
+     * @param server      the MBean server
+     * @param xmlUtil     the XML util of the document
+     * @param odsElements the elements of the document
+     */
+    OdsDocumentStats(final Logger logger, final MBeanServer server, final XMLUtil xmlUtil,
+                     final OdsElements odsElements) {
+        this.logger = logger;
+        this.server = server;
+        this.xmlUtil = xmlUtil;
+        this.odsElements = odsElements;
+    }
+
+    /**
+     * Register this MBean. A failure is logged, but won't stop the document creation.
+     */
+    synchronized void register() {
+        try {
+            final ObjectName name = new ObjectName(
+                    DOMAIN + ":type=OdsDocumentStats,name=document-" + COUNTER.incrementAndGet());
+            this.server.registerMBean(this, name);
+            this.objectName = name;
+        } catch (final JMException e) {
+            this.logger.log(Level.WARNING, "Can't register the document stats", e);
+        }
+    }
+
+    /**
+     * Unregister this MBean, if it is registered. A failure is logged.
+     */
+    synchronized void unregister() {
+        if (this.objectName == null) {
+            return;
+        }
+        try {
+            this.server.unregisterMBean(this.objectName);
+        } catch (final JMException e) {
+            this.logger.log(Level.WARNING, "Can't unregister the document stats", e);
+        }
+        this.objectName = null;
+    }
+
+    /**
+     * @return the name of the MBean, or null if it is not registered
+     */
+    public synchronized ObjectName getObjectName() {
+        return this.objectName;
+    }
+
+    /**
+     * @param flusherQueue the writer that holds the queue of flushers
+     */
+    void setFlusherQueue(final FlusherQueue flusherQueue) {
+        this.flusherQueue = flusherQueue;
+    }
+
+    /**
+     * Wrap the destination stream to count the bytes written
+     *
+     * @param out the destination stream
+     * @return the counting stream
+     */
+    OutputStream countBytes(final OutputStream out) {
+        final CountingOutputStream countingStream = new CountingOutputStream(out);
+        this.countingStream = countingStream;
+        return countingStream;
+    }
+
+    @Override
+    public String[] getTableNames() {
+        final List<Table> tables = this.odsElements.getTableSnapshot();
+        final String[] names = new String[tables.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = tables.get(i).getName();
+        }
+        return names;
+    }
+
+    @Override
+    public int[] getResidentRowCounts() {
+        final List<Table> tables = this.odsElements.getTableSnapshot();
+        final int[] counts = new int[tables.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = tables.get(i).getResidentRowCount();
+        }
+        return counts;
+    }
+
+    @Override
+    public int[] getFlushedRowCounts() {
+        final List<Table> tables = this.odsElements.getTableSnapshot();
+        final int[] counts = new int[tables.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = tables.get(i).getFlushedRowCount();
+        }
+        return counts;
+    }
+
+    @Override
+    public int getAttributeCacheSize() {
+        return this.xmlUtil.getAttributeCacheSize();
+    }
+
+    @Override
+    public int getContentCacheSize() {
+        return this.xmlUtil.getContentCacheSize();
+    }
+
+    @Override
+    public int getAnonymousStyleCount() {
+        return this.odsElements.getAnonymousStyleCount();
+    }
+
+    @Override
+    public int getQueuedFlusherCount() {
+        final FlusherQueue queue = this.flusherQueue;
+        return queue == null ? 0 : queue.getQueuedFlusherCount();
+    }
+
+    @Override
+    public long getQueuedFlusherSize() {
+        final FlusherQueue queue = this.flusherQueue;
+        return queue == null ? 0 : queue.getQueuedSize();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        final CountingOutputStream stream = this.countingStream;
+        return stream == null ? 0 : stream.getCount();
+    }
+}
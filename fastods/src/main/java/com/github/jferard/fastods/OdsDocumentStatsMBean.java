@@ -0,0 +1,76 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+/**
+ * The JMX interface of the live statistics of a document. See OdsDocumentStats.
+ *
+ * @author Julien Férard
+ */
+public interface OdsDocumentStatsMBean {
+    /**
+     * @return the names of the tables of the document
+     */
+    String[] getTableNames();
+
+    /**
+     * @return for every table, the number of rows that are still in memory
+     */
+    int[] getResidentRowCounts();
+
+    /**
+     * @return for every table, the number of rows that were flushed
+     */
+    int[] getFlushedRowCounts();
+
+    /**
+     * @return the number of escaped attributes in the cache of the XML util
+     */
+    int getAttributeCacheSize();
+
+    /**
+     * @return the number of escaped contents in the cache of the XML util
+     */
+    int getContentCacheSize();
+
+    /**
+     * @return the number of anonymous child cell styles
+     */
+    int getAnonymousStyleCount();
+
+    /**
+     * @return the number of flushers waiting for the writer thread, 0 if there is no adapter
+     */
+    int getQueuedFlusherCount();
+
+    /**
+     * @return the number of chars waiting for the writer thread, 0 if there is no adapter
+     */
+    long getQueuedFlusherSize();
+
+    /**
+     * @return the number of bytes written to the destination stream
+     */
+    long getBytesWritten();
+}
@@ -39,8 +39,11 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 /**
@@ -87,6 +90,10 @@ public class OdsFactory {
     private boolean libreOfficeMode;
     private MetaElement metaElement;
     private final Map<String, String> additionalNamespaceByPrefix;
+    private final boolean jmxStats;
+    private final boolean threadSafe;
+    private final int stringPoolSize;
+    private final ExportGovernor governor;
 
     /**
      * Create a new OdsFactory
@@ -98,10 +105,15 @@ public class OdsFactory {
      * @param format          the data styles
      * @param libreOfficeMode try to get full compatibility with LO if true
      * @param metaElement     the meta element
+     * @param jmxStats        if true, register an OdsDocumentStats MBean for every writer
+     * @param threadSafe      if true, the tables of a document may be filled by several threads
+     * @param stringPoolSize  the max size of the string pool of every document, 0 for no pool
+     * @param governor        the governor of the background writers, or null
      */
     OdsFactory(final Logger logger, final PositionUtil positionUtil, final WriteUtil writeUtil,
                final XMLUtil xmlUtil, final Map<String, String> additionalNamespaceByPrefix, final DataStyles format, final boolean libreOfficeMode,
-               final MetaElement metaElement) {
+               final MetaElement metaElement, final boolean jmxStats, final boolean threadSafe,
+               final int stringPoolSize, final ExportGovernor governor) {
         this.logger = logger;
         this.positionUtil = positionUtil;
         this.writeUtil = writeUtil;
@@ -110,6 +122,10 @@ public class OdsFactory {
         this.format = format;
         this.libreOfficeMode = libreOfficeMode;
         this.metaElement = metaElement;
+        this.jmxStats = jmxStats;
+        this.threadSafe = threadSafe;
+        this.stringPoolSize = stringPoolSize;
+        this.governor = governor;
     }
 
     /**
@@ -167,35 +183,63 @@ public class OdsFactory {
     }
 
     /**
-     * Create a new, empty document for an anonymous writer. Use addTable to add tables.
-     *
-     * @return a new document
+     * @return the util for a new document: the util of the factory, or a new util with its own
+     * string pool
+     */
+    private XMLUtil createDocumentXMLUtil() {
+        if (this.stringPoolSize > 0) {
+            return XMLUtil.createPooled(this.stringPoolSize, this.threadSafe);
+        } else {
+            return this.xmlUtil;
+        }
+    }
+
+    /**
+     * @param xmlUtil the util of the document
+     * @return new, empty elements for a document.
      */
-    private AnonymousOdsDocument createAnonymousDocument() {
-        final OdsElements odsElements = OdsElements
-                .create(this.positionUtil, this.xmlUtil, this.writeUtil, this.format,
-                        this.libreOfficeMode, this.metaElement, this.additionalNamespaceByPrefix);
-        return AnonymousOdsDocument.create(this.logger, this.xmlUtil, odsElements);
+    private OdsElements createOdsElements(final XMLUtil xmlUtil) {
+        return OdsElements.create(this.positionUtil, xmlUtil, this.writeUtil, this.format,
+                this.libreOfficeMode, this.metaElement, this.additionalNamespaceByPrefix,
+                this.threadSafe);
     }
 
     /**
-     * Create a new, empty document for a normal writer. Use addTable to add tables.
+     * @param xmlUtil     the util of the document
+     * @param odsElements the elements of the document
+     * @return the stats, not registered yet, or null if the stats are disabled
+     */
+    private OdsDocumentStats createStats(final XMLUtil xmlUtil, final OdsElements odsElements) {
+        if (this.jmxStats) {
+            return OdsDocumentStats.create(this.logger, xmlUtil, odsElements);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Register the stats once the writer is ready: if the creation of the writer fails, there
+     * is no MBean left behind.
      *
-     * @return a new document
+     * @param stats the stats, or null
      */
-    private NamedOdsDocument createNamedDocument() {
-        final OdsElements odsElements = OdsElements
-                .create(this.positionUtil, this.xmlUtil, this.writeUtil, this.format,
-                        this.libreOfficeMode, this.metaElement, this.additionalNamespaceByPrefix);
-        return NamedOdsDocument.create(this.logger, this.xmlUtil, odsElements);
+    private void registerStats(final OdsDocumentStats stats) {
+        if (stats != null) {
+            stats.register();
+        }
     }
 
     /**
      * @return a new writer, but with no actual name
      */
     public AnonymousOdsFileWriter createWriter() {
-        final AnonymousOdsDocument document = this.createAnonymousDocument();
-        return new AnonymousOdsFileWriter(this.logger, document);
+        final XMLUtil xmlUtil = this.createDocumentXMLUtil();
+        final OdsElements odsElements = this.createOdsElements(xmlUtil);
+        final AnonymousOdsDocument document =
+                AnonymousOdsDocument.create(this.logger, xmlUtil, odsElements);
+        final OdsDocumentStats stats = this.createStats(xmlUtil, odsElements);
+        this.registerStats(stats);
+        return new AnonymousOdsFileWriter(this.logger, document, stats);
     }
 
     /**
@@ -207,12 +251,7 @@ public class OdsFactory {
      * @throws FileNotFoundException if the file can't be found
      */
     public NamedOdsFileWriter createWriter(final String filename) throws IOException {
-        final NamedOdsDocument document = this.createNamedDocument();
-        final NamedOdsFileWriter writer = OdsFileDirectWriter.builder(this.logger, document)
-                .openResult(this.openFile(filename)).build();
-        document.addObserver(writer);
-        document.prepare();
-        return writer;
+        return this.createWriter(new File(filename));
     }
 
     /**
@@ -224,12 +263,117 @@ public class OdsFactory {
      * @throws IOException if an I/O error occurs
      */
     public NamedOdsFileWriter createWriter(final File file) throws IOException {
-        final NamedOdsDocument document = this.createNamedDocument();
+        final XMLUtil xmlUtil = this.createDocumentXMLUtil();
+        final OdsElements odsElements = this.createOdsElements(xmlUtil);
+        final NamedOdsDocument document =
+                NamedOdsDocument.create(this.logger, xmlUtil, odsElements);
+        final OdsDocumentStats stats = this.createStats(xmlUtil, odsElements);
         final NamedOdsFileWriter writer =
                 OdsFileDirectWriter.builder(this.logger, document).openResult(this.openFile(file))
-                        .build();
+                        .stats(stats).build();
+        document.addObserver(writer);
+        document.prepare();
+        this.registerStats(stats);
+        return writer;
+    }
+
+    /**
+     * Create a new ODS writer that streams the document to a destination: the archive is
+     * flushed after every batch of rows, hence the first bytes are sent before the rows are
+     * produced. Be careful: the mimetype is written immediately.
+     *
+     * @param out the destination, e.g. the stream of an HTTP response. The stream is closed
+     *            when the document is saved.
+     * @return the ods writer. Use {@link OdsFileDirectWriter#getBytesSent()} to report the
+     * bytes sent.
+     * @throws IOException if an I/O error occurs
+     */
+    public OdsFileDirectWriter createStreamingWriter(final OutputStream out) throws IOException {
+        final XMLUtil xmlUtil = this.createDocumentXMLUtil();
+        final OdsElements odsElements = this.createOdsElements(xmlUtil);
+        final NamedOdsDocument document =
+                NamedOdsDocument.create(this.logger, xmlUtil, odsElements);
+        final OdsDocumentStats stats = this.createStats(xmlUtil, odsElements);
+        return this.startStreamingWriter(document,
+                OdsFileDirectWriter.builder(this.logger, document).outputStream(out).stats(stats),
+                stats);
+    }
+
+    /**
+     * Create a new ODS writer that streams the document to a channel. See
+     * {@link #createStreamingWriter(OutputStream)}.
+     *
+     * @param channel the destination. The channel is closed when the document is saved.
+     * @return the ods writer
+     * @throws IOException if an I/O error occurs
+     */
+    public OdsFileDirectWriter createStreamingWriter(final WritableByteChannel channel)
+            throws IOException {
+        final XMLUtil xmlUtil = this.createDocumentXMLUtil();
+        final OdsElements odsElements = this.createOdsElements(xmlUtil);
+        final NamedOdsDocument document =
+                NamedOdsDocument.create(this.logger, xmlUtil, odsElements);
+        final OdsDocumentStats stats = this.createStats(xmlUtil, odsElements);
+        return this.startStreamingWriter(document,
+                OdsFileDirectWriter.builder(this.logger, document).channel(channel).stats(stats),
+                stats);
+    }
+
+    private OdsFileDirectWriter startStreamingWriter(final NamedOdsDocument document,
+                                                     final OdsFileWriterBuilder builder,
+                                                     final OdsDocumentStats stats)
+            throws IOException {
+        final OdsFileDirectWriter writer = builder.streaming().buildDirect();
         document.addObserver(writer);
         document.prepare();
+        this.registerStats(stats);
+        return writer;
+    }
+
+    /**
+     * Create a new flat XML document (.fods) writer. Be careful: this method opens immediately
+     * a stream. Since the settings precede the body in a flat document, they only cover the
+     * tables that exist when the first table is flushed. The extra files are not written.
+     *
+     * @param file the destination file
+     * @return the flat document writer
+     * @throws IOException if an I/O error occurs
+     */
+    public NamedOdsFileWriter createFlatWriter(final File file) throws IOException {
+        final XMLUtil xmlUtil = this.createDocumentXMLUtil();
+        final OdsElements odsElements = this.createOdsElements(xmlUtil);
+        final NamedOdsDocument document =
+                NamedOdsDocument.create(this.logger, xmlUtil, odsElements);
+        final OdsDocumentStats stats = this.createStats(xmlUtil, odsElements);
+        final NamedOdsFileWriter writer =
+                OdsFileDirectWriter.builder(this.logger, document).openResult(this.openFile(file))
+                        .flat().stats(stats).build();
+        document.addObserver(writer);
+        document.prepare();
+        this.registerStats(stats);
+        return writer;
+    }
+
+    /**
+     * Create a new flat XML document (.fods) writer on a stream. See
+     * {@link #createFlatWriter(File)}.
+     *
+     * @param out the destination. The stream is closed when the document is saved.
+     * @return the flat document writer
+     * @throws IOException if an I/O error occurs
+     */
+    public NamedOdsFileWriter createFlatWriter(final OutputStream out) throws IOException {
+        final XMLUtil xmlUtil = this.createDocumentXMLUtil();
+        final OdsElements odsElements = this.createOdsElements(xmlUtil);
+        final NamedOdsDocument document =
+                NamedOdsDocument.create(this.logger, xmlUtil, odsElements);
+        final OdsDocumentStats stats = this.createStats(xmlUtil, odsElements);
+        final NamedOdsFileWriter writer =
+                OdsFileDirectWriter.builder(this.logger, document).outputStream(out).flat()
+                        .stats(stats).build();
+        document.addObserver(writer);
+        document.prepare();
+        this.registerStats(stats);
         return writer;
     }
 
@@ -241,16 +385,65 @@ public class OdsFactory {
      * @throws IOException if an I/O error occurs
      */
     public OdsFileWriterAdapter createWriterAdapter(final File file) throws IOException {
-        final NamedOdsDocument document = this.createNamedDocument();
+        final XMLUtil xmlUtil = this.createDocumentXMLUtil();
+        final OdsElements odsElements = this.createOdsElements(xmlUtil);
+        final NamedOdsDocument document =
+                NamedOdsDocument.create(this.logger, xmlUtil, odsElements);
         final ZipUTF8WriterBuilder zipUTF8Writer = ZipUTF8WriterImpl.builder().noWriterBuffer();
+        final OdsDocumentStats stats = this.createStats(xmlUtil, odsElements);
         final OdsFileWriterAdapter writerAdapter = OdsFileWriterAdapter.create(this.logger,
                 OdsFileDirectWriter.builder(this.logger, document).openResult(this.openFile(file))
-                        .zipBuilder(zipUTF8Writer).build());
+                        .zipBuilder(zipUTF8Writer).stats(stats).build());
+        if (stats != null) {
+            stats.setFlusherQueue(writerAdapter);
+        }
         document.addObserver(writerAdapter);
         document.prepare();
+        this.registerStats(stats);
         return writerAdapter;
     }
 
+    /**
+     * Create a writer that owns its writer thread. See {@link OdsFileBackgroundWriter}.
+     *
+     * @param file the destination file
+     * @return the writer
+     * @throws IOException if an I/O error occurs
+     */
+    public OdsFileBackgroundWriter createBackgroundWriter(final File file) throws IOException {
+        return this.createBackgroundWriter(file, null);
+    }
+
+    /**
+     * Create a writer that runs its writer task on an executor.
+     * See {@link OdsFileBackgroundWriter}.
+     *
+     * @param file     the destination file
+     * @param executor the executor that runs the writer task, or null to create a thread
+     * @return the writer
+     * @throws IOException if an I/O error occurs
+     */
+    public OdsFileBackgroundWriter createBackgroundWriter(final File file, final Executor executor)
+            throws IOException {
+        final XMLUtil xmlUtil = this.createDocumentXMLUtil();
+        final OdsElements odsElements = this.createOdsElements(xmlUtil);
+        final NamedOdsDocument document =
+                NamedOdsDocument.create(this.logger, xmlUtil, odsElements);
+        final ZipUTF8WriterBuilder zipUTF8Writer = ZipUTF8WriterImpl.builder().noWriterBuffer();
+        final OdsDocumentStats stats = this.createStats(xmlUtil, odsElements);
+        final OdsFileBackgroundWriter writer = OdsFileBackgroundWriter.create(this.logger,
+                OdsFileDirectWriter.builder(this.logger, document).openResult(this.openFile(file))
+                        .zipBuilder(zipUTF8Writer).stats(stats).build(), executor,
+                OdsFileBackgroundWriter.DEFAULT_MAX_QUEUED_SIZE, this.governor);
+        if (stats != null) {
+            stats.setFlusherQueue(writer);
+        }
+        document.addObserver(writer);
+        document.prepare();
+        this.registerStats(stats);
+        return writer;
+    }
+
     /**
      * @param file the file.
      * @return the result of the operation
@@ -1,7 +1,6 @@
 package com.github.jferard.fastods;
 
 import com.github.jferard.fastods.datastyle.DataStyles;
-import com.github.jferard.fastods.datastyle.DataStylesBuilder;
 import com.github.jferard.fastods.odselement.MetaElement;
 import com.github.jferard.fastods.ref.PositionUtil;
 import com.github.jferard.fastods.ref.TableNameUtil;
@@ -17,11 +16,16 @@ public class OdsFactoryBuilder {
     private final Logger logger;
     private final PositionUtil positionUtil;
     private final WriteUtil writeUtil;
-    private final XMLUtil xmlUtil;
     private final Map<String, String> additionalNamespaceByPrefix;
+    private final Locale locale;
+    private XMLUtil xmlUtil;
     private DataStyles format;
     private boolean libreOfficeMode;
     private MetaElement metaElement;
+    private boolean jmxStats;
+    private boolean threadSafe;
+    private int stringPoolSize;
+    private ExportGovernor governor;
 
     public OdsFactoryBuilder(final Logger logger, final Locale locale) {
         this.logger = logger;
@@ -30,15 +34,22 @@ public class OdsFactoryBuilder {
         this.xmlUtil = XMLUtil.create();
         this.additionalNamespaceByPrefix = new HashMap<String, String>();
 
-        this.format = DataStylesBuilder.create(locale).build();
+        this.locale = locale;
         this.libreOfficeMode = true;
-        this.metaElement = MetaElement.create();
+        this.jmxStats = Boolean.getBoolean(OdsDocumentStats.JMX_PROPERTY);
     }
 
     public OdsFactory build() {
+        // the defaults are created only if they were not replaced
+        if (this.format == null) {
+            this.format = DataStyles.defaultDataStyles(this.locale);
+        }
+        if (this.metaElement == null) {
+            this.metaElement = MetaElement.create();
+        }
         return new OdsFactory(this.logger, this.positionUtil, this.writeUtil, this.xmlUtil,
-                this.additionalNamespaceByPrefix, this.format, this.libreOfficeMode, this.metaElement
-        );
+                this.additionalNamespaceByPrefix, this.format, this.libreOfficeMode, this.metaElement,
+                this.jmxStats, this.threadSafe, this.stringPoolSize, this.governor);
     }
 
     /**
@@ -86,4 +97,57 @@ public class OdsFactoryBuilder {
         return this;
     }
 
+    /**
+     * Register an OdsDocumentStats MBean for every writer created by the factory. The
+     * system property com.github.jferard.fastods.jmx=true has the same effect.
+     *
+     * @return this for fluent style
+     */
+    public OdsFactoryBuilder jmxStats() {
+        this.jmxStats = true;
+        return this;
+    }
+
+    /**
+     * Use an XML util that may be shared between threads, and a styles container that may be
+     * shared by the threads filling the different tables of a document. Set this if the writers
+     * of the factory are used concurrently, e.g. by a pool of workers. The styles are written
+     * in a deterministic order.
+     *
+     * @return this for fluent style
+     */
+    public OdsFactoryBuilder threadSafe() {
+        this.xmlUtil = XMLUtil.createConcurrent();
+        this.threadSafe = true;
+        return this;
+    }
+
+    /**
+     * Pool the string values of the cells: every document gets a pool of at most maxSize
+     * distinct values. A pooled value is stored once per document and escaped once. Useful for
+     * columns with a few distinct values, e.g. codes or statuses.
+     *
+     * @param maxSize the max number of values in the pool of a document
+     * @return this for fluent style
+     */
+    public OdsFactoryBuilder stringPool(final int maxSize) {
+        this.stringPoolSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Share a governor between the background writers of the factory, and possibly of other
+     * factories. The governor bounds the rows queued by all the documents and the number of
+     * writer threads that write at the same time. Only the documents created by
+     * {@link OdsFactory#createBackgroundWriter(java.io.File)} are governed: the other writers of
+     * the factory ignore the governor.
+     *
+     * @param governor the governor
+     * @return this for fluent style
+     */
+    public OdsFactoryBuilder governor(final ExportGovernor governor) {
+        this.governor = governor;
+        return this;
+    }
+
 }
@@ -0,0 +1,362 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A writer that owns its writer thread: the producer thread fills the document, and the
+ * flushers are written to the adaptee by a background thread or by a task of an executor.
+ * <p>
+ * The handoff is double-buffered: the producer adds the flushers to a list while the writer
+ * thread writes the previous list, hence the serialization of the rows and the compression/disk
+ * I/O overlap. The producer waits only if the queued rows exceed a maximum size. The flusher
+ * that writes the styles and the content preamble is written by the producer thread, once the
+ * queue is empty, since the styles are not thread-safe.
+ * <p>
+ * An error in the writer thread is thrown back to the producer by the next update, by save or
+ * by close. The save and close methods wait for the end of the writes.
+ * <p>
+ * The writers may share an {@link ExportGovernor} that bounds the rows queued by all the
+ * documents and the number of writer threads that write at the same time.
+ *
+ * @author Julien Férard
+ */
+public class OdsFileBackgroundWriter implements NamedOdsFileWriter, FlusherQueue {
+    /**
+     * The default maximum number of preprocessed chars queued before the producer waits
+     */
+    public static final long DEFAULT_MAX_QUEUED_SIZE = 16L * 1024 * 1024;
+
+    /**
+     * @param logger         the logger
+     * @param adaptee        the writer that will write the flushers
+     * @param executor       the executor that runs the writer task, or null to create a thread
+     * @param maxQueuedSize  the maximum number of preprocessed chars queued before the producer
+     *                       waits
+     * @return the new writer, started
+     */
+    public static OdsFileBackgroundWriter create(final Logger logger,
+                                                 final NamedOdsFileWriter adaptee,
+                                                 final Executor executor,
+                                                 final long maxQueuedSize) {
+        return OdsFileBackgroundWriter.create(logger, adaptee, executor, maxQueuedSize, null);
+    }
+
+    /**
+     * @param logger        the logger
+     * @param adaptee       the writer that will write the flushers
+     * @param executor      the executor that runs the writer task, or null to create a thread
+     * @param maxQueuedSize the maximum number of preprocessed chars queued before the producer
+     *                      waits
+     * @param governor      the governor shared by the writers, or null
+     * @return the new writer, started
+     */
+    public static OdsFileBackgroundWriter create(final Logger logger,
+                                                 final NamedOdsFileWriter adaptee,
+                                                 final Executor executor,
+                                                 final long maxQueuedSize,
+                                                 final ExportGovernor governor) {
+        final OdsFileBackgroundWriter writer =
+                new OdsFileBackgroundWriter(logger, adaptee, maxQueuedSize, governor);
+        if (governor != null) {
+            governor.register();
+        }
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                writer.writeFlushers();
+            }
+        };
+        if (executor == null) {
+            final Thread thread = new Thread(task, "fastods-writer");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            executor.execute(task);
+        }
+        return writer;
+    }
+
+    private static int getSize(final OdsAsyncFlusher flusher) {
+        if (flusher instanceof PreprocessedRowsFlusher) {
+            return ((PreprocessedRowsFlusher) flusher).getSize();
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * @param flusher the flusher
+     * @return true if the flusher writes the styles of the document. Such a flusher is written
+     * by the producer thread, once the queue is empty: the styles are still registered by the
+     * producer.
+     */
+    private static boolean readsDocument(final OdsAsyncFlusher flusher) {
+        return flusher instanceof PrepareContentFlusher ||
+                flusher instanceof FlatPrepareContentFlusher;
+    }
+
+    private final Logger logger;
+    private final NamedOdsFileWriter adaptee;
+    private final long maxQueuedSize;
+    private final ExportGovernor governor;
+    private List<OdsAsyncFlusher> filling;
+    private List<OdsAsyncFlusher> spare;
+    private int queuedCount;
+    private long queuedSize;
+    private boolean endQueued;
+    private boolean closing;
+    private boolean finished;
+    private boolean endWritten;
+    private Throwable failure;
+
+    /**
+     * Create a new writer. Use the static method create to start the writer task.
+     *
+     * @param logger        the logger
+     * @param adaptee       the writer that will write the flushers
+     * @param maxQueuedSize the maximum number of preprocessed chars queued before the producer
+     *                      waits
+     * @param governor      the governor shared by the writers, or null
+     */
+    OdsFileBackgroundWriter(final Logger logger, final NamedOdsFileWriter adaptee,
+                            final long maxQueuedSize, final ExportGovernor governor) {
+        this.logger = logger;
+        this.adaptee = adaptee;
+        this.maxQueuedSize = maxQueuedSize;
+        this.governor = governor;
+        this.filling = new ArrayList<OdsAsyncFlusher>();
+        this.spare = new ArrayList<OdsAsyncFlusher>();
+    }
+
+    @Override
+    public NamedOdsDocument document() {
+        return this.adaptee.document();
+    }
+
+    @Override
+    public void update(final OdsAsyncFlusher flusher) throws IOException {
+        final int size = OdsFileBackgroundWriter.getSize(flusher);
+        if (this.governor == null || size == 0) {
+            this.queue(flusher, size);
+            return;
+        }
+        this.governor.acquireCredits(size);
+        boolean queued = false;
+        try {
+            this.queue(flusher, size);
+            queued = true;
+        } finally {
+            if (!queued) {
+                this.governor.releaseCredits(size);
+            }
+        }
+    }
+
+    private synchronized void queue(final OdsAsyncFlusher flusher, final int size)
+            throws IOException {
+        this.checkFailure();
+        if (this.endQueued || this.closing) {
+            throw new IOException("The writer is closed");
+        }
+        if (OdsFileBackgroundWriter.readsDocument(flusher)) {
+            while (this.queuedCount > 0 && !this.finished) {
+                this.await();
+            }
+            this.checkFailure();
+            this.adaptee.update(flusher);
+            return;
+        }
+        while (this.queuedSize > this.maxQueuedSize && !this.finished) {
+            this.await();
+            this.checkFailure();
+        }
+        this.filling.add(flusher);
+        this.queuedCount++;
+        this.queuedSize += size;
+        if (flusher.isEnd()) {
+            this.endQueued = true;
+        }
+        this.notifyAll();
+    }
+
+    /**
+     * Save the document and wait for the end of the writes.
+     *
+     * @throws IOException if the document can't be saved or if the writer thread failed
+     */
+    @Override
+    public void save() throws IOException {
+        this.adaptee.document().save();
+        this.awaitFinished();
+    }
+
+    /**
+     * Wait for the end of the writes. If the document was not saved, the queued flushers are
+     * written and the adaptee is closed.
+     *
+     * @throws IOException if the writer thread failed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            this.closing = true;
+            this.notifyAll();
+        }
+        try {
+            this.awaitFinished();
+        } finally {
+            if (!this.isEndWritten()) {
+                this.adaptee.close();
+            }
+        }
+    }
+
+    @Override
+    public synchronized int getQueuedFlusherCount() {
+        return this.queuedCount;
+    }
+
+    @Override
+    public synchronized long getQueuedSize() {
+        return this.queuedSize;
+    }
+
+    /**
+     * The writer task: take the list of flushers filled by the producer and write it.
+     */
+    private void writeFlushers() {
+        try {
+            List<OdsAsyncFlusher> batch = this.takeBatch();
+            while (batch != null) {
+                long batchSize = 0;
+                boolean end = false;
+                this.acquireWorker();
+                try {
+                    for (final OdsAsyncFlusher flusher : batch) {
+                        this.adaptee.update(flusher);
+                        batchSize += OdsFileBackgroundWriter.getSize(flusher);
+                        end = end || flusher.isEnd();
+                    }
+                } finally {
+                    this.releaseWorker();
+                }
+                this.releaseBatch(batch, batchSize, end);
+                batch = end ? null : this.takeBatch();
+            }
+        } catch (final Throwable t) {
+            this.logger.log(Level.SEVERE, "The background writer failed", t);
+            synchronized (this) {
+                this.failure = t;
+            }
+        } finally {
+            final long lostSize;
+            synchronized (this) {
+                lostSize = this.queuedSize;
+                this.filling.clear();
+                this.queuedCount = 0;
+                this.queuedSize = 0;
+            }
+            if (this.governor != null) {
+                this.governor.releaseCredits(lostSize);
+                this.governor.unregister();
+            }
+            synchronized (this) {
+                this.finished = true;
+                this.notifyAll();
+            }
+        }
+    }
+
+    private void acquireWorker() throws InterruptedIOException {
+        if (this.governor != null) {
+            this.governor.acquireWorker();
+        }
+    }
+
+    private void releaseWorker() {
+        if (this.governor != null) {
+            this.governor.releaseWorker();
+        }
+    }
+
+    private synchronized List<OdsAsyncFlusher> takeBatch() throws InterruptedException {
+        while (this.filling.isEmpty() && !this.closing) {
+            this.wait();
+        }
+        if (this.filling.isEmpty()) {
+            return null;
+        }
+        final List<OdsAsyncFlusher> batch = this.filling;
+        this.filling = this.spare;
+        this.spare = null;
+        return batch;
+    }
+
+    private synchronized void releaseBatch(final List<OdsAsyncFlusher> batch,
+                                           final long batchSize, final boolean end) {
+        this.endWritten = end;
+        this.queuedCount -= batch.size();
+        this.queuedSize -= batchSize;
+        batch.clear();
+        this.spare = batch;
+        this.notifyAll();
+        if (this.governor != null) {
+            this.governor.releaseCredits(batchSize);
+        }
+    }
+
+    private synchronized boolean isEndWritten() {
+        return this.endWritten;
+    }
+
+    private synchronized void awaitFinished() throws IOException {
+        while (!this.finished) {
+            this.await();
+        }
+        this.checkFailure();
+    }
+
+    private void await() throws InterruptedIOException {
+        try {
+            this.wait();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the writer");
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (this.failure != null) {
+            throw new IOException("The background writer failed", this.failure);
+        }
+    }
+}
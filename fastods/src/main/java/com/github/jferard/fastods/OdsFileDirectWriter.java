@@ -23,6 +23,9 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.CountingOutputStream;
+import com.github.jferard.fastods.util.FlatUTF8Writer;
+import com.github.jferard.fastods.util.XMLUTF8Writer;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
@@ -52,8 +55,11 @@ public class OdsFileDirectWriter implements NamedOdsFileWriter {
 
     private final NamedOdsDocument document;
     private final Logger logger;
-    private final ZipUTF8Writer writer;
+    private final XMLUTF8Writer writer;
+    private final ZipUTF8Writer zipWriter;
     private final XMLUtil xmlUtil;
+    private final OdsDocumentStats stats;
+    private final CountingOutputStream countingStream;
 
     /**
      * Create a new ODS file.
@@ -65,16 +71,64 @@ public class OdsFileDirectWriter implements NamedOdsFileWriter {
      */
     OdsFileDirectWriter(final Logger logger, final XMLUtil xmlUtil, final NamedOdsDocument document,
                         final ZipUTF8Writer writer) {
+        this(logger, xmlUtil, document, writer, null, null);
+    }
+
+    /**
+     * Create a new ODS file.
+     *
+     * @param logger   the logger
+     * @param xmlUtil  an util
+     * @param document the document to write
+     * @param writer   The writer for this file
+     * @param stats    the stats to unregister at the end or on close, or null
+     * @param countingStream the stream that counts the bytes sent, or null if the document is
+     *                       not streamed
+     */
+    OdsFileDirectWriter(final Logger logger, final XMLUtil xmlUtil, final NamedOdsDocument document,
+                        final ZipUTF8Writer writer, final OdsDocumentStats stats,
+                        final CountingOutputStream countingStream) {
+        this(logger, xmlUtil, document, writer, writer, stats, countingStream);
+    }
+
+    /**
+     * Create a new flat XML document (.fods).
+     *
+     * @param logger   the logger
+     * @param xmlUtil  an util
+     * @param document the document to write
+     * @param writer   The writer for this file
+     * @param stats    the stats to unregister at the end or on close, or null
+     * @param countingStream the stream that counts the bytes sent, or null if the document is
+     *                       not streamed
+     */
+    OdsFileDirectWriter(final Logger logger, final XMLUtil xmlUtil, final NamedOdsDocument document,
+                        final FlatUTF8Writer writer, final OdsDocumentStats stats,
+                        final CountingOutputStream countingStream) {
+        this(logger, xmlUtil, document, writer, null, stats, countingStream);
+    }
+
+    private OdsFileDirectWriter(final Logger logger, final XMLUtil xmlUtil,
+                                final NamedOdsDocument document, final XMLUTF8Writer writer,
+                                final ZipUTF8Writer zipWriter, final OdsDocumentStats stats,
+                                final CountingOutputStream countingStream) {
         this.logger = logger;
         this.document = document;
         this.xmlUtil = xmlUtil;
         this.writer = writer;
+        this.zipWriter = zipWriter;
+        this.stats = stats;
+        this.countingStream = countingStream;
     }
 
     @Override
     public void close() throws IOException {
-        this.writer.flush();
-        this.writer.close();
+        try {
+            this.writer.flush();
+            this.writer.close();
+        } finally {
+            this.unregisterStats();
+        }
     }
 
     @Override
@@ -89,6 +143,50 @@ public class OdsFileDirectWriter implements NamedOdsFileWriter {
 
     @Override
     public void update(final OdsAsyncFlusher flusher) throws IOException {
-        flusher.flushInto(this.xmlUtil, this.writer);
+        if (flusher.isEnd()) {
+            try {
+                this.flushInto(flusher);
+            } finally {
+                this.unregisterStats();
+            }
+        } else {
+            this.flushInto(flusher);
+            if (this.countingStream != null) {
+                this.writer.flush();
+            }
+        }
+    }
+
+    /**
+     * A flat document has no entry: only the flushers that write XML are accepted.
+     *
+     * @param flusher the flusher
+     * @throws IOException if the flush goes wrong
+     */
+    private void flushInto(final OdsAsyncFlusher flusher) throws IOException {
+        if (this.zipWriter != null) {
+            flusher.flushInto(this.xmlUtil, this.zipWriter);
+        } else if (flusher instanceof OdsXMLFlusher) {
+            ((OdsXMLFlusher) flusher).flushXMLInto(this.xmlUtil, this.writer);
+        } else {
+            throw new IllegalStateException("Can't write " + flusher + " into a flat document");
+        }
+    }
+
+    private void unregisterStats() {
+        if (this.stats != null) {
+            this.stats.unregister();
+        }
+    }
+
+    /**
+     * @return the number of bytes sent to the destination, or -1 if the document is not
+     * streamed
+     */
+    public long getBytesSent() {
+        if (this.countingStream == null) {
+            return -1;
+        }
+        return this.countingStream.getCount();
     }
 }
\ No newline at end of file
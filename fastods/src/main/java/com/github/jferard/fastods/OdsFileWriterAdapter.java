@@ -47,7 +47,7 @@ import java.util.logging.Logger;
  * @author Julien Férard
  * @author Martin Schulz
  */
-public class OdsFileWriterAdapter implements NamedOdsFileWriter {
+public class OdsFileWriterAdapter implements NamedOdsFileWriter, FlusherQueue {
     /**
      * @param logger  the logger
      * @param adaptee the adaptee writer
@@ -58,10 +58,19 @@ public class OdsFileWriterAdapter implements NamedOdsFileWriter {
         return new OdsFileWriterAdapter(logger, adaptee, new LinkedList<OdsAsyncFlusher>());
     }
 
+    private static int getSize(final OdsAsyncFlusher flusher) {
+        if (flusher instanceof PreprocessedRowsFlusher) {
+            return ((PreprocessedRowsFlusher) flusher).getSize();
+        } else {
+            return 0;
+        }
+    }
+
     private Logger logger;
     private final NamedOdsFileWriter adaptee;
     private final Queue<OdsAsyncFlusher> flushers;
     private boolean stopped;
+    private long queuedSize;
 
     /**
      * Create an new adapter
@@ -93,6 +102,7 @@ public class OdsFileWriterAdapter implements NamedOdsFileWriter {
     @Override
     public synchronized void update(final OdsAsyncFlusher flusher) {
         this.flushers.add(flusher);
+        this.queuedSize += OdsFileWriterAdapter.getSize(flusher);
         this.logger.fine("Add new flusher: " + flusher);
         this.notifyAll();
     }
@@ -104,7 +114,7 @@ public class OdsFileWriterAdapter implements NamedOdsFileWriter {
      * @throws IOException if the adaptee throws an IOException
      */
     public synchronized void flushAdaptee() throws IOException {
-        OdsAsyncFlusher flusher = this.flushers.poll();
+        OdsAsyncFlusher flusher = this.pollFlusher();
         this.logger.fine("Retrieve first flusher: " + flusher);
         if (flusher == null) {
             this.notifyAll(); // wakes up other threads: no flusher available
@@ -118,12 +128,30 @@ public class OdsFileWriterAdapter implements NamedOdsFileWriter {
                 this.notifyAll(); // wakes up other threads: end of game
                 return;
             }
-            flusher = this.flushers.poll();
+            flusher = this.pollFlusher();
             this.logger.fine("Retrieve next flusher: " + flusher);
         }
         this.notifyAll(); // wakes up other threads: no flusher left
     }
 
+    private OdsAsyncFlusher pollFlusher() {
+        final OdsAsyncFlusher flusher = this.flushers.poll();
+        if (flusher != null) {
+            this.queuedSize -= OdsFileWriterAdapter.getSize(flusher);
+        }
+        return flusher;
+    }
+
+    @Override
+    public synchronized int getQueuedFlusherCount() {
+        return this.flushers.size();
+    }
+
+    @Override
+    public synchronized long getQueuedSize() {
+        return this.queuedSize;
+    }
+
     /**
      * @return true if the adapter is stopped
      */
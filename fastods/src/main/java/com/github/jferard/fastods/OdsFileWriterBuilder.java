@@ -23,7 +23,9 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.CountingOutputStream;
 import com.github.jferard.fastods.util.FileOpenResult;
+import com.github.jferard.fastods.util.FlatUTF8Writer;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 import com.github.jferard.fastods.util.ZipUTF8WriterBuilder;
@@ -32,6 +34,8 @@ import com.github.jferard.fastods.util.ZipUTF8WriterImpl;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.logging.Logger;
 
 /**
@@ -44,6 +48,9 @@ public class OdsFileWriterBuilder {
     private OutputStream out;
     private ZipUTF8WriterBuilder builder;
     private String filename;
+    private OdsDocumentStats stats;
+    private boolean flat;
+    private boolean streaming;
 
     /**
      * Create a new ODS file.
@@ -76,6 +83,15 @@ public class OdsFileWriterBuilder {
         return this;
     }
 
+    /**
+     * @param channel where to write
+     * @return this for fluent style
+     */
+    public OdsFileWriterBuilder channel(final WritableByteChannel channel) {
+        this.out = Channels.newOutputStream(channel);
+        return this;
+    }
+
     /**
      * @param lockResult the result of a file lock
      * @return this for fluent style
@@ -94,12 +110,41 @@ public class OdsFileWriterBuilder {
      * @throws FileNotFoundException if there is no stream to write
      */
     public NamedOdsFileWriter build() throws FileNotFoundException {
+        return this.buildDirect();
+    }
+
+    /**
+     * @return the direct writer for the ods file
+     * @throws FileNotFoundException if there is no stream to write
+     */
+    OdsFileDirectWriter buildDirect() throws FileNotFoundException {
         if (this.out == null) {
             this.out = new FileOutputStream(this.filename);
         }
 
-        final ZipUTF8Writer writer = this.builder.build(this.out);
-        return new OdsFileDirectWriter(this.logger, XMLUtil.create(), this.document, writer);
+        final CountingOutputStream countingStream;
+        final OutputStream counted;
+        if (this.streaming) {
+            countingStream = new CountingOutputStream(this.out);
+            counted = countingStream;
+        } else {
+            countingStream = null;
+            counted = this.out;
+        }
+        final OutputStream destination;
+        if (this.stats == null) {
+            destination = counted;
+        } else {
+            destination = this.stats.countBytes(counted);
+        }
+        if (this.flat) {
+            this.document.writeFlatDocument();
+            return new OdsFileDirectWriter(this.logger, XMLUtil.create(), this.document,
+                    FlatUTF8Writer.create(destination), this.stats, countingStream);
+        }
+        final ZipUTF8Writer writer = this.builder.build(destination);
+        return new OdsFileDirectWriter(this.logger, XMLUtil.create(), this.document, writer,
+                this.stats, countingStream);
     }
 
     /**
@@ -111,4 +156,36 @@ public class OdsFileWriterBuilder {
         this.builder = builder;
         return this;
     }
+
+    /**
+     * Write a flat XML document (.fods) instead of a zip archive. The zip builder is ignored.
+     *
+     * @return this for fluent style
+     */
+    public OdsFileWriterBuilder flat() {
+        this.flat = true;
+        return this;
+    }
+
+    /**
+     * Stream the document: the archive is flushed after every async flush, that is after every
+     * batch of rows, and the bytes sent are counted. See
+     * {@link OdsFileDirectWriter#getBytesSent()}.
+     *
+     * @return this for fluent style
+     */
+    public OdsFileWriterBuilder streaming() {
+        this.streaming = true;
+        return this;
+    }
+
+    /**
+     * @param stats the stats of the document, or null. The stats will count the bytes written
+     *              and will be unregistered once the document is written.
+     * @return this for fluent style
+     */
+    OdsFileWriterBuilder stats(final OdsDocumentStats stats) {
+        this.stats = stats;
+        return this;
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.XMLUTF8Writer;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+
+/**
+ * An OdsFlusher that writes XML only, and no zip entry: it may write to a flat document or to
+ * a temporary file as well as to the current entry of a zip file.
+ *
+ * @author Julien Férard
+ */
+public interface OdsXMLFlusher extends OdsAsyncFlusher {
+    /**
+     * @param xmlUtil an instance of the util class
+     * @param writer  where to write the XML
+     * @throws IOException if the flush goes wrong
+     */
+    void flushXMLInto(XMLUtil xmlUtil, XMLUTF8Writer writer) throws IOException;
+}
@@ -66,7 +66,7 @@ public class Paragraph implements TagParameters, ParagraphElement {
         } else {
             appendable.append("<text:p");
             if (this.style != null) {
-                util.appendEAttribute(appendable, "text:style-name", this.style.getName());
+                this.style.getNameAttribute().appendTo(appendable);
             }
             appendable.append('>');
             for (final ParagraphElement paragraphElement : this.paragraphElements) {
@@ -23,6 +23,8 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.PagedFullList;
+import com.github.jferard.fastods.util.XMLUTF8Writer;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
@@ -37,7 +39,7 @@ import java.util.List;
  *
  * @author Julien Férard
  */
-class PreprocessedRowsFlusher implements OdsAsyncFlusher {
+class PreprocessedRowsFlusher implements OdsXMLFlusher {
     private static final int STRING_BUILDER_SIZE = 1024 * 32;
 
     /**
@@ -63,6 +65,59 @@ class PreprocessedRowsFlusher implements OdsAsyncFlusher {
         return new PreprocessedRowsFlusher(sb);
     }
 
+    /**
+     * Create an new rows flusher. A run of missing rows is written as one repeated empty row.
+     * Warning, consume the rows by removing them from the list.
+     *
+     * @param xmlUtil    an util
+     * @param tableRows  the rows of the table
+     * @param mergeIndex the cells covered by merges, to render the missing covered rows
+     * @param fromIndex  the first row to flush
+     * @param toIndex    the last row to flush + 1
+     * @return the flusher
+     * @throws IOException if an I/O error occurs
+     */
+    public static PreprocessedRowsFlusher create(final XMLUtil xmlUtil,
+                                                 final PagedFullList<TableRowImpl> tableRows,
+                                                 final MergeIndex mergeIndex,
+                                                 final int fromIndex, final int toIndex)
+            throws IOException {
+        final StringBuilder sb = new StringBuilder(STRING_BUILDER_SIZE);
+        int nullRowCounter = 0;
+        int r = fromIndex;
+        while (r < toIndex) {
+            final int nextRowIndex = Math.min(Math.min(tableRows.nextAllocatedIndex(r),
+                    mergeIndex.nextCoveredRowIndex(r)), toIndex);
+            if (nextRowIndex > r) { // a run of empty pages
+                nullRowCounter += nextRowIndex - r;
+                r = nextRowIndex;
+                continue;
+            }
+            final TableRowImpl row = tableRows.get(r);
+            if (row == null && !mergeIndex.isCoveredRow(r)) {
+                nullRowCounter++;
+            } else {
+                if (nullRowCounter > 0) {
+                    TableAppender.appendEmptyRows(xmlUtil, sb, nullRowCounter);
+                    nullRowCounter = 0;
+                }
+                if (row == null) {
+                    mergeIndex.appendCoveredRow(xmlUtil, sb, r);
+                } else {
+                    row.appendXMLToTable(xmlUtil, sb);
+                }
+            }
+            r++;
+        }
+        if (nullRowCounter > 0) {
+            TableAppender.appendEmptyRows(xmlUtil, sb, nullRowCounter);
+        }
+        // free rows
+        tableRows.free(fromIndex, toIndex);
+
+        return new PreprocessedRowsFlusher(sb);
+    }
+
     private final CharSequence cs;
 
     /**
@@ -75,9 +130,22 @@ class PreprocessedRowsFlusher implements OdsAsyncFlusher {
 
     @Override
     public void flushInto(final XMLUtil xmlUtil, final ZipUTF8Writer writer) throws IOException {
+        this.flushXMLInto(xmlUtil, writer);
+    }
+
+    @Override
+    public void flushXMLInto(final XMLUtil xmlUtil, final XMLUTF8Writer writer)
+            throws IOException {
         writer.append(this.cs);
     }
 
+    /**
+     * @return the number of chars waiting to be flushed
+     */
+    public int getSize() {
+        return this.cs.length();
+    }
+
     @Override
     public boolean isEnd() {
         return false;
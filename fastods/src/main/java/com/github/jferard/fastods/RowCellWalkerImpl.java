@@ -56,12 +56,12 @@ public class RowCellWalkerImpl implements RowCellWalker {
 
     @Override
     public void setBooleanValue(final boolean value) {
-        this.row.getOrCreateCell(this.c).setBooleanValue(value);
+        this.row.getOrCreateWalkerCell(this.c).setBooleanValue(value);
     }
 
     @Override
     public void setText(final Text text) {
-        this.row.getOrCreateCell(this.c).setText(text);
+        this.row.getOrCreateWalkerCell(this.c).setText(text);
     }
 
     @Override
@@ -81,17 +81,17 @@ public class RowCellWalkerImpl implements RowCellWalker {
 
     @Override
     public void setDateValue(final Date value) {
-        this.row.getOrCreateCell(this.c).setDateValue(value);
+        this.row.getOrCreateWalkerCell(this.c).setDateValue(value);
     }
 
     @Override
     public void setFloatValue(final Number value) {
-        this.row.getOrCreateCell(this.c).setFloatValue(value);
+        this.row.getOrCreateWalkerCell(this.c).setFloatValue(value);
     }
 
     @Override
     public void setPercentageValue(final Number value) {
-        this.row.getOrCreateCell(this.c).setPercentageValue(value);
+        this.row.getOrCreateWalkerCell(this.c).setPercentageValue(value);
     }
 
     @Override
@@ -101,79 +101,80 @@ public class RowCellWalkerImpl implements RowCellWalker {
 
     @Override
     public void setVoidValue() {
-        this.row.getOrCreateCell(this.c).setVoidValue();
+        this.row.getOrCreateWalkerCell(this.c).setVoidValue();
     }
 
     @Override
     public void setMatrixFormula(final String formula) {
-        this.row.getOrCreateCell(this.c).setMatrixFormula(formula);
+        this.row.getOrCreateWalkerCell(this.c).setMatrixFormula(formula);
     }
 
     @Override
     public void setMatrixFormula(final String formula, final int matrixRowsSpanned,
                                  final int matrixColumnsSpanned) {
-        this.row.getOrCreateCell(this.c)
+        this.row.getOrCreateWalkerCell(this.c)
                 .setMatrixFormula(formula, matrixRowsSpanned, matrixColumnsSpanned);
     }
 
     @Override
     public void setStringValue(final String value) {
-        this.row.getOrCreateCell(this.c).setStringValue(value);
+        this.row.getOrCreateWalkerCell(this.c).setStringValue(value);
     }
 
     @Override
     public void setTimeValue(final long timeInMillis) {
-        this.row.getOrCreateCell(this.c).setTimeValue(timeInMillis);
+        this.row.getOrCreateWalkerCell(this.c).setTimeValue(timeInMillis);
     }
 
     @Override
     public void setTimeValue(final long years, final long months, final long days, final long hours,
                              final long minutes, final double seconds) {
-        this.row.getOrCreateCell(this.c).setTimeValue(years, months, days, hours, minutes, seconds);
+        this.row.getOrCreateWalkerCell(this.c)
+                .setTimeValue(years, months, days, hours, minutes, seconds);
     }
 
     @Override
     public void setNegTimeValue(final long years, final long months, final long days,
                                 final long hours, final long minutes, final double seconds) {
-        this.row.getOrCreateCell(this.c)
+        this.row.getOrCreateWalkerCell(this.c)
                 .setNegTimeValue(years, months, days, hours, minutes, seconds);
     }
 
     @Override
     public void setTooltip(final String tooltipText) {
-        this.row.getOrCreateCell(this.c).setTooltip(tooltipText);
+        this.row.getOrCreateWalkerCell(this.c).setTooltip(tooltipText);
     }
 
     @Override
     public void setTooltip(final String tooltipText, final Length width, final Length height,
                            final boolean visible) {
-        this.row.getOrCreateCell(this.c).setTooltip(tooltipText, width, height, visible);
+        this.row.getOrCreateWalkerCell(this.c).setTooltip(tooltipText, width, height, visible);
     }
 
     @Override
     public void setTooltip(final Tooltip tooltip) {
-        this.row.getOrCreateCell(this.c).setTooltip(tooltip);
+        this.row.getOrCreateWalkerCell(this.c).setTooltip(tooltip);
     }
 
     @Override
     public void setFormula(final String formula) {
-        this.row.getOrCreateCell(this.c).setFormula(formula);
+        this.row.getOrCreateWalkerCell(this.c).setFormula(formula);
 
     }
 
     @Override
     public boolean hasValue() {
-        return this.row.getOrCreateCell(this.c).hasValue();
+        return this.row.getOrCreateWalkerCell(this.c).hasValue();
     }
 
     @Override
     public boolean isCovered() {
-        return this.row.getOrCreateCell(this.c).isCovered();
+        return this.row.getOrCreateWalkerCell(this.c).isCovered();
     }
 
     @Override
     public void setCovered() {
-        this.row.getOrCreateCell(this.c).setCovered();
+        this.row.getOrCreateWalkerCell(this.c).setCovered();
     }
 
     @Override
@@ -209,52 +210,52 @@ public class RowCellWalkerImpl implements RowCellWalker {
 
     @Override
     public void setCellValue(final CellValue value) {
-        this.row.getOrCreateCell(this.c).setCellValue(value);
+        this.row.getOrCreateWalkerCell(this.c).setCellValue(value);
     }
 
     @Override
     public void setCurrencyValue(final float value, final String currency) {
-        this.row.getOrCreateCell(this.c).setCurrencyValue(value, currency);
+        this.row.getOrCreateWalkerCell(this.c).setCurrencyValue(value, currency);
     }
 
     @Override
     public void setCurrencyValue(final int value, final String currency) {
-        this.row.getOrCreateCell(this.c).setCurrencyValue(value, currency);
+        this.row.getOrCreateWalkerCell(this.c).setCurrencyValue(value, currency);
     }
 
     @Override
     public void setCurrencyValue(final Number value, final String currency) {
-        this.row.getOrCreateCell(this.c).setCurrencyValue(value, currency);
+        this.row.getOrCreateWalkerCell(this.c).setCurrencyValue(value, currency);
     }
 
     @Override
     public void setDateValue(final Calendar cal) {
-        this.row.getOrCreateCell(this.c).setDateValue(cal);
+        this.row.getOrCreateWalkerCell(this.c).setDateValue(cal);
     }
 
     @Override
     public void setFloatValue(final float value) {
-        this.row.getOrCreateCell(this.c).setFloatValue(value);
+        this.row.getOrCreateWalkerCell(this.c).setFloatValue(value);
     }
 
     @Override
     public void setFloatValue(final int value) {
-        this.row.getOrCreateCell(this.c).setFloatValue(value);
+        this.row.getOrCreateWalkerCell(this.c).setFloatValue(value);
     }
 
     @Override
     public void setPercentageValue(final float value) {
-        this.row.getOrCreateCell(this.c).setPercentageValue(value);
+        this.row.getOrCreateWalkerCell(this.c).setPercentageValue(value);
     }
 
     @Override
     public void setPercentageValue(final int value) {
-        this.row.getOrCreateCell(this.c).setPercentageValue(value);
+        this.row.getOrCreateWalkerCell(this.c).setPercentageValue(value);
     }
 
     @Override
     public void setStyle(final TableCellStyle style) {
-        this.row.getOrCreateCell(this.c).setStyle(style);
+        this.row.getOrCreateWalkerCell(this.c).setStyle(style);
     }
 
     @Override
@@ -267,7 +268,7 @@ public class RowCellWalkerImpl implements RowCellWalker {
 
     @Override
     public void setDataStyle(final DataStyle dataStyle) {
-        this.row.getOrCreateCell(this.c).setDataStyle(dataStyle);
+        this.row.getOrCreateWalkerCell(this.c).setDataStyle(dataStyle);
     }
 
     @Override
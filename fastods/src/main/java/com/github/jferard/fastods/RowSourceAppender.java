@@ -0,0 +1,254 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.datastyle.DataStyles;
+import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TableRowStyle;
+import com.github.jferard.fastods.util.WriteUtil;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Appends the rows of a row source, straight from the values to the XML. The rows may be
+ * rendered in order on the current thread, or in batches on a pool of workers: in the latter
+ * case, the values are converted and the XML fragments are rendered by the workers, and the
+ * current thread only reads the source and appends the fragments in order.
+ *
+ * @author J. Férard
+ */
+class RowSourceAppender {
+    /**
+     * @param executor the workers
+     * @return the number of batches that may be rendered while the current thread waits for the
+     * first one: two per worker of the executor. If the number of workers is unknown or
+     * unbounded, the number of processors is used.
+     */
+    static int getPipelineDepth(final ExecutorService executor) {
+        int workerCount = Runtime.getRuntime().availableProcessors();
+        if (executor instanceof ThreadPoolExecutor) {
+            final ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            if (pool.getMaximumPoolSize() < Integer.MAX_VALUE) {
+                workerCount = pool.getMaximumPoolSize();
+            } else if (pool.getCorePoolSize() > 0) {
+                workerCount = pool.getCorePoolSize();
+            }
+        }
+        return 2 * workerCount;
+    }
+
+    private final WriteUtil writeUtil;
+    private final StylesContainer stylesContainer;
+    private final DataStyles format;
+    private final boolean libreOfficeMode;
+    private final TableSchema schema;
+    private final TableCellStyle[] cellStyles;
+    private final TableRowImpl transientRow;
+    private final StylesContainer workerStylesContainer;
+    private final XMLUtil workerXMLUtil;
+
+    /**
+     * @param writeUtil       an util
+     * @param xmlUtil         the util of the table
+     * @param stylesContainer the styles container
+     * @param format          the data styles
+     * @param libreOfficeMode try to get full compatibility with LO if true
+     * @param schema          the schema of the table
+     * @param cellStyles      the resolved styles of the cells that take the fast path
+     * @param table           the table
+     */
+    RowSourceAppender(final WriteUtil writeUtil, final XMLUtil xmlUtil,
+                      final StylesContainer stylesContainer, final DataStyles format,
+                      final boolean libreOfficeMode, final TableSchema schema,
+                      final TableCellStyle[] cellStyles, final Table table) {
+        this.writeUtil = writeUtil;
+        this.stylesContainer = stylesContainer;
+        this.format = format;
+        this.libreOfficeMode = libreOfficeMode;
+        this.schema = schema;
+        this.cellStyles = cellStyles;
+        this.transientRow = new TableRowImpl(writeUtil, xmlUtil, stylesContainer, format,
+                libreOfficeMode, table, -1, schema.getColumnCount());
+        this.workerStylesContainer = new SynchronizedStylesContainer(stylesContainer);
+        this.workerXMLUtil = XMLUtil.createConcurrent();
+    }
+
+    /**
+     * Append every row of the source, on the current thread.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @param source     the source of the rows
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendRows(final XMLUtil util, final Appendable appendable,
+                           final Iterator<Object[]> source) throws IOException {
+        while (source.hasNext()) {
+            this.appendRow(util, appendable, this.stylesContainer, source.next());
+        }
+    }
+
+    /**
+     * Append every row of the source. The batches of rows are rendered by the workers, and the
+     * fragments are appended in order. The workers share a guarded view of the styles
+     * container and a concurrent xml util.
+     *
+     * @param appendable the destination
+     * @param source     the source of the rows
+     * @param executor   the workers
+     * @param batchSize  the number of rows of a batch
+     * @throws IOException if an I/O error occurs, or if a worker failed
+     */
+    public void appendRows(final Appendable appendable, final Iterator<Object[]> source,
+                           final ExecutorService executor, final int batchSize)
+            throws IOException {
+        final int pipelineDepth = RowSourceAppender.getPipelineDepth(executor);
+        final LinkedList<Future<String>> pending = new LinkedList<Future<String>>();
+        try {
+            while (source.hasNext()) {
+                final List<Object[]> batch = new ArrayList<Object[]>(batchSize);
+                while (batch.size() < batchSize && source.hasNext()) {
+                    batch.add(source.next());
+                }
+                pending.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws IOException {
+                        return RowSourceAppender.this.renderBatch(batch);
+                    }
+                }));
+                if (pending.size() >= pipelineDepth) {
+                    appendable.append(this.getFragment(pending.removeFirst()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                appendable.append(this.getFragment(pending.removeFirst()));
+            }
+        } finally {
+            for (final Future<String> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private String renderBatch(final List<Object[]> batch) throws IOException {
+        final StringBuilder sb = new StringBuilder(batch.size() * 64);
+        for (final Object[] values : batch) {
+            this.appendRow(this.workerXMLUtil, sb, this.workerStylesContainer, values);
+        }
+        return sb.toString();
+    }
+
+    private String getFragment(final Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new IOException(cause);
+            }
+        }
+    }
+
+    /**
+     * Append one row. The values that take the fast path of their schema column are written
+     * without a cell object; the other values go through a transient cell.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @param values     the values of the row
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendRow(final XMLUtil util, final Appendable appendable, final Object[] values)
+            throws IOException {
+        this.appendRow(util, appendable, this.stylesContainer, values);
+    }
+
+    private void appendRow(final XMLUtil util, final Appendable appendable,
+                           final StylesContainer stylesContainer, final Object[] values)
+            throws IOException {
+        final int columnCount = this.schema.getColumnCount();
+        if (values.length > columnCount) {
+            throw new IllegalArgumentException(
+                    "Expected at most " + columnCount + " values, got " + values.length);
+        }
+        TableXMLTokens.ROW_START.appendTo(appendable);
+        TableRowStyle.DEFAULT_TABLE_ROW_STYLE.getNameAttribute().appendTo(appendable);
+        appendable.append(">");
+        int nextColIndex = 0;
+        for (int c = 0; c < values.length; c++) {
+            final Object value = values[c];
+            if (value == null) {
+                continue;
+            }
+            final TableSchemaColumn column = this.schema.getColumn(c);
+            final String fastValue = column.toFastValue(value);
+            if (fastValue == null) {
+                final TableCellImpl cell =
+                        this.createTransientCell(util, stylesContainer, column, c, value);
+                if (!cell.hasValue()) {
+                    continue;
+                }
+                TableRowImpl.appendBlankCells(util, appendable, c - nextColIndex);
+                cell.appendXMLToTableRow(util, appendable);
+            } else {
+                TableRowImpl.appendBlankCells(util, appendable, c - nextColIndex);
+                column.appendCellXML(util, appendable, this.cellStyles[c], fastValue);
+            }
+            nextColIndex = c + 1;
+        }
+        TableXMLTokens.ROW_END.appendTo(appendable);
+    }
+
+    /**
+     * The setters of the cell may look up the styles container: the workers use the guarded
+     * container, and their own XML util.
+     */
+    private TableCellImpl createTransientCell(final XMLUtil util,
+                                              final StylesContainer stylesContainer,
+                                              final TableSchemaColumn column, final int colIndex,
+                                              final Object value) {
+        final TableCellImpl cell = new TableCellImpl(this.writeUtil, util, stylesContainer,
+                this.format, this.libreOfficeMode, this.transientRow, colIndex);
+        column.setValue(cell, value, this.schema.getDefaultConverter());
+        return cell;
+    }
+}
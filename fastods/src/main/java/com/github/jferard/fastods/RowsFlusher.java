@@ -23,6 +23,7 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.XMLUTF8Writer;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
@@ -37,7 +38,7 @@ import java.util.List;
  * @deprecated use PreprocessedRowsFlusher
  */
 @Deprecated
-class RowsFlusher implements OdsAsyncFlusher {
+class RowsFlusher implements OdsXMLFlusher {
     private final List<TableRowImpl> rows;
 
     /**
@@ -49,6 +50,12 @@ class RowsFlusher implements OdsAsyncFlusher {
 
     @Override
     public void flushInto(final XMLUtil xmlUtil, final ZipUTF8Writer writer) throws IOException {
+        this.flushXMLInto(xmlUtil, writer);
+    }
+
+    @Override
+    public void flushXMLInto(final XMLUtil xmlUtil, final XMLUTF8Writer writer)
+            throws IOException {
         // flush rows
         for (final TableRowImpl row : this.rows) {
             if (row == null) {
@@ -71,7 +71,7 @@ public class Span implements ParagraphElement {
             appendable.append(this.text);
         } else {
             appendable.append("<text:span");
-            util.appendEAttribute(appendable, "text:style-name", this.ts.getName());
+            this.ts.getNameAttribute().appendTo(appendable);
             appendable.append(">").append(this.text).append("</text:span>");
         }
     }
@@ -0,0 +1,129 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.datastyle.DataStyle;
+import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.style.FontFaceContainerStyle;
+import com.github.jferard.fastods.style.MasterPageStyle;
+import com.github.jferard.fastods.style.ObjectStyle;
+import com.github.jferard.fastods.style.PageLayoutStyle;
+import com.github.jferard.fastods.style.PageStyle;
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.util.Container;
+
+/**
+ * A styles container that takes a lock on every call, to share a styles container that is not
+ * thread safe between workers. Only the call to the adaptee is guarded.
+ *
+ * @author J. Férard
+ */
+class SynchronizedStylesContainer implements StylesContainer {
+    private final StylesContainer adaptee;
+
+    /**
+     * @param adaptee the container to guard
+     */
+    SynchronizedStylesContainer(final StylesContainer adaptee) {
+        this.adaptee = adaptee;
+    }
+
+    @Override
+    public synchronized TableCellStyle addChildCellStyle(final TableCellStyle style,
+                                                         final DataStyle dataStyle) {
+        return this.adaptee.addChildCellStyle(style, dataStyle);
+    }
+
+    @Override
+    public synchronized boolean addContentFontFaceContainerStyle(
+            final FontFaceContainerStyle ffcStyle) {
+        return this.adaptee.addContentFontFaceContainerStyle(ffcStyle);
+    }
+
+    @Override
+    public synchronized boolean addStylesFontFaceContainerStyle(
+            final FontFaceContainerStyle ffcStyle) {
+        return this.adaptee.addStylesFontFaceContainerStyle(ffcStyle);
+    }
+
+    @Override
+    public synchronized boolean addDataStyle(final DataStyle dataStyle) {
+        return this.adaptee.addDataStyle(dataStyle);
+    }
+
+    @Override
+    public synchronized boolean addMasterPageStyle(final MasterPageStyle masterPageStyle) {
+        return this.adaptee.addMasterPageStyle(masterPageStyle);
+    }
+
+    @Override
+    public synchronized boolean addNewDataStyleFromCellStyle(final TableCellStyle style) {
+        return this.adaptee.addNewDataStyleFromCellStyle(style);
+    }
+
+    @Override
+    public synchronized boolean addPageLayoutStyle(final PageLayoutStyle pageLayoutStyle) {
+        return this.adaptee.addPageLayoutStyle(pageLayoutStyle);
+    }
+
+    @Override
+    public synchronized boolean addPageStyle(final PageStyle ps) {
+        return this.adaptee.addPageStyle(ps);
+    }
+
+    @Override
+    public synchronized boolean addContentStyle(final ObjectStyle objectStyle) {
+        return this.adaptee.addContentStyle(objectStyle);
+    }
+
+    @Override
+    public synchronized boolean addStylesStyle(final ObjectStyle objectStyle) {
+        return this.adaptee.addStylesStyle(objectStyle);
+    }
+
+    @Override
+    public synchronized void setDataStylesMode(final Container.Mode mode) {
+        this.adaptee.setDataStylesMode(mode);
+    }
+
+    @Override
+    public synchronized void setMasterPageStyleMode(final Container.Mode mode) {
+        this.adaptee.setMasterPageStyleMode(mode);
+    }
+
+    @Override
+    public synchronized void setPageLayoutStyleMode(final Container.Mode mode) {
+        this.adaptee.setPageLayoutStyleMode(mode);
+    }
+
+    @Override
+    public synchronized void setPageStyleMode(final Container.Mode mode) {
+        this.adaptee.setPageStyleMode(mode);
+    }
+
+    @Override
+    public synchronized void setObjectStyleMode(final Container.Mode mode) {
+        this.adaptee.setObjectStyleMode(mode);
+    }
+}
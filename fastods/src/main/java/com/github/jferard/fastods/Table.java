@@ -23,6 +23,7 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.datastyle.DataStyle;
 import com.github.jferard.fastods.datastyle.DataStyles;
 import com.github.jferard.fastods.odselement.ContentElement;
 import com.github.jferard.fastods.odselement.StylesContainer;
@@ -39,6 +40,9 @@ import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * OpenDocument 9.1.2 table:table
@@ -199,6 +203,20 @@ public class Table implements NamedObject, FrameContent {
         return this.builder.getRowCount();
     }
 
+    /**
+     * @return the number of rows that are still in memory
+     */
+    int getResidentRowCount() {
+        return this.builder.getResidentRowCount();
+    }
+
+    /**
+     * @return the number of rows that were flushed
+     */
+    int getFlushedRowCount() {
+        return this.builder.getFlushedRowCount();
+    }
+
     /**
      * Get the name of this table.
      *
@@ -239,6 +257,177 @@ public class Table implements NamedObject, FrameContent {
         return this.builder.nextRow(this, this.appender);
     }
 
+    /**
+     * Attach a schema to this table. The styles of the schema columns are resolved once, and
+     * the rows appended with {@link #appendRow(Object...)} follow the schema.
+     *
+     * @param schema the schema, null to remove the schema
+     */
+    public void setSchema(final TableSchema schema) {
+        this.builder.setSchema(schema);
+    }
+
+    /**
+     * Recycle the rows and the cells of this table: once a batch of rows is flushed, the lists
+     * of cells of the rows are reused by the following rows, with the cells that were never
+     * returned by {@link TableRowImpl#getOrCreateCell(int)}, e.g. the cells set by a walker or
+     * by {@link TableRowImpl#setValues(Object...)}. This reduces the allocation rate of long
+     * streaming exports.
+     * <p>
+     * Warning: a row or a cell must not be used once it was flushed, that is after the next
+     * batch of rows was started or the table was ended. A flushed row or a flushed cell
+     * returned by {@link TableRowImpl#getOrCreateCell(int)} is never reused: any change throws
+     * an IllegalStateException.
+     *
+     * @param rowRecycling true to recycle the rows
+     */
+    public void setRowRecycling(final boolean rowRecycling) {
+        this.builder.setRowRecycling(rowRecycling);
+    }
+
+    /**
+     * @return the schema of this table, may be null
+     */
+    public TableSchema getSchema() {
+        return this.builder.getSchema();
+    }
+
+    /**
+     * Set the source of the rows that follow the rows of this table. The source is read only
+     * when the table is written, and each row is written straight to the output: no row or
+     * cell object is retained, hence the memory does not depend on the number of rows. The
+     * values follow the schema of the table.
+     * <p>
+     * The rows of the source are not counted by {@link #getRowCount()}, and can't be modified,
+     * merged or spanned.
+     *
+     * @param rowSource the source of the rows, null to remove the source
+     * @throws IllegalStateException if the table has no schema
+     */
+    public void setRowSource(final Iterator<Object[]> rowSource) {
+        this.builder.setRowSource(this, rowSource, null, 0);
+    }
+
+    /**
+     * Set the source of the rows that follow the rows of this table, and render the rows on a
+     * pool of workers. When the table is written, the current thread reads the source and hands
+     * the rows off in batches; the workers convert the values and render the XML fragments, and
+     * the fragments are written in order by the current thread.
+     * <p>
+     * The converters of the schema must be thread safe. The executor is not shut down.
+     *
+     * @param rowSource the source of the rows, null to remove the source
+     * @param executor  the workers
+     * @param batchSize the number of rows of a batch, e.g. 1024
+     * @throws IllegalStateException    if the table has no schema
+     * @throws IllegalArgumentException if the batch size is not positive
+     * @see #setRowSource(Iterator)
+     */
+    public void setRowSource(final Iterator<Object[]> rowSource, final ExecutorService executor,
+                             final int batchSize) {
+        this.builder.setRowSource(this, rowSource, executor, batchSize);
+    }
+
+    /**
+     * @param columnIndex the column index
+     * @return the resolved style of the schema column
+     */
+    TableCellStyle getSchemaStyle(final int columnIndex) {
+        return this.builder.getSchemaStyle(columnIndex);
+    }
+
+    /**
+     * @param columnIndex     the column index
+     * @param rowDefaultStyle the default cell style of the row
+     * @return the resolved style of the schema column
+     */
+    TableCellStyle getSchemaStyle(final int columnIndex, final TableCellStyle rowDefaultStyle) {
+        return this.builder.getSchemaStyle(columnIndex, rowDefaultStyle);
+    }
+
+    /**
+     * Append a row with the names of the schema columns.
+     *
+     * @param headStyle the style of the cells, null if none
+     * @return the new row
+     * @throws IOException           if an error occurs
+     * @throws IllegalStateException if the table has no schema
+     */
+    public TableRowImpl appendHeaderRow(final TableCellStyle headStyle) throws IOException {
+        final TableSchema schema = this.builder.getSchema();
+        if (schema == null) {
+            throw new IllegalStateException("No schema for table " + this.name);
+        }
+        final TableRowImpl row = this.builder.nextRow(this, this.appender);
+        final int columnCount = schema.getColumnCount();
+        for (int c = 0; c < columnCount; c++) {
+            final TableCell cell = row.getOrCreateCell(c);
+            cell.setStringValue(schema.getColumn(c).getName());
+            if (headStyle != null) {
+                cell.setStyle(headStyle);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Append a row and fill it with the values, in one pass. If the table has a schema, the
+     * values follow the schema, else the mapping from objects to cell values is the mapping of
+     * {@link ObjectToCellValueConverter}.
+     *
+     * @param values the values, from the first column
+     * @return the new row
+     * @throws IOException if an error occurs
+     */
+    public TableRowImpl appendRow(final Object... values) throws IOException {
+        final TableRowImpl row = this.builder.nextRow(this, this.appender);
+        row.setValues(values);
+        return row;
+    }
+
+    /**
+     * Append a row and fill it with the values, in one pass.
+     *
+     * @param values the values, from the first column
+     * @return the new row
+     * @throws IOException if an error occurs
+     */
+    public TableRowImpl appendRow(final List<CellValue> values) throws IOException {
+        final TableRowImpl row = this.builder.nextRow(this, this.appender);
+        row.setCellValues(values);
+        return row;
+    }
+
+    /**
+     * Append a row and fill it with float values sharing the same data style, in one pass.
+     *
+     * @param dataStyle the data style of the values, null for the default float data style
+     * @param values    the values, from the first column
+     * @return the new row
+     * @throws IOException if an error occurs
+     */
+    public TableRowImpl appendFloatRow(final DataStyle dataStyle, final double... values)
+            throws IOException {
+        final TableRowImpl row = this.builder.nextRow(this, this.appender);
+        row.setFloatValues(dataStyle, values);
+        return row;
+    }
+
+    /**
+     * Append a row and fill it with float values sharing the same data style, in one pass.
+     *
+     * @param dataStyle the data style of the values, null for the default float data style
+     * @param values    the values, from the first column
+     * @return the new row
+     * @throws IOException if an error occurs
+     */
+    public TableRowImpl appendFloatRow(final DataStyle dataStyle, final long... values)
+            throws IOException {
+        final TableRowImpl row = this.builder.nextRow(this, this.appender);
+        row.setFloatValues(dataStyle, values);
+        return row;
+    }
+
     /**
      * @return a CellWalker on the row
      * @throws IOException if the first row was flushed
@@ -276,6 +465,23 @@ public class Table implements NamedObject, FrameContent {
         this.builder.setCellMerge(this, this.appender, address, rowMerge, columnMerge);
     }
 
+    /**
+     * Set a formula template for a column. The formula is written in every row of the
+     * table, except in the cells that have a value and in the covered cells. The placeholders
+     * {r} and {c} are replaced by the number of the row and the letters of the column, with an
+     * optional offset: e.g. "[.B{r}]*[.{c-1}{r}]" in the column D gives "[.B7]*[.C7]" in the
+     * row 7. The template is escaped once, and no cell is created.
+     * <p>
+     * The rows that were already flushed are not affected.
+     *
+     * @param col      The column number
+     * @param template the template of the formula, without = sign, null to remove the template
+     * @throws IllegalArgumentException if col has an invalid value.
+     */
+    public void setColumnFormula(final int col, final String template) {
+        this.builder.setColumnFormula(col, template);
+    }
+
     /**
      * Set the style of a column.
      *
@@ -341,6 +547,17 @@ public class Table implements NamedObject, FrameContent {
         return this.builder.findDefaultCellStyle(columnIndex);
     }
 
+    /**
+     * Find the style of a new cell of a column, holding a value with the given data style.
+     *
+     * @param columnIndex the column index
+     * @param dataStyle   the data style of the value
+     * @return the style, never null
+     */
+    public TableCellStyle findImplicitCellStyle(final int columnIndex, final DataStyle dataStyle) {
+        return this.builder.findImplicitCellStyle(columnIndex, dataStyle);
+    }
+
     /**
      * Add a new auto filter
      *
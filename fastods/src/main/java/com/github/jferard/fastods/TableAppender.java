@@ -43,6 +43,52 @@ import java.util.List;
  */
 class TableAppender {
     private static final int MAX_COLUMN_COUNT = 1024;
+
+    /**
+     * Append a run of empty rows
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @param count      the number of empty rows
+     * @throws IOException if an I/O error occurs
+     */
+    static void appendEmptyRows(final XMLUtil util, final Appendable appendable,
+                                final int count) throws IOException {
+        appendable.append("<table:table-row");
+        if (count > 1) {
+            util.appendAttribute(appendable, "table:number-rows-repeated", count);
+        }
+        util.appendAttribute(appendable, "table:style-name", "ro1");
+        appendable.append("><table:table-cell/></table:table-row>");
+    }
+
+    /**
+     * Append rows. A run of null rows is appended as one repeated empty row.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @param rows       the rows, some may be null
+     * @throws IOException if an I/O error occurs
+     */
+    static void appendRowList(final XMLUtil util, final Appendable appendable,
+                              final List<TableRowImpl> rows) throws IOException {
+        int nullRowCounter = 0;
+        for (final TableRowImpl row : rows) {
+            if (row == null) {
+                nullRowCounter++;
+            } else {
+                if (nullRowCounter > 0) {
+                    TableAppender.appendEmptyRows(util, appendable, nullRowCounter);
+                    nullRowCounter = 0;
+                }
+                row.appendXMLToTable(util, appendable);
+            }
+        }
+        if (nullRowCounter > 0) {
+            TableAppender.appendEmptyRows(util, appendable, nullRowCounter);
+        }
+    }
+
     private final TableBuilder builder;
     private boolean preambleWritten;
     private int nullFieldCounter;
@@ -68,6 +114,7 @@ class TableAppender {
             throws IOException {
         this.appendPreamble(util, appendable);
         this.appendRows(util, appendable);
+        this.appendRowSource(util, appendable);
         this.appendPostamble(appendable);
     }
 
@@ -81,6 +128,23 @@ class TableAppender {
         appendable.append("</table:table>");
     }
 
+    /**
+     * Append the rows of the row source, if any, after the rows of the table.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendRowSource(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        if (!this.builder.hasRowSource()) {
+            return;
+        }
+
+        this.appendRepeatedRows(util, appendable);
+        this.builder.appendRowSource(util, appendable);
+    }
+
     /**
      * Append the preamble
      *
@@ -98,7 +162,7 @@ class TableAppender {
     public void appendPreamble(final XMLUtil util, final Appendable appendable) throws IOException {
         appendable.append("<table:table");
         util.appendEAttribute(appendable, "table:name", this.builder.getName());
-        util.appendEAttribute(appendable, "table:style-name", this.builder.getStyleName());
+        this.builder.getStyleNameAttribute().appendTo(appendable);
         util.appendAttribute(appendable, "table:print", false);
         appendable.append(">");
         this.appendForms(util, appendable);
@@ -153,6 +217,7 @@ class TableAppender {
             this.appendPreamble(util, appendable);
         }
         this.appendRows(util, appendable, rowIndex);
+        this.appendRowSource(util, appendable);
         this.appendPostamble(appendable);
     }
 
@@ -214,15 +279,28 @@ class TableAppender {
         }
 
         final int size = this.builder.getTableRowsUsedSize();
-        for (int r = firstRowIndex; r < size; r++) {
+        int r = firstRowIndex;
+        while (r < size) {
+            final int nextRowIndex = this.builder.nextAllocatedRowIndex(r);
+            if (nextRowIndex > r) { // a run of empty pages
+                this.nullFieldCounter += nextRowIndex - r;
+                r = nextRowIndex;
+                continue;
+            }
             final TableRowImpl tr = this.builder.getTableRow(r);
             if (tr == null) {
-                this.nullFieldCounter++;
+                if (this.builder.isCoveredRow(r)) {
+                    this.appendRepeatedRows(util, appendable);
+                    this.builder.appendCoveredRow(util, appendable, r);
+                } else {
+                    this.nullFieldCounter++;
+                }
             } else {
                 this.appendRepeatedRows(util, appendable);
                 tr.appendXMLToTable(util, appendable);
                 this.nullFieldCounter = 0;
             }
+            r++;
         }
     }
 
@@ -232,12 +310,7 @@ class TableAppender {
             return;
         }
 
-        appendable.append("<table:table-row");
-        if (this.nullFieldCounter > 1) {
-            util.appendAttribute(appendable, "table:number-rows-repeated", this.nullFieldCounter);
-        }
-        util.appendAttribute(appendable, "table:style-name", "ro1");
-        appendable.append("><table:table-cell/></table:table-row>");
+        TableAppender.appendEmptyRows(util, appendable, this.nullFieldCounter);
         this.nullFieldCounter = 0;
     }
 
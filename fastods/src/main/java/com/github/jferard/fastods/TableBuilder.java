@@ -23,6 +23,7 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.datastyle.DataStyle;
 import com.github.jferard.fastods.datastyle.DataStyles;
 import com.github.jferard.fastods.odselement.OdsElements;
 import com.github.jferard.fastods.odselement.StylesContainer;
@@ -30,19 +31,27 @@ import com.github.jferard.fastods.odselement.config.ConfigElement;
 import com.github.jferard.fastods.odselement.config.ConfigItem;
 import com.github.jferard.fastods.odselement.config.ConfigItemMapEntry;
 import com.github.jferard.fastods.odselement.config.ConfigItemMapEntrySet;
-import com.github.jferard.fastods.ref.CellRef;
 import com.github.jferard.fastods.ref.PositionUtil;
 import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.style.TableColumnStyle;
 import com.github.jferard.fastods.style.TableStyle;
+import com.github.jferard.fastods.util.AdaptiveFullList;
 import com.github.jferard.fastods.util.FastFullList;
+import com.github.jferard.fastods.util.PagedFullList;
 import com.github.jferard.fastods.util.WriteUtil;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
 
 /**
  * OpenDocument 9.1.2 table:table
@@ -126,22 +135,38 @@ class TableBuilder {
     private final int bufferSize;
     private final int columnCapacity;
     private final FastFullList<TableColumnStyle> columnStyles;
+    private final FastFullList<FormulaTemplate> columnFormulas;
     private final ConfigItemMapEntrySet configEntry;
     private final DataStyles format;
     private final PositionUtil positionUtil;
     private final StylesContainer stylesContainer;
-    private final FastFullList<TableRowImpl> tableRows;
+    private final PagedFullList<TableRowImpl> tableRows;
+    private final MergeIndex mergeIndex;
     private final WriteUtil writeUtil;
     private final XMLUtil xmlUtil;
     private final boolean libreOfficeMode;
     private boolean tablePreambleWritten;
     private NamedOdsFileWriter observer;
     private int curRowIndex;
-    private int lastFlushedRowIndex;
+    private volatile int lastFlushedRowIndex;
+    private volatile int residentRowCount;
     private int lastRowIndex;
     private String name;
     private TableStyle style;
     private List<Shape> shapes;
+    private final Map<DataStyle, FastFullList<TableCellStyle>> implicitStylesByDataStyle;
+    private DataStyle lastDataStyle;
+    private FastFullList<TableCellStyle> lastImplicitStyles;
+    private TableSchema schema;
+    private TableCellStyle[] schemaStyles;
+    private Map<TableCellStyle, TableCellStyle[]> schemaStylesByRowStyle;
+    private Table rowSourceTable;
+    private Iterator<Object[]> rowSource;
+    private ExecutorService rowSourceExecutor;
+    private int rowSourceBatchSize;
+    private Queue<AdaptiveFullList<WritableTableCell>> cellListPool;
+    private Queue<TableCellImpl> cellPool;
+    private List<TableRowImpl> flushedRows;
 
     /**
      * Create a new table builder
@@ -176,13 +201,16 @@ class TableBuilder {
         this.columnStyles = FastFullList.<TableColumnStyle>builder()
                 .blankElement(TableColumnStyle.DEFAULT_TABLE_COLUMN_STYLE)
                 .capacity(this.columnCapacity).build();
-        this.tableRows = FastFullList.newListWithCapacity(rowCapacity);
+        this.columnFormulas = FastFullList.newListWithCapacity(this.columnCapacity);
+        this.tableRows = PagedFullList.newListWithCapacity(rowCapacity);
+        this.mergeIndex = MergeIndex.create();
         this.curRowIndex = -1;
         this.lastFlushedRowIndex = 0;
         this.lastRowIndex = -1;
         this.bufferSize = bufferSize;
         this.tablePreambleWritten = false;
         this.shapes = new ArrayList<Shape>();
+        this.implicitStylesByDataStyle = new HashMap<DataStyle, FastFullList<TableCellStyle>>();
     }
 
     /**
@@ -219,8 +247,29 @@ class TableBuilder {
         if (!this.tablePreambleWritten) {
             this.observer.update(new BeginTableFlusher(appender));
         }
-        this.observer.update(new EndTableFlusher(appender,
-                this.tableRows.subList(this.lastFlushedRowIndex, this.tableRows.usedSize())));
+        final int size = this.getTableRowsUsedSize();
+        if (this.mergeIndex.nextCoveredRowIndex(this.lastFlushedRowIndex) < size) {
+            // the covered rows that were never created are rendered by the merge index
+            this.collectFlushedRows(size);
+            final OdsAsyncFlusher preprocessedRowsFlusher = PreprocessedRowsFlusher
+                    .create(this.xmlUtil, this.tableRows, this.mergeIndex,
+                            this.lastFlushedRowIndex, size);
+            this.recycleFlushedRows();
+            this.observer.update(preprocessedRowsFlusher);
+            this.lastFlushedRowIndex = size;
+            this.mergeIndex.removeRowsBefore(size);
+        }
+        final List<TableRowImpl> rows = this.tableRows.subList(this.lastFlushedRowIndex, size);
+        if (this.cellListPool != null) {
+            for (final TableRowImpl row : rows) {
+                if (row != null) {
+                    row.markFlushed();
+                }
+            }
+        }
+        this.observer.update(new EndTableFlusher(appender, rows));
+        this.tableRows.free(this.lastFlushedRowIndex, size);
+        this.residentRowCount = this.tableRows.count();
     }
 
     /**
@@ -241,7 +290,7 @@ class TableBuilder {
      * @return the number of rows
      */
     public int getRowCount() {
-        return this.tableRows.usedSize();
+        return this.getTableRowsUsedSize();
     }
 
     /**
@@ -273,7 +322,7 @@ class TableBuilder {
      */
     public TableRowImpl getRow(final Table table, final TableAppender appender,
                                final String address) throws IOException, ParseException {
-        final int row = this.positionUtil.newCellRef(address).getRow();
+        final int row = PositionUtil.getRow(this.positionUtil.parsePosition(address));
         return this.getRow(table, appender, row);
     }
 
@@ -282,9 +331,12 @@ class TableBuilder {
             throws IOException {
         TableRowImpl tr = this.tableRows.get(rowIndex);
         if (tr == null) {
-            tr = new TableRowImpl(this.writeUtil, this.xmlUtil, this.stylesContainer, this.format,
-                    this.libreOfficeMode, table, rowIndex, this.columnCapacity);
+            tr = this.createRow(table, rowIndex);
             this.tableRows.set(rowIndex, tr);
+            this.residentRowCount++;
+            if (!this.mergeIndex.isEmpty()) {
+                this.mergeIndex.coverRow(tr);
+            }
             if (rowIndex > this.lastRowIndex) {
                 this.lastRowIndex = rowIndex;
             }
@@ -299,6 +351,40 @@ class TableBuilder {
         return tr;
     }
 
+    private TableRowImpl createRow(final Table table, final int rowIndex) {
+        if (this.cellListPool != null) {
+            AdaptiveFullList<WritableTableCell> cells = this.cellListPool.poll();
+            if (cells == null) {
+                cells = AdaptiveFullList.newListWithCapacity(this.columnCapacity);
+            }
+            return new TableRowImpl(this.writeUtil, this.xmlUtil, this.stylesContainer,
+                    this.format, this.libreOfficeMode, table, rowIndex, this.columnFormulas,
+                    cells, this.cellPool);
+        }
+        return new TableRowImpl(this.writeUtil, this.xmlUtil, this.stylesContainer, this.format,
+                this.libreOfficeMode, table, rowIndex, this.columnCapacity, this.columnFormulas);
+    }
+
+    /**
+     * Enable or disable the recycling of the flushed rows.
+     *
+     * @param rowRecycling true to recycle the rows
+     */
+    public void setRowRecycling(final boolean rowRecycling) {
+        if (rowRecycling) {
+            if (this.cellListPool == null) {
+                this.cellListPool =
+                        new ArrayDeque<AdaptiveFullList<WritableTableCell>>(this.bufferSize);
+                this.cellPool = new ArrayDeque<TableCellImpl>(this.bufferSize);
+                this.flushedRows = new ArrayList<TableRowImpl>(this.bufferSize);
+            }
+        } else {
+            this.cellListPool = null;
+            this.cellPool = null;
+            this.flushedRows = null;
+        }
+    }
+
     /**
      * async flush if rowIndex % this.bufferSize == 0. If 0, async flush the begin of the table
      * else if rowIndex is a multiple of this.bufferSize, flush the preprocessed rows
@@ -307,11 +393,15 @@ class TableBuilder {
             throws IOException {
         if (this.tablePreambleWritten) {
             if (rowIndex > 0 && rowIndex % this.bufferSize == 0) {
+                this.collectFlushedRows(rowIndex);
                 final OdsAsyncFlusher preprocessedRowsFlusher = PreprocessedRowsFlusher
-                        .create(this.xmlUtil, new ArrayList<TableRowImpl>(
-                                this.tableRows.subList(this.lastFlushedRowIndex, rowIndex)));
+                        .create(this.xmlUtil, this.tableRows, this.mergeIndex,
+                                this.lastFlushedRowIndex, rowIndex);
+                this.recycleFlushedRows();
                 this.observer.update(preprocessedRowsFlusher); // (0..1023), (1024..2047)
                 this.lastFlushedRowIndex = rowIndex;
+                this.residentRowCount = this.tableRows.count();
+                this.mergeIndex.removeRowsBefore(rowIndex);
             }
         } else {
             this.asyncFlushBeginTable(appender);
@@ -319,6 +409,40 @@ class TableBuilder {
         }
     }
 
+    /**
+     * If the rows are recycled, keep the rows that will be flushed.
+     *
+     * @param toIndex the last row to flush + 1
+     */
+    private void collectFlushedRows(final int toIndex) {
+        if (this.cellListPool == null) {
+            return;
+        }
+        int r = this.tableRows.nextAllocatedIndex(this.lastFlushedRowIndex);
+        while (r < toIndex) {
+            final TableRowImpl row = this.tableRows.get(r);
+            if (row != null) {
+                this.flushedRows.add(row);
+            }
+            r = this.tableRows.nextAllocatedIndex(r + 1);
+        }
+    }
+
+    /**
+     * If the rows are recycled, recycle the flushed rows: their lists of cells and the cells
+     * that were never seen outside of a row are put in the pools. See
+     * {@link TableRowImpl#recycle()}.
+     */
+    private void recycleFlushedRows() {
+        if (this.cellListPool == null) {
+            return;
+        }
+        for (final TableRowImpl row : this.flushedRows) {
+            this.cellListPool.add(row.recycle());
+        }
+        this.flushedRows.clear();
+    }
+
     /**
      * Get the current Table Style
      *
@@ -328,6 +452,13 @@ class TableBuilder {
         return this.style.getName();
     }
 
+    /**
+     * @return the escaped attribute that references the current table style
+     */
+    public XMLToken getStyleNameAttribute() {
+        return this.style.getNameAttribute();
+    }
+
     /**
      * Get the next row
      *
@@ -363,11 +494,10 @@ class TableBuilder {
 
         firstCell.markColumnsSpanned(colCount);
         firstCell.markRowsSpanned(rowCount);
-        row.coverRightCells(colIndex, colCount);
-        for (int r = rowIndex + 1; r < rowIndex + rowCount; r++) {
-            final TableRowImpl otherRow = this.getRowSecure(table, appender, r, false);
-            otherRow.coverRightCells(colIndex - 1, colCount + 1);
+        if (colCount > 1) {
+            row.coverColumns(colIndex + 1, colIndex + colCount);
         }
+        this.coverCellsBelow(rowIndex, colIndex, rowCount, colCount);
     }
 
     /**
@@ -386,9 +516,25 @@ class TableBuilder {
     public void setCellMerge(final Table table, final TableAppender appender, final String address,
                              final int rowMerge, final int columnMerge)
             throws IOException, ParseException {
-        final CellRef position = this.positionUtil.newCellRef(address);
-        this.setCellMerge(table, appender, position.getRow(), position.getColumn(), rowMerge,
-                columnMerge);
+        final long position = this.positionUtil.parsePosition(address);
+        this.setCellMerge(table, appender, PositionUtil.getRow(position),
+                PositionUtil.getColumn(position), rowMerge, columnMerge);
+    }
+
+    /**
+     * Set the formula template of a column. See {@link Table#setColumnFormula(int, String)}.
+     *
+     * @param col      The column number
+     * @param template the template of the formula, null to remove the template
+     * @throws IllegalArgumentException Thrown if col has an invalid value.
+     */
+    public void setColumnFormula(final int col, final String template) {
+        TableBuilder.checkCol(col);
+        if (template == null) {
+            this.columnFormulas.set(col, null);
+        } else {
+            this.columnFormulas.set(col, FormulaTemplate.create(this.xmlUtil, col, template));
+        }
     }
 
     /**
@@ -402,6 +548,146 @@ class TableBuilder {
         TableBuilder.checkCol(col);
         ts.addToContentStyles(this.stylesContainer);
         this.columnStyles.set(col, ts);
+        this.implicitStylesByDataStyle.clear();
+        this.lastDataStyle = null;
+        this.lastImplicitStyles = null;
+        this.resolveSchemaStyles();
+    }
+
+    /**
+     * Set the schema of the table and resolve the styles of its columns.
+     *
+     * @param schema the schema, null to remove the schema
+     */
+    public void setSchema(final TableSchema schema) {
+        this.schema = schema;
+        this.resolveSchemaStyles();
+    }
+
+    private void resolveSchemaStyles() {
+        if (this.schema == null) {
+            this.schemaStyles = null;
+            this.schemaStylesByRowStyle = null;
+            return;
+        }
+        final int columnCount = this.schema.getColumnCount();
+        this.schemaStyles = new TableCellStyle[columnCount];
+        this.schemaStylesByRowStyle = new HashMap<TableCellStyle, TableCellStyle[]>();
+        for (int c = 0; c < columnCount; c++) {
+            this.schemaStyles[c] = this.schema.getColumn(c)
+                    .resolveStyle(this.stylesContainer, this.format, this.findDefaultCellStyle(c));
+        }
+    }
+
+    /**
+     * @return the schema, may be null
+     */
+    public TableSchema getSchema() {
+        return this.schema;
+    }
+
+    /**
+     * @param columnIndex the column index
+     * @return the resolved style of the schema column
+     */
+    public TableCellStyle getSchemaStyle(final int columnIndex) {
+        return this.schemaStyles[columnIndex];
+    }
+
+    /**
+     * The styles are resolved once per default cell style of a row and per column.
+     *
+     * @param columnIndex     the column index
+     * @param rowDefaultStyle the default cell style of the row
+     * @return the resolved style of the schema column
+     */
+    public TableCellStyle getSchemaStyle(final int columnIndex,
+                                         final TableCellStyle rowDefaultStyle) {
+        TableCellStyle[] styles = this.schemaStylesByRowStyle.get(rowDefaultStyle);
+        if (styles == null) {
+            styles = new TableCellStyle[this.schemaStyles.length];
+            this.schemaStylesByRowStyle.put(rowDefaultStyle, styles);
+        }
+        TableCellStyle style = styles[columnIndex];
+        if (style == null) {
+            style = this.schema.getColumn(columnIndex)
+                    .resolveStyle(this.stylesContainer, this.format, rowDefaultStyle);
+            styles[columnIndex] = style;
+        }
+        return style;
+    }
+
+    /**
+     * Set the source of the rows that follow the rows of the table. The styles of all the
+     * schema columns are registered now, because the source is read when the table is written.
+     *
+     * @param table     the table
+     * @param rowSource the source of the rows, null to remove the source
+     * @param executor  the workers that render the rows, null to render the rows on the
+     *                  thread that writes the table
+     * @param batchSize the number of rows of a batch handed to a worker
+     * @throws IllegalStateException if the table has no schema
+     */
+    public void setRowSource(final Table table, final Iterator<Object[]> rowSource,
+                             final ExecutorService executor, final int batchSize) {
+        if (rowSource != null) {
+            if (this.schema == null) {
+                throw new IllegalStateException("No schema for table " + this.name);
+            }
+            if (executor != null && batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+            }
+            final int columnCount = this.schema.getColumnCount();
+            for (int c = 0; c < columnCount; c++) {
+                this.schema.getColumn(c).registerStyle(this.stylesContainer, this.format,
+                        this.findDefaultCellStyle(c));
+            }
+        }
+        this.rowSourceTable = table;
+        this.rowSource = rowSource;
+        this.rowSourceExecutor = executor;
+        this.rowSourceBatchSize = batchSize;
+    }
+
+    /**
+     * @return true if the table has a row source that was not read
+     */
+    public boolean hasRowSource() {
+        return this.rowSource != null;
+    }
+
+    /**
+     * Read the row source and append every row to the destination. The source is read once.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendRowSource(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        final Iterator<Object[]> source = this.rowSource;
+        if (source == null) {
+            return;
+        }
+        this.rowSource = null;
+
+        final int columnCount = this.schema.getColumnCount();
+        final TableCellStyle[] cellStyles = new TableCellStyle[columnCount];
+        for (int c = 0; c < columnCount; c++) {
+            cellStyles[c] = this.schemaStyles[c];
+            if (cellStyles[c] == null && this.libreOfficeMode) {
+                cellStyles[c] = this.findDefaultCellStyle(c);
+            }
+        }
+        final RowSourceAppender sourceAppender = new RowSourceAppender(this.writeUtil,
+                this.xmlUtil, this.stylesContainer, this.format, this.libreOfficeMode,
+                this.schema, cellStyles, this.rowSourceTable);
+        if (this.rowSourceExecutor == null) {
+            sourceAppender.appendRows(util, appendable, source);
+        } else {
+            sourceAppender.appendRows(appendable, source, this.rowSourceExecutor,
+                    this.rowSourceBatchSize);
+        }
     }
 
     /**
@@ -462,16 +748,26 @@ class TableBuilder {
         }
 
         firstCell.markRowsSpanned(n);
-        this.coverCellsBelow(table, appender, rowIndex, colIndex, n);
+        this.coverCellsBelow(rowIndex, colIndex, n, 1);
     }
 
-    private void coverCellsBelow(final Table table, final TableAppender appender,
-                                 final int rowIndex, final int colIndex, final int n)
-            throws IOException {
-        for (int r = rowIndex + 1; r < rowIndex + n; r++) {
-            final TableRowImpl row = this.getRowSecure(table, appender, r, false);
-            final TableCell cell = row.getOrCreateCell(colIndex);
-            cell.setCovered();
+    /**
+     * Cover the cells below a merged cell. The rows are not created: the existing rows are
+     * covered now, the other rows will be covered on creation or rendered by the merge index.
+     */
+    private void coverCellsBelow(final int rowIndex, final int colIndex, final int rowCount,
+                                 final int colCount) {
+        final int rowTo = rowIndex + rowCount;
+        final int colTo = colIndex + colCount;
+        this.mergeIndex.add(rowIndex + 1, rowTo, colIndex, colTo);
+        int r = this.tableRows.nextAllocatedIndex(rowIndex + 1);
+        final int size = Math.min(rowTo, this.tableRows.usedSize());
+        while (r < size) {
+            final TableRowImpl row = this.tableRows.get(r);
+            if (row != null) {
+                row.coverColumns(colIndex, colTo);
+            }
+            r = this.tableRows.nextAllocatedIndex(r + 1);
         }
     }
 
@@ -491,11 +787,27 @@ class TableBuilder {
         this.name = name;
     }
 
+    /**
+     * @return the number of rows that were created and not yet flushed. This method may be
+     * called from another thread.
+     */
+    public int getResidentRowCount() {
+        return this.residentRowCount;
+    }
+
+    /**
+     * @return the number of rows that were handed to a flusher. This method may be called from
+     * another thread.
+     */
+    public int getFlushedRowCount() {
+        return this.lastFlushedRowIndex;
+    }
+
     /**
      * @return the number if rows
      */
     public int getTableRowsUsedSize() {
-        return this.tableRows.usedSize();
+        return Math.max(this.tableRows.usedSize(), this.mergeIndex.getRowEnd());
     }
 
     /**
@@ -508,6 +820,36 @@ class TableBuilder {
         return this.tableRows.get(r);
     }
 
+    /**
+     * @param r the index
+     * @return r, or the index of the next row that may exist if the rows from r are missing.
+     */
+    public int nextAllocatedRowIndex(final int r) {
+        return Math.min(this.tableRows.nextAllocatedIndex(r),
+                this.mergeIndex.nextCoveredRowIndex(r));
+    }
+
+    /**
+     * @param r the index
+     * @return true if the row has covered cells
+     */
+    public boolean isCoveredRow(final int r) {
+        return this.mergeIndex.isCoveredRow(r);
+    }
+
+    /**
+     * Append a row that was never created, but has cells covered by a merge
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @param r          the row index
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendCoveredRow(final XMLUtil util, final Appendable appendable, final int r)
+            throws IOException {
+        this.mergeIndex.appendCoveredRow(util, appendable, r);
+    }
+
     /**
      * Find the default cell style for a column
      *
@@ -522,6 +864,34 @@ class TableBuilder {
         return style;
     }
 
+    /**
+     * Find the style of a new cell of a column, holding a value with the given data style. The
+     * style is resolved once per column and data style, until the column style changes.
+     *
+     * @param columnIndex the column index
+     * @param dataStyle   the data style of the value
+     * @return the style, *never null*
+     */
+    public TableCellStyle findImplicitCellStyle(final int columnIndex, final DataStyle dataStyle) {
+        if (dataStyle != this.lastDataStyle) {
+            FastFullList<TableCellStyle> implicitStyles =
+                    this.implicitStylesByDataStyle.get(dataStyle);
+            if (implicitStyles == null) {
+                implicitStyles = FastFullList.newListWithCapacity(this.columnCapacity);
+                this.implicitStylesByDataStyle.put(dataStyle, implicitStyles);
+            }
+            this.lastDataStyle = dataStyle;
+            this.lastImplicitStyles = implicitStyles;
+        }
+        TableCellStyle style = this.lastImplicitStyles.get(columnIndex);
+        if (style == null) {
+            style = TableCellImpl.getImplicitStyle(this.stylesContainer,
+                    this.findDefaultCellStyle(columnIndex), dataStyle);
+            this.lastImplicitStyles.set(columnIndex, style);
+        }
+        return style;
+    }
+
     /**
      * @return the shapes
      */
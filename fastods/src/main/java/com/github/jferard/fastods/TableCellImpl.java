@@ -30,6 +30,7 @@ import com.github.jferard.fastods.datastyle.DataStyles;
 import com.github.jferard.fastods.odselement.StylesContainer;
 import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.util.WriteUtil;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -47,30 +48,44 @@ import java.util.TimeZone;
  */
 public class TableCellImpl implements WritableTableCell {
     /**
-     * The default date format
+     * The default date format. A SimpleDateFormat is not thread safe: one format per thread.
      */
-    final static SimpleDateFormat DATE_VALUE_FORMAT;
+    private static final ThreadLocal<SimpleDateFormat> DATE_VALUE_FORMAT =
+            new ThreadLocal<SimpleDateFormat>() {
+                @Override
+                protected SimpleDateFormat initialValue() {
+                    /*
+                     * XML Schema Part 2, 3.2.7 dateTime
+                     * Z and UTC time zone for universal time.
+                     */
+                    final SimpleDateFormat format =
+                            new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+                    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+                    return format;
+                }
+            };
 
-    static {
-        /*
-         * XML Schema Part 2, 3.2.7 dateTime
-         * Z and UTC time zone for universal time.
-         */
-        DATE_VALUE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-        DATE_VALUE_FORMAT.setTimeZone(TimeZone.getTimeZone("UTC"));
+    /**
+     * @param value the date
+     * @return the value of the office:date-value attribute
+     */
+    static String formatDateValue(final Date value) {
+        return DATE_VALUE_FORMAT.get().format(value);
     }
 
-    private final TableRowImpl parentRow;
+    private TableRowImpl parentRow;
     private final WriteUtil writeUtil;
     private final XMLUtil xmlUtil;
     private final StylesContainer stylesContainer;
-    private final DataStyles dataStyles;
+    private DataStyles dataStyles;
     private final boolean libreOfficeMode;
-    private final int columnIndex;
+    private int columnIndex;
     private TableCellStyle style;
     private CellType type;
     private TableColdCell coldCell;
     private String value;
+    private boolean exposed;
+    private boolean flushed;
 
     /**
      * Create the table cell implementation
@@ -101,26 +116,39 @@ public class TableCellImpl implements WritableTableCell {
     public void appendXMLToTableRow(final XMLUtil util, final Appendable appendable)
             throws IOException {
         final boolean covered = this.isCovered();
-        if (covered) {
-            appendable.append("<table:covered-table-cell");
-        } else {
-            appendable.append("<table:table-cell");
-        }
-
+        final XMLToken styleNameAttribute;
         if (this.style != null) {
-            util.appendEAttribute(appendable, "table:style-name", this.style.getName());
+            styleNameAttribute = this.style.getNameAttribute();
         } else if (this.libreOfficeMode) {
             // looks for a parent style to set
-            util.appendEAttribute(appendable, "table:style-name", this.getCurCellStyle().getName());
+            styleNameAttribute = this.getCurCellStyle().getNameAttribute();
+        } else {
+            styleNameAttribute = null;
+        }
+
+        if (styleNameAttribute == null && this.type != null && !covered) {
+            TableXMLTokens.cellStartWithValueType(this.type).appendTo(appendable);
+        } else {
+            if (covered) {
+                TableXMLTokens.COVERED_CELL_START.appendTo(appendable);
+            } else {
+                TableXMLTokens.CELL_START.appendTo(appendable);
+            }
+            if (styleNameAttribute != null) {
+                styleNameAttribute.appendTo(appendable);
+            }
+            if (this.type != null) {
+                TableXMLTokens.valueType(this.type).appendTo(appendable);
+            }
         }
 
         if (this.type != null) {
-            util.appendAttribute(appendable, "office:value-type", this.type);
-            util.appendEAttribute(appendable, this.type.getValueAttribute(), this.value);
+            util.appendTransientEValue(appendable, this.value);
             if (this.type == CellType.CURRENCY) {
-                final String currency = this.getCurrency();
-                util.appendEAttribute(appendable, "office:currency", currency);
+                TableXMLTokens.CURRENCY.appendTo(appendable);
+                appendable.append(util.escapeXMLAttribute(this.getCurrency()));
             }
+            appendable.append('"');
         }
 
         if (this.hasColdCell()) {
@@ -141,17 +169,20 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setCovered() {
+        this.checkNotFlushed();
         this.ensureColdCell();
         this.coldCell.setCovered();
     }
 
     @Override
     public void setColumnsSpanned(final int n) {
+        this.checkNotFlushed();
         this.parentRow.setColumnsSpanned(this.columnIndex, n);
     }
 
     @Override
     public void markColumnsSpanned(final int n) {
+        this.checkNotFlushed();
         if (n < 0) {
             throw new IllegalArgumentException("Can't mark a negative number of columns");
         } else if (n <= 1) {
@@ -164,11 +195,13 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setRowsSpanned(final int n) throws IOException {
+        this.checkNotFlushed();
         this.parentRow.setRowsSpanned(this.columnIndex, n);
     }
 
     @Override
     public void markRowsSpanned(final int n) {
+        this.checkNotFlushed();
         if (n < 0) {
             throw new IllegalArgumentException("Can't mark a negative number of rows");
         } else if (n <= 1) {
@@ -186,6 +219,7 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setBooleanValue(final boolean value) {
+        this.checkNotFlushed();
         this.value = value ? "true" : "false";
         this.type = CellType.BOOLEAN;
         this.setImplicitDataStyle(this.dataStyles.getBooleanDataStyle());
@@ -198,11 +232,13 @@ public class TableCellImpl implements WritableTableCell {
      */
     @Override
     public void setCellValue(final CellValue value) {
+        this.checkNotFlushed();
         value.setToCell(this);
     }
 
     @Override
     public void setCurrencyValue(final float value, final String currency) {
+        this.checkNotFlushed();
         this.setCurrencyValue(Float.toString(value), currency);
     }
 
@@ -217,11 +253,13 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setCurrencyValue(final int value, final String currency) {
+        this.checkNotFlushed();
         this.setCurrencyValue(Integer.toString(value), currency);
     }
 
     @Override
     public void setCurrencyValue(final Number value, final String currency) {
+        this.checkNotFlushed();
         this.setCurrencyValue(value.toString(), currency);
     }
 
@@ -233,19 +271,13 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setDataStyle(final DataStyle dataStyle) {
+        this.checkNotFlushed();
         if (dataStyle == null) {
             return;
         }
 
-        this.stylesContainer.addDataStyle(dataStyle);
-        final TableCellStyle curStyle = this.getCurCellStyle();
-        final DataStyle curDataStyle = curStyle.getDataStyle();
-        if (curDataStyle == null) { // no data style yet: create a custom child style
-            this.style = this.stylesContainer.addChildCellStyle(curStyle, dataStyle);
-        } else { // a style and a data style => create a custom sibling cell style
-            this.style = this.stylesContainer
-                    .addChildCellStyle(curStyle.getParentCellStyle(), dataStyle);
-        }
+        this.style = TableCellImpl.getExplicitStyle(this.stylesContainer,
+                this.getCurCellStyle(), dataStyle);
     }
 
     @Override
@@ -257,21 +289,132 @@ public class TableCellImpl implements WritableTableCell {
      * For implicit data style, e.g. will set an implicit data style if the data style is not set
      */
     private void setImplicitDataStyle(final DataStyle dataStyle) {
+        this.style = TableCellImpl.getImplicitStyle(this.stylesContainer, this.getCurCellStyle(),
+                dataStyle);
+    }
+
+    /**
+     * @param stylesContainer the container
+     * @param curStyle        the current style of the cell
+     * @param dataStyle       the data style implied by the value
+     * @return the style of a cell having the current style and a value of the given data style
+     */
+    static TableCellStyle getImplicitStyle(final StylesContainer stylesContainer,
+                                           final TableCellStyle curStyle,
+                                           final DataStyle dataStyle) {
         assert dataStyle != null;
 
-        final TableCellStyle curStyle = this.getCurCellStyle();
         final DataStyle curDataStyle = curStyle.getDataStyle();
         if (curDataStyle == null) { // no data style yet: create a custom child style
-            this.stylesContainer.addDataStyle(dataStyle);
-            this.style = this.stylesContainer.addChildCellStyle(curStyle, dataStyle);
+            stylesContainer.addDataStyle(dataStyle);
+            return stylesContainer.addChildCellStyle(curStyle, dataStyle);
         } else {
             // TODO: Can't we add this on first style use, once for all?
-            this.stylesContainer.addDataStyle(curDataStyle);
-            this.style = this.stylesContainer
-                    .addChildCellStyle(curStyle.getParentCellStyle(), curDataStyle);
+            stylesContainer.addDataStyle(curDataStyle);
+            return stylesContainer.addChildCellStyle(curStyle.getParentCellStyle(), curDataStyle);
         }
     }
 
+    /**
+     * @param stylesContainer the container
+     * @param curStyle        the current style of the cell
+     * @param dataStyle       the data style set by the user
+     * @return the style of a cell having the current style and the given data style, that
+     * replaces the data style of the current style if any.
+     */
+    static TableCellStyle getExplicitStyle(final StylesContainer stylesContainer,
+                                           final TableCellStyle curStyle,
+                                           final DataStyle dataStyle) {
+        stylesContainer.addDataStyle(dataStyle);
+        final DataStyle curDataStyle = curStyle.getDataStyle();
+        if (curDataStyle == null) { // no data style yet: create a custom child style
+            return stylesContainer.addChildCellStyle(curStyle, dataStyle);
+        } else { // a style and a data style => create a custom sibling cell style
+            return stylesContainer.addChildCellStyle(curStyle.getParentCellStyle(), dataStyle);
+        }
+    }
+
+    /**
+     * Set a value and a style that was already resolved by the caller. This is the fast path
+     * of the bulk methods of {@link TableRowImpl}.
+     *
+     * @param type  the type of the value
+     * @param value the value as a String
+     * @param style the resolved style, may be null
+     */
+    void setResolvedValue(final CellType type, final String value, final TableCellStyle style) {
+        this.type = type;
+        this.value = value;
+        this.style = style;
+    }
+
+
+    /**
+     * @param row a row
+     * @return true if this cell was created by the row
+     */
+    boolean belongsTo(final TableRowImpl row) {
+        return this.parentRow == row;
+    }
+
+    /**
+     * Mark this cell as seen outside of its row: it will not be recycled.
+     */
+    void expose() {
+        this.exposed = true;
+    }
+
+    /**
+     * @return true if this cell was seen outside of its row
+     */
+    boolean isExposed() {
+        return this.exposed;
+    }
+
+    /**
+     * Mark this cell as flushed: it can't be used anymore.
+     */
+    void markFlushed() {
+        this.flushed = true;
+    }
+
+    /**
+     * Forget the value, the style and the attributes of this flushed cell, before it is reused
+     * by a new row. The cell was never seen outside of its row.
+     */
+    void recycle() {
+        this.style = null;
+        this.type = null;
+        this.value = null;
+        this.coldCell = null;
+        this.dataStyles = null;
+        this.parentRow = null;
+    }
+
+    /**
+     * Reuse a recycled cell.
+     *
+     * @param parentRow   the new parent row
+     * @param columnIndex the new index in parent row
+     * @param dataStyles  the data styles of the row
+     */
+    void reuse(final TableRowImpl parentRow, final int columnIndex,
+               final DataStyles dataStyles) {
+        this.parentRow = parentRow;
+        this.columnIndex = columnIndex;
+        this.dataStyles = dataStyles;
+    }
+
+    /**
+     * @throws IllegalStateException if this cell was flushed, i.e. a reference to the flushed
+     *                               cell was kept
+     */
+    private void checkNotFlushed() {
+        if (this.flushed) {
+            throw new IllegalStateException("The cell " + this.parentRow.rowIndex() + "/" +
+                    this.columnIndex + " was flushed and can't be used anymore");
+        }
+    }
 
     /**
      * @return the current cell style, eventually found in parent (row, column, table).
@@ -287,12 +430,14 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setDateValue(final Calendar cal) {
+        this.checkNotFlushed();
         this.setDateValue(cal.getTime());
     }
 
     @Override
     public void setDateValue(final Date value) {
-        this.value = TableCellImpl.DATE_VALUE_FORMAT.format(value);
+        this.checkNotFlushed();
+        this.value = TableCellImpl.formatDateValue(value);
         this.type = CellType.DATE;
         this.setImplicitDataStyle(this.dataStyles.getDateDataStyle());
     }
@@ -305,21 +450,25 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setFloatValue(final float value) {
+        this.checkNotFlushed();
         this.setFloatValue(Float.toString(value));
     }
 
     @Override
     public void setFloatValue(final int value) {
+        this.checkNotFlushed();
         this.setFloatValue(this.writeUtil.toString(value));
     }
 
     @Override
     public void setFloatValue(final Number value) {
+        this.checkNotFlushed();
         this.setFloatValue(value.toString());
     }
 
     @Override
     public void setPercentageValue(final int value) {
+        this.checkNotFlushed();
         this.setPercentageValue(Integer.toString(value));
     }
 
@@ -331,22 +480,26 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setPercentageValue(final float value) {
+        this.checkNotFlushed();
         this.setPercentageValue(Float.toString(value));
     }
 
     @Override
     public void setPercentageValue(final Number value) {
+        this.checkNotFlushed();
         this.setPercentageValue(value.toString());
     }
 
     @Override
     public void setStringValue(final String value) {
-        this.value = value;
+        this.checkNotFlushed();
+        this.value = this.xmlUtil.internStringValue(value);
         this.type = CellType.STRING;
     }
 
     @Override
     public void setStyle(final TableCellStyle style) {
+        this.checkNotFlushed();
         if (style == null) {
             return;
         }
@@ -369,6 +522,7 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setText(final Text text) {
+        this.checkNotFlushed();
         this.ensureColdCell();
         this.coldCell.setText(text);
         this.value = "";
@@ -378,11 +532,13 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setCellMerge(final int rowMerge, final int columnMerge) throws IOException {
+        this.checkNotFlushed();
         this.parentRow.setCellMerge(this.columnIndex, rowMerge, columnMerge);
     }
 
     @Override
     public void setTimeValue(final long timeInMillis) {
+        this.checkNotFlushed();
         if (timeInMillis < 0) {
             this.value = this.xmlUtil
                     .formatNegTimeInterval(0, 0, 0, 0, 0, (double) -timeInMillis / 1000);
@@ -397,6 +553,7 @@ public class TableCellImpl implements WritableTableCell {
     @Override
     public void setTimeValue(final long years, final long months, final long days, final long hours,
                              final long minutes, final double seconds) {
+        this.checkNotFlushed();
         this.value = this.xmlUtil.formatTimeInterval(years, months, days, hours, minutes, seconds);
         this.type = CellType.TIME;
         this.setImplicitDataStyle(this.dataStyles.getTimeDataStyle());
@@ -405,6 +562,7 @@ public class TableCellImpl implements WritableTableCell {
     @Override
     public void setNegTimeValue(final long years, final long months, final long days,
                                 final long hours, final long minutes, final double seconds) {
+        this.checkNotFlushed();
         this.value =
                 this.xmlUtil.formatNegTimeInterval(years, months, days, hours, minutes, seconds);
         this.type = CellType.TIME;
@@ -413,6 +571,7 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setTooltip(final String tooltipText) {
+        this.checkNotFlushed();
         this.ensureColdCell();
         this.coldCell.setTooltip(tooltipText);
     }
@@ -420,12 +579,14 @@ public class TableCellImpl implements WritableTableCell {
     @Override
     public void setTooltip(final String tooltipText, final Length width, final Length height,
                            final boolean visible) {
+        this.checkNotFlushed();
         this.ensureColdCell();
         this.coldCell.setTooltip(tooltipText, width, height, visible);
     }
 
     @Override
     public void setTooltip(final Tooltip tooltip) {
+        this.checkNotFlushed();
         this.ensureColdCell();
         tooltip.addEmbeddedStyles(this.stylesContainer);
         this.coldCell.setTooltip(tooltip);
@@ -433,18 +594,21 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setVoidValue() {
+        this.checkNotFlushed();
         this.value = "";
         this.type = CellType.VOID;
     }
 
     @Override
     public void setFormula(final String formula) {
+        this.checkNotFlushed();
         this.ensureColdCell();
         this.coldCell.setFormula(formula);
     }
 
     @Override
     public void setMatrixFormula(final String formula) {
+        this.checkNotFlushed();
         this.ensureColdCell();
         this.coldCell.setFormula(formula);
         this.coldCell.setMatrixRowsSpanned(1);
@@ -454,6 +618,7 @@ public class TableCellImpl implements WritableTableCell {
     @Override
     public void setMatrixFormula(final String formula, final int matrixRowsSpanned,
                                  final int matrixColumnsSpanned) {
+        this.checkNotFlushed();
         this.ensureColdCell();
         this.coldCell.setFormula(formula);
         this.coldCell.setMatrixRowsSpanned(matrixRowsSpanned);
@@ -59,7 +59,7 @@ public class TableCellWalker implements RowCellWalker, TableRowWalker, TableColu
 
     private final void updateShortcuts(final Table table) throws IOException {
         this.row = table.getRow(this.r);
-        this.cell = this.row.getOrCreateCell(this.c);
+        this.cell = this.row.getOrCreateWalkerCell(this.c);
     }
 
     @Override
@@ -300,13 +300,13 @@ public class TableCellWalker implements RowCellWalker, TableRowWalker, TableColu
     @Override
     public void last() {
         this.c = this.row.getColumnCount() - 1;
-        this.cell = this.row.getOrCreateCell(this.c);
+        this.cell = this.row.getOrCreateWalkerCell(this.c);
     }
 
     @Override
     public void next() {
         this.c++;
-        this.cell = this.row.getOrCreateCell(this.c);
+        this.cell = this.row.getOrCreateWalkerCell(this.c);
     }
 
     /**
@@ -324,7 +324,7 @@ public class TableCellWalker implements RowCellWalker, TableRowWalker, TableColu
             throw new IndexOutOfBoundsException();
         }
         this.c--;
-        this.cell = this.row.getOrCreateCell(this.c);
+        this.cell = this.row.getOrCreateWalkerCell(this.c);
     }
 
     @Override
@@ -333,7 +333,7 @@ public class TableCellWalker implements RowCellWalker, TableRowWalker, TableColu
             throw new IndexOutOfBoundsException();
         }
         this.c = c;
-        this.cell = this.row.getOrCreateCell(this.c);
+        this.cell = this.row.getOrCreateWalkerCell(this.c);
     }
 
 
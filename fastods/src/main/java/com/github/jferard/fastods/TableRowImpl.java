@@ -23,15 +23,22 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.attribute.CellType;
+import com.github.jferard.fastods.datastyle.DataStyle;
 import com.github.jferard.fastods.datastyle.DataStyles;
 import com.github.jferard.fastods.odselement.StylesContainer;
 import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.style.TableRowStyle;
+import com.github.jferard.fastods.util.AdaptiveFullList;
 import com.github.jferard.fastods.util.FastFullList;
 import com.github.jferard.fastods.util.WriteUtil;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
 
 /**
  * 9.1.3 <table:table-row>
@@ -40,6 +47,12 @@ import java.io.IOException;
  * @author Martin Schulz
  */
 public class TableRowImpl implements TableRow {
+    /**
+     * The converter for the cells that already exist. The currency is not used to convert an
+     * object.
+     */
+    private static final ToCellValueConverter CONVERTER = new ObjectToCellValueConverter("USD");
+
     /**
      * Append the XML corresponding to a given row to the appendable
      *
@@ -63,11 +76,15 @@ public class TableRowImpl implements TableRow {
     private final StylesContainer stylesContainer;
     private final WriteUtil writeUtil;
     private final XMLUtil xmlUtil;
-    private final FastFullList<WritableTableCell> cells;
+    private AdaptiveFullList<WritableTableCell> cells;
     private final boolean libreOfficeMode;
     private DataStyles dataStyles;
     private TableRowStyle rowStyle;
     private TableCellStyle defaultCellStyle;
+    private int[] coveredColumns;
+    private final FastFullList<FormulaTemplate> columnFormulas;
+    private final Queue<TableCellImpl> cellPool;
+    private boolean flushed;
 
     /**
      * Create a new TableRow
@@ -85,6 +102,53 @@ public class TableRowImpl implements TableRow {
                  final StylesContainer stylesContainer, final DataStyles dataStyles,
                  final boolean libreOfficeMode, final Table parentTable, final int rowIndex,
                  final int columnCapacity) {
+        this(writeUtil, xmlUtil, stylesContainer, dataStyles, libreOfficeMode, parentTable,
+                rowIndex, columnCapacity, null);
+    }
+
+    /**
+     * Create a new TableRow
+     *
+     * @param writeUtil       an util
+     * @param xmlUtil         an util
+     * @param stylesContainer the styles container
+     * @param dataStyles      the data styles
+     * @param libreOfficeMode try to get full compatibility with LO if true
+     * @param parentTable     the parent table
+     * @param rowIndex        the index of this row
+     * @param columnCapacity  the max column
+     * @param columnFormulas  the formula templates of the columns of the table, or null
+     */
+    TableRowImpl(final WriteUtil writeUtil, final XMLUtil xmlUtil,
+                 final StylesContainer stylesContainer, final DataStyles dataStyles,
+                 final boolean libreOfficeMode, final Table parentTable, final int rowIndex,
+                 final int columnCapacity, final FastFullList<FormulaTemplate> columnFormulas) {
+        this(writeUtil, xmlUtil, stylesContainer, dataStyles, libreOfficeMode, parentTable,
+                rowIndex, columnFormulas,
+                AdaptiveFullList.<WritableTableCell>newListWithCapacity(columnCapacity), null);
+    }
+
+    /**
+     * Create a new TableRow
+     *
+     * @param writeUtil       an util
+     * @param xmlUtil         an util
+     * @param stylesContainer the styles container
+     * @param dataStyles      the data styles
+     * @param libreOfficeMode try to get full compatibility with LO if true
+     * @param parentTable     the parent table
+     * @param rowIndex        the index of this row
+     * @param columnFormulas  the formula templates of the columns of the table, or null
+     * @param cells           an empty list for the cells, maybe recycled
+     * @param cellPool        the recycled cells, or null
+     */
+    TableRowImpl(final WriteUtil writeUtil, final XMLUtil xmlUtil,
+                 final StylesContainer stylesContainer, final DataStyles dataStyles,
+                 final boolean libreOfficeMode, final Table parentTable, final int rowIndex,
+                 final FastFullList<FormulaTemplate> columnFormulas,
+                 final AdaptiveFullList<WritableTableCell> cells,
+                 final Queue<TableCellImpl> cellPool) {
+        this.columnFormulas = columnFormulas;
         this.writeUtil = writeUtil;
         this.stylesContainer = stylesContainer;
         this.xmlUtil = xmlUtil;
@@ -93,7 +157,8 @@ public class TableRowImpl implements TableRow {
         this.parentTable = parentTable;
         this.rowIndex = rowIndex;
         this.rowStyle = TableRowStyle.DEFAULT_TABLE_ROW_STYLE;
-        this.cells = FastFullList.newListWithCapacity(columnCapacity);
+        this.cells = cells;
+        this.cellPool = cellPool;
     }
 
     /**
@@ -107,47 +172,141 @@ public class TableRowImpl implements TableRow {
     public void appendXMLToTable(final XMLUtil util, final Appendable appendable)
             throws IOException {
         this.appendRowOpenTag(util, appendable);
-        int nullFieldCounter = 0;
-
-        final int size = this.cells.usedSize();
-        for (int c = 0; c < size; c++) {
-            final WritableTableCell cell = this.cells.get(c);
+        int nextColIndex = 0;
+        final int formulaCount =
+                this.columnFormulas == null ? 0 : this.columnFormulas.usedSize();
+        int formulaColIndex = 0;
+
+        final int entryCount = this.cells.entryCount();
+        for (int i = 0; i < entryCount; i++) {
+            final WritableTableCell cell = this.cells.valueAt(i);
             if (this.hasNoValue(cell)) {
-                nullFieldCounter++;
                 continue;
             }
-            this.insertBlankCells(util, appendable, nullFieldCounter);
-            nullFieldCounter = 0;
+            final int c = this.cells.keyAt(i);
+            if (formulaColIndex < formulaCount) {
+                nextColIndex = this.appendFormulaCells(util, appendable, nextColIndex,
+                        formulaColIndex, Math.min(c, formulaCount));
+                formulaColIndex = c + 1; // a cell with a value overrides the formula
+            }
+            this.appendGap(util, appendable, nextColIndex, c);
             cell.appendXMLToTableRow(util, appendable);
+            nextColIndex = c + 1;
+        }
+        if (formulaColIndex < formulaCount) {
+            nextColIndex = this.appendFormulaCells(util, appendable, nextColIndex,
+                    formulaColIndex, formulaCount);
+        }
+        if (this.coveredColumns != null) {
+            final int coveredEnd = this.coveredColumns[this.coveredColumns.length - 1];
+            if (coveredEnd > nextColIndex) {
+                this.appendGap(util, appendable, nextColIndex, coveredEnd);
+            }
+        }
+
+        TableXMLTokens.ROW_END.appendTo(appendable);
+    }
+
+    /**
+     * Append the cells of the formula templates of the columns between two indices. The
+     * covered cells are skipped.
+     *
+     * @return the index of the next column
+     */
+    private int appendFormulaCells(final XMLUtil util, final Appendable appendable,
+                                   final int nextColIndex, final int from, final int to)
+            throws IOException {
+        int next = nextColIndex;
+        for (int c = from; c < to; c++) {
+            final FormulaTemplate formula = this.columnFormulas.get(c);
+            if (formula == null || this.isCoveredColumn(c)) {
+                continue;
+            }
+            this.appendGap(util, appendable, next, c);
+            formula.appendXMLToTableRow(appendable, this.rowIndex);
+            next = c + 1;
         }
+        return next;
+    }
 
-        appendable.append("</table:table-row>");
+    /**
+     * Append the cells without value between two cells: blank cells and covered cells.
+     */
+    private void appendGap(final XMLUtil util, final Appendable appendable, final int from,
+                           final int to) throws IOException {
+        int c = from;
+        if (this.coveredColumns != null) {
+            for (int i = 0; i < this.coveredColumns.length && this.coveredColumns[i] < to;
+                 i += 2) {
+                final int coveredFrom = Math.max(this.coveredColumns[i], c);
+                final int coveredTo = Math.min(this.coveredColumns[i + 1], to);
+                if (coveredFrom < coveredTo) {
+                    TableRowImpl.appendBlankCells(util, appendable, coveredFrom - c);
+                    TableRowImpl.appendCoveredCells(util, appendable, coveredTo - coveredFrom);
+                    c = coveredTo;
+                }
+            }
+        }
+        TableRowImpl.appendBlankCells(util, appendable, to - c);
     }
 
     private void appendRowOpenTag(final XMLUtil util, final Appendable appendable)
             throws IOException {
-        appendable.append("<table:table-row");
+        TableXMLTokens.ROW_START.appendTo(appendable);
         if (this.rowStyle != null) {
-            util.appendEAttribute(appendable, "table:style-name", this.rowStyle.getName());
+            this.rowStyle.getNameAttribute().appendTo(appendable);
         }
         if (this.defaultCellStyle != null) {
-            util.appendEAttribute(appendable, "table:default-cell-style-name",
-                    this.defaultCellStyle.getName());
+            TableXMLTokens.appendNameAttribute(util, appendable,
+                    TableXMLTokens.DEFAULT_CELL_STYLE_NAME, this.defaultCellStyle.getName());
         }
         appendable.append(">");
     }
 
-    private void insertBlankCells(final XMLUtil util, final Appendable appendable,
-                                  final int nullFieldCounter) throws IOException {
-        if (nullFieldCounter <= 0) {
+    /**
+     * Append a run of blank cells
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @param count      the number of cells
+     * @throws IOException if an I/O error occurs
+     */
+    static void appendBlankCells(final XMLUtil util, final Appendable appendable,
+                                 final int count) throws IOException {
+        if (count <= 0) {
+            return;
+        }
+
+        if (count == 1) {
+            TableXMLTokens.BLANK_CELL.appendTo(appendable);
+        } else {
+            TableXMLTokens.BLANK_CELLS_START.appendTo(appendable);
+            appendable.append(String.valueOf(count));
+            TableXMLTokens.REPEATED_CELLS_END.appendTo(appendable);
+        }
+    }
+
+    /**
+     * Append a run of empty covered cells
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @param count      the number of cells
+     * @throws IOException if an I/O error occurs
+     */
+    static void appendCoveredCells(final XMLUtil util, final Appendable appendable,
+                                   final int count) throws IOException {
+        if (count <= 0) {
             return;
         }
 
-        appendable.append("<table:table-cell");
-        if (nullFieldCounter >= 2) {
-            util.appendAttribute(appendable, "table:number-columns-repeated", nullFieldCounter);
+        if (count == 1) {
+            TableXMLTokens.COVERED_CELL.appendTo(appendable);
+        } else {
+            TableXMLTokens.COVERED_CELLS_START.appendTo(appendable);
+            appendable.append(String.valueOf(count));
+            TableXMLTokens.REPEATED_CELLS_END.appendTo(appendable);
         }
-        appendable.append("/>");
     }
 
     private boolean hasNoValue(final TableCell cell) {
@@ -159,6 +318,7 @@ public class TableRowImpl implements TableRow {
      */
     @Deprecated
     public RowCellWalker getWalker() {
+        this.checkNotFlushed();
         return new RowCellWalkerImpl(this);
     }
 
@@ -172,6 +332,7 @@ public class TableRowImpl implements TableRow {
      */
     public void setCellMerge(final int colIndex, final int rowMerge, final int columnMerge)
             throws IOException {
+        this.checkNotFlushed();
         if (rowMerge < 0 || columnMerge < 0) {
             throw new IllegalArgumentException("row merge and col merge must be >= 0");
         } else if (rowMerge <= 1 && columnMerge <= 1) {
@@ -187,11 +348,47 @@ public class TableRowImpl implements TableRow {
      * @param n        the number of cells to cover
      */
     public void coverRightCells(final int colIndex, final int n) {
+        this.checkNotFlushed();
         for (int c = colIndex + 1; c < colIndex + n; c++) {
-            this.getOrCreateCell(c).setCovered();
+            this.getOrCreateRowCell(c).setCovered();
         }
     }
 
+    /**
+     * Cover a range of columns without creating the cells. The cells that exist are covered,
+     * the cells that will be created in the range will be covered.
+     *
+     * @param colFrom the first column
+     * @param colTo   the last column, excluded
+     */
+    void coverColumns(final int colFrom, final int colTo) {
+        this.coveredColumns = MergeIndex.union(this.coveredColumns, colFrom, colTo);
+        final int entryCount = this.cells.entryCount();
+        for (int i = 0; i < entryCount; i++) {
+            final int c = this.cells.keyAt(i);
+            if (colFrom <= c && c < colTo) {
+                final WritableTableCell cell = this.cells.valueAt(i);
+                if (cell != null) {
+                    cell.setCovered();
+                }
+            }
+        }
+    }
+
+    private boolean isCoveredColumn(final int colIndex) {
+        if (this.coveredColumns == null) {
+            return false;
+        }
+        for (int i = 0; i < this.coveredColumns.length; i += 2) {
+            if (colIndex < this.coveredColumns[i]) {
+                return false;
+            } else if (colIndex < this.coveredColumns[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Add a span across columns
      *
@@ -200,13 +397,14 @@ public class TableRowImpl implements TableRow {
      * @throws IllegalArgumentException if n < 0
      */
     public void setColumnsSpanned(final int colIndex, final int n) {
+        this.checkNotFlushed();
         if (n < 0) {
             throw new IllegalArgumentException("Can't span negative number of columns");
         } else if (n <= 1) {
             return;
         }
 
-        final TableCell firstCell = this.getOrCreateCell(colIndex);
+        final TableCell firstCell = this.getOrCreateRowCell(colIndex);
         if (firstCell.isCovered()) {
             throw new IllegalArgumentException("Can't span from covered cell");
         }
@@ -216,6 +414,7 @@ public class TableRowImpl implements TableRow {
 
     @Override
     public void setRowFormat(final DataStyles format) {
+        this.checkNotFlushed();
         this.dataStyles = format;
     }
 
@@ -228,13 +427,14 @@ public class TableRowImpl implements TableRow {
      * @throws IllegalArgumentException if n < 0 of this cells is covered
      */
     public void setRowsSpanned(final int colIndex, final int n) throws IOException {
+        this.checkNotFlushed();
         if (n < 0) {
             throw new IllegalArgumentException("Can't span negative number of rows");
         } else if (n <= 1) {
             return;
         }
 
-        final TableCell firstCell = this.getOrCreateCell(colIndex);
+        final TableCell firstCell = this.getOrCreateRowCell(colIndex);
         if (firstCell.isCovered()) {
             throw new IllegalArgumentException("Can't span from covered cell");
         }
@@ -250,15 +450,302 @@ public class TableRowImpl implements TableRow {
      * @return a cell
      */
     public TableCell getOrCreateCell(final int colIndex) {
+        this.checkNotFlushed();
+        final WritableTableCell cell = this.getOrCreateRowCell(colIndex);
+        if (cell instanceof TableCellImpl) {
+            ((TableCellImpl) cell).expose();
+        }
+        return cell;
+    }
+
+    /**
+     * Get the cell at given index for a walker, that does not keep the cell once it leaves the
+     * row: the cell may be recycled. See {@link Table#setRowRecycling(boolean)}.
+     *
+     * @param colIndex the index of the cell in the row
+     * @return a cell
+     */
+    TableCell getOrCreateWalkerCell(final int colIndex) {
+        this.checkNotFlushed();
+        return this.getOrCreateRowCell(colIndex);
+    }
+
+    private WritableTableCell getOrCreateRowCell(final int colIndex) {
         WritableTableCell cell = this.cells.get(colIndex);
         if (cell == null) {
-            cell = new TableCellImpl(this.writeUtil, this.xmlUtil, this.stylesContainer,
-                    this.dataStyles, this.libreOfficeMode, this, colIndex);
+            cell = this.createCell(colIndex);
             this.cells.set(colIndex, cell);
         }
         return cell;
     }
 
+    private TableCellImpl createCell(final int colIndex) {
+        final TableCellImpl cell = this.getSpareCell(colIndex);
+        if (this.isCoveredColumn(colIndex)) {
+            cell.setCovered();
+        }
+        return cell;
+    }
+
+    private TableCellImpl getSpareCell(final int colIndex) {
+        if (this.cellPool != null) {
+            final TableCellImpl cell = this.cellPool.poll();
+            if (cell != null) {
+                cell.reuse(this, colIndex, this.dataStyles);
+                return cell;
+            }
+        }
+        return new TableCellImpl(this.writeUtil, this.xmlUtil, this.stylesContainer,
+                this.dataStyles, this.libreOfficeMode, this, colIndex);
+    }
+
+    /**
+     * Recycle this flushed row: the row and the cells that were returned by
+     * {@link #getOrCreateCell(int)} are marked as flushed and can't be used anymore. The other
+     * cells were never seen outside of the row: they are reset and put in the pool. See
+     * {@link Table#setRowRecycling(boolean)}.
+     *
+     * @return the list of the cells, empty, to be reused by a new row
+     */
+    AdaptiveFullList<WritableTableCell> recycle() {
+        this.flushed = true;
+        final int entryCount = this.cells.entryCount();
+        for (int i = 0; i < entryCount; i++) {
+            final WritableTableCell cell = this.cells.valueAt(i);
+            if (this.isOwnCell(cell, this.cells.keyAt(i))) {
+                final TableCellImpl ownCell = (TableCellImpl) cell;
+                if (ownCell.isExposed()) {
+                    ownCell.markFlushed();
+                } else {
+                    ownCell.recycle();
+                    this.cellPool.add(ownCell);
+                }
+            }
+        }
+        final AdaptiveFullList<WritableTableCell> recycledCells = this.cells;
+        recycledCells.clear();
+        this.cells = null;
+        return recycledCells;
+    }
+
+    /**
+     * Mark this row and its cells as flushed, without recycling them: the row will be written
+     * by the end of the table.
+     */
+    void markFlushed() {
+        this.flushed = true;
+        final int entryCount = this.cells.entryCount();
+        for (int i = 0; i < entryCount; i++) {
+            final WritableTableCell cell = this.cells.valueAt(i);
+            if (this.isOwnCell(cell, this.cells.keyAt(i))) {
+                ((TableCellImpl) cell).markFlushed();
+            }
+        }
+    }
+
+    private boolean isOwnCell(final WritableTableCell cell, final int colIndex) {
+        return cell instanceof TableCellImpl && ((TableCellImpl) cell).belongsTo(this) &&
+                cell.colIndex() == colIndex;
+    }
+
+    /**
+     * @throws IllegalStateException if this row was flushed and recycled, i.e. a reference to
+     *                               the flushed row was kept
+     */
+    private void checkNotFlushed() {
+        if (this.flushed) {
+            throw new IllegalStateException(
+                    "The row " + this.rowIndex + " was flushed and can't be used anymore");
+        }
+    }
+
+    /**
+     * Set the values of the cells, from the first column, in one pass. If the table has a
+     * schema, the values follow the schema, else the mapping from objects to cell values is the
+     * mapping of {@link ObjectToCellValueConverter}. The styles of the new cells are resolved
+     * once per column.
+     *
+     * @param values the values
+     */
+    public void setValues(final Object... values) {
+        this.checkNotFlushed();
+        final TableSchema schema = this.parentTable.getSchema();
+        if (schema != null) {
+            this.setSchemaValues(schema, values);
+            return;
+        }
+
+        final int size = values.length;
+        for (int c = 0; c < size; c++) {
+            final Object value = values[c];
+            final WritableTableCell cell = this.cells.get(c);
+            if (cell == null) {
+                final TableCellImpl newCell = this.createCell(c);
+                this.cells.set(c, newCell);
+                this.setNewCellValue(newCell, c, value);
+            } else {
+                cell.setCellValue(CONVERTER.from(value));
+            }
+        }
+    }
+
+    private void setSchemaValues(final TableSchema schema, final Object[] values) {
+        final int size = values.length;
+        if (size > schema.getColumnCount()) {
+            throw new IllegalArgumentException(
+                    "Expected at most " + schema.getColumnCount() + " values, got " + size);
+        }
+        final ToCellValueConverter defaultConverter = schema.getDefaultConverter();
+        for (int c = 0; c < size; c++) {
+            final TableSchemaColumn column = schema.getColumn(c);
+            final Object value = values[c];
+            final WritableTableCell cell = this.cells.get(c);
+            if (cell == null) {
+                final TableCellImpl newCell = this.createCell(c);
+                this.cells.set(c, newCell);
+                if (!column.setFastValue(newCell, this.findSchemaStyle(c), value)) {
+                    column.setValue(newCell, value, defaultConverter);
+                }
+            } else {
+                column.setValue(cell, value, defaultConverter);
+            }
+        }
+    }
+
+    private TableCellStyle findSchemaStyle(final int colIndex) {
+        if (this.defaultCellStyle == null) {
+            return this.parentTable.getSchemaStyle(colIndex);
+        } else {
+            return this.parentTable.getSchemaStyle(colIndex, this.defaultCellStyle);
+        }
+    }
+
+    private void setNewCellValue(final TableCellImpl cell, final int colIndex,
+                                 final Object value) {
+        if (value instanceof String) {
+            cell.setResolvedValue(CellType.STRING, this.xmlUtil.internStringValue((String) value),
+                    null);
+        } else if (value instanceof Number) {
+            cell.setResolvedValue(CellType.FLOAT, value.toString(),
+                    this.findImplicitCellStyle(colIndex, this.dataStyles.getFloatDataStyle()));
+        } else if (value instanceof Boolean) {
+            cell.setResolvedValue(CellType.BOOLEAN, (Boolean) value ? "true" : "false",
+                    this.findImplicitCellStyle(colIndex, this.dataStyles.getBooleanDataStyle()));
+        } else if (value instanceof Date) {
+            this.setNewCellDateValue(cell, colIndex, (Date) value);
+        } else if (value instanceof Calendar) {
+            this.setNewCellDateValue(cell, colIndex, ((Calendar) value).getTime());
+        } else {
+            cell.setCellValue(CONVERTER.from(value));
+        }
+    }
+
+    private void setNewCellDateValue(final TableCellImpl cell, final int colIndex,
+                                     final Date value) {
+        cell.setResolvedValue(CellType.DATE, TableCellImpl.formatDateValue(value),
+                this.findImplicitCellStyle(colIndex, this.dataStyles.getDateDataStyle()));
+    }
+
+    /**
+     * Set the values of the cells, from the first column, in one pass.
+     *
+     * @param values the values
+     */
+    public void setCellValues(final List<CellValue> values) {
+        this.checkNotFlushed();
+        final int size = values.size();
+        for (int c = 0; c < size; c++) {
+            this.getOrCreateRowCell(c).setCellValue(values.get(c));
+        }
+    }
+
+    /**
+     * Set the float values of the cells, from the first column, in one pass. The data style
+     * replaces the float data style of the row format. The styles of the new cells are
+     * resolved once per column.
+     *
+     * @param dataStyle the data style of the values, null for the default float data style
+     * @param values    the values
+     */
+    public void setFloatValues(final DataStyle dataStyle, final double... values) {
+        this.checkNotFlushed();
+        final int size = values.length;
+        for (int c = 0; c < size; c++) {
+            final WritableTableCell cell = this.cells.get(c);
+            if (cell == null) {
+                final TableCellImpl newCell = this.createCell(c);
+                newCell.setResolvedValue(CellType.FLOAT, Double.toString(values[c]),
+                        this.findFloatCellStyle(c, dataStyle));
+                this.cells.set(c, newCell);
+            } else {
+                cell.setFloatValue(Double.valueOf(values[c]));
+                cell.setDataStyle(dataStyle);
+            }
+        }
+    }
+
+    /**
+     * Set the float values of the cells, from the first column, in one pass. The data style
+     * replaces the float data style of the row format. The styles of the new cells are
+     * resolved once per column.
+     *
+     * @param dataStyle the data style of the values, null for the default float data style
+     * @param values    the values
+     */
+    public void setFloatValues(final DataStyle dataStyle, final long... values) {
+        this.checkNotFlushed();
+        final int size = values.length;
+        for (int c = 0; c < size; c++) {
+            final long value = values[c];
+            final WritableTableCell cell = this.cells.get(c);
+            if (cell == null) {
+                final TableCellImpl newCell = this.createCell(c);
+                final String valueAsString;
+                if (Integer.MIN_VALUE <= value && value <= Integer.MAX_VALUE) {
+                    valueAsString = this.writeUtil.toString((int) value);
+                } else {
+                    valueAsString = Long.toString(value);
+                }
+                newCell.setResolvedValue(CellType.FLOAT, valueAsString,
+                        this.findFloatCellStyle(c, dataStyle));
+                this.cells.set(c, newCell);
+            } else {
+                cell.setFloatValue(Long.valueOf(value));
+                cell.setDataStyle(dataStyle);
+            }
+        }
+    }
+
+    /**
+     * @param colIndex  the column index
+     * @param dataStyle the data style set by the user, null for the default float data style
+     * @return the style of a new cell at this index, holding a float value. As with
+     * {@link TableCellImpl#setDataStyle(DataStyle)}, a data style set by the user replaces the
+     * data style of the default cell style of the column.
+     */
+    private TableCellStyle findFloatCellStyle(final int colIndex, final DataStyle dataStyle) {
+        if (dataStyle == null) {
+            return this.findImplicitCellStyle(colIndex, this.dataStyles.getFloatDataStyle());
+        } else {
+            return TableCellImpl.getExplicitStyle(this.stylesContainer,
+                    this.findDefaultCellStyle(colIndex), dataStyle);
+        }
+    }
+
+    /**
+     * @param colIndex  the column index
+     * @param dataStyle the data style of the value
+     * @return the style of a new cell at this index, holding a value with the given data style.
+     */
+    private TableCellStyle findImplicitCellStyle(final int colIndex, final DataStyle dataStyle) {
+        if (this.defaultCellStyle == null) {
+            return this.parentTable.findImplicitCellStyle(colIndex, dataStyle);
+        } else {
+            return TableCellImpl.getImplicitStyle(this.stylesContainer, this.defaultCellStyle,
+                    dataStyle);
+        }
+    }
+
     /**
      * Set a custom table cell at a given index.
      *
@@ -266,11 +753,13 @@ public class TableRowImpl implements TableRow {
      * @param cell the cell
      */
     public void set(final int colIndex, final WritableTableCell cell) {
+        this.checkNotFlushed();
         this.cells.set(colIndex, cell);
     }
 
     @Override
     public void setRowStyle(final TableRowStyle rowStyle) {
+        this.checkNotFlushed();
         rowStyle.addToContentStyles(this.stylesContainer);
         this.rowStyle = rowStyle;
         this.defaultCellStyle = rowStyle.getDefaultCellStyle();
@@ -278,6 +767,7 @@ public class TableRowImpl implements TableRow {
 
     @Override
     public int getColumnCount() {
+        this.checkNotFlushed();
         return this.cells.usedSize();
     }
 
@@ -286,8 +776,12 @@ public class TableRowImpl implements TableRow {
      * @return true if the cell at the colIndex is covered by a span
      */
     public boolean isCovered(final int colIndex) {
+        this.checkNotFlushed();
         final TableCell cell = this.cells.get(colIndex);
-        return cell != null && cell.isCovered();
+        if (cell == null) {
+            return this.isCoveredColumn(colIndex);
+        }
+        return cell.isCovered();
     }
 
     /**
@@ -306,6 +800,7 @@ public class TableRowImpl implements TableRow {
 
     @Override
     public void setDefaultCellStyle(final TableCellStyle ts) {
+        this.checkNotFlushed();
         this.stylesContainer.addContentFontFaceContainerStyle(ts);
         this.defaultCellStyle = ts;
     }
@@ -317,6 +812,7 @@ public class TableRowImpl implements TableRow {
 
     @Override
     public void removeRowStyle() {
+        this.checkNotFlushed();
         this.rowStyle = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import java.util.List;
+
+/**
+ * The declaration of the columns of a table: name, type, style, data style and converter. Once
+ * the schema is attached to a table, the styles are resolved once per column and the rows
+ * appended with {@link Table#appendRow(Object...)} take a fast path.
+ *
+ * @author J. Férard
+ */
+public final class TableSchema {
+    /**
+     * @return a builder for a schema
+     */
+    public static TableSchemaBuilder builder() {
+        return new TableSchemaBuilder();
+    }
+
+    private final List<TableSchemaColumn> columns;
+    private final ToCellValueConverter defaultConverter;
+
+    /**
+     * @param columns          the columns
+     * @param defaultConverter the converter for the columns without converter
+     */
+    TableSchema(final List<TableSchemaColumn> columns,
+                final ToCellValueConverter defaultConverter) {
+        this.columns = columns;
+        this.defaultConverter = defaultConverter;
+    }
+
+    /**
+     * @return the number of columns
+     */
+    public int getColumnCount() {
+        return this.columns.size();
+    }
+
+    /**
+     * @param colIndex the index of the column
+     * @return the column
+     */
+    public TableSchemaColumn getColumn(final int colIndex) {
+        return this.columns.get(colIndex);
+    }
+
+    /**
+     * @return the converter for the columns without converter
+     */
+    ToCellValueConverter getDefaultConverter() {
+        return this.defaultConverter;
+    }
+}
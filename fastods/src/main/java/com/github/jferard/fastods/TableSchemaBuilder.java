@@ -0,0 +1,110 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.CellType;
+import com.github.jferard.fastods.datastyle.DataStyle;
+import com.github.jferard.fastods.style.TableCellStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A builder for a table schema
+ *
+ * @author J. Férard
+ */
+public class TableSchemaBuilder {
+    private final List<TableSchemaColumn> columns;
+    private String currency;
+
+    /**
+     * Create a new builder
+     */
+    TableSchemaBuilder() {
+        this.columns = new ArrayList<TableSchemaColumn>();
+        this.currency = "USD";
+    }
+
+    /**
+     * Add a column
+     *
+     * @param name the name of the column
+     * @param type the type of the values
+     * @return this for fluent style
+     */
+    public TableSchemaBuilder column(final String name, final CellType type) {
+        return this.column(name, type, null, null, null);
+    }
+
+    /**
+     * Add a column
+     *
+     * @param name      the name of the column
+     * @param type      the type of the values
+     * @param style     the style of the cells, null for the default style of the column
+     * @param dataStyle the data style of the cells, null for the default data style of the type
+     * @return this for fluent style
+     */
+    public TableSchemaBuilder column(final String name, final CellType type,
+                                     final TableCellStyle style, final DataStyle dataStyle) {
+        return this.column(name, type, style, dataStyle, null);
+    }
+
+    /**
+     * Add a column
+     *
+     * @param name      the name of the column
+     * @param type      the type of the values
+     * @param style     the style of the cells, null for the default style of the column
+     * @param dataStyle the data style of the cells, null for the default data style of the type
+     * @param converter the converter of the values, null for the default converter
+     * @return this for fluent style
+     */
+    public TableSchemaBuilder column(final String name, final CellType type,
+                                     final TableCellStyle style, final DataStyle dataStyle,
+                                     final ToCellValueConverter converter) {
+        this.columns.add(new TableSchemaColumn(name, type, style, dataStyle, converter));
+        return this;
+    }
+
+    /**
+     * Set the currency of the default converter
+     *
+     * @param currency the currency
+     * @return this for fluent style
+     */
+    public TableSchemaBuilder currency(final String currency) {
+        this.currency = currency;
+        return this;
+    }
+
+    /**
+     * @return the schema
+     */
+    public TableSchema build() {
+        return new TableSchema(new ArrayList<TableSchemaColumn>(this.columns),
+                new ObjectToCellValueConverter(this.currency));
+    }
+}
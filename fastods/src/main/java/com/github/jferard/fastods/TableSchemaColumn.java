@@ -0,0 +1,269 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.CellType;
+import com.github.jferard.fastods.datastyle.DataStyle;
+import com.github.jferard.fastods.datastyle.DataStyles;
+import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * A column of a table schema.
+ *
+ * @author J. Férard
+ */
+public final class TableSchemaColumn {
+    private final String name;
+    private final CellType type;
+    private final TableCellStyle style;
+    private final DataStyle dataStyle;
+    private final ToCellValueConverter converter;
+    private final boolean fastPath;
+
+    /**
+     * @param name      the name of the column
+     * @param type      the type of the values
+     * @param style     the style of the cells, may be null
+     * @param dataStyle the data style of the cells, may be null
+     * @param converter the converter of the values, may be null
+     */
+    TableSchemaColumn(final String name, final CellType type, final TableCellStyle style,
+                      final DataStyle dataStyle, final ToCellValueConverter converter) {
+        this.name = name;
+        this.type = type;
+        this.style = style;
+        this.dataStyle = dataStyle;
+        this.converter = converter;
+        this.fastPath = converter == null && (type == CellType.FLOAT ||
+                type == CellType.PERCENTAGE || type == CellType.BOOLEAN ||
+                type == CellType.DATE || type == CellType.STRING);
+    }
+
+    /**
+     * @return the name of the column
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return the type of the values
+     */
+    public CellType getType() {
+        return this.type;
+    }
+
+    /**
+     * @return the style of the cells, may be null
+     */
+    public TableCellStyle getStyle() {
+        return this.style;
+    }
+
+    /**
+     * @return the data style of the cells, may be null
+     */
+    public DataStyle getDataStyle() {
+        return this.dataStyle;
+    }
+
+    /**
+     * @return the converter of the values, may be null
+     */
+    public ToCellValueConverter getConverter() {
+        return this.converter;
+    }
+
+    /**
+     * Resolve the style of the cells of this column. This is done once per column.
+     *
+     * @param stylesContainer the container
+     * @param dataStyles      the default data styles
+     * @param defaultStyle    the default style of the cells of the column
+     * @return the style of the cells that take the fast path, may be null
+     */
+    TableCellStyle resolveStyle(final StylesContainer stylesContainer,
+                                final DataStyles dataStyles, final TableCellStyle defaultStyle) {
+        if (!this.fastPath) {
+            return null;
+        }
+
+        return this.registerStyle(stylesContainer, dataStyles, defaultStyle);
+    }
+
+    /**
+     * Register the styles of the cells of this column, even if the column does not take the fast
+     * path.
+     *
+     * @param stylesContainer the container
+     * @param dataStyles      the default data styles
+     * @param defaultStyle    the default style of the cells of the column
+     * @return the style of the cells, may be null
+     */
+    TableCellStyle registerStyle(final StylesContainer stylesContainer,
+                                 final DataStyles dataStyles, final TableCellStyle defaultStyle) {
+        final TableCellStyle baseStyle;
+        if (this.style == null) {
+            baseStyle = defaultStyle;
+        } else {
+            stylesContainer.addContentFontFaceContainerStyle(this.style);
+            baseStyle = this.style;
+        }
+        if (this.dataStyle != null) {
+            stylesContainer.addDataStyle(this.dataStyle);
+            if (baseStyle.getDataStyle() == null) {
+                return stylesContainer.addChildCellStyle(baseStyle, this.dataStyle);
+            } else {
+                return stylesContainer
+                        .addChildCellStyle(baseStyle.getParentCellStyle(), this.dataStyle);
+            }
+        }
+        final DataStyle implicitDataStyle = dataStyles.getDataStyle(this.type);
+        if (implicitDataStyle == null) {
+            return this.style;
+        } else {
+            return TableCellImpl.getImplicitStyle(stylesContainer, baseStyle, implicitDataStyle);
+        }
+    }
+
+    /**
+     * Set the value of a new cell without dispatch, if the value has the expected Java type.
+     *
+     * @param cell          the new cell
+     * @param resolvedStyle the style returned by {@code resolveStyle}
+     * @param value         the value
+     * @return true if the value was set
+     */
+    boolean setFastValue(final TableCellImpl cell, final TableCellStyle resolvedStyle,
+                         final Object value) {
+        final String fastValue = this.toFastValue(value);
+        if (fastValue == null) {
+            return false;
+        }
+
+        cell.setResolvedValue(this.type, fastValue, resolvedStyle);
+        return true;
+    }
+
+    /**
+     * Append the XML of a cell holding a value, without creating the cell.
+     *
+     * @param util          an util
+     * @param appendable    the destination
+     * @param resolvedStyle the style of the cell, may be null
+     * @param fastValue     the value returned by {@code toFastValue}
+     * @throws IOException if an I/O error occurs
+     */
+    void appendCellXML(final XMLUtil util, final Appendable appendable,
+                       final TableCellStyle resolvedStyle, final String fastValue)
+            throws IOException {
+        if (resolvedStyle == null) {
+            TableXMLTokens.cellStartWithValueType(this.type).appendTo(appendable);
+        } else {
+            TableXMLTokens.CELL_START.appendTo(appendable);
+            resolvedStyle.getNameAttribute().appendTo(appendable);
+            TableXMLTokens.valueType(this.type).appendTo(appendable);
+        }
+        util.appendTransientEValue(appendable, fastValue);
+        appendable.append("\"/>");
+    }
+
+    /**
+     * @param value the value
+     * @return the value as a string, or null if the value does not take the fast path
+     */
+    String toFastValue(final Object value) {
+        if (!this.fastPath) {
+            return null;
+        }
+
+        switch (this.type) {
+            case FLOAT:
+            case PERCENTAGE:
+                if (value instanceof Number) {
+                    return value.toString();
+                }
+                break;
+            case BOOLEAN:
+                if (value instanceof Boolean) {
+                    return (Boolean) value ? "true" : "false";
+                }
+                break;
+            case DATE:
+                if (value instanceof Date) {
+                    return TableCellImpl.formatDateValue((Date) value);
+                } else if (value instanceof Calendar) {
+                    return TableCellImpl.formatDateValue(((Calendar) value).getTime());
+                }
+                break;
+            case STRING:
+                if (value instanceof String) {
+                    return (String) value;
+                }
+                break;
+            default:
+                break;
+        }
+        return null;
+    }
+
+    /**
+     * Set the value of a cell with the converter and the regular setters.
+     *
+     * @param cell             the cell
+     * @param value            the value
+     * @param defaultConverter the converter to use if this column has no converter
+     * @throws IllegalArgumentException if the value can't be converted to the type
+     */
+    void setValue(final TableCell cell, final Object value,
+                  final ToCellValueConverter defaultConverter) {
+        final CellValue cellValue;
+        if (value == null) {
+            cellValue = VoidValue.INSTANCE;
+        } else {
+            final ToCellValueConverter valueConverter;
+            if (this.converter == null) {
+                valueConverter = defaultConverter;
+            } else {
+                valueConverter = this.converter;
+            }
+            try {
+                cellValue = valueConverter.from(this.type, value);
+            } catch (final FastOdsException e) {
+                throw new IllegalArgumentException("Column " + this.name, e);
+            }
+        }
+        if (this.style != null) {
+            cell.setStyle(this.style);
+        }
+        cell.setCellValue(cellValue);
+        cell.setDataStyle(this.dataStyle);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.XMLUTF8Writer;
+import com.github.jferard.fastods.util.XMLUtil;
+import com.github.jferard.fastods.util.ZipUTF8Writer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * A spill segment for a table that is filled concurrently with other tables.
+ * <p>
+ * The segment observes the table: the flushed row batches are written to a temporary file
+ * instead of content.xml. Once the table is ended, the segment is itself an async flusher
+ * that copies the temporary file into content.xml and deletes it, even if the copy fails. The
+ * temporary file is also deleted on exit, should the segment never be flushed.
+ *
+ * @author Julien Férard
+ */
+public class TableSpillSegment implements NamedOdsFileWriter, OdsXMLFlusher {
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    /**
+     * @param xmlUtil  an util to write the rows of this table
+     * @param table    the table
+     * @param observer the writer of the document
+     * @return the segment, already observing the table
+     * @throws IOException if the temporary file can't be created
+     */
+    public static TableSpillSegment create(final XMLUtil xmlUtil, final Table table,
+                                           final NamedOdsFileWriter observer)
+            throws IOException {
+        final File file = File.createTempFile("fastods-table", ".xml");
+        file.deleteOnExit();
+        final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), ZipUTF8Writer.UTF_8),
+                BUFFER_SIZE);
+        final TableSpillSegment segment = new TableSpillSegment(xmlUtil, table, observer, file,
+                new SpillWriter(writer));
+        table.addObserver(segment);
+        return segment;
+    }
+
+    private final XMLUtil xmlUtil;
+    private final Table table;
+    private final NamedOdsFileWriter observer;
+    private final File file;
+    private final XMLUTF8Writer spillWriter;
+    private boolean ended;
+
+    /**
+     * @param xmlUtil     an util
+     * @param table       the table
+     * @param observer    the writer of the document
+     * @param file        the temporary file
+     * @param spillWriter a writer on the temporary file
+     */
+    TableSpillSegment(final XMLUtil xmlUtil, final Table table,
+                      final NamedOdsFileWriter observer, final File file,
+                      final XMLUTF8Writer spillWriter) {
+        this.xmlUtil = xmlUtil;
+        this.table = table;
+        this.observer = observer;
+        this.file = file;
+        this.spillWriter = spillWriter;
+        this.ended = false;
+    }
+
+    /**
+     * @return the table
+     */
+    public Table getTable() {
+        return this.table;
+    }
+
+    /**
+     * Flush the end of the table into the segment and close the temporary file. Does nothing
+     * if the table was already ended.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized void endTable() throws IOException {
+        if (this.ended) {
+            return;
+        }
+        this.table.asyncFlushEndTable();
+        this.spillWriter.close();
+        this.ended = true;
+    }
+
+    /**
+     * @return true if the table was ended
+     */
+    public synchronized boolean isEnded() {
+        return this.ended;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.spillWriter.close();
+    }
+
+    @Override
+    public NamedOdsDocument document() {
+        return this.observer.document();
+    }
+
+    @Override
+    public void save() throws IOException {
+        this.observer.save();
+    }
+
+    @Override
+    public void update(final OdsAsyncFlusher flusher) throws IOException {
+        if (flusher instanceof OdsXMLFlusher) {
+            ((OdsXMLFlusher) flusher).flushXMLInto(this.xmlUtil, this.spillWriter);
+        } else {
+            throw new IllegalStateException("Can't write " + flusher + " into a spill segment");
+        }
+    }
+
+    @Override
+    public void flushInto(final XMLUtil xmlUtil, final ZipUTF8Writer writer) throws IOException {
+        this.flushXMLInto(xmlUtil, writer);
+    }
+
+    @Override
+    public void flushXMLInto(final XMLUtil xmlUtil, final XMLUTF8Writer writer)
+            throws IOException {
+        try {
+            final char[] buffer = new char[BUFFER_SIZE];
+            final Reader reader = new InputStreamReader(new FileInputStream(this.file),
+                    ZipUTF8Writer.UTF_8);
+            try {
+                int count = reader.read(buffer);
+                while (count != -1) {
+                    writer.append(new String(buffer, 0, count));
+                    count = reader.read(buffer);
+                }
+            } finally {
+                reader.close();
+            }
+        } finally {
+            this.file.delete();
+        }
+    }
+
+    @Override
+    public boolean isEnd() {
+        return false;
+    }
+
+    /**
+     * A writer for the temporary file.
+     */
+    private static class SpillWriter implements XMLUTF8Writer {
+        private final Writer writer;
+
+        SpillWriter(final Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public Appendable append(final char c) throws IOException {
+            return this.writer.append(c);
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq) throws IOException {
+            return this.writer.append(csq);
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end)
+                throws IOException {
+            return this.writer.append(csq, start, end);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.writer.close();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.writer.flush();
+        }
+    }
+}
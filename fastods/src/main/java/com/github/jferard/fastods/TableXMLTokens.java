@@ -0,0 +1,103 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.CellType;
+import com.github.jferard.fastods.util.XMLToken;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+
+/**
+ * The constant fragments of the rows and cells, pre-encoded.
+ *
+ * @author J. Férard
+ */
+final class TableXMLTokens {
+    static final XMLToken ROW_START = XMLToken.create("<table:table-row");
+    static final XMLToken ROW_END = XMLToken.create("</table:table-row>");
+    static final XMLToken DEFAULT_CELL_STYLE_NAME =
+            XMLToken.create(" table:default-cell-style-name=\"");
+    static final XMLToken CELL_START = XMLToken.create("<table:table-cell");
+    static final XMLToken COVERED_CELL_START = XMLToken.create("<table:covered-table-cell");
+    static final XMLToken BLANK_CELL = XMLToken.create("<table:table-cell/>");
+    static final XMLToken BLANK_CELLS_START =
+            XMLToken.create("<table:table-cell table:number-columns-repeated=\"");
+    static final XMLToken COVERED_CELL = XMLToken.create("<table:covered-table-cell/>");
+    static final XMLToken COVERED_CELLS_START =
+            XMLToken.create("<table:covered-table-cell table:number-columns-repeated=\"");
+    static final XMLToken REPEATED_CELLS_END = XMLToken.create("\"/>");
+    static final XMLToken CURRENCY = XMLToken.create("\" office:currency=\"");
+
+    private static final XMLToken[] VALUE_TYPES;
+    private static final XMLToken[] CELL_STARTS_WITH_VALUE_TYPE;
+
+    static {
+        final CellType[] types = CellType.values();
+        VALUE_TYPES = new XMLToken[types.length];
+        CELL_STARTS_WITH_VALUE_TYPE = new XMLToken[types.length];
+        for (final CellType type : types) {
+            final String valueType = " office:value-type=\"" + type.getValue() + "\" " +
+                    type.getValueAttribute() + "=\"";
+            VALUE_TYPES[type.ordinal()] = XMLToken.create(valueType);
+            CELL_STARTS_WITH_VALUE_TYPE[type.ordinal()] =
+                    XMLToken.create("<table:table-cell" + valueType);
+        }
+    }
+
+    private TableXMLTokens() {
+    }
+
+    /**
+     * @param type the type
+     * @return the fragment {@code  office:value-type="float" office:value="}
+     */
+    static XMLToken valueType(final CellType type) {
+        return VALUE_TYPES[type.ordinal()];
+    }
+
+    /**
+     * @param type the type
+     * @return the fragment {@code <table:table-cell office:value-type="float" office:value="}
+     */
+    static XMLToken cellStartWithValueType(final CellType type) {
+        return CELL_STARTS_WITH_VALUE_TYPE[type.ordinal()];
+    }
+
+    /**
+     * Append an attribute whose value is a name to escape
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @param attribute  the fragment {@code  attr="}
+     * @param name       the raw name
+     * @throws IOException if an I/O error occurs
+     */
+    static void appendNameAttribute(final XMLUtil util, final Appendable appendable,
+                                    final XMLToken attribute, final String name)
+            throws IOException {
+        attribute.appendTo(appendable);
+        appendable.append(util.escapeXMLAttribute(name)).append('"');
+    }
+}
@@ -77,7 +77,7 @@ public class Tooltip implements XMLConvertible, ElementWithEmbeddedStyles {
             this.rectangle.appendXMLContent(util, appendable);
         }
         if (this.graphicStyle != null) {
-            util.appendAttribute(appendable, "draw:style-name", this.graphicStyle.getName());
+            this.graphicStyle.getNameAttribute().appendTo(appendable);
         }
         appendable.append("><text:p>").append(this.text).append("</text:p></office:annotation>");
     }
@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -33,7 +34,7 @@ import java.io.IOException;
  *
  * @author Julien Férard
  */
-public class BooleanStyle implements DataStyle {
+public class BooleanStyle extends RenderedDataStyle {
     private final CoreDataStyle dataStyle;
 
     /**
@@ -46,8 +47,7 @@ public class BooleanStyle implements DataStyle {
     }
 
     @Override
-    public void appendXMLContent(final XMLUtil util, final Appendable appendable)
-            throws IOException {
+    void renderXMLContent(final XMLUtil util, final Appendable appendable) throws IOException {
         appendable.append("<number:boolean-style");
         util.appendEAttribute(appendable, "style:name", this.dataStyle.getName());
         this.dataStyle.appendLVAttributes(util, appendable);
@@ -59,6 +59,11 @@ public class BooleanStyle implements DataStyle {
         return this.dataStyle.getName();
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.dataStyle.getNameAttribute();
+    }
+
     @Override
     public boolean isHidden() {
         return this.dataStyle.isHidden();
@@ -25,6 +25,7 @@ package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.util.Hidable;
 import com.github.jferard.fastods.util.NamedObject;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -47,6 +48,7 @@ final class CoreDataStyle implements NamedObject, Hidable {
      * the name of a data style (19.498.2)
      */
     private final String name;
+    private final XMLToken nameAttribute;
 
     private final boolean volatileStyle;
 
@@ -62,6 +64,7 @@ final class CoreDataStyle implements NamedObject, Hidable {
     CoreDataStyle(final String name, final boolean hidden, final String languageCode,
                   final String countryCode, final boolean volatileStyle) {
         this.name = name;
+        this.nameAttribute = XMLToken.createAttribute("style:data-style-name", this.name);
         this.hidden = hidden;
         this.countryCode = countryCode;
         this.languageCode = languageCode;
@@ -73,6 +76,13 @@ final class CoreDataStyle implements NamedObject, Hidable {
         return this.name;
     }
 
+    /**
+     * @return the escaped attribute that references this style
+     */
+    public XMLToken getNameAttribute() {
+        return this.nameAttribute;
+    }
+
     /**
      * Append locale and volatile attributes
      *
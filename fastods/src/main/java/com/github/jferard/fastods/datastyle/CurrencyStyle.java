@@ -24,9 +24,12 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
+import java.util.Currency;
+import java.util.Locale;
 
 /**
  * 16.27.7 number:currency-style
@@ -34,7 +37,7 @@ import java.io.IOException;
  * @author Julien Férard
  * @author Martin Schulz
  */
-public class CurrencyStyle implements DataStyle {
+public class CurrencyStyle extends RenderedDataStyle {
     /**
      * A simple space a text
      */
@@ -55,8 +58,9 @@ public class CurrencyStyle implements DataStyle {
     }
 
     private final SymbolPosition currencyPosition;
-    private final String currencySymbol;
+    private final Locale currencyLocale;
     private final FloatStyle floatStyle;
+    private String currencySymbol;
 
     /**
      * Create a new CurrencyStyle.
@@ -69,12 +73,27 @@ public class CurrencyStyle implements DataStyle {
                   final SymbolPosition currencyPosition) {
         this.floatStyle = floatStyle;
         this.currencySymbol = currencySymbol;
+        this.currencyLocale = null;
+        this.currencyPosition = currencyPosition;
+    }
+
+    /**
+     * Create a new CurrencyStyle. The symbol of the locale is looked up on first write.
+     *
+     * @param floatStyle       the embedded float style
+     * @param currencyLocale   the locale of the currency
+     * @param currencyPosition the position of the symbol
+     */
+    CurrencyStyle(final FloatStyle floatStyle, final Locale currencyLocale,
+                  final SymbolPosition currencyPosition) {
+        this.floatStyle = floatStyle;
+        this.currencySymbol = null;
+        this.currencyLocale = currencyLocale;
         this.currencyPosition = currencyPosition;
     }
 
     @Override
-    public void appendXMLContent(final XMLUtil util, final Appendable appendable)
-            throws IOException {
+    void renderXMLContent(final XMLUtil util, final Appendable appendable) throws IOException {
         final CharSequence number = this.computeCurrency(util);
         this.floatStyle.appendXMLHelper(util, appendable, "currency-style", number);
     }
@@ -98,15 +117,28 @@ public class CurrencyStyle implements DataStyle {
             throws IOException {
         appendable.append("<number:currency-symbol");
         // this.appendLocaleAttributes(util, appendable);
-        appendable.append(">").append(util.escapeXMLContent(this.currencySymbol))
+        appendable.append(">").append(util.escapeXMLContent(this.getCurrencySymbol()))
                 .append("</number:currency-symbol>");
     }
 
+    private String getCurrencySymbol() {
+        if (this.currencySymbol == null) {
+            this.currencySymbol =
+                    Currency.getInstance(this.currencyLocale).getSymbol(this.currencyLocale);
+        }
+        return this.currencySymbol;
+    }
+
     @Override
     public String getName() {
         return this.floatStyle.getName();
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.floatStyle.getNameAttribute();
+    }
+
     @Override
     public boolean isHidden() {
         return this.floatStyle.isHidden();
@@ -26,7 +26,6 @@ package com.github.jferard.fastods.datastyle;
 import com.github.jferard.fastods.attribute.Color;
 import com.github.jferard.fastods.datastyle.CurrencyStyle.SymbolPosition;
 
-import java.util.Currency;
 import java.util.Locale;
 
 /**
@@ -38,6 +37,7 @@ public class CurrencyStyleBuilder implements DataStyleBuilder<CurrencyStyle, Cur
     private final FloatStyleBuilder floatStyleBuilder;
     private SymbolPosition currencyPosition;
     private String currencySymbol;
+    private Locale currencyLocale;
 
     /**
      * The builder
@@ -47,12 +47,18 @@ public class CurrencyStyleBuilder implements DataStyleBuilder<CurrencyStyle, Cur
      */
     public CurrencyStyleBuilder(final String name, final Locale locale) {
         this.floatStyleBuilder = new FloatStyleBuilder(name, locale);
-        this.currencySymbol = Currency.getInstance(locale).getSymbol(locale);
+        this.currencyLocale = locale;
         this.currencyPosition = CurrencyStyle.SymbolPosition.END;
     }
 
     @Override
     public CurrencyStyle build() {
+        if (this.currencySymbol == null) {
+            // the symbol of the locale is looked up when the style is written: the lookup loads
+            // the currency data of the JRE, and most documents don't have any currency cell.
+            return new CurrencyStyle(this.floatStyleBuilder.build(), this.currencyLocale,
+                    this.currencyPosition);
+        }
         return new CurrencyStyle(this.floatStyleBuilder.build(), this.currencySymbol,
                 this.currencyPosition);
     }
@@ -94,7 +100,8 @@ public class CurrencyStyleBuilder implements DataStyleBuilder<CurrencyStyle, Cur
     @Override
     public final CurrencyStyleBuilder locale(final Locale locale) {
         this.floatStyleBuilder.locale(locale);
-        this.currencySymbol = Currency.getInstance(locale).getSymbol(locale);
+        this.currencyLocale = locale;
+        this.currencySymbol = null;
         return this;
     }
 
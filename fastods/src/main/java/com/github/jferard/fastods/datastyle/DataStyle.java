@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.util.Style;
+import com.github.jferard.fastods.util.XMLToken;
 
 /**
  * A data style. 16.27. Data Styles
@@ -31,4 +32,11 @@ import com.github.jferard.fastods.util.Style;
  * @author Julien Férard
  */
 public interface DataStyle extends Style {
+    /**
+     * A style is immutable once built: the attribute is computed when the style is built.
+     *
+     * @return the escaped attribute that references this style, with a leading space:
+     * {@code  style:data-style-name="name"}
+     */
+    XMLToken getNameAttribute();
 }
\ No newline at end of file
@@ -26,6 +26,9 @@ package com.github.jferard.fastods.datastyle;
 import com.github.jferard.fastods.attribute.CellType;
 
 import java.util.EnumMap;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The {@code DataStyles} class represents a set of {@code DataStyle}s.
@@ -33,6 +36,30 @@ import java.util.EnumMap;
  * @author Julien Férard
  */
 public class DataStyles {
+    private static final ConcurrentMap<Locale, DataStyles> DEFAULT_DATA_STYLES_BY_LOCALE =
+            new ConcurrentHashMap<Locale, DataStyles>();
+
+    /**
+     * The default data styles are immutable and shared by all the documents of the process: the
+     * styles are built once per locale, and the XML of each style is rendered once.
+     *
+     * @param locale the locale
+     * @return the default data styles for this locale
+     */
+    public static DataStyles defaultDataStyles(final Locale locale) {
+        final DataStyles dataStyles = DEFAULT_DATA_STYLES_BY_LOCALE.get(locale);
+        if (dataStyles != null) {
+            return dataStyles;
+        }
+        final DataStyles newDataStyles = DataStylesBuilder.create(locale).build();
+        final DataStyles previousDataStyles =
+                DEFAULT_DATA_STYLES_BY_LOCALE.putIfAbsent(locale, newDataStyles);
+        if (previousDataStyles == null) {
+            return newDataStyles;
+        }
+        return previousDataStyles;
+    }
+
     private final BooleanStyle booleanDataStyle;
     private final CurrencyStyle currencyDataStyle;
     private final EnumMap<CellType, DataStyle> dataStyleByType;
@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -53,7 +54,7 @@ import java.io.IOException;
  * @author Julien Férard
  * @author Martin Schulz
  */
-public class DateStyle implements DataStyle {
+public class DateStyle extends RenderedDataStyle {
     /**
      * The format of the date
      */
@@ -135,8 +136,7 @@ public class DateStyle implements DataStyle {
     }
 
     @Override
-    public void appendXMLContent(final XMLUtil util, final Appendable appendable)
-            throws IOException {
+    void renderXMLContent(final XMLUtil util, final Appendable appendable) throws IOException {
         appendable.append("<number:date-style");
         util.appendEAttribute(appendable, "style:name", this.dataStyle.getName());
         this.dataStyle.appendLVAttributes(util, appendable);
@@ -157,6 +157,11 @@ public class DateStyle implements DataStyle {
         return this.dataStyle.getName();
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.dataStyle.getNameAttribute();
+    }
+
     @Override
     public boolean isHidden() {
         return this.dataStyle.isHidden();
@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -36,7 +37,7 @@ import java.io.IOException;
  * @author Julien Férard
  * @author Martin Schulz
  */
-public class FloatStyle implements DataStyle {
+public class FloatStyle extends RenderedDataStyle {
     private final NumberStyleHelper numberStyle;
     private final int decimalPlaces;
 
@@ -52,8 +53,7 @@ public class FloatStyle implements DataStyle {
     }
 
     @Override
-    public void appendXMLContent(final XMLUtil util, final Appendable appendable)
-            throws IOException {
+    void renderXMLContent(final XMLUtil util, final Appendable appendable) throws IOException {
         final CharSequence number = this.computeNumberTag(util);
         this.numberStyle.appendXMLHelper(util, appendable, "number-style", number);
     }
@@ -115,6 +115,11 @@ public class FloatStyle implements DataStyle {
         return this.numberStyle.getName();
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.numberStyle.getNameAttribute();
+    }
+
     @Override
     public boolean isHidden() {
         return this.numberStyle.isHidden();
@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -80,6 +81,11 @@ public class FractionStyle implements DataStyle {
         return this.numberStyle.getName();
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.numberStyle.getNameAttribute();
+    }
+
     @Override
     public boolean isHidden() {
         return this.numberStyle.isHidden();
@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.attribute.Color;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -167,6 +168,13 @@ class NumberStyleHelper implements NumberStyle {
         return this.dataStyle.getName();
     }
 
+    /**
+     * @return the escaped attribute that references the data style
+     */
+    public XMLToken getNameAttribute() {
+        return this.dataStyle.getNameAttribute();
+    }
+
     @Override
     public boolean isHidden() {
         return this.dataStyle.isHidden();
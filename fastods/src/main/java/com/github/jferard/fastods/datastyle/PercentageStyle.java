@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -39,7 +40,7 @@ import java.io.IOException;
  * @author Julien Férard
  * @author Martin Schulz
  */
-public class PercentageStyle implements DataStyle {
+public class PercentageStyle extends RenderedDataStyle {
     private final FloatStyle floatStyle;
 
     /**
@@ -52,8 +53,7 @@ public class PercentageStyle implements DataStyle {
     }
 
     @Override
-    public void appendXMLContent(final XMLUtil util, final Appendable appendable)
-            throws IOException {
+    void renderXMLContent(final XMLUtil util, final Appendable appendable) throws IOException {
         final StringBuilder percentage = new StringBuilder();
         this.floatStyle.appendNumberTag(util, percentage);
         percentage.append("<number:text>%</number:text>");
@@ -65,6 +65,11 @@ public class PercentageStyle implements DataStyle {
         return this.floatStyle.getName();
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.floatStyle.getNameAttribute();
+    }
+
     @Override
     public boolean isHidden() {
         return this.floatStyle.isHidden();
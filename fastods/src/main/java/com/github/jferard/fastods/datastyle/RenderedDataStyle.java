@@ -0,0 +1,61 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.datastyle;
+
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+
+/**
+ * A data style that is immutable once built: its XML is rendered on the first write and
+ * reused. The XML of a data style does not depend on the document, hence it is rendered with an
+ * util of its own, and the util given to {@code appendXMLContent} is not used.
+ *
+ * @author J. Férard
+ */
+abstract class RenderedDataStyle implements DataStyle {
+    private volatile String xml;
+
+    @Override
+    public void appendXMLContent(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        String xml = this.xml;
+        if (xml == null) { // a concurrent write renders the same XML
+            final StringBuilder sb = new StringBuilder();
+            this.renderXMLContent(XMLUtil.create(), sb);
+            xml = sb.toString();
+            this.xml = xml;
+        }
+        appendable.append(xml);
+    }
+
+    /**
+     * Render the XML of this data style.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @throws IOException never
+     */
+    abstract void renderXMLContent(XMLUtil util, Appendable appendable) throws IOException;
+}
@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -76,6 +77,11 @@ public class ScientificNumberStyle implements DataStyle {
         return this.floatStyle.getName();
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.floatStyle.getNameAttribute();
+    }
+
     @Override
     public boolean isHidden() {
         return this.floatStyle.isHidden();
@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -62,6 +63,11 @@ public class TextDataStyle implements DataStyle {
         return this.dataStyle.getName();
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.dataStyle.getNameAttribute();
+    }
+
     @Override
     public boolean isHidden() {
         return this.dataStyle.isHidden();
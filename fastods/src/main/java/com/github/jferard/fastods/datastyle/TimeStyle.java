@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.datastyle;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -34,7 +35,7 @@ import java.io.IOException;
  *
  * @author Julien Férard
  */
-public class TimeStyle implements DataStyle {
+public class TimeStyle extends RenderedDataStyle {
     private final CoreDataStyle dataStyle;
     private final DateTimeStyleFormat timeFormat;
 
@@ -50,8 +51,7 @@ public class TimeStyle implements DataStyle {
     }
 
     @Override
-    public void appendXMLContent(final XMLUtil util, final Appendable appendable)
-            throws IOException {
+    void renderXMLContent(final XMLUtil util, final Appendable appendable) throws IOException {
         appendable.append("<number:time-style");
         util.appendEAttribute(appendable, "style:name", this.dataStyle.getName());
         this.dataStyle.appendLVAttributes(util, appendable);
@@ -91,6 +91,11 @@ public class TimeStyle implements DataStyle {
         return this.dataStyle.getName();
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.dataStyle.getNameAttribute();
+    }
+
     @Override
     public boolean isHidden() {
         return this.dataStyle.isHidden();
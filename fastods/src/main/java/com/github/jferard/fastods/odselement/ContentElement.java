@@ -33,12 +33,14 @@ import com.github.jferard.fastods.util.AutoFilter;
 import com.github.jferard.fastods.util.PilotTable;
 import com.github.jferard.fastods.util.UniqueList;
 import com.github.jferard.fastods.util.WriteUtil;
+import com.github.jferard.fastods.util.XMLUTF8Writer;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -69,6 +71,7 @@ public class ContentElement implements OdsElement {
     private final PositionUtil positionUtil;
     private final StylesContainerImpl stylesContainer;
     private final UniqueList<Table> tables;
+    private volatile List<Table> tableSnapshot;
     private final WriteUtil writeUtil;
     private final XMLUtil xmlUtil;
     private final boolean libreOfficeMode;
@@ -98,6 +101,7 @@ public class ContentElement implements OdsElement {
         this.stylesContainer = stylesContainer;
         this.additionalNamespaceByPrefix = additionalNamespaceByPrefix;
         this.tables = new UniqueList<Table>();
+        this.tableSnapshot = Collections.emptyList();
         this.flushPosition = new FlushPosition();
         this.scriptEvents = new ArrayList<ScriptEventListener>();
     }
@@ -135,7 +139,7 @@ public class ContentElement implements OdsElement {
             table = Table.create(this, this.positionUtil, this.writeUtil, this.xmlUtil, name,
                     rowCapacity, columnCapacity, this.stylesContainer, this.format,
                     this.libreOfficeMode);
-            this.tables.add(table);
+            this.addToTables(table);
         }
         return table;
     }
@@ -148,11 +152,16 @@ public class ContentElement implements OdsElement {
         final Table t = this.tables.getByName(table.getName());
         final boolean add = t == null;
         if (add) {
-            this.tables.add(table);
+            this.addToTables(table);
         }
         return add;
     }
 
+    private void addToTables(final Table table) {
+        this.tables.add(table);
+        this.tableSnapshot = Collections.unmodifiableList(new ArrayList<Table>(this.tables));
+    }
+
     /**
      * Create a new table
      *
@@ -212,6 +221,13 @@ public class ContentElement implements OdsElement {
         return this.tables;
     }
 
+    /**
+     * @return an immutable copy of the list of tables, safe to read from another thread
+     */
+    public List<Table> getTableSnapshot() {
+        return this.tableSnapshot;
+    }
+
     @Override
     public void write(final XMLUtil util, final ZipUTF8Writer writer) throws IOException {
         this.writePreamble(util, writer);
@@ -230,12 +246,7 @@ public class ContentElement implements OdsElement {
      * @throws IOException if the postamble could not be written
      */
     public void writePostamble(final XMLUtil util, final ZipUTF8Writer writer) throws IOException {
-        if (this.autoFilters != null) {
-            this.appendAutoFilters(util, writer);
-        }
-        if (this.pilotTables != null) {
-            this.appendPilotTables(util, writer);
-        }
+        this.appendSpreadsheetPostamble(util, writer);
         writer.append("</office:spreadsheet>");
         writer.append("</office:body>");
         writer.append("</office:document-content>");
@@ -255,25 +266,69 @@ public class ContentElement implements OdsElement {
         writer.putNextEntry(new ZipEntry("content.xml"));
         writer.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
         writer.append("<office:document-content");
-        for (final Map.Entry<String, String> entry: CONTENT_NAMESPACE_BY_PREFIX.entrySet()) {
-            util.appendAttribute(writer, entry.getKey(), entry.getValue());
-        }
-        for (final Map.Entry<String, String> entry: this.additionalNamespaceByPrefix.entrySet()) {
-            util.appendAttribute(writer, entry.getKey(), entry.getValue());
-        }
+        this.appendNamespaceAttributes(util, writer);
         util.appendAttribute(writer, "office:version", OFFICE_VERSION);
         writer.append(">");
         this.writeEvents(util, writer);
         this.stylesContainer.writeFontFaceDecls(util, writer);
         writer.append("<office:automatic-styles>");
-        this.stylesContainer.writeHiddenDataStyles(util, writer);
-        this.stylesContainer.writeContentAutomaticStyles(util, writer);
+        this.appendAutomaticStyles(util, writer);
         writer.append("</office:automatic-styles>");
         writer.append("<office:body>");
         writer.append("<office:spreadsheet>");
     }
 
-    public void writeEvents(final XMLUtil util, final ZipUTF8Writer writer) throws IOException {
+    /**
+     * Append the namespace attributes of the root element. Used by the preamble and by the flat
+     * document.
+     *
+     * @param util       an XML util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendNamespaceAttributes(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        for (final Map.Entry<String, String> entry: CONTENT_NAMESPACE_BY_PREFIX.entrySet()) {
+            util.appendAttribute(appendable, entry.getKey(), entry.getValue());
+        }
+        for (final Map.Entry<String, String> entry: this.additionalNamespaceByPrefix.entrySet()) {
+            util.appendAttribute(appendable, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Append the automatic styles of content.xml, without the office:automatic-styles tags:
+     * the flat document merges them with the automatic styles of styles.xml.
+     *
+     * @param util       an XML util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendAutomaticStyles(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        this.stylesContainer.writeHiddenDataStyles(util, appendable);
+        this.stylesContainer.writeContentAutomaticStyles(util, appendable);
+    }
+
+    /**
+     * Append the elements that follow the tables in the office:spreadsheet element: autofilters
+     * and pilot tables. Used by the postamble and by the flat document.
+     *
+     * @param util       an XML util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendSpreadsheetPostamble(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        if (this.autoFilters != null) {
+            this.appendAutoFilters(util, appendable);
+        }
+        if (this.pilotTables != null) {
+            this.appendPilotTables(util, appendable);
+        }
+    }
+
+    public void writeEvents(final XMLUtil util, final XMLUTF8Writer writer) throws IOException {
         if (this.scriptEvents.isEmpty()) {
             return;
         }
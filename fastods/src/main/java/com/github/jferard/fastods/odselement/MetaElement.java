@@ -27,11 +27,9 @@ import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
 import java.util.zip.ZipEntry;
 
 /**
@@ -45,27 +43,6 @@ public class MetaElement implements OdsElement {
     public static final String GENERATOR = "FastOds/0.7.3";
     public static final String OFFICE_VERSION = "1.2";
 
-    /**
-     * the date format: 2017-12-31
-     */
-    final static SimpleDateFormat DF_DATE;
-
-    static {
-        DF_DATE = new SimpleDateFormat("yyyy-MM-dd");
-        DF_DATE.setTimeZone(TimeZone.getTimeZone("UTC"));
-    }
-
-    /**
-     * the time format: 18:12:59
-     */
-    final static SimpleDateFormat DF_TIME;
-
-    static {
-        DF_TIME = new SimpleDateFormat("HH:mm:ss");
-        ;
-        DF_TIME.setTimeZone(TimeZone.getTimeZone("UTC"));
-    }
-
     public static MetaElementBuilder builder() {
         return new MetaElementBuilder();
     }
@@ -127,7 +104,22 @@ public class MetaElement implements OdsElement {
             util.appendAttribute(writer, entry.getKey(), entry.getValue());
         }
         util.appendAttribute(writer, "office:version", OFFICE_VERSION);
-        writer.append("><office:meta>");
+        writer.append(">");
+        this.appendMeta(util, writer);
+        writer.append("</office:document-meta>");
+        writer.flush();
+        writer.closeEntry();
+    }
+
+    /**
+     * Append the office:meta element. Used by the write method and by the flat document.
+     *
+     * @param util   an util
+     * @param writer the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendMeta(final XMLUtil util, final Appendable writer) throws IOException {
+        writer.append("<office:meta>");
         util.appendTag(writer, "dc:creator", this.creator);
         util.appendTag(writer, "dc:date", this.dateTime);
         if (this.description != null) {
@@ -155,8 +147,6 @@ public class MetaElement implements OdsElement {
             userDefined.appendXMLContent(util, writer);
         }
         //TODO: <meta:document-statistic ...>"
-        writer.append("</office:meta>").append("</office:document-meta>");
-        writer.flush();
-        writer.closeEntry();
+        writer.append("</office:meta>");
     }
 }
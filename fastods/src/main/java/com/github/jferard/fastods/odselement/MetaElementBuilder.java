@@ -7,6 +7,8 @@ import java.util.List;
 import java.util.Locale;
 
 public class MetaElementBuilder {
+    private static final long MILLIS_BY_DAY = 24L * 60 * 60 * 1000;
+
     private final List<String> keyWords;
     private final List<UserDefined> userDefineds;
     private String creator;
@@ -20,9 +22,8 @@ public class MetaElementBuilder {
     private String initialCreator;
 
     public MetaElementBuilder() {
-        final Date dt = new Date();
         this.creator = System.getProperty("user.name");
-        this.dateTime = MetaElement.DF_DATE.format(dt) + "T" + MetaElement.DF_TIME.format(dt);
+        this.dateTime = MetaElementBuilder.formatDateTime(System.currentTimeMillis());
         this.description = null;
         this.language = Locale.getDefault().getLanguage();
         this.title = null;
@@ -33,6 +34,55 @@ public class MetaElementBuilder {
         this.userDefineds = new ArrayList<UserDefined>();
     }
 
+    /**
+     * Format a UTC date time, e.g. 2017-12-31T18:12:59. A SimpleDateFormat would load the locale
+     * data of the JRE on the first document.
+     *
+     * @param millis the time since the epoch
+     * @return the ISO representation of the date time
+     */
+    static String formatDateTime(final long millis) {
+        long days = millis / MILLIS_BY_DAY;
+        long millisOfDay = millis % MILLIS_BY_DAY;
+        if (millisOfDay < 0) {
+            days--;
+            millisOfDay += MILLIS_BY_DAY;
+        }
+        // civil date from days since 1970-01-01, see H. Hinnant, "chrono-Compatible Low-Level
+        // Date Algorithms"
+        final long z = days + 719468;
+        final long era = (z >= 0 ? z : z - 146096) / 146097;
+        final long dayOfEra = z - era * 146097;
+        final long yearOfEra =
+                (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long mp = (5 * dayOfYear + 2) / 153;
+        final long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final long month = mp < 10 ? mp + 3 : mp - 9;
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        final long seconds = millisOfDay / 1000;
+        final StringBuilder sb = new StringBuilder(19);
+        sb.append(year).append('-');
+        MetaElementBuilder.appendTwoDigits(sb, month);
+        sb.append('-');
+        MetaElementBuilder.appendTwoDigits(sb, day);
+        sb.append('T');
+        MetaElementBuilder.appendTwoDigits(sb, seconds / 3600);
+        sb.append(':');
+        MetaElementBuilder.appendTwoDigits(sb, seconds / 60 % 60);
+        sb.append(':');
+        MetaElementBuilder.appendTwoDigits(sb, seconds % 60);
+        return sb.toString();
+    }
+
+    private static void appendTwoDigits(final StringBuilder sb, final long value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        sb.append(value);
+    }
+
     public MetaElementBuilder creator(final String creator) {
         this.creator = creator;
         return this;
@@ -23,6 +23,7 @@
 
 package com.github.jferard.fastods.odselement;
 
+import com.github.jferard.fastods.util.OdsZipOutputStream;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
@@ -46,10 +47,21 @@ import java.util.zip.ZipEntry;
  * @author Martin Schulz
  */
 public class MimetypeElement implements OdsElement {
+    /**
+     * The mime type of a spreadsheet document
+     */
+    public static final String MIMETYPE = "application/vnd.oasis.opendocument.spreadsheet";
+
+    /**
+     * The mimetype file must be the first file of the package and must not be compressed
+     */
+    private static final ZipEntry MIMETYPE_ENTRY = OdsZipOutputStream
+            .createStoredEntry("mimetype", MIMETYPE.getBytes(ZipUTF8Writer.UTF_8));
+
     @Override
     public void write(final XMLUtil util, final ZipUTF8Writer writer) throws IOException {
-        writer.putNextEntry(new ZipEntry("mimetype"));
-        writer.append("application/vnd.oasis.opendocument.spreadsheet");
+        writer.putNextEntry((ZipEntry) MIMETYPE_ENTRY.clone());
+        writer.append(MIMETYPE);
         writer.flush();
         writer.closeEntry();
     }
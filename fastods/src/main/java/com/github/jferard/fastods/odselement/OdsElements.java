@@ -24,10 +24,14 @@
 package com.github.jferard.fastods.odselement;
 
 import com.github.jferard.fastods.FinalizeFlusher;
+import com.github.jferard.fastods.FlatFinalizeFlusher;
+import com.github.jferard.fastods.FlatPrepareContentFlusher;
 import com.github.jferard.fastods.ImmutableElementsFlusher;
 import com.github.jferard.fastods.NamedOdsFileWriter;
+import com.github.jferard.fastods.OdsAsyncFlusher;
 import com.github.jferard.fastods.PrepareContentFlusher;
 import com.github.jferard.fastods.Table;
+import com.github.jferard.fastods.TableSpillSegment;
 import com.github.jferard.fastods.attribute.CellType;
 import com.github.jferard.fastods.datastyle.DataStyle;
 import com.github.jferard.fastods.datastyle.DataStyles;
@@ -44,14 +48,22 @@ import com.github.jferard.fastods.style.PageStyle;
 import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.util.AutoFilter;
 import com.github.jferard.fastods.util.Container;
+import com.github.jferard.fastods.util.OdsZipOutputStream;
+import com.github.jferard.fastods.util.OdsZipUTF8Writer;
 import com.github.jferard.fastods.util.PilotTable;
+import com.github.jferard.fastods.util.RawZipEntry;
 import com.github.jferard.fastods.util.WriteUtil;
+import com.github.jferard.fastods.util.XMLUTF8Writer;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -81,6 +93,7 @@ public class OdsElements implements StylesContainer {
      */
     public static final String SC_SPLIT_FIX = "2";
 
+    private static final int COPY_BUFFER_SIZE = 8192;
     private static final String[] EMPTY_ELEMENT_NAMES =
             {"Thumbnails/", "Configurations2/accelerator/current.xml", "Configurations2/floater/",
                     "Configurations2/images/Bitmaps/", "Configurations2/menubar/",
@@ -110,11 +123,37 @@ public class OdsElements implements StylesContainer {
                                      final WriteUtil writeUtil, final DataStyles format,
                                      final boolean libreOfficeMode, final MetaElement metaElement,
                                      final Map<String, String> additionalNamespaceByPrefix) {
+        return OdsElements.create(positionUtil, xmlUtil, writeUtil, format, libreOfficeMode,
+                metaElement, additionalNamespaceByPrefix, false);
+    }
+
+    /**
+     * @param positionUtil                an util for cell addresses (e.g. "A1")
+     * @param xmlUtil                     an XML util
+     * @param writeUtil                   an util for write
+     * @param format                      the data styles
+     * @param libreOfficeMode             try to get full compatibility with LO if true
+     * @param metaElement                 the meta element
+     * @param additionalNamespaceByPrefix a map prefix -> namespace
+     * @param threadSafe                  if true, the styles container may be shared by the
+     *                                    threads filling the tables
+     * @return a new OdsElements, with newly build elements.
+     */
+    public static OdsElements create(final PositionUtil positionUtil, final XMLUtil xmlUtil,
+                                     final WriteUtil writeUtil, final DataStyles format,
+                                     final boolean libreOfficeMode, final MetaElement metaElement,
+                                     final Map<String, String> additionalNamespaceByPrefix,
+                                     final boolean threadSafe) {
         final Logger logger = Logger.getLogger(OdsElements.class.getName());
         final MimetypeElement mimetypeElement = new MimetypeElement();
         final ManifestElement manifestElement = ManifestElement.create();
         final SettingsElement settingsElement = SettingsElement.create();
-        final StylesContainerImpl stylesContainer = new StylesContainerImpl(logger);
+        final StylesContainerImpl stylesContainer;
+        if (threadSafe) {
+            stylesContainer = StylesContainerImpl.createConcurrent(logger);
+        } else {
+            stylesContainer = new StylesContainerImpl(logger);
+        }
         final StylesElement stylesElement = new StylesElement(stylesContainer);
         final ContentElement contentElement =
                 new ContentElement(positionUtil, xmlUtil, writeUtil, format, libreOfficeMode,
@@ -132,7 +171,10 @@ public class OdsElements implements StylesContainer {
     private final StylesContainerImpl stylesContainer;
     private final StylesElement stylesElement;
     private final Map<String, byte[]> extraFileByName;
+    private final Map<String, RawZipEntry> extraRawFileByName;
     private NamedOdsFileWriter observer;
+    private List<TableSpillSegment> spillSegments;
+    private boolean flat;
 
     /**
      * Create a new instance from elements
@@ -159,6 +201,7 @@ public class OdsElements implements StylesContainer {
         this.stylesElement = stylesElement;
         this.stylesContainer = stylesContainer;
         this.extraFileByName = new HashMap<String, byte[]>();
+        this.extraRawFileByName = new HashMap<String, RawZipEntry>();
     }
 
     /**
@@ -170,6 +213,23 @@ public class OdsElements implements StylesContainer {
         this.observer = o;
     }
 
+    /**
+     * Write a flat XML document (.fods) instead of a zip archive: the async flushes will write
+     * the flat document. Must be called before the first table is added.
+     */
+    public void writeFlatDocument() {
+        this.flat = true;
+    }
+
+    /**
+     * Stream the tables concurrently: each table is flushed to its own spill segment, and the
+     * segments are stitched into content.xml in table order as the tables are ended.
+     * Must be called before the first table is added.
+     */
+    public void streamTablesConcurrently() {
+        this.spillSegments = new ArrayList<TableSpillSegment>();
+    }
+
 
     /**
      * Add a cell style for a given data type. Use only if you want to flush data before the end
@@ -284,6 +344,13 @@ public class OdsElements implements StylesContainer {
         this.stylesContainer.debug();
     }
 
+    /**
+     * @return the number of anonymous child cell styles in the styles container
+     */
+    public int getAnonymousStyleCount() {
+        return this.stylesContainer.getAnonymousStyleCount();
+    }
+
     /**
      * Freeze the styles: adding a new style to the container will generate an IllegalStateException
      */
@@ -331,12 +398,72 @@ public class OdsElements implements StylesContainer {
         if (add) {
             this.settingsElement.addTableConfig(table.getConfigEntry());
             if (this.observer != null) {
-                this.asyncFlushPreviousTable(previousTable, table);
+                if (this.spillSegments == null) {
+                    this.asyncFlushPreviousTable(previousTable, table);
+                } else {
+                    this.addSpillSegment(previousTable, table);
+                }
             }
         }
         return add;
     }
 
+    /**
+     * Add a spill segment for the new table. The previous table is not ended.
+     *
+     * @param previousTable the previous table
+     * @param table         the table
+     * @throws IOException if the segment can't be created
+     */
+    private void addSpillSegment(final Table previousTable, final Table table)
+            throws IOException {
+        final TableSpillSegment segment =
+                TableSpillSegment.create(XMLUtil.create(), table, this.observer);
+        synchronized (this.spillSegments) {
+            if (previousTable == null) {
+                this.observer.update(this.createPrepareContentFlusher());
+            }
+            this.spillSegments.add(segment);
+        }
+    }
+
+    /**
+     * End a table that was streamed concurrently: the remaining rows and the postamble are
+     * flushed to the spill segment, then every ended segment at the head of the table order is
+     * written to content.xml. May be called from the thread that fills the table.
+     * In the default mode, a table is ended when the next table is added and this method
+     * does nothing.
+     *
+     * @param table the table
+     * @throws IOException if the table can't be written
+     */
+    public void endTableAsync(final Table table) throws IOException {
+        if (this.spillSegments == null) {
+            return;
+        }
+        final TableSpillSegment segment = this.getSpillSegment(table);
+        if (segment == null) {
+            return;
+        }
+        segment.endTable();
+        synchronized (this.spillSegments) {
+            while (!this.spillSegments.isEmpty() && this.spillSegments.get(0).isEnded()) {
+                this.observer.update(this.spillSegments.remove(0));
+            }
+        }
+    }
+
+    private TableSpillSegment getSpillSegment(final Table table) {
+        synchronized (this.spillSegments) {
+            for (final TableSpillSegment segment : this.spillSegments) {
+                if (segment.getTable() == table) {
+                    return segment;
+                }
+            }
+        }
+        return null;
+    }
+
     public Table createTable(final String name, final int rowCapacity, final int columnCapacity) {
         return this.contentElement.createTable(name, rowCapacity, columnCapacity);
     }
@@ -353,7 +480,7 @@ public class OdsElements implements StylesContainer {
             throws IOException {
         table.addObserver(this.observer);
         if (previousTable == null) {
-            this.observer.update(new PrepareContentFlusher(this, this.contentElement));
+            this.observer.update(this.createPrepareContentFlusher());
         } else {
             previousTable.asyncFlushEndTable();
         }
@@ -366,9 +493,20 @@ public class OdsElements implements StylesContainer {
      * @throws IOException if the preparation fails
      */
     public void prepareAsync() throws IOException {
+        if (this.flat) {
+            return;
+        }
         this.observer.update(new ImmutableElementsFlusher(this));
     }
 
+    private OdsAsyncFlusher createPrepareContentFlusher() {
+        if (this.flat) {
+            return new FlatPrepareContentFlusher(this);
+        } else {
+            return new PrepareContentFlusher(this, this.contentElement);
+        }
+    }
+
     /**
      * Save the elements, the file is already open. (launches async flushes)
      *
@@ -377,12 +515,35 @@ public class OdsElements implements StylesContainer {
     public void saveAsync() throws IOException {
         final Table previousTable = this.contentElement.getLastTable();
         if (previousTable == null) {
-            this.observer.update(new PrepareContentFlusher(this, this.contentElement));
-        } else {
+            this.observer.update(this.createPrepareContentFlusher());
+        } else if (this.spillSegments == null) {
             previousTable.asyncFlushEndTable();
+        } else {
+            this.saveSpillSegments();
         }
 
-        this.observer.update(new FinalizeFlusher(this.contentElement, this));
+        final OdsAsyncFlusher finalizeFlusher;
+        if (this.flat) {
+            finalizeFlusher = new FlatFinalizeFlusher(this);
+        } else {
+            finalizeFlusher = new FinalizeFlusher(this.contentElement, this);
+        }
+        this.observer.update(finalizeFlusher);
+    }
+
+    /**
+     * End the remaining tables and write all the spill segments in table order.
+     *
+     * @throws IOException if a table can't be written
+     */
+    private void saveSpillSegments() throws IOException {
+        synchronized (this.spillSegments) {
+            for (final TableSpillSegment segment : this.spillSegments) {
+                segment.endTable();
+                this.observer.update(segment);
+            }
+            this.spillSegments.clear();
+        }
     }
 
     /**
@@ -397,6 +558,76 @@ public class OdsElements implements StylesContainer {
         this.contentElement.write(xmlUtil, writer);
     }
 
+    /**
+     * Write the whole document as a flat XML document (.fods).
+     *
+     * @param xmlUtil the xml util
+     * @param writer  the writer
+     * @throws IOException if write fails
+     */
+    public void writeFlat(final XMLUtil xmlUtil, final XMLUTF8Writer writer) throws IOException {
+        this.writeFlatPreamble(xmlUtil, writer);
+        for (final Table table : this.contentElement.getTables()) {
+            table.appendXMLContent(xmlUtil, writer);
+        }
+        this.writeFlatPostamble(xmlUtil, writer);
+    }
+
+    /**
+     * Write everything before the tables of a flat XML document: meta, settings, scripts, font
+     * faces, styles and the opening tags of the body. Since the settings precede the body,
+     * a streamed document has only the settings of the tables known at this time.
+     *
+     * @param xmlUtil the xml util
+     * @param writer  the writer
+     * @throws IOException if write fails
+     */
+    public void writeFlatPreamble(final XMLUtil xmlUtil, final XMLUTF8Writer writer)
+            throws IOException {
+        this.logger.log(Level.FINER, "Writing flat document preamble");
+        if (!this.extraFileByName.isEmpty() || !this.extraRawFileByName.isEmpty()) {
+            this.logger.log(Level.WARNING, "Extra files are not written in a flat document");
+        }
+        writer.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        writer.append("<office:document");
+        this.contentElement.appendNamespaceAttributes(xmlUtil, writer);
+        xmlUtil.appendAttribute(writer, "xmlns:config",
+                SettingsElement.SETTINGS_NAMESPACE_BY_PREFIX.get("xmlns:config"));
+        xmlUtil.appendAttribute(writer, "office:version", MetaElement.OFFICE_VERSION);
+        xmlUtil.appendAttribute(writer, "office:mimetype", MimetypeElement.MIMETYPE);
+        writer.append(">");
+        this.metaElement.appendMeta(xmlUtil, writer);
+        this.settingsElement.setTables(this.getTables());
+        this.settingsElement.appendSettings(xmlUtil, writer);
+        this.contentElement.writeEvents(xmlUtil, writer);
+        this.stylesContainer.writeFontFaceDecls(xmlUtil, writer);
+        this.stylesElement.appendStyles(xmlUtil, writer);
+        writer.append("<office:automatic-styles>");
+        this.stylesElement.appendAutomaticStyles(xmlUtil, writer);
+        this.contentElement.appendAutomaticStyles(xmlUtil, writer);
+        writer.append("</office:automatic-styles>");
+        this.stylesElement.appendMasterStyles(xmlUtil, writer);
+        writer.append("<office:body>");
+        writer.append("<office:spreadsheet>");
+    }
+
+    /**
+     * Write everything after the tables of a flat XML document.
+     *
+     * @param xmlUtil the xml util
+     * @param writer  the writer
+     * @throws IOException if write fails
+     */
+    public void writeFlatPostamble(final XMLUtil xmlUtil, final XMLUTF8Writer writer)
+            throws IOException {
+        this.logger.log(Level.FINER, "Writing flat document postamble");
+        this.contentElement.appendSpreadsheetPostamble(xmlUtil, writer);
+        writer.append("</office:spreadsheet>");
+        writer.append("</office:body>");
+        writer.append("</office:document>");
+        writer.flush();
+    }
+
     /**
      * Write the meta element to a writer.
      *
@@ -487,6 +718,13 @@ public class OdsElements implements StylesContainer {
         return this.contentElement.getTables();
     }
 
+    /**
+     * @return an immutable copy of the list of tables, safe to read from another thread
+     */
+    public List<Table> getTableSnapshot() {
+        return this.contentElement.getTableSnapshot();
+    }
+
     /**
      * Set a new active table
      *
@@ -529,6 +767,20 @@ public class OdsElements implements StylesContainer {
         this.manifestElement.add(manifestEntry);
     }
 
+    /**
+     * Add an extra file from the raw data of another archive
+     *
+     * @param fullPath  the name of the file in the sequence
+     * @param mediaType the MIME type
+     * @param rawEntry  the compressed content
+     */
+    public void addExtraRawFile(final String fullPath, final String mediaType,
+                                final RawZipEntry rawEntry) {
+        final ManifestEntry manifestEntry = new ManifestEntry(fullPath, mediaType, null);
+        this.extraRawFileByName.put(fullPath, rawEntry);
+        this.manifestElement.add(manifestEntry);
+    }
+
     /**
      * @param fullPath the path of the dir
      */
@@ -559,12 +811,76 @@ public class OdsElements implements StylesContainer {
         for (final Map.Entry<String, byte[]> entry : this.extraFileByName.entrySet()) {
             final String elementName = entry.getKey();
             this.logger.log(Level.FINEST, "Writing ods element: {0} to zip file", elementName);
+            final byte[] bytes = entry.getValue();
+            if (OdsElements.isCompressed(elementName)) {
+                writer.putNextEntry(OdsZipOutputStream.createStoredEntry(elementName, bytes));
+            } else {
+                writer.putNextEntry(new ZipEntry(elementName));
+            }
+            writer.write(bytes);
+            writer.closeEntry();
+        }
+        for (final Map.Entry<String, RawZipEntry> entry : this.extraRawFileByName.entrySet()) {
+            final String elementName = entry.getKey();
+            this.logger.log(Level.FINEST, "Copying raw ods element: {0} to zip file", elementName);
+            this.writeRawExtra(writer, elementName, entry.getValue());
+        }
+    }
+
+    /**
+     * The in-house zip writer copies the compressed data from the source archive. A stored entry
+     * is copied as is by any writer. Otherwise, the data must be inflated to be deflated again,
+     * because java.util.zip.ZipOutputStream does not accept compressed data. In every case, the
+     * data is copied by chunks.
+     */
+    private void writeRawExtra(final ZipUTF8Writer writer, final String elementName,
+                               final RawZipEntry rawEntry) throws IOException {
+        if (writer instanceof OdsZipUTF8Writer) {
+            final InputStream in = rawEntry.openRawStream();
+            try {
+                ((OdsZipUTF8Writer) writer)
+                        .writeRawEntry(rawEntry.createZipEntry(elementName), in);
+            } finally {
+                in.close();
+            }
+        } else if (rawEntry.getMethod() == ZipEntry.STORED) {
+            writer.putNextEntry(rawEntry.createZipEntry(elementName));
+            this.copy(rawEntry.openRawStream(), writer);
+            writer.closeEntry();
+        } else {
             writer.putNextEntry(new ZipEntry(elementName));
-            writer.write(entry.getValue());
+            this.copy(rawEntry.openStream(), writer);
             writer.closeEntry();
         }
     }
 
+    private void copy(final InputStream in, final ZipUTF8Writer writer) throws IOException {
+        try {
+            final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int count = in.read(buffer);
+            while (count != -1) {
+                if (count == buffer.length) {
+                    writer.write(buffer);
+                } else if (count > 0) {
+                    writer.write(Arrays.copyOf(buffer, count));
+                }
+                count = in.read(buffer);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @param elementName the name of the extra file
+     * @return true if the file is an already compressed image: it will be stored, not deflated
+     */
+    private static boolean isCompressed(final String elementName) {
+        final String lowerName = elementName.toLowerCase(Locale.US);
+        return lowerName.endsWith(".png") || lowerName.endsWith(".jpg") ||
+                lowerName.endsWith(".jpeg") || lowerName.endsWith(".gif");
+    }
+
     /**
      * Write the mimetype element to a writer.
      *
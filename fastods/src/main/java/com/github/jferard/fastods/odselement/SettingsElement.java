@@ -126,14 +126,26 @@ public class SettingsElement implements OdsElement {
             util.appendAttribute(writer, entry.getKey(), entry.getValue());
         }
         util.appendAttribute(writer, "office:version", OFFICE_VERSION);
-        writer.append("><office:settings>");
+        writer.append(">");
+        this.appendSettings(util, writer);
+        writer.append("</office:document-settings>");
+        writer.flush();
+        writer.closeEntry();
+    }
+
+    /**
+     * Append the office:settings element. Used by the write method and by the flat document.
+     *
+     * @param util   an util
+     * @param writer the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendSettings(final XMLUtil util, final Appendable writer) throws IOException {
+        writer.append("<office:settings>");
         for (final ConfigBlock block : this.settings.getRootBlocks()) {
             block.appendXMLContent(util, writer);
         }
         writer.append("</office:settings>");
-        writer.append("</office:document-settings>");
-        writer.flush();
-        writer.closeEntry();
     }
 
     /**
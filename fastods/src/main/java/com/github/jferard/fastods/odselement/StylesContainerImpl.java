@@ -40,10 +40,13 @@ import com.github.jferard.fastods.util.MultiContainer;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.logging.Logger;
 
 /**
@@ -54,6 +57,30 @@ import java.util.logging.Logger;
  */
 public class StylesContainerImpl implements StylesContainer {
     private static final FontFace DEFAULT_FONT_FACE = new FontFace("Liberation Sans");
+    private static final Comparator<FontFace> FONT_FACE_COMPARATOR = new Comparator<FontFace>() {
+        @Override
+        public int compare(final FontFace fontFace1, final FontFace fontFace2) {
+            return fontFace1.getName().compareTo(fontFace2.getName());
+        }
+    };
+
+    /**
+     * Create a styles container that may be shared between the threads filling the tables of a
+     * document. The registration of an existing style does not take a lock and every style is
+     * written in the order of the keys, whatever the order of the registrations.
+     *
+     * @param logger the logger
+     * @return the container
+     */
+    static StylesContainerImpl createConcurrent(final Logger logger) {
+        return new StylesContainerImpl(
+                MultiContainer.<String, Dest, ObjectStyle>createConcurrent(logger, Dest.class),
+                MultiContainer.<String, Dest, DataStyle>createConcurrent(logger, Dest.class),
+                Container.<String, MasterPageStyle>createConcurrent(logger),
+                Container.<String, PageLayoutStyle>createConcurrent(logger),
+                new ConcurrentHashMap<ChildCellStyle, TableCellStyle>(),
+                new ConcurrentSkipListSet<FontFace>(FONT_FACE_COMPARATOR));
+    }
 
     /**
      * A cell style, child of a table cell style and a data style/
@@ -113,13 +140,26 @@ public class StylesContainerImpl implements StylesContainer {
      * @param logger the logger
      */
     StylesContainerImpl(final Logger logger) {
-        this.objectStylesContainer =
-                new MultiContainer<String, Dest, ObjectStyle>(logger, Dest.class);
-        this.dataStylesContainer = new MultiContainer<String, Dest, DataStyle>(logger, Dest.class);
-        this.masterPageStylesContainer = new Container<String, MasterPageStyle>(logger);
-        this.pageLayoutStylesContainer = new Container<String, PageLayoutStyle>(logger);
-        this.anonymousStyleByChildCellStyle = new HashMap<ChildCellStyle, TableCellStyle>();
-        this.fontFaces = new HashSet<FontFace>();
+        this(new MultiContainer<String, Dest, ObjectStyle>(logger, Dest.class),
+                new MultiContainer<String, Dest, DataStyle>(logger, Dest.class),
+                new Container<String, MasterPageStyle>(logger),
+                new Container<String, PageLayoutStyle>(logger),
+                new HashMap<ChildCellStyle, TableCellStyle>(), new HashSet<FontFace>());
+    }
+
+    private StylesContainerImpl(
+            final MultiContainer<String, Dest, ObjectStyle> objectStylesContainer,
+            final MultiContainer<String, Dest, DataStyle> dataStylesContainer,
+            final Container<String, MasterPageStyle> masterPageStylesContainer,
+            final Container<String, PageLayoutStyle> pageLayoutStylesContainer,
+            final Map<ChildCellStyle, TableCellStyle> anonymousStyleByChildCellStyle,
+            final Set<FontFace> fontFaces) {
+        this.objectStylesContainer = objectStylesContainer;
+        this.dataStylesContainer = dataStylesContainer;
+        this.masterPageStylesContainer = masterPageStylesContainer;
+        this.pageLayoutStylesContainer = pageLayoutStylesContainer;
+        this.anonymousStyleByChildCellStyle = anonymousStyleByChildCellStyle;
+        this.fontFaces = fontFaces;
         this.fontFaces.add(DEFAULT_FONT_FACE);
     }
 
@@ -255,6 +295,13 @@ public class StylesContainerImpl implements StylesContainer {
         }
     }
 
+    /**
+     * @return the number of anonymous child cell styles (style + data style) created so far
+     */
+    public int getAnonymousStyleCount() {
+        return this.anonymousStyleByChildCellStyle.size();
+    }
+
     /**
      * Enable debug mode
      */
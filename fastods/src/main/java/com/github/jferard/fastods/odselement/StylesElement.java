@@ -99,8 +99,6 @@ public class StylesElement implements OdsElement {
 
     @Override
     public void write(final XMLUtil util, final ZipUTF8Writer writer) throws IOException {
-        final HasFooterHeader hasFooterHeader = this.stylesContainer.hasFooterHeader();
-
         writer.putNextEntry(new ZipEntry("styles.xml"));
         writer.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
         writer.append("<office:document-styles");
@@ -110,31 +108,67 @@ public class StylesElement implements OdsElement {
         util.appendAttribute(writer, "office:version", OFFICE_VERSION);
         writer.append(">");
         this.stylesContainer.writeFontFaceDecls(util, writer);
-        writer.append("<office:styles>");
-        this.stylesContainer.writeStylesCommonStyles(util, writer); // table-cell
-        this.stylesContainer.writeVisibleDataStyles(util, writer); // table-cell
+        this.appendStyles(util, writer);
+        writer.append("<office:automatic-styles>");
+        this.appendAutomaticStyles(util, writer);
+        writer.append("</office:automatic-styles>");
+        this.appendMasterStyles(util, writer);
+        writer.append("</office:document-styles>");
+        writer.flush();
+        writer.closeEntry();
+    }
+
+    /**
+     * Append the office:styles element. Used by the write method and by the flat document.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendStyles(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        final HasFooterHeader hasFooterHeader = this.stylesContainer.hasFooterHeader();
+
+        appendable.append("<office:styles>");
+        this.stylesContainer.writeStylesCommonStyles(util, appendable); // table-cell
+        this.stylesContainer.writeVisibleDataStyles(util, appendable); // table-cell
 
         if (hasFooterHeader.hasHeader()) {
-            StylesElement.appendDefaultFooterHeaderStyle(util, writer, "Header");
+            StylesElement.appendDefaultFooterHeaderStyle(util, appendable, "Header");
         }
         if (hasFooterHeader.hasFooter()) {
-            StylesElement.appendDefaultFooterHeaderStyle(util, writer, "Footer");
+            StylesElement.appendDefaultFooterHeaderStyle(util, appendable, "Footer");
         }
 
-        writer.append("</office:styles>");
-        writer.append("<office:automatic-styles>");
-
-        this.stylesContainer.writeStylesAutomaticStyles(util, writer);
-        this.stylesContainer.writePageLayoutStyles(util, writer);
-
-        writer.append("</office:automatic-styles>");
-        writer.append("<office:master-styles>");
+        appendable.append("</office:styles>");
+    }
 
-        this.stylesContainer.writeMasterPageStyles(util, writer);
+    /**
+     * Append the automatic styles of styles.xml, without the office:automatic-styles tags:
+     * the flat document merges them with the automatic styles of content.xml.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendAutomaticStyles(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        this.stylesContainer.writeStylesAutomaticStyles(util, appendable);
+        this.stylesContainer.writePageLayoutStyles(util, appendable);
+    }
 
-        writer.append("</office:master-styles>");
-        writer.append("</office:document-styles>");
-        writer.flush();
-        writer.closeEntry();
+    /**
+     * Append the office:master-styles element. Used by the write method and by the flat
+     * document.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendMasterStyles(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        appendable.append("<office:master-styles>");
+        this.stylesContainer.writeMasterPageStyles(util, appendable);
+        appendable.append("</office:master-styles>");
     }
 }
@@ -4,12 +4,34 @@ import com.github.jferard.fastods.XMLConvertible;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
+import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.TimeZone;
 
 /**
  * 4.3.3<meta:user-defined>
  */
 public class UserDefined implements XMLConvertible {
+    /**
+     * the date format: 2017-12-31
+     */
+    private static final SimpleDateFormat DF_DATE;
+
+    static {
+        DF_DATE = new SimpleDateFormat("yyyy-MM-dd");
+        DF_DATE.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    /**
+     * the time format: 18:12:59
+     */
+    private static final SimpleDateFormat DF_TIME;
+
+    static {
+        DF_TIME = new SimpleDateFormat("HH:mm:ss");
+        DF_TIME.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
     /**
      * @param name  the name of the metadata
      * @param value the boolean value
@@ -25,7 +47,7 @@ public class UserDefined implements XMLConvertible {
      * @return the user defined metadata
      */
     public static UserDefined fromDate(final String name, final Date value) {
-        return new UserDefined(name, MetaValueType.DATE, MetaElement.DF_DATE.format(value));
+        return new UserDefined(name, MetaValueType.DATE, DF_DATE.format(value));
     }
 
     /**
@@ -43,7 +65,7 @@ public class UserDefined implements XMLConvertible {
      * @return the user defined metadata
      */
     public static UserDefined fromTime(final String name, final Date value) {
-        return new UserDefined(name, MetaValueType.TIME, MetaElement.DF_TIME.format(value));
+        return new UserDefined(name, MetaValueType.TIME, DF_TIME.format(value));
     }
 
     /**
@@ -36,6 +36,7 @@ class LocalCellAddressParser {
     private static final int OPT_LETTER = 1;
     private static final int BEGIN_ROW = 2;
     private static final int OPT_DIGIT = 3;
+    private static final int STATUS_MASK = 3;
 
     /**
      * @param address ['<filename>'#][<tablename>.]<col><row>
@@ -43,11 +44,37 @@ class LocalCellAddressParser {
      * @throws ParseException If the address can't be parsed.
      */
     public LocalCellRef parse(final String address) throws ParseException {
+        final long parsed = this.parse(address, 0, address.length());
+        return new LocalCellRef((int) (parsed >>> 32), (int) parsed >> 2,
+                (int) parsed & STATUS_MASK);
+    }
+
+    /**
+     * Parse a local cell address without creating any object.
+     *
+     * @param address the address
+     * @param from    the index of the first char of the local cell address: [$]col[$]row
+     * @param to      the index of the last char + 1
+     * @return the position: see {@link PositionUtil#toPosition(int, int)}
+     * @throws ParseException If the address can't be parsed.
+     */
+    public long parsePosition(final String address, final int from, final int to)
+            throws ParseException {
+        final long parsed = this.parse(address, from, to);
+        return PositionUtil.toPosition((int) (parsed >>> 32), (int) parsed >> 2);
+    }
+
+    /**
+     * @return the row in the high 32 bits, the col in the next 30 bits, the status in the low 2
+     * bits
+     */
+    private long parse(final String address, final int from, final int to)
+            throws ParseException {
         int status = 0;
         int col = 0;
         int row = 0;
         int state = BEGIN_COL;
-        for (int i = 0; i < address.length(); i++) {
+        for (int i = from; i < to; i++) {
             final char c = address.charAt(i);
             switch (state) {
                 case BEGIN_COL: // check for opt $
@@ -57,7 +84,7 @@ class LocalCellAddressParser {
                         col = c - 'A' + 1;
                         state = LocalCellAddressParser.OPT_LETTER;
                     } else {
-                        throw this.parseException("Expected letter or $", address, i, c);
+                        throw this.parseException("Expected letter or $", address, from, to, i, c);
                     }
 
                     break;
@@ -68,7 +95,8 @@ class LocalCellAddressParser {
                         row = c - '0';
                         state = LocalCellAddressParser.OPT_DIGIT;
                     } else {
-                        throw this.parseException("Expected digit (not 0) or $", address, i, c);
+                        throw this.parseException("Expected digit (not 0) or $", address,
+                                from, to, i, c);
                     }
                     break;
                 case OPT_LETTER: // opt letter
@@ -84,24 +112,27 @@ class LocalCellAddressParser {
                     if ('0' <= c && c <= '9') {
                         row = row * 10 + c - '0';
                     } else {
-                        throw this.parseException("Expected digit", address, i, c);
+                        throw this.parseException("Expected digit", address, from, to, i, c);
                     }
                     break;
                 default:
-                    throw this.parseException("Unexpected error", address, i, c);
+                    throw this.parseException("Unexpected error", address, from, to, i, c);
             }
         }
         if (state != OPT_DIGIT) {
-            throw new ParseException(
-                    String.format("Address too short, expected digit: %s[]", address),
-                    address.length());
+            throw new ParseException(String.format("Address too short, expected digit: %s[]",
+                    address.substring(from, to)), to - from);
         }
-        return new LocalCellRef(row - 1, col - 1, status);
+        return ((long) (row - 1) << 32) | ((long) (col - 1) << 2) | status;
     }
 
-    private ParseException parseException(final String text, final String address, final int i,
+    /**
+     * The message and the offset are relative to the local cell address.
+     */
+    private ParseException parseException(final String text, final String address,
+                                          final int from, final int to, final int i,
                                           final char c) {
-        return new ParseException(String.format("%s: %s[%c]%s", text, address.substring(0, i), c,
-                address.substring(i + 1)), i);
+        return new ParseException(String.format("%s: %s[%c]%s", text,
+                address.substring(from, i), c, address.substring(i + 1, to)), i - from);
     }
 }
\ No newline at end of file
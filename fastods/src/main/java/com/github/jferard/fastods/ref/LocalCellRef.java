@@ -130,26 +130,14 @@ class LocalCellRef {
      * @throws IOException never
      */
     public void write(final Appendable appendable) throws IOException {
-        final StringBuilder tempSb = this.getColStringBuilder();
         if ((this.status & LocalCellRef.ABSOLUTE_COL) == LocalCellRef.ABSOLUTE_COL) {
             appendable.append('$');
         }
-        appendable.append(tempSb);
+        appendable.append(PositionUtil.getColumnLetters(this.c));
         if ((this.status & LocalCellRef.ABSOLUTE_ROW) == LocalCellRef.ABSOLUTE_ROW) {
             appendable.append('$');
         }
-        appendable.append(String.valueOf(this.r + 1));
-    }
-
-    private StringBuilder getColStringBuilder() {
-        final StringBuilder tempSb = new StringBuilder();
-        int col = this.c;
-        while (col >= PositionUtil.ALPHABET_SIZE) {
-            tempSb.insert(0, (char) (PositionUtil.ORD_A + (col % PositionUtil.ALPHABET_SIZE)));
-            col = col / PositionUtil.ALPHABET_SIZE - 1;
-        }
-        tempSb.insert(0, (char) (PositionUtil.ORD_A + col));
-        return tempSb;
+        PositionUtil.appendRowNumber(appendable, this.r);
     }
 
 }
@@ -42,6 +42,17 @@ public class PositionUtil {
      */
     public static final int ORD_A = 'A';
 
+    /**
+     * The number of columns of a LO table: AMJ is the last one.
+     */
+    private static final int CACHED_COLUMNS = 1024;
+
+    private static final String[] COLUMN_LETTERS = new String[CACHED_COLUMNS];
+
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    private static final LocalCellAddressParser LOCAL_PARSER = new LocalCellAddressParser();
+
     /**
      * @return a new position util
      */
@@ -49,6 +60,93 @@ public class PositionUtil {
         return new PositionUtil(new TableNameUtil());
     }
 
+    /**
+     * @param row the row index
+     * @param col the column index
+     * @return the position as a primitive: row in the high 32 bits, col in the low 32 bits.
+     */
+    public static long toPosition(final int row, final int col) {
+        return ((long) row << 32) | (col & INT_MASK);
+    }
+
+    /**
+     * @param position the position, see {@link #toPosition(int, int)}
+     * @return the row index
+     */
+    public static int getRow(final long position) {
+        return (int) (position >>> 32);
+    }
+
+    /**
+     * @param position the position, see {@link #toPosition(int, int)}
+     * @return the column index
+     */
+    public static int getColumn(final long position) {
+        return (int) position;
+    }
+
+    /**
+     * Returns the letters of a column: 0 gives "A", 25 gives "Z", 26 gives "AA",...
+     * The letters of the 1024 first columns are cached.
+     *
+     * @param col the column index
+     * @return the letters
+     */
+    public static String getColumnLetters(final int col) {
+        if (col < 0) {
+            throw new IllegalArgumentException("Negative column: " + col);
+        }
+        if (col >= CACHED_COLUMNS) {
+            return PositionUtil.computeColumnLetters(col);
+        }
+        String letters = COLUMN_LETTERS[col];
+        if (letters == null) { // benign race: the value is always the same
+            letters = PositionUtil.computeColumnLetters(col);
+            COLUMN_LETTERS[col] = letters;
+        }
+        return letters;
+    }
+
+    private static String computeColumnLetters(final int c) {
+        final char[] chars = new char[7];
+        int i = chars.length;
+        int col = c;
+        while (col >= ALPHABET_SIZE) {
+            chars[--i] = (char) (ORD_A + (col % ALPHABET_SIZE));
+            col = col / ALPHABET_SIZE - 1;
+        }
+        chars[--i] = (char) (ORD_A + col);
+        return new String(chars, i, chars.length - i);
+    }
+
+    /**
+     * Append the address of a cell, e.g. "B3", without creating a {@link CellRef}.
+     *
+     * @param appendable the destination
+     * @param row        the row
+     * @param col        the col
+     * @throws IOException if the appendable throws it
+     */
+    public static void appendCellAddress(final Appendable appendable, final int row,
+                                         final int col) throws IOException {
+        appendable.append(PositionUtil.getColumnLetters(col));
+        PositionUtil.appendRowNumber(appendable, row);
+    }
+
+    /**
+     * @param appendable the destination
+     * @param row        the row index
+     * @throws IOException if the appendable throws it
+     */
+    static void appendRowNumber(final Appendable appendable, final int row)
+            throws IOException {
+        if (appendable instanceof StringBuilder) {
+            ((StringBuilder) appendable).append(row + 1);
+        } else {
+            appendable.append(String.valueOf(row + 1));
+        }
+    }
+
     private final TableNameUtil tableNameUtil;
 
     /**
@@ -73,6 +171,64 @@ public class PositionUtil {
         return CellAddressParser.create(this.tableNameUtil).parse(address);
     }
 
+    /**
+     * Parse a cell address like "B3" or "table.$B$3" to a primitive position. Unlike
+     * {@link #newCellRef(String)}, this method does not create any object: the table/file part
+     * is checked (quotes, empty names) but ignored.
+     *
+     * @param address the address
+     * @return the position, see {@link #toPosition(int, int)}
+     * @throws ParseException If the address can't be parsed.
+     */
+    public long parsePosition(final String address) throws ParseException {
+        final int dotIndex = address.lastIndexOf(CellRef.TABLE_CELL_SEP);
+        if (dotIndex != -1) {
+            final int hashIndex = address.indexOf('#');
+            if (hashIndex == -1 || hashIndex > dotIndex) {
+                PositionUtil.checkEscapedName(address, 0, dotIndex);
+            } else {
+                PositionUtil.checkEscapedName(address, 0, hashIndex);
+                PositionUtil.checkEscapedName(address, hashIndex + 1, dotIndex);
+            }
+        }
+        return LOCAL_PARSER.parsePosition(address, dotIndex + 1, address.length());
+    }
+
+    /**
+     * Check a file or table name, without unescaping it. See
+     * {@link TableNameUtil#unescapeQuotes(String)}.
+     *
+     * @param address the address
+     * @param from    the index of the first char of the name
+     * @param to      the index after the last char of the name
+     * @throws ParseException if the name is empty or if the quotes are not balanced.
+     */
+    private static void checkEscapedName(final String address, final int from, final int to)
+            throws ParseException {
+        if (from == to) {
+            throw new ParseException("Empty name in " + address, from);
+        }
+        if (to - from >= 2 && address.charAt(from) == '\'' && address.charAt(to - 1) == '\'') {
+            int quotes = 0;
+            for (int i = from + 1; i < to - 1; i++) {
+                if (address.charAt(i) == '\'') {
+                    quotes = 1 - quotes;
+                } else if (quotes == 1) {
+                    throw new ParseException("Missing closing quote in " + address, i);
+                }
+            }
+            if (quotes != 0) {
+                throw new ParseException("Random quote in " + address, to - 1);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                if (address.charAt(i) == '\'') {
+                    throw new ParseException("Unquoted name in " + address, i);
+                }
+            }
+        }
+    }
+
     /**
      * @param row the row
      * @param col the col
@@ -101,7 +257,9 @@ public class PositionUtil {
      * @return the Excel/OO/LO address
      */
     public String toCellAddress(final int row, final int col) {
-        return this.newCellRef(row, col).toString();
+        final StringBuilder sb = new StringBuilder(8);
+        this.appendLocalAddress(sb, row, col);
+        return sb.toString();
     }
 
     /**
@@ -126,7 +284,11 @@ public class PositionUtil {
      * @return the Excel/OO/LO address
      */
     public String toRangeAddress(final int row1, final int col1, final int row2, final int col2) {
-        return this.toCellAddress(row1, col1) + ":" + this.toCellAddress(row2, col2);
+        final StringBuilder sb = new StringBuilder(16);
+        this.appendLocalAddress(sb, row1, col1);
+        sb.append(':');
+        this.appendLocalAddress(sb, row2, col2);
+        return sb.toString();
     }
 
     /**
@@ -141,7 +303,23 @@ public class PositionUtil {
      */
     public String toRangeAddress(final Table table, final int row1, final int col1, final int row2,
                                  final int col2) {
-        return this.toCellAddress(table, row1, col1) + ":" + this.toCellAddress(row2, col2);
+        final StringBuilder sb = new StringBuilder();
+        try {
+            this.newCellRef(table, row1, col1).write(sb);
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+        sb.append(':');
+        this.appendLocalAddress(sb, row2, col2);
+        return sb.toString();
+    }
+
+    private void appendLocalAddress(final StringBuilder sb, final int row, final int col) {
+        try {
+            PositionUtil.appendCellAddress((Appendable) sb, row, col);
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
     }
 
     /**
@@ -2,17 +2,20 @@ package com.github.jferard.fastods.style;
 
 import com.github.jferard.fastods.odselement.OdsElements;
 import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
 
 public class DrawFillBitmap implements DrawFill, ObjectStyle {
     private final String name;
+    private final XMLToken nameAttribute;
     private final String href;
     private String key;
 
     public DrawFillBitmap(final String name, final String href) {
         this.name = name;
+        this.nameAttribute = XMLToken.createAttribute("draw:fill-image-name", this.name);
         this.href = href;
     }
 
@@ -33,6 +36,11 @@ public class DrawFillBitmap implements DrawFill, ObjectStyle {
         return this.name;
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.nameAttribute;
+    }
+
     @Override
     public ObjectStyleFamily getFamily() {
         return ObjectStyleFamily.DRAW_FILL_BITMAP;
@@ -59,7 +67,7 @@ public class DrawFillBitmap implements DrawFill, ObjectStyle {
     public void appendAttributes(final XMLUtil util, final Appendable appendable)
             throws IOException {
         util.appendAttribute(appendable, "draw:fill", "bitmap");
-        util.appendAttribute(appendable, "draw:fill-image-name", this.name);
+        this.nameAttribute.appendTo(appendable);
     }
 
     @Override
@@ -4,6 +4,7 @@ import com.github.jferard.fastods.attribute.Angle;
 import com.github.jferard.fastods.attribute.Color;
 import com.github.jferard.fastods.odselement.OdsElements;
 import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -17,12 +18,15 @@ public class DrawFillGradient implements DrawFill, ObjectStyle {
     private final int startIntensity;
     private final Color endColor;
     private final int endIntensity;
-    private String name;
+    private final String name;
+    private final XMLToken nameAttribute;
     private String key;
 
     public DrawFillGradient(final String name, final Angle angle, final Color startColor,
                             final int startIntensity, final Color endColor,
                             final int endIntensity) {
+        this.name = name;
+        this.nameAttribute = XMLToken.createAttribute("draw:fill-gradient-name", this.name);
         this.angle = angle;
         this.startColor = startColor;
         this.startIntensity = startIntensity;
@@ -70,11 +74,16 @@ public class DrawFillGradient implements DrawFill, ObjectStyle {
         return this.name;
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.nameAttribute;
+    }
+
     @Override
     public void appendAttributes(final XMLUtil util, final Appendable appendable)
             throws IOException {
         util.appendAttribute(appendable, "draw:fill", "gradient");
-        util.appendAttribute(appendable, "draw:fill-gradient-name", this.name);
+        this.nameAttribute.appendTo(appendable);
     }
 
     @Override
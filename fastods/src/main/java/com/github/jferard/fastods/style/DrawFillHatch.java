@@ -5,6 +5,7 @@ import com.github.jferard.fastods.attribute.Color;
 import com.github.jferard.fastods.attribute.Length;
 import com.github.jferard.fastods.odselement.OdsElements;
 import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -14,6 +15,7 @@ import java.io.IOException;
  */
 public class DrawFillHatch implements DrawFill, ObjectStyle {
     private final String name;
+    private final XMLToken nameAttribute;
     private final Angle angle;
     private final Color color;
     private final Length distance;
@@ -22,6 +24,7 @@ public class DrawFillHatch implements DrawFill, ObjectStyle {
     public DrawFillHatch(final String name, final Angle angle, final Color color,
                          final Length distance) {
         this.name = name;
+        this.nameAttribute = XMLToken.createAttribute("draw:fill-hatch-name", this.name);
         this.angle = angle;
         this.color = color;
         this.distance = distance;
@@ -65,11 +68,16 @@ public class DrawFillHatch implements DrawFill, ObjectStyle {
         return this.name;
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.nameAttribute;
+    }
+
     @Override
     public void appendAttributes(final XMLUtil util, final Appendable appendable)
             throws IOException {
         util.appendAttribute(appendable, "draw:fill", "hatch");
-        util.appendAttribute(appendable, "draw:fill-hatch-name", this.name);
+        this.nameAttribute.appendTo(appendable);
     }
 
     @Override
@@ -45,6 +45,13 @@ public class FontFace implements XMLConvertible {
         this.fontName = fontName;
     }
 
+    /**
+     * @return the name of the font
+     */
+    public String getName() {
+        return this.fontName;
+    }
+
     @Override
     public void appendXMLContent(final XMLUtil util, final Appendable appendable)
             throws IOException {
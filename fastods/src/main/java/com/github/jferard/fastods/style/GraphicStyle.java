@@ -3,6 +3,7 @@ package com.github.jferard.fastods.style;
 import com.github.jferard.fastods.ElementWithEmbeddedStyles;
 import com.github.jferard.fastods.odselement.OdsElements;
 import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -16,12 +17,14 @@ public class GraphicStyle implements ObjectStyle, ElementWithEmbeddedStyles {
     }
 
     private final String name;
+    private final XMLToken nameAttribute;
     private final boolean hidden;
     private final DrawFill drawFill;
     private String key;
 
     public GraphicStyle(final String name, final boolean hidden, final DrawFill drawFill) {
         this.name = name;
+        this.nameAttribute = XMLToken.createAttribute("draw:style-name", this.name);
         this.hidden = hidden;
         this.drawFill = drawFill;
     }
@@ -73,6 +76,11 @@ public class GraphicStyle implements ObjectStyle, ElementWithEmbeddedStyles {
         return this.name;
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.nameAttribute;
+    }
+
     @Override
     public void addEmbeddedStyles(final StylesContainer stylesContainer) {
         if (this.drawFill != null) {
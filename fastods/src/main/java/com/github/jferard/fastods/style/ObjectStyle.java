@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.style;
 
 import com.github.jferard.fastods.util.Style;
+import com.github.jferard.fastods.util.XMLToken;
 
 /**
  * 16.2 <style:style>
@@ -54,4 +55,12 @@ public interface ObjectStyle extends Style {
      * @return a unique identifier for this style
      */
     String getKey();
+
+    /**
+     * A style is immutable once built: the attribute is computed when the style is built.
+     *
+     * @return the escaped attribute that references this style, with a leading space, e.g.
+     * {@code  table:style-name="name"}
+     */
+    XMLToken getNameAttribute();
 }
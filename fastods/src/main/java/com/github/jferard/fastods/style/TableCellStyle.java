@@ -31,6 +31,7 @@ import com.github.jferard.fastods.attribute.SimpleColor;
 import com.github.jferard.fastods.attribute.VerticalAlign;
 import com.github.jferard.fastods.datastyle.DataStyle;
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -45,6 +46,9 @@ import java.io.IOException;
 public class TableCellStyle implements FontFaceContainerStyle {
     /**
      * This is the default cell style: left and top align, no wrap.
+     * <p>
+     * It is built when the class is loaded, not on first use: every document registers it
+     * when it is created, and every cell style builder uses it as the default parent.
      */
     public static final TableCellStyle DEFAULT_CELL_STYLE =
             TableCellStyle.builder("Default").verticalAlign(VerticalAlign.TOP).fontWrap(false)
@@ -66,6 +70,7 @@ public class TableCellStyle implements FontFaceContainerStyle {
     private final Borders borders;
     private final Margins margins;
     private final String name;
+    private final XMLToken nameAttribute;
     // true
     private final TableCellStyle parentCellStyle;
     private final CellAlign textAlign; // 'center','end','start','justify'
@@ -101,6 +106,7 @@ public class TableCellStyle implements FontFaceContainerStyle {
         this.borders = borders;
         this.margins = margins;
         this.name = name;
+        this.nameAttribute = XMLToken.createAttribute("table:style-name", this.name);
         this.dataStyle = dataStyle;
         this.backgroundColor = backgroundColor;
         this.textProperties = textProperties;
@@ -152,7 +158,7 @@ public class TableCellStyle implements FontFaceContainerStyle {
                     this.parentCellStyle.getRealName());
         }
         if (this.dataStyle != null) {
-            util.appendEAttribute(appendable, "style:data-style-name", this.dataStyle.getName());
+            this.dataStyle.getNameAttribute().appendTo(appendable);
         }
 
         if (this.hasCellProperties() || this.hasTextProperties() || this.hasParagraphProperties()) {
@@ -213,6 +219,11 @@ public class TableCellStyle implements FontFaceContainerStyle {
         return this.name;
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.nameAttribute;
+    }
+
     /**
      * @return the name without a suffix for data style
      */
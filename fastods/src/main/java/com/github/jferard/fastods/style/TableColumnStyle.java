@@ -26,6 +26,7 @@ package com.github.jferard.fastods.style;
 import com.github.jferard.fastods.attribute.Length;
 import com.github.jferard.fastods.odselement.OdsElements;
 import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -55,6 +56,7 @@ public class TableColumnStyle implements FontFaceContainerStyle {
     private final Length columnWidth;
     private final TableCellStyle defaultCellStyle;
     private final String name;
+    private final XMLToken nameAttribute;
     private final boolean optimalWidth;
     private String key;
 
@@ -70,6 +72,7 @@ public class TableColumnStyle implements FontFaceContainerStyle {
     TableColumnStyle(final String name, final boolean hidden, final Length columnWidth,
                      final TableCellStyle defaultCellStyle, final boolean optimalWidth) {
         this.name = name;
+        this.nameAttribute = XMLToken.createAttribute("table:style-name", this.name);
         this.hidden = hidden;
         this.columnWidth = columnWidth;
         this.defaultCellStyle = defaultCellStyle;
@@ -109,7 +112,7 @@ public class TableColumnStyle implements FontFaceContainerStyle {
     public void appendXMLToTable(final XMLUtil util, final Appendable appendable, final int count)
             throws IOException {
         appendable.append("<table:table-column");
-        util.appendEAttribute(appendable, "table:style-name", this.name);
+        this.getNameAttribute().appendTo(appendable);
         if (count > 1) {
             util.appendAttribute(appendable, "table:number-columns-repeated", count);
         }
@@ -159,6 +162,11 @@ public class TableColumnStyle implements FontFaceContainerStyle {
         return this.name;
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.nameAttribute;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
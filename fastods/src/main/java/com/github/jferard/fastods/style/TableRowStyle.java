@@ -26,6 +26,7 @@ package com.github.jferard.fastods.style;
 import com.github.jferard.fastods.attribute.Length;
 import com.github.jferard.fastods.odselement.OdsElements;
 import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -50,6 +51,7 @@ public class TableRowStyle implements FontFaceContainerStyle {
     }
 
     private final String name;
+    private final XMLToken nameAttribute;
     private final boolean hidden;
     private final Length rowHeight;
     private final TableCellStyle defaultCellStyle;
@@ -68,6 +70,7 @@ public class TableRowStyle implements FontFaceContainerStyle {
     TableRowStyle(final String styleName, final boolean hidden, final Length rowHeight,
                   final TableCellStyle defaultCellStyle, final boolean optimalHeight) {
         this.name = styleName;
+        this.nameAttribute = XMLToken.createAttribute("table:style-name", this.name);
         this.hidden = hidden;
         this.rowHeight = rowHeight;
         this.defaultCellStyle = defaultCellStyle;
@@ -105,6 +108,11 @@ public class TableRowStyle implements FontFaceContainerStyle {
         return this.name;
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.nameAttribute;
+    }
+
     /**
      * Set the row height to a table row.<br>
      * height is a length value.
@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.style;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -51,6 +52,7 @@ public class TableStyle implements ObjectStyle {
     private final boolean hidden;
     private final PageStyle pageStyle;
     private final String name;
+    private final XMLToken nameAttribute;
     private String key;
 
     /**
@@ -63,6 +65,7 @@ public class TableStyle implements ObjectStyle {
      */
     TableStyle(final String styleName, final boolean hidden, final PageStyle pageStyle) {
         this.name = styleName;
+        this.nameAttribute = XMLToken.createAttribute("table:style-name", this.name);
         this.hidden = hidden;
         this.pageStyle = pageStyle;
     }
@@ -98,6 +101,11 @@ public class TableStyle implements ObjectStyle {
         return this.name;
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.nameAttribute;
+    }
+
     @Override
     public String getKey() {
         if (this.key == null) {
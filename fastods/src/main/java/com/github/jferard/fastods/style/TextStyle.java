@@ -24,6 +24,7 @@
 package com.github.jferard.fastods.style;
 
 import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -41,6 +42,7 @@ public class TextStyle implements FontFaceContainerStyle {
     public static final TextStyle DEFAULT_TEXT_STYLE =
             TextProperties.builder().buildStyle("Default");
     private final String name;
+    private final XMLToken nameAttribute;
     private final boolean hidden;
     private final TextProperties textProperties;
     private String key;
@@ -54,6 +56,7 @@ public class TextStyle implements FontFaceContainerStyle {
      */
     TextStyle(final String name, final boolean hidden, final TextProperties textProperties) {
         this.name = TableStyleBuilder.checker.checkStyleName(name);
+        this.nameAttribute = XMLToken.createAttribute("text:style-name", this.name);
         this.hidden = hidden;
         this.textProperties = textProperties;
     }
@@ -89,6 +92,11 @@ public class TextStyle implements FontFaceContainerStyle {
         return this.name;
     }
 
+    @Override
+    public XMLToken getNameAttribute() {
+        return this.nameAttribute;
+    }
+
     /**
      * @return true if this style has a name and a least one text property is set
      */
@@ -37,22 +37,31 @@ import java.util.logging.Logger;
  * @author Julien Férard
  */
 public final class FastOds {
-    private static final XMLUtil xmlUtil = XMLUtil.create();
+    private static final XMLUtil xmlUtil = XMLUtil.createConcurrent();
     /**
-     * The desktop
+     * The desktop. Looked up on the first call to openFile: AWT is not loaded on the paths that
+     * only write files.
      */
     static Desktop desktop;
+    private static boolean desktopLookedUp;
 
-    static {
-        try {
-            desktop = Desktop.getDesktop();
-        } catch (final Exception e) {
-            Logger.getAnonymousLogger().warning("Cant' find desktop");
+    /**
+     * @return the desktop, or null if there is no desktop
+     */
+    static synchronized Desktop getDesktop() {
+        if (desktop == null && !desktopLookedUp) {
+            desktopLookedUp = true;
+            try {
+                desktop = Desktop.getDesktop();
+            } catch (final Exception e) {
+                Logger.getAnonymousLogger().warning("Cant' find desktop");
+            }
         }
+        return desktop;
     }
 
     /**
-     * @return the default XMLUtil.
+     * @return the default XMLUtil. It may be shared between threads.
      */
     public static XMLUtil getXMLUtil() {
         return FastOds.xmlUtil;
@@ -65,6 +74,7 @@ public final class FastOds {
      * @return true if succeeded, false otherwise.
      */
     public static boolean openFile(final File f) {
+        final Desktop desktop = FastOds.getDesktop();
         if (desktop != null && f.exists() && f.isFile()) {
             try {
                 desktop.open(f);
@@ -102,7 +102,10 @@ public class InsertHelper {
     }
 
     /**
-     * Insert a new object into the document
+     * Insert a new object into the document. The source archive is read in memory, and the
+     * entries are copied when the document is saved: see
+     * {@link #insertObject(OdsDocument, Table, String, String, String, String, File,
+     * SVGRectangle, GraphicStyle)}.
      *
      * @param document        the destination document
      * @param table           the destination table
@@ -120,9 +123,45 @@ public class InsertHelper {
                              final String objectVersion, final InputStream sourceStream,
                              final SVGRectangle rectangle, final GraphicStyle gs)
             throws IOException {
+        this.insertObject(document, table, frameName, objectName, objectMediaType, objectVersion,
+                new OdsArchiveExplorer(this.fileUtil, sourceStream), rectangle, gs);
+    }
+
+    /**
+     * Insert a new object into the document. Only the directory of the source archive is read:
+     * the entries are copied from the file when the document is saved, so the file must exist
+     * until then. The compressed data is copied as is if the document is saved with
+     * {@code ZipUTF8WriterImpl.builder().odsZip()}. The default writer relies on
+     * java.util.zip.ZipOutputStream, that can't take compressed data: the deflated entries are
+     * inflated and deflated again.
+     *
+     * @param document        the destination document
+     * @param table           the destination table
+     * @param frameName       the name of the frame
+     * @param objectName      the name of the object embedded in the document
+     * @param objectMediaType the media-type of the object embedded in the document
+     * @param objectVersion   the version of the object embedded in the document
+     * @param source          the source archive
+     * @param rectangle       the frame coordinates
+     * @param gs              the graphic style
+     * @throws IOException if an I/O error occurs
+     */
+    public void insertObject(final OdsDocument document, final Table table, final String frameName,
+                             final String objectName, final String objectMediaType,
+                             final String objectVersion, final File source,
+                             final SVGRectangle rectangle, final GraphicStyle gs)
+            throws IOException {
+        this.insertObject(document, table, frameName, objectName, objectMediaType, objectVersion,
+                new OdsArchiveExplorer(this.fileUtil, source), rectangle, gs);
+    }
+
+    private void insertObject(final OdsDocument document, final Table table,
+                              final String frameName, final String objectName,
+                              final String objectMediaType, final String objectVersion,
+                              final OdsArchiveExplorer explorer, final SVGRectangle rectangle,
+                              final GraphicStyle gs) throws IOException {
         document.addExtraObject(objectName, objectMediaType, objectVersion);
-        final Map<String, OdsArchiveExplorer.OdsFile> fileByName =
-                new OdsArchiveExplorer(this.fileUtil, sourceStream).explore();
+        final Map<String, OdsArchiveExplorer.OdsFile> fileByName = explorer.explore();
         for (final Map.Entry<String, OdsArchiveExplorer.OdsFile> entry : fileByName.entrySet()) {
             final String name = entry.getKey();
             if (name.equals("META-INF/manifest.xml") || name.equals("mimetype") ||
@@ -2,34 +2,31 @@ package com.github.jferard.fastods.tool;
 
 import com.github.jferard.fastods.OdsDocument;
 import com.github.jferard.fastods.util.FileUtil;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import com.github.jferard.fastods.util.RawZipEntry;
+import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import java.io.ByteArrayInputStream;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 class OdsArchiveExplorer {
     static class OdsFile {
         private final String name;
-        private byte[] bytes;
+        private RawZipEntry rawEntry;
         private String mediaType;
 
         OdsFile(final String name) {
             this.name = name;
         }
 
-        public void setBytes(final byte[] bytes) {
-            this.bytes = bytes;
+        public void setRawEntry(final RawZipEntry rawEntry) {
+            this.rawEntry = rawEntry;
         }
 
         public void setMediaType(final String mediaType) {
@@ -37,49 +34,76 @@ class OdsArchiveExplorer {
         }
 
         public void addToDocument(final OdsDocument document, final String prefix) {
-            if (this.bytes == null) {
+            if (this.rawEntry == null) {
                 document.addExtraObject(prefix + this.name, this.mediaType, null);
             } else {
-                document.addExtraFile(prefix + this.name, this.mediaType, this.bytes);
+                document.addExtraRawFile(prefix + this.name, this.mediaType, this.rawEntry);
             }
         }
     }
 
     private final FileUtil fileUtil;
     private final InputStream sourceStream;
+    private final File sourceFile;
     private final Map<String, OdsFile> fileByName;
 
     /**
      * @param fileUtil     an util
-     * @param sourceStream the source of the image
-     * @throws IOException if an I/O error occurs
+     * @param sourceStream the source of the archive. The archive is read in memory, but the
+     *                     entries are neither copied nor inflated.
      */
     public OdsArchiveExplorer(final FileUtil fileUtil, final InputStream sourceStream) {
+        this(fileUtil, sourceStream, null);
+    }
+
+    /**
+     * @param fileUtil   an util
+     * @param sourceFile the source of the archive. Only the central directory is read in
+     *                   memory: the data of the entries is read from the file when the
+     *                   document is saved.
+     */
+    public OdsArchiveExplorer(final FileUtil fileUtil, final File sourceFile) {
+        this(fileUtil, null, sourceFile);
+    }
+
+    private OdsArchiveExplorer(final FileUtil fileUtil, final InputStream sourceStream,
+                               final File sourceFile) {
         this.fileUtil = fileUtil;
         this.sourceStream = sourceStream;
+        this.sourceFile = sourceFile;
         this.fileByName = new HashMap<String, OdsFile>();
     }
 
+    /**
+     * Read the directory of the archive. Only the manifest is inflated and parsed.
+     *
+     * @return the files by name
+     * @throws IOException if the archive can't be read
+     */
     public Map<String, OdsFile> explore() throws IOException {
-        final ZipInputStream zipStream = new ZipInputStream(this.sourceStream);
-        ZipEntry zipEntry = zipStream.getNextEntry();
-        while (zipEntry != null) {
-            final String name = zipEntry.getName();
-            final byte[] bytes = this.fileUtil.readStream(zipStream);
+        final RawZipReader reader;
+        if (this.sourceFile == null) {
+            reader = RawZipReader.create(this.fileUtil.readStream(this.sourceStream));
+        } else {
+            reader = RawZipReader.create(this.sourceFile);
+        }
+        final Map<String, RawZipEntry> entryByName;
+        try {
+            entryByName = reader.readEntries();
+        } finally {
+            reader.close();
+        }
+        for (final Map.Entry<String, RawZipEntry> entry : entryByName.entrySet()) {
+            final String name = entry.getKey();
+            final RawZipEntry rawEntry = entry.getValue();
             if (name.equals("META-INF/manifest.xml")) {
-                this.extractMediaTypeByName(bytes);
+                this.extractMediaTypeByName(rawEntry);
             }
-            this.putBytes(name, bytes);
-            zipEntry = zipStream.getNextEntry();
+            this.getOrCreateOdsFile(name).setRawEntry(rawEntry);
         }
         return this.fileByName;
     }
 
-    private void putBytes(final String name, final byte[] bytes) {
-        final OdsFile odsFile = this.getOrCreateOdsFile(name);
-        odsFile.setBytes(bytes);
-    }
-
     private void putMediaType(final String name, final String mediaType) {
         final OdsFile odsFile = this.getOrCreateOdsFile(name);
         odsFile.setMediaType(mediaType);
@@ -94,25 +118,28 @@ class OdsArchiveExplorer {
         return odsFile;
     }
 
-    private void extractMediaTypeByName(final byte[] bytes) throws IOException {
+    private void extractMediaTypeByName(final RawZipEntry manifestEntry) throws IOException {
+        final InputStream manifestStream = manifestEntry.openStream();
         try {
-            final Document manifest = DocumentBuilderFactory.newInstance().newDocumentBuilder()
-                    .parse(new ByteArrayInputStream(bytes));
-            this.extractMediaTypeByName(manifest);
+            SAXParserFactory.newInstance().newSAXParser()
+                    .parse(manifestStream, new DefaultHandler() {
+                        @Override
+                        public void startElement(final String uri, final String localName,
+                                                 final String qName,
+                                                 final Attributes attributes) {
+                            if (qName.equals("manifest:file-entry")) {
+                                OdsArchiveExplorer.this.putMediaType(
+                                        attributes.getValue("manifest:full-path"),
+                                        attributes.getValue("manifest:media-type"));
+                            }
+                        }
+                    });
         } catch (final SAXException e) {
             // pass
         } catch (final ParserConfigurationException e) {
             // pass
+        } finally {
+            manifestStream.close();
         }
     }
-
-    private void extractMediaTypeByName(final Document manifest) {
-        final NodeList mEntries = manifest.getElementsByTagName("manifest:file-entry");
-        for (int i = 0; i < mEntries.getLength(); i++) {
-            final Node mEntry = mEntries.item(i);
-            final NamedNodeMap attributes = mEntry.getAttributes();
-            this.putMediaType(attributes.getNamedItem("manifest:full-path").getNodeValue(),
-                    attributes.getNamedItem("manifest:media-type").getNodeValue());
-        }
-    }
-}
\ No newline at end of file
+}
@@ -26,7 +26,6 @@ package com.github.jferard.fastods.tool;
 import com.github.jferard.fastods.CellValue;
 import com.github.jferard.fastods.NamedOdsDocument;
 import com.github.jferard.fastods.Table;
-import com.github.jferard.fastods.ref.CellRef;
 import com.github.jferard.fastods.ref.PositionUtil;
 import com.github.jferard.fastods.style.TableCellStyle;
 
@@ -84,9 +83,9 @@ public class OdsFileHelper {
      */
     public void setCellMergeInAllTables(final String address, final int rowMerge,
                                         final int columnMerge) throws IOException, ParseException {
-        final CellRef position = this.positionUtil.newCellRef(address);
-        final int row = position.getRow();
-        final int col = position.getColumn();
+        final long position = this.positionUtil.parsePosition(address);
+        final int row = PositionUtil.getRow(position);
+        final int col = PositionUtil.getColumn(position);
         this.setCellMergeInAllTables(row, col, rowMerge, columnMerge);
     }
 
@@ -121,9 +120,9 @@ public class OdsFileHelper {
     public void setCellValueInAllTables(final String address, final CellValue value,
                                         final TableCellStyle ts)
             throws IOException, ParseException {
-        final CellRef position = this.positionUtil.newCellRef(address);
-        final int row = position.getRow();
-        final int col = position.getColumn();
+        final long position = this.positionUtil.parsePosition(address);
+        final int row = PositionUtil.getRow(position);
+        final int col = PositionUtil.getColumn(position);
         this.setCellValueInAllTables(row, col, value, ts);
     }
 }
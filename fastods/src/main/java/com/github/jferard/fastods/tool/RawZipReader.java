@@ -0,0 +1,346 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.tool;
+
+import com.github.jferard.fastods.util.RawZipEntry;
+import com.github.jferard.fastods.util.ZipUTF8Writer;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipException;
+
+/**
+ * A reader for the raw entries of a zip archive. The central directory is read by random access,
+ * and the entries are not read: a {@link RawZipEntry} keeps only the position of its data in
+ * the archive.
+ *
+ * @author Julien Férard
+ */
+abstract class RawZipReader implements Closeable {
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    /**
+     * @param bytes the archive
+     * @return a reader on the archive
+     */
+    static RawZipReader create(final byte[] bytes) {
+        return new BytesReader(bytes);
+    }
+
+    /**
+     * @param file the archive. The file must exist until the entries are copied.
+     * @return a reader on the archive
+     * @throws IOException if the file can't be opened
+     */
+    static RawZipReader create(final File file) throws IOException {
+        return new FileReader(file, new RandomAccessFile(file, "r"));
+    }
+
+    /**
+     * Read the entries of the archive.
+     *
+     * @return the raw entries, in the order of the central directory
+     * @throws IOException if the archive can't be read
+     */
+    Map<String, RawZipEntry> readEntries() throws IOException {
+        final long endOffset = this.findEnd();
+        final byte[] end = this.read(endOffset, END_SIZE);
+        long count = getShort(end, 10);
+        long directoryOffset = getInt(end, 16);
+        if (count == 0xFFFF || directoryOffset == ZIP64_MAGIC) {
+            final long locatorOffset = endOffset - ZIP64_LOCATOR_SIZE;
+            final byte[] locator = this.read(locatorOffset, ZIP64_LOCATOR_SIZE);
+            if (getInt(locator, 0) == ZIP64_LOCATOR_SIGNATURE) {
+                final byte[] zip64End = this.read(getLong(locator, 8), 56);
+                if (getInt(zip64End, 0) != ZIP64_END_SIGNATURE) {
+                    throw new ZipException("Invalid Zip64 end of central directory");
+                }
+                count = getLong(zip64End, 32);
+                directoryOffset = getLong(zip64End, 48);
+            }
+        }
+
+        final Map<String, RawZipEntry> entryByName = new LinkedHashMap<String, RawZipEntry>();
+        long offset = directoryOffset;
+        for (long i = 0; i < count; i++) {
+            final byte[] header = this.read(offset, CENTRAL_HEADER_SIZE);
+            if (getInt(header, 0) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header");
+            }
+            final int method = getShort(header, 10);
+            final long crc = getInt(header, 16);
+            long compressedSize = getInt(header, 20);
+            long size = getInt(header, 24);
+            final int nameLength = getShort(header, 28);
+            final int extraLength = getShort(header, 30);
+            final int commentLength = getShort(header, 32);
+            long localOffset = getInt(header, 42);
+            final byte[] nameAndExtra =
+                    this.read(offset + CENTRAL_HEADER_SIZE, nameLength + extraLength);
+            final String name = new String(nameAndExtra, 0, nameLength, ZipUTF8Writer.UTF_8);
+
+            // Zip64 extra field: the values are present only if the header value is the magic
+            int pos = nameLength;
+            while (pos + 4 <= nameAndExtra.length) {
+                final int id = getShort(nameAndExtra, pos);
+                final int dataSize = getShort(nameAndExtra, pos + 2);
+                if (id == ZIP64_EXTRA_ID) {
+                    int dataPos = pos + 4;
+                    if (size == ZIP64_MAGIC) {
+                        size = getLong(nameAndExtra, dataPos);
+                        dataPos += 8;
+                    }
+                    if (compressedSize == ZIP64_MAGIC) {
+                        compressedSize = getLong(nameAndExtra, dataPos);
+                        dataPos += 8;
+                    }
+                    if (localOffset == ZIP64_MAGIC) {
+                        localOffset = getLong(nameAndExtra, dataPos);
+                    }
+                    break;
+                }
+                pos += 4 + dataSize;
+            }
+
+            final byte[] localHeader = this.read(localOffset, LOCAL_HEADER_SIZE);
+            if (getInt(localHeader, 0) != LOCAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid local header: " + name);
+            }
+            final long dataOffset = localOffset + LOCAL_HEADER_SIZE +
+                    getShort(localHeader, 26) + getShort(localHeader, 28);
+            if (dataOffset + compressedSize > this.length()) {
+                throw new ZipException("Truncated zip archive");
+            }
+            entryByName.put(name, new RawZipEntry(method, crc, size, compressedSize,
+                    this.getArchive(), dataOffset));
+            offset += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return entryByName;
+    }
+
+    private long findEnd() throws IOException {
+        final long length = this.length();
+        final long start = Math.max(0, length - END_SIZE - MAX_COMMENT_SIZE);
+        final byte[] tail = this.read(start, (int) (length - start));
+        for (int i = tail.length - END_SIZE; i >= 0; i--) {
+            if (getInt(tail, i) == END_SIGNATURE) {
+                return start + i;
+            }
+        }
+        throw new ZipException("No end of central directory: not a zip archive");
+    }
+
+    private byte[] read(final long position, final int length) throws IOException {
+        if (position < 0 || position + length > this.length()) {
+            throw new ZipException("Truncated zip archive");
+        }
+        final byte[] bytes = new byte[length];
+        this.readFully(position, bytes);
+        return bytes;
+    }
+
+    /**
+     * @return the length of the archive
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract long length() throws IOException;
+
+    /**
+     * @param position the position in the archive
+     * @param bytes    the destination
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract void readFully(long position, byte[] bytes) throws IOException;
+
+    /**
+     * @return the archive, to read the data of the entries
+     */
+    protected abstract RawZipEntry.Archive getArchive();
+
+    private static int getShort(final byte[] bytes, final int pos) {
+        return (bytes[pos] & 0xff) | ((bytes[pos + 1] & 0xff) << 8);
+    }
+
+    private static long getInt(final byte[] bytes, final int pos) {
+        return getShort(bytes, pos) | ((long) getShort(bytes, pos + 2) << 16);
+    }
+
+    private static long getLong(final byte[] bytes, final int pos) {
+        return getInt(bytes, pos) | (getInt(bytes, pos + 4) << 32);
+    }
+
+    /**
+     * An archive in memory
+     */
+    private static class BytesReader extends RawZipReader implements RawZipEntry.Archive {
+        private final byte[] bytes;
+
+        BytesReader(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        protected long length() {
+            return this.bytes.length;
+        }
+
+        @Override
+        protected void readFully(final long position, final byte[] dest) {
+            System.arraycopy(this.bytes, (int) position, dest, 0, dest.length);
+        }
+
+        @Override
+        protected RawZipEntry.Archive getArchive() {
+            return this;
+        }
+
+        @Override
+        public InputStream openStream(final long position, final long length) {
+            return new ByteArrayInputStream(this.bytes, (int) position, (int) length);
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+
+    /**
+     * An archive on the disk
+     */
+    private static class FileReader extends RawZipReader {
+        private final RandomAccessFile randomAccessFile;
+        private final RawZipEntry.Archive archive;
+
+        FileReader(final File file, final RandomAccessFile randomAccessFile) {
+            this.randomAccessFile = randomAccessFile;
+            this.archive = new FileArchive(file);
+        }
+
+        @Override
+        protected long length() throws IOException {
+            return this.randomAccessFile.length();
+        }
+
+        @Override
+        protected void readFully(final long position, final byte[] dest) throws IOException {
+            this.randomAccessFile.seek(position);
+            this.randomAccessFile.readFully(dest);
+        }
+
+        @Override
+        protected RawZipEntry.Archive getArchive() {
+            return this.archive;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.randomAccessFile.close();
+        }
+    }
+
+    /**
+     * The data of the entries of an archive on the disk: the file is opened for every copy
+     */
+    private static class FileArchive implements RawZipEntry.Archive {
+        private final File file;
+
+        FileArchive(final File file) {
+            this.file = file;
+        }
+
+        @Override
+        public InputStream openStream(final long position, final long length)
+                throws IOException {
+            final RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "r");
+            try {
+                randomAccessFile.seek(position);
+            } catch (final IOException e) {
+                randomAccessFile.close();
+                throw e;
+            }
+            return new FileRangeInputStream(randomAccessFile, length);
+        }
+    }
+
+    /**
+     * A stream on a range of a file. The file is closed with the stream.
+     */
+    private static class FileRangeInputStream extends InputStream {
+        private final RandomAccessFile randomAccessFile;
+        private long remaining;
+
+        FileRangeInputStream(final RandomAccessFile randomAccessFile, final long length) {
+            this.randomAccessFile = randomAccessFile;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+            final int b = this.randomAccessFile.read();
+            if (b != -1) {
+                this.remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+            final int count =
+                    this.randomAccessFile.read(b, off, (int) Math.min(len, this.remaining));
+            if (count > 0) {
+                this.remaining -= count;
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.randomAccessFile.close();
+        }
+    }
+}
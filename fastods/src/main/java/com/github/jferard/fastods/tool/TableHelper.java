@@ -27,7 +27,6 @@ import com.github.jferard.fastods.CellValue;
 import com.github.jferard.fastods.Table;
 import com.github.jferard.fastods.TableCell;
 import com.github.jferard.fastods.TableCellWalker;
-import com.github.jferard.fastods.ref.CellRef;
 import com.github.jferard.fastods.ref.PositionUtil;
 import com.github.jferard.fastods.style.TableCellStyle;
 
@@ -87,9 +86,9 @@ public class TableHelper {
      */
     public void setCellMerge(final Table table, final String address, final int rowMerge,
                              final int columnMerge) throws IOException, ParseException {
-        final CellRef position = this.positionUtil.newCellRef(address);
-        final int row = position.getRow();
-        final int col = position.getColumn();
+        final long position = this.positionUtil.parsePosition(address);
+        final int row = PositionUtil.getRow(position);
+        final int col = PositionUtil.getColumn(position);
         table.setCellMerge(row, col, rowMerge, columnMerge);
     }
 
@@ -133,9 +132,9 @@ public class TableHelper {
      */
     public void setCellValue(final Table table, final String address, final CellValue value,
                              final TableCellStyle ts) throws IOException, ParseException {
-        final CellRef position = this.positionUtil.newCellRef(address);
-        final int row = position.getRow();
-        final int col = position.getColumn();
+        final long position = this.positionUtil.parsePosition(address);
+        final int row = PositionUtil.getRow(position);
+        final int col = PositionUtil.getColumn(position);
         this.setCellValue(table, row, col, value, ts);
     }
 
@@ -150,9 +149,9 @@ public class TableHelper {
      */
     public void setCellValue(final Table table, final String address, final CellValue value)
             throws IOException, ParseException {
-        final CellRef position = this.positionUtil.newCellRef(address);
-        final int row = position.getRow();
-        final int col = position.getColumn();
+        final long position = this.positionUtil.parsePosition(address);
+        final int row = PositionUtil.getRow(position);
+        final int col = PositionUtil.getColumn(position);
         this.setCellValue(table, row, col, value);
     }
 
@@ -180,7 +179,8 @@ public class TableHelper {
      */
     public TableCellWalker getCell(final Table table, final String address)
             throws IOException, ParseException {
-        final CellRef position = this.positionUtil.newCellRef(address);
-        return this.getCell(table, position.getRow(), position.getColumn());
+        final long position = this.positionUtil.parsePosition(address);
+        return this.getCell(table, PositionUtil.getRow(position),
+                PositionUtil.getColumn(position));
     }
 }
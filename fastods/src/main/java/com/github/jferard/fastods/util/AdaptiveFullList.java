@@ -0,0 +1,295 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.util.Arrays;
+
+/**
+ * A full list (see {@link FastFullList}) with a null blank element, that switches from a dense
+ * array to a sorted sparse representation (keys and values) when the density falls below a
+ * threshold, and back to a dense array when the density rises again.
+ * <p>
+ * The entries are accessed in order with {@code entryCount}, {@code keyAt} and
+ * {@code valueAt}: in dense mode, every index below {@code usedSize} is an entry, in sparse
+ * mode, only the non null elements are entries.
+ *
+ * @param <E> the type of the elements
+ * @author J. Férard
+ */
+public class AdaptiveFullList<E> {
+    /**
+     * Below this capacity, the list is always dense
+     */
+    private static final int MIN_SPARSE_CAPACITY = 256;
+
+    /**
+     * Switch to sparse mode if less than 1 / SPARSE_RATIO of the elements are not null
+     */
+    private static final int SPARSE_RATIO = 4;
+
+    /**
+     * Switch back to dense mode if more than 1 / DENSE_RATIO of the elements are not null
+     */
+    private static final int DENSE_RATIO = 2;
+
+    /**
+     * @param capacity the initial capacity
+     * @param <F>      the type of the elements
+     * @return a new list
+     */
+    public static <F> AdaptiveFullList<F> newListWithCapacity(final int capacity) {
+        return new AdaptiveFullList<F>(capacity);
+    }
+
+    /**
+     * The elements in dense mode, the values in sparse mode
+     */
+    private E[] arr;
+    /**
+     * The keys in sparse mode, null in dense mode
+     */
+    private int[] keys;
+    /**
+     * The number of non null elements
+     */
+    private int count;
+    /**
+     * The index of the last non null element + 1
+     */
+    private int size;
+
+    /**
+     * @param capacity the initial capacity
+     */
+    @SuppressWarnings("unchecked")
+    AdaptiveFullList(final int capacity) {
+        this.arr = (E[]) new Object[capacity];
+        this.keys = null;
+        this.count = 0;
+        this.size = 0;
+    }
+
+    /**
+     * @return the index of the last non null element + 1
+     */
+    public int usedSize() {
+        return this.size;
+    }
+
+    /**
+     * @return true if the list is in sparse mode
+     */
+    public boolean isSparse() {
+        return this.keys != null;
+    }
+
+    /**
+     * @param index the index
+     * @return the element at the index, or null
+     */
+    public E get(final int index) {
+        if (index >= this.size) {
+            return null;
+        } else if (this.keys == null) {
+            return this.arr[index];
+        } else {
+            final int i = Arrays.binarySearch(this.keys, 0, this.count, index);
+            if (i < 0) {
+                return null;
+            } else {
+                return this.arr[i];
+            }
+        }
+    }
+
+    /**
+     * @param index   the index
+     * @param element the element, may be null
+     */
+    public void set(final int index, final E element) {
+        if (this.keys == null) {
+            this.setDense(index, element);
+        } else {
+            this.setSparse(index, element);
+        }
+    }
+
+    /**
+     * Remove all the elements. The list switches back to dense mode, and keeps its array.
+     */
+    public void clear() {
+        Arrays.fill(this.arr, 0, this.entryCount(), null);
+        this.keys = null;
+        this.count = 0;
+        this.size = 0;
+    }
+
+    /**
+     * @return the number of entries: usedSize in dense mode, the number of non null elements in
+     * sparse mode.
+     */
+    public int entryCount() {
+        if (this.keys == null) {
+            return this.size;
+        } else {
+            return this.count;
+        }
+    }
+
+    /**
+     * @param i the entry number, 0 &lt;= i &lt; entryCount
+     * @return the index of the entry
+     */
+    public int keyAt(final int i) {
+        if (this.keys == null) {
+            return i;
+        } else {
+            return this.keys[i];
+        }
+    }
+
+    /**
+     * @param i the entry number, 0 &lt;= i &lt; entryCount
+     * @return the element of the entry, may be null in dense mode
+     */
+    public E valueAt(final int i) {
+        return this.arr[i];
+    }
+
+    private void setDense(final int index, final E element) {
+        if (index >= this.size) {
+            if (element == null) {
+                return;
+            }
+            if (index >= this.arr.length) {
+                final int capacity = index * 2 + 1;
+                if (capacity > MIN_SPARSE_CAPACITY &&
+                        (this.count + 1) * SPARSE_RATIO < index + 1) {
+                    this.toSparse(this.count + 1);
+                    this.setSparse(index, element);
+                    return;
+                }
+                this.arr = Arrays.copyOf(this.arr, capacity);
+            }
+            this.arr[index] = element;
+            this.count++;
+            this.size = index + 1;
+            return;
+        }
+
+        final E oldElement = this.arr[index];
+        this.arr[index] = element;
+        if (oldElement == null) {
+            if (element != null) {
+                this.count++;
+            }
+        } else if (element == null) {
+            this.count--;
+            if (index == this.size - 1) {
+                this.removeTrail();
+            }
+        }
+    }
+
+    private void removeTrail() {
+        int last = this.size - 2;
+        while (last >= 0 && this.arr[last] == null) {
+            last--;
+        }
+        this.size = last + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void toSparse(final int capacity) {
+        final int[] newKeys = new int[capacity];
+        final E[] newValues = (E[]) new Object[capacity];
+        int j = 0;
+        for (int i = 0; i < this.size; i++) {
+            final E element = this.arr[i];
+            if (element != null) {
+                newKeys[j] = i;
+                newValues[j] = element;
+                j++;
+            }
+        }
+        this.keys = newKeys;
+        this.arr = newValues;
+    }
+
+    private void setSparse(final int index, final E element) {
+        final int i = Arrays.binarySearch(this.keys, 0, this.count, index);
+        if (i >= 0) {
+            if (element == null) {
+                this.removeSparse(i);
+            } else {
+                this.arr[i] = element;
+            }
+        } else if (element != null) {
+            this.insertSparse(-i - 1, index, element);
+        }
+    }
+
+    private void removeSparse(final int i) {
+        final int moved = this.count - i - 1;
+        System.arraycopy(this.keys, i + 1, this.keys, i, moved);
+        System.arraycopy(this.arr, i + 1, this.arr, i, moved);
+        this.count--;
+        this.arr[this.count] = null;
+        if (this.count == 0) {
+            this.size = 0;
+        } else {
+            this.size = this.keys[this.count - 1] + 1;
+        }
+    }
+
+    private void insertSparse(final int i, final int index, final E element) {
+        if (this.count == this.keys.length) {
+            final int capacity = this.count * 2 + 1;
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.arr = Arrays.copyOf(this.arr, capacity);
+        }
+        final int moved = this.count - i;
+        System.arraycopy(this.keys, i, this.keys, i + 1, moved);
+        System.arraycopy(this.arr, i, this.arr, i + 1, moved);
+        this.keys[i] = index;
+        this.arr[i] = element;
+        this.count++;
+        if (index >= this.size) {
+            this.size = index + 1;
+        }
+        if (this.count * DENSE_RATIO > this.size) {
+            this.toDense();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void toDense() {
+        final E[] newArr = (E[]) new Object[this.size * 2 + 1];
+        for (int i = 0; i < this.count; i++) {
+            newArr[this.keys[i]] = this.arr[i];
+        }
+        this.keys = null;
+        this.arr = newArr;
+    }
+}
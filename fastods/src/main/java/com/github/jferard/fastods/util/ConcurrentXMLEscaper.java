@@ -0,0 +1,155 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An XML escaper that can be shared between threads. The caches are lock-free maps and every
+ * call has its own scratch buffer, of the exact size of the escaped string. As in
+ * {@link FastOdsXMLEscaper}, a full cache does not accept new strings.
+ *
+ * @author Julien Férard
+ */
+public class ConcurrentXMLEscaper implements XMLEscaper {
+    /**
+     * @return a new escaper
+     */
+    public static ConcurrentXMLEscaper create() {
+        return new ConcurrentXMLEscaper(new ConcurrentHashMap<String, String>(),
+                new ConcurrentHashMap<String, String>());
+    }
+
+    private final Map<String, String> attrCacheMap;
+    private final Map<String, String> contentCacheMap;
+
+    /**
+     * Creates an xml escaper
+     *
+     * @param attrCacheMap    the cache for attributes, must be thread safe
+     * @param contentCacheMap the cache for contents, must be thread safe
+     */
+    public ConcurrentXMLEscaper(final Map<String, String> attrCacheMap,
+                                final Map<String, String> contentCacheMap) {
+        this.attrCacheMap = attrCacheMap;
+        this.contentCacheMap = contentCacheMap;
+    }
+
+    @Override
+    public String escapeXMLAttribute(final String s) {
+        if (s == null) {
+            return null;
+        }
+
+        final String cached = this.attrCacheMap.get(s);
+        if (cached != null) {
+            return cached;
+        }
+
+        // two threads may escape the same string: they put the same value.
+        final String escaped = ConcurrentXMLEscaper.getEscapedString(s,
+                FastOdsXMLEscaper.CHAR_SUBSTITUTES_IN_ATTRIBUTE);
+        if (this.attrCacheMap.size() < FastOdsXMLEscaper.MAX_CACHE_SIZE) {
+            this.attrCacheMap.put(s, escaped);
+        }
+        return escaped;
+    }
+
+    @Override
+    public String escapeXMLContent(final String s) {
+        if (s == null) {
+            return null;
+        }
+
+        final String cached = this.contentCacheMap.get(s);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String escaped = ConcurrentXMLEscaper.getEscapedString(s,
+                FastOdsXMLEscaper.CHAR_SUBSTITUTES_IN_CONTENT);
+        if (this.contentCacheMap.size() < FastOdsXMLEscaper.MAX_CACHE_SIZE) {
+            this.contentCacheMap.put(s, escaped);
+        }
+        return escaped;
+    }
+
+    /**
+     * Escape a string, without a cache.
+     *
+     * @param s               the string
+     * @param charSubstitutes the substitutes of the chars up to '&gt;'
+     * @return the escaped string, s itself if there is nothing to escape
+     */
+    static String getEscapedString(final String s, final char[][] charSubstitutes) {
+        final int sourceLength = s.length();
+        // first pass: the length of the escaped string
+        int destLength = sourceLength;
+        boolean oneSpecialChar = false;
+        for (int sourceIndex = 0; sourceIndex < sourceLength; sourceIndex++) {
+            final char c = s.charAt(sourceIndex);
+            if (c <= '>') {
+                final char[] toCopy = charSubstitutes[c];
+                if (toCopy != null) {
+                    oneSpecialChar = true;
+                    destLength += toCopy.length - 1;
+                }
+            }
+        }
+        if (!oneSpecialChar) {
+            return s;
+        }
+
+        // second pass: fill the buffer
+        final char[] buffer = new char[destLength];
+        int destIndex = 0;
+        int firstIdenticalCharInSourceIndex = 0;
+        for (int sourceIndex = 0; sourceIndex < sourceLength; sourceIndex++) {
+            final char c = s.charAt(sourceIndex);
+            if (c <= '>') {
+                final char[] toCopy = charSubstitutes[c];
+                if (toCopy != null) {
+                    s.getChars(firstIdenticalCharInSourceIndex, sourceIndex, buffer, destIndex);
+                    destIndex += sourceIndex - firstIdenticalCharInSourceIndex;
+                    System.arraycopy(toCopy, 0, buffer, destIndex, toCopy.length);
+                    destIndex += toCopy.length;
+                    firstIdenticalCharInSourceIndex = sourceIndex + 1;
+                }
+            }
+        }
+        s.getChars(firstIdenticalCharInSourceIndex, sourceLength, buffer, destIndex);
+        return new String(buffer);
+    }
+
+    @Override
+    public int getAttributeCacheSize() {
+        return this.attrCacheMap.size();
+    }
+
+    @Override
+    public int getContentCacheSize() {
+        return this.contentCacheMap.size();
+    }
+}
@@ -25,6 +25,7 @@ package com.github.jferard.fastods.util;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.logging.Logger;
 
 /**
@@ -37,11 +38,26 @@ import java.util.logging.Logger;
  * @author Julien Férard
  */
 public class Container<K, V> {
+    /**
+     * Builds a container that may be shared between threads. The values are sorted by key: the
+     * iteration order does not depend on the order of the additions.
+     *
+     * @param logger the logger
+     * @param <K>    key class
+     * @param <V>    value class
+     * @return the container
+     */
+    public static <K extends Comparable<K>, V> Container<K, V> createConcurrent(
+            final Logger logger) {
+        return new Container<K, V>(logger, new ConcurrentSkipListMap<K, V>(), true);
+    }
+
     private final Map<K, V> valueByKey;
     private final Logger logger;
+    private final boolean concurrent;
     private boolean closed;
     private boolean debug;
-    private Mode mode;
+    private volatile Mode mode;
 
     /**
      * Builds a default container
@@ -49,8 +65,14 @@ public class Container<K, V> {
      * @param logger the logger
      */
     public Container(final Logger logger) {
+        this(logger, new HashMap<K, V>(), false);
+    }
+
+    private Container(final Logger logger, final Map<K, V> valueByKey,
+                      final boolean concurrent) {
         this.logger = logger;
-        this.valueByKey = new HashMap<K, V>();
+        this.valueByKey = valueByKey;
+        this.concurrent = concurrent;
         this.closed = false;
         this.debug = false;
         this.mode = Mode.CREATE;
@@ -75,6 +97,16 @@ public class Container<K, V> {
      * @return true if the value was updated
      */
     public boolean add(final K key, final V value) {
+        if (this.concurrent) {
+            synchronized (this) {
+                return this.addOrUpdate(key, value);
+            }
+        } else {
+            return this.addOrUpdate(key, value);
+        }
+    }
+
+    private boolean addOrUpdate(final K key, final V value) {
         final V curValue = this.valueByKey.get(key);
         if (curValue == null) { // key does not exist
             if (this.mode == Mode.UPDATE) {
@@ -28,14 +28,19 @@ import java.util.Map;
 
 /**
  * The FastOdsXMLEscaper class is an utility class to escape XML special chars.
+ * <p>
+ * This escaper has a shared buffer and is not thread safe: use one escaper per thread, or a
+ * {@link ConcurrentXMLEscaper}. The caches hold at most {@code MAX_CACHE_SIZE} strings each:
+ * once a cache is full, the new strings are escaped but not cached.
  *
  * @author Julien Férard
  */
 @SuppressWarnings("PMD.UnusedLocalVariable")
 public class FastOdsXMLEscaper implements XMLEscaper {
     private static final int BUFFER_SIZE = 65536;
-    private static final char[][] CHAR_SUBSTITUTES_IN_ATTRIBUTE;
-    private static final char[][] CHAR_SUBSTITUTES_IN_CONTENT;
+    static final int MAX_CACHE_SIZE = 8192;
+    static final char[][] CHAR_SUBSTITUTES_IN_ATTRIBUTE;
+    static final char[][] CHAR_SUBSTITUTES_IN_CONTENT;
 
     /**
      * @return an xml escaper with the default buffer size (65536 bytes)
@@ -100,7 +105,9 @@ public class FastOdsXMLEscaper implements XMLEscaper {
         }
 
         final String escaped = this.getEscapedString(s, CHAR_SUBSTITUTES_IN_ATTRIBUTE);
-        this.attrCacheMap.put(s, escaped);
+        if (this.attrCacheMap.size() < MAX_CACHE_SIZE) {
+            this.attrCacheMap.put(s, escaped);
+        }
         return escaped;
     }
 
@@ -191,7 +198,19 @@ public class FastOdsXMLEscaper implements XMLEscaper {
         }
 
         final String escaped = this.getEscapedString(s, CHAR_SUBSTITUTES_IN_CONTENT);
-        this.contentCacheMap.put(s, escaped);
+        if (this.contentCacheMap.size() < MAX_CACHE_SIZE) {
+            this.contentCacheMap.put(s, escaped);
+        }
         return escaped;
     }
+
+    @Override
+    public int getAttributeCacheSize() {
+        return this.attrCacheMap.size();
+    }
+
+    @Override
+    public int getContentCacheSize() {
+        return this.contentCacheMap.size();
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * A writer for a flat XML document (.fods): the whole document is a single XML stream, hence
+ * there is no entry.
+ *
+ * @author Julien Férard
+ */
+public class FlatUTF8Writer implements XMLUTF8Writer {
+    /**
+     * Create a new writer
+     *
+     * @param out the destination
+     * @return the writer
+     */
+    public static FlatUTF8Writer create(final OutputStream out) {
+        return new FlatUTF8Writer(new UTF8Writer(out));
+    }
+
+    private final Writer writer;
+
+    /**
+     * Create a new writer. Use the static method create.
+     *
+     * @param writer the utf-8 writer
+     */
+    FlatUTF8Writer(final Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public Appendable append(final char c) throws IOException {
+        return this.writer.append(c);
+    }
+
+    @Override
+    public Appendable append(final CharSequence arg0) throws IOException {
+        return this.writer.append(arg0);
+    }
+
+    @Override
+    public Appendable append(final CharSequence csq, final int start, final int end)
+            throws IOException {
+        return this.writer.append(csq, start, end);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+}
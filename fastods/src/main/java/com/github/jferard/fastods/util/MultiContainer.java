@@ -28,6 +28,7 @@ import com.github.jferard.fastods.util.Container.Mode;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.logging.Logger;
 
 /**
@@ -42,12 +43,35 @@ import java.util.logging.Logger;
  * @see StylesContainerImpl for an example.
  */
 public class MultiContainer<K, S extends Enum<S>, V> {
+    /**
+     * Create a new multi container that may be shared between threads. The values are sorted
+     * by key: the iteration order does not depend on the order of the additions.
+     *
+     * @param logger            the logger
+     * @param subContainersEnum the enum
+     * @param <K>               the key type
+     * @param <S>               an enum of sub containers
+     * @param <V>               the value type
+     * @return the multi container
+     */
+    public static <K extends Comparable<K>, S extends Enum<S>, V>
+    MultiContainer<K, S, V> createConcurrent(final Logger logger,
+                                             final Class<S> subContainersEnum) {
+        final Map<S, Map<K, V>> valueByKeyBySubContainer = new HashMap<S, Map<K, V>>();
+        for (final S subContainer : subContainersEnum.getEnumConstants()) {
+            valueByKeyBySubContainer.put(subContainer, new ConcurrentSkipListMap<K, V>());
+        }
+        return new MultiContainer<K, S, V>(logger, new ConcurrentSkipListMap<K, S>(),
+                valueByKeyBySubContainer, true);
+    }
+
     private final Map<K, S> subContainerByKey;
     private final Map<S, Map<K, V>> valueByKeyBySubContainer;
     private final Logger logger;
+    private final boolean concurrent;
     private boolean closed;
     private boolean debug;
-    private Mode mode;
+    private volatile Mode mode;
 
     /**
      * Create a new multi container
@@ -56,12 +80,19 @@ public class MultiContainer<K, S extends Enum<S>, V> {
      * @param subContainersEnum the enum
      */
     public MultiContainer(final Logger logger, final Class<S> subContainersEnum) {
-        this.logger = logger;
-        this.subContainerByKey = new HashMap<K, S>();
-        this.valueByKeyBySubContainer = new HashMap<S, Map<K, V>>();
+        this(logger, new HashMap<K, S>(), new HashMap<S, Map<K, V>>(), false);
         for (final S subContainer : subContainersEnum.getEnumConstants()) {
             this.valueByKeyBySubContainer.put(subContainer, new HashMap<K, V>());
         }
+    }
+
+    private MultiContainer(final Logger logger, final Map<K, S> subContainerByKey,
+                           final Map<S, Map<K, V>> valueByKeyBySubContainer,
+                           final boolean concurrent) {
+        this.logger = logger;
+        this.subContainerByKey = subContainerByKey;
+        this.valueByKeyBySubContainer = valueByKeyBySubContainer;
+        this.concurrent = concurrent;
         this.closed = false;
         this.debug = false;
         this.mode = Mode.CREATE_OR_UPDATE;
@@ -85,6 +116,20 @@ public class MultiContainer<K, S extends Enum<S>, V> {
      * @return true
      */
     public boolean add(final K key, final S subContainer, final V value) {
+        if (this.valueByKeyBySubContainer.get(subContainer).get(key) == value) {
+            // the value is already registered: nothing to do, no lock
+            return this.mode != Mode.CREATE;
+        }
+        if (this.concurrent) {
+            synchronized (this) {
+                return this.addOrUpdate(key, subContainer, value);
+            }
+        } else {
+            return this.addOrUpdate(key, subContainer, value);
+        }
+    }
+
+    private boolean addOrUpdate(final K key, final S subContainer, final V value) {
         final S curSubContainer = this.subContainerByKey.get(key);
         if (curSubContainer == null) { // key does not exist
             if (this.mode == Mode.UPDATE) {
@@ -0,0 +1,551 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * A zip writer for the ODS container. Unlike java.util.zip.ZipOutputStream on a 1.6 runtime, it
+ * writes Zip64 records when an entry, an offset or the central directory exceeds the 4 GB limit.
+ * <p>
+ * The method (STORED or DEFLATED) is chosen per entry with {@link ZipEntry#setMethod(int)}, and
+ * the level may be changed between entries. Deflated entries are streamed with a data
+ * descriptor. Stored entries are written directly if the size and the CRC of the entry are set,
+ * and buffered otherwise. An entry that is already compressed may be copied as is with
+ * {@link #writeRawEntry(ZipEntry, byte[])} or {@link #writeRawEntry(ZipEntry, InputStream)}.
+ *
+ * @author Julien Férard
+ */
+public class OdsZipOutputStream extends OutputStream {
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int ZIP64_END_SIZE = 44;
+    private static final int DATA_DESCRIPTOR_FLAG = 0x08;
+    private static final int UTF8_FLAG = 0x800;
+    private static final int VERSION_STORED = 10;
+    private static final int VERSION_DEFLATED = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * An entry of the central directory
+     */
+    private static class Entry {
+        private final byte[] name;
+        private final int method;
+        private final int flags;
+        private final long dosTime;
+        private final long offset;
+        private long crc;
+        private long size;
+        private long compressedSize;
+
+        Entry(final byte[] name, final int method, final int flags, final long dosTime,
+              final long offset) {
+            this.name = name;
+            this.method = method;
+            this.flags = flags;
+            this.dosTime = dosTime;
+            this.offset = offset;
+        }
+
+        boolean isZip64() {
+            return this.size >= ZIP64_MAGIC || this.compressedSize >= ZIP64_MAGIC ||
+                    this.offset >= ZIP64_MAGIC;
+        }
+    }
+
+    /**
+     * Create a STORED entry for some data: the size and the CRC are set, hence the entry may be
+     * written by this stream or by a java.util.zip.ZipOutputStream.
+     *
+     * @param name the name of the entry
+     * @param data the data
+     * @return the entry
+     */
+    public static ZipEntry createStoredEntry(final String name, final byte[] data) {
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(data.length);
+        entry.setCompressedSize(data.length);
+        entry.setCrc(crc.getValue());
+        return entry;
+    }
+
+    private final CountingOutputStream out;
+    private final List<Entry> entries;
+    private final CRC32 crc;
+    private final Deflater deflater;
+    private final byte[] buffer;
+    private int level;
+    private int method;
+    private byte[] comment;
+    private Entry current;
+    private long dataStart;
+    private long entrySize;
+    private ByteArrayOutputStream storedData;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * @param out the destination
+     */
+    public OdsZipOutputStream(final OutputStream out) {
+        this.out = new CountingOutputStream(out);
+        this.entries = new ArrayList<Entry>();
+        this.crc = new CRC32();
+        this.level = Deflater.DEFAULT_COMPRESSION;
+        this.deflater = new Deflater(this.level, true);
+        this.buffer = new byte[BUFFER_SIZE];
+        this.method = ZipEntry.DEFLATED;
+        this.comment = new byte[0];
+    }
+
+    /**
+     * Set the level of the next deflated entries.
+     *
+     * @param level the level, from 0 to 9, or -1 for the default level
+     */
+    public void setLevel(final int level) {
+        if ((level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) &&
+                level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("invalid compression level");
+        }
+        this.level = level;
+    }
+
+    /**
+     * Set the method of the next entries that do not have a method
+     *
+     * @param method ZipEntry.STORED or ZipEntry.DEFLATED
+     */
+    public void setMethod(final int method) {
+        if (method != ZipEntry.STORED && method != ZipEntry.DEFLATED) {
+            throw new IllegalArgumentException("invalid compression method");
+        }
+        this.method = method;
+    }
+
+    /**
+     * @param comment the comment of the zip file
+     */
+    public void setComment(final String comment) {
+        final byte[] bytes = comment.getBytes(ZipUTF8Writer.UTF_8);
+        if (bytes.length > ZIP64_MAGIC_COUNT) {
+            throw new IllegalArgumentException("ZIP file comment too long.");
+        }
+        this.comment = bytes;
+    }
+
+    /**
+     * Begin a new entry. The current entry is closed.
+     *
+     * @param zipEntry the entry
+     * @throws IOException if an I/O error occurs
+     */
+    public void putNextEntry(final ZipEntry zipEntry) throws IOException {
+        this.ensureOpen();
+        if (this.current != null) {
+            this.closeEntry();
+        }
+        final int entryMethod = zipEntry.getMethod() == -1 ? this.method : zipEntry.getMethod();
+        if (entryMethod == ZipEntry.STORED) {
+            if (zipEntry.getSize() >= 0 && zipEntry.getCrc() >= 0) {
+                this.current = this.createEntry(zipEntry, entryMethod, UTF8_FLAG);
+                this.current.crc = zipEntry.getCrc();
+                this.current.size = zipEntry.getSize();
+                this.current.compressedSize = zipEntry.getSize();
+                this.writeLocalHeader(this.current);
+            } else {
+                this.storedData = new ByteArrayOutputStream();
+                this.current = this.createEntry(zipEntry, entryMethod, UTF8_FLAG);
+            }
+        } else {
+            this.current = this.createEntry(zipEntry, entryMethod,
+                    UTF8_FLAG | DATA_DESCRIPTOR_FLAG);
+            this.writeLocalHeader(this.current);
+            this.deflater.reset();
+            this.deflater.setLevel(this.level);
+        }
+        this.crc.reset();
+        this.dataStart = this.out.getCount();
+        this.entrySize = 0;
+    }
+
+    /**
+     * Write an entry that is already compressed: the method, the size, the compressed size
+     * and the CRC of the entry must be set.
+     *
+     * @param zipEntry the entry
+     * @param data     the data, compressed with the method of the entry
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeRawEntry(final ZipEntry zipEntry, final byte[] data) throws IOException {
+        this.writeRawHeader(zipEntry, data.length);
+        this.out.write(data);
+    }
+
+    /**
+     * Write an entry that is already compressed: the method, the size, the compressed size
+     * and the CRC of the entry must be set. The data is copied by chunks.
+     *
+     * @param zipEntry the entry
+     * @param data     the data, compressed with the method of the entry. It is not closed.
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeRawEntry(final ZipEntry zipEntry, final InputStream data)
+            throws IOException {
+        final long compressedSize = zipEntry.getCompressedSize();
+        if (compressedSize < 0) {
+            throw new ZipException("Raw entry needs a compressed size: " + zipEntry.getName());
+        }
+        this.writeRawHeader(zipEntry, compressedSize);
+        long remaining = compressedSize;
+        while (remaining > 0) {
+            final int count =
+                    data.read(this.buffer, 0, (int) Math.min(this.buffer.length, remaining));
+            if (count == -1) {
+                throw new ZipException("Truncated raw entry: " + zipEntry.getName());
+            }
+            this.out.write(this.buffer, 0, count);
+            remaining -= count;
+        }
+    }
+
+    private void writeRawHeader(final ZipEntry zipEntry, final long compressedSize)
+            throws IOException {
+        this.ensureOpen();
+        if (this.current != null) {
+            this.closeEntry();
+        }
+        final int entryMethod = zipEntry.getMethod();
+        if (entryMethod != ZipEntry.STORED && entryMethod != ZipEntry.DEFLATED ||
+                zipEntry.getSize() < 0 || zipEntry.getCrc() < 0) {
+            throw new ZipException("Raw entry needs a method, a size and a CRC: " +
+                    zipEntry.getName());
+        }
+        if (entryMethod == ZipEntry.STORED && zipEntry.getSize() != compressedSize) {
+            throw new ZipException("Invalid size for stored entry: " + zipEntry.getName());
+        }
+        final Entry entry = this.createEntry(zipEntry, entryMethod, UTF8_FLAG);
+        entry.crc = zipEntry.getCrc();
+        entry.size = zipEntry.getSize();
+        entry.compressedSize = compressedSize;
+        this.writeLocalHeader(entry);
+        this.entries.add(entry);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        this.ensureOpen();
+        if (this.current == null) {
+            throw new ZipException("no current ZIP entry");
+        }
+        if (len == 0) {
+            return;
+        }
+        this.crc.update(b, off, len);
+        this.entrySize += len;
+        if (this.current.method == ZipEntry.DEFLATED) {
+            this.deflater.setInput(b, off, len);
+            while (!this.deflater.needsInput()) {
+                this.deflate();
+            }
+        } else if (this.storedData == null) {
+            this.out.write(b, off, len);
+        } else {
+            this.storedData.write(b, off, len);
+        }
+    }
+
+    /**
+     * Close the current entry
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void closeEntry() throws IOException {
+        this.ensureOpen();
+        final Entry entry = this.current;
+        if (entry == null) {
+            return;
+        }
+        if (entry.method == ZipEntry.DEFLATED) {
+            this.deflater.finish();
+            while (!this.deflater.finished()) {
+                this.deflate();
+            }
+            entry.size = this.entrySize;
+            entry.compressedSize = this.out.getCount() - this.dataStart;
+            entry.crc = this.crc.getValue();
+            this.writeDataDescriptor(entry);
+        } else if (this.storedData == null) {
+            if (this.entrySize != entry.size || this.crc.getValue() != entry.crc) {
+                throw new ZipException("Invalid size or CRC for stored entry: " +
+                        new String(entry.name, ZipUTF8Writer.UTF_8));
+            }
+        } else {
+            entry.size = this.entrySize;
+            entry.compressedSize = entry.size;
+            entry.crc = this.crc.getValue();
+            this.writeLocalHeader(entry);
+            this.storedData.writeTo(this.out);
+            this.storedData = null;
+        }
+        this.entries.add(entry);
+        this.current = null;
+    }
+
+    /**
+     * Write the central directory. The underlying stream is not closed.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        this.ensureOpen();
+        if (this.finished) {
+            return;
+        }
+        this.closeEntry();
+        final long directoryOffset = this.out.getCount();
+        for (final Entry entry : this.entries) {
+            this.writeCentralHeader(entry);
+        }
+        final long directorySize = this.out.getCount() - directoryOffset;
+        final int count = this.entries.size();
+        if (count >= ZIP64_MAGIC_COUNT || directoryOffset >= ZIP64_MAGIC ||
+                directorySize >= ZIP64_MAGIC) {
+            this.writeZip64End(count, directoryOffset, directorySize);
+        }
+        this.writeInt(END_SIGNATURE);
+        this.writeShort(0);
+        this.writeShort(0);
+        this.writeShort(Math.min(count, ZIP64_MAGIC_COUNT));
+        this.writeShort(Math.min(count, ZIP64_MAGIC_COUNT));
+        this.writeInt(Math.min(directorySize, ZIP64_MAGIC));
+        this.writeInt(Math.min(directoryOffset, ZIP64_MAGIC));
+        this.writeShort(this.comment.length);
+        this.out.write(this.comment);
+        this.finished = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        try {
+            this.finish();
+        } finally {
+            this.closed = true;
+            this.deflater.end();
+            this.out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private Entry createEntry(final ZipEntry zipEntry, final int entryMethod, final int flags) {
+        final long time = zipEntry.getTime() == -1 ? System.currentTimeMillis() :
+                zipEntry.getTime();
+        return new Entry(zipEntry.getName().getBytes(ZipUTF8Writer.UTF_8), entryMethod, flags,
+                OdsZipOutputStream.toDosTime(time), this.out.getCount());
+    }
+
+    private void deflate() throws IOException {
+        final int len = this.deflater.deflate(this.buffer, 0, this.buffer.length);
+        if (len > 0) {
+            this.out.write(this.buffer, 0, len);
+        }
+    }
+
+    private void writeLocalHeader(final Entry entry) throws IOException {
+        final boolean hasDataDescriptor = (entry.flags & DATA_DESCRIPTOR_FLAG) != 0;
+        final boolean zip64 = !hasDataDescriptor &&
+                (entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC);
+        this.writeInt(LOCAL_HEADER_SIGNATURE);
+        this.writeShort(zip64 ? VERSION_ZIP64 : OdsZipOutputStream.getVersion(entry));
+        this.writeShort(entry.flags);
+        this.writeShort(entry.method);
+        this.writeInt(entry.dosTime);
+        if (hasDataDescriptor) {
+            this.writeInt(0);
+            this.writeInt(0);
+            this.writeInt(0);
+        } else {
+            this.writeInt(entry.crc);
+            this.writeInt(zip64 ? ZIP64_MAGIC : entry.compressedSize);
+            this.writeInt(zip64 ? ZIP64_MAGIC : entry.size);
+        }
+        this.writeShort(entry.name.length);
+        this.writeShort(zip64 ? 20 : 0);
+        this.out.write(entry.name);
+        if (zip64) {
+            this.writeShort(ZIP64_EXTRA_ID);
+            this.writeShort(16);
+            this.writeLong(entry.size);
+            this.writeLong(entry.compressedSize);
+        }
+    }
+
+    private void writeDataDescriptor(final Entry entry) throws IOException {
+        this.writeInt(DATA_DESCRIPTOR_SIGNATURE);
+        this.writeInt(entry.crc);
+        if (entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC) {
+            this.writeLong(entry.compressedSize);
+            this.writeLong(entry.size);
+        } else {
+            this.writeInt(entry.compressedSize);
+            this.writeInt(entry.size);
+        }
+    }
+
+    private void writeCentralHeader(final Entry entry) throws IOException {
+        int extraSize = 0;
+        if (entry.size >= ZIP64_MAGIC) {
+            extraSize += 8;
+        }
+        if (entry.compressedSize >= ZIP64_MAGIC) {
+            extraSize += 8;
+        }
+        if (entry.offset >= ZIP64_MAGIC) {
+            extraSize += 8;
+        }
+        final int version = entry.isZip64() ? VERSION_ZIP64 :
+                OdsZipOutputStream.getVersion(entry);
+        this.writeInt(CENTRAL_HEADER_SIGNATURE);
+        this.writeShort(version);
+        this.writeShort(version);
+        this.writeShort(entry.flags);
+        this.writeShort(entry.method);
+        this.writeInt(entry.dosTime);
+        this.writeInt(entry.crc);
+        this.writeInt(Math.min(entry.compressedSize, ZIP64_MAGIC));
+        this.writeInt(Math.min(entry.size, ZIP64_MAGIC));
+        this.writeShort(entry.name.length);
+        this.writeShort(extraSize == 0 ? 0 : extraSize + 4);
+        this.writeShort(0); // comment
+        this.writeShort(0); // disk number
+        this.writeShort(0); // internal attributes
+        this.writeInt(0); // external attributes
+        this.writeInt(Math.min(entry.offset, ZIP64_MAGIC));
+        this.out.write(entry.name);
+        if (extraSize > 0) {
+            this.writeShort(ZIP64_EXTRA_ID);
+            this.writeShort(extraSize);
+            if (entry.size >= ZIP64_MAGIC) {
+                this.writeLong(entry.size);
+            }
+            if (entry.compressedSize >= ZIP64_MAGIC) {
+                this.writeLong(entry.compressedSize);
+            }
+            if (entry.offset >= ZIP64_MAGIC) {
+                this.writeLong(entry.offset);
+            }
+        }
+    }
+
+    private void writeZip64End(final int count, final long directoryOffset,
+                               final long directorySize) throws IOException {
+        final long zip64EndOffset = this.out.getCount();
+        this.writeInt(ZIP64_END_SIGNATURE);
+        this.writeLong(ZIP64_END_SIZE);
+        this.writeShort(VERSION_ZIP64);
+        this.writeShort(VERSION_ZIP64);
+        this.writeInt(0); // disk number
+        this.writeInt(0); // disk of the central directory
+        this.writeLong(count);
+        this.writeLong(count);
+        this.writeLong(directorySize);
+        this.writeLong(directoryOffset);
+        this.writeInt(ZIP64_LOCATOR_SIGNATURE);
+        this.writeInt(0); // disk of the zip64 end
+        this.writeLong(zip64EndOffset);
+        this.writeInt(1); // number of disks
+    }
+
+    private static int getVersion(final Entry entry) {
+        return entry.method == ZipEntry.STORED ? VERSION_STORED : VERSION_DEFLATED;
+    }
+
+    private static long toDosTime(final long time) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        final int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long) (year - 1980) << 25) | ((calendar.get(Calendar.MONTH) + 1) << 21) |
+                (calendar.get(Calendar.DAY_OF_MONTH) << 16) |
+                (calendar.get(Calendar.HOUR_OF_DAY) << 11) | (calendar.get(Calendar.MINUTE) << 5) |
+                (calendar.get(Calendar.SECOND) >> 1);
+    }
+
+    private void writeShort(final int v) throws IOException {
+        this.out.write(v & 0xff);
+        this.out.write((v >>> 8) & 0xff);
+    }
+
+    private void writeInt(final long v) throws IOException {
+        this.writeShort((int) (v & 0xffff));
+        this.writeShort((int) ((v >>> 16) & 0xffff));
+    }
+
+    private void writeLong(final long v) throws IOException {
+        this.writeInt(v & ZIP64_MAGIC);
+        this.writeInt(v >>> 32);
+    }
+}
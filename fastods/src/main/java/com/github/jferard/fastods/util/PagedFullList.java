@@ -0,0 +1,233 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A full list (see {@link FastFullList}) with a null blank element, stored in fixed-size pages.
+ * A page is allocated only when an element is set, and released when all its elements are
+ * removed. Memory scales with the pages actually used, and growing never copies the elements,
+ * only the page directory.
+ *
+ * @param <E> the type of the elements
+ * @author J. Férard
+ */
+public class PagedFullList<E> {
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * @param capacity the initial capacity
+     * @param <F>      the type of the elements
+     * @return a new list
+     */
+    public static <F> PagedFullList<F> newListWithCapacity(final int capacity) {
+        return new PagedFullList<F>(capacity);
+    }
+
+    private E[][] pages;
+    private int[] pageCounts;
+    private int size;
+
+    /**
+     * @param capacity the initial capacity
+     */
+    @SuppressWarnings("unchecked")
+    PagedFullList(final int capacity) {
+        final int pageCount = (capacity >> PAGE_BITS) + 1;
+        this.pages = (E[][]) new Object[pageCount][];
+        this.pageCounts = new int[pageCount];
+        this.size = 0;
+    }
+
+    /**
+     * @return the index of the last element that was set + 1
+     */
+    public int usedSize() {
+        return this.size;
+    }
+
+    /**
+     * @param index the index
+     * @return the element at the index, or null
+     */
+    public E get(final int index) {
+        final int p = index >> PAGE_BITS;
+        if (p >= this.pages.length) {
+            return null;
+        }
+        final E[] page = this.pages[p];
+        if (page == null) {
+            return null;
+        } else {
+            return page[index & PAGE_MASK];
+        }
+    }
+
+    /**
+     * @param index   the index
+     * @param element the element, may be null
+     */
+    public void set(final int index, final E element) {
+        if (element == null) {
+            this.remove(index);
+            if (index == this.size - 1) {
+                this.removeTrail();
+            }
+            return;
+        }
+
+        final int p = index >> PAGE_BITS;
+        if (p >= this.pages.length) {
+            final int pageCount = p * 2 + 1;
+            this.pages = Arrays.copyOf(this.pages, pageCount);
+            this.pageCounts = Arrays.copyOf(this.pageCounts, pageCount);
+        }
+        E[] page = this.pages[p];
+        if (page == null) {
+            page = this.newPage();
+            this.pages[p] = page;
+        }
+        final int i = index & PAGE_MASK;
+        if (page[i] == null) {
+            this.pageCounts[p]++;
+        }
+        page[i] = element;
+        if (index >= this.size) {
+            this.size = index + 1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E[] newPage() {
+        return (E[]) new Object[PAGE_SIZE];
+    }
+
+    private void remove(final int index) {
+        final int p = index >> PAGE_BITS;
+        if (p >= this.pages.length) {
+            return;
+        }
+        final E[] page = this.pages[p];
+        if (page == null) {
+            return;
+        }
+        final int i = index & PAGE_MASK;
+        if (page[i] != null) {
+            page[i] = null;
+            this.pageCounts[p]--;
+            if (this.pageCounts[p] == 0) {
+                this.pages[p] = null;
+            }
+        }
+    }
+
+    private void removeTrail() {
+        int last = this.size - 2;
+        while (last >= 0) {
+            final E[] page = this.pages[last >> PAGE_BITS];
+            if (page == null) {
+                last = (last & ~PAGE_MASK) - 1;
+            } else if (page[last & PAGE_MASK] == null) {
+                last--;
+            } else {
+                break;
+            }
+        }
+        this.size = last + 1;
+    }
+
+    /**
+     * Remove the elements between two indices, but keep the used size: the elements were
+     * consumed, not deleted. The empty pages are released.
+     *
+     * @param fromIndex the first index
+     * @param toIndex   the last index + 1
+     */
+    public void free(final int fromIndex, final int toIndex) {
+        int index = fromIndex;
+        while (index < toIndex) {
+            final int p = index >> PAGE_BITS;
+            final int pageEnd = (p + 1) << PAGE_BITS;
+            if (p >= this.pages.length) {
+                return;
+            }
+            if (index == (p << PAGE_BITS) && pageEnd <= toIndex) {
+                this.pages[p] = null;
+                this.pageCounts[p] = 0;
+            } else {
+                final int end = Math.min(pageEnd, toIndex);
+                for (int i = index; i < end; i++) {
+                    this.remove(i);
+                }
+            }
+            index = pageEnd;
+        }
+    }
+
+    /**
+     * @param fromIndex the index
+     * @return fromIndex if the page of fromIndex is allocated, else the first index of the next
+     * allocated page, or usedSize if there is none.
+     */
+    public int nextAllocatedIndex(final int fromIndex) {
+        int p = fromIndex >> PAGE_BITS;
+        if (p < this.pages.length && this.pages[p] != null) {
+            return fromIndex;
+        }
+        p++;
+        while (p < this.pages.length && this.pages[p] == null) {
+            p++;
+        }
+        return Math.min(p << PAGE_BITS, this.size);
+    }
+
+    /**
+     * @return the number of non null elements
+     */
+    public int count() {
+        int count = 0;
+        for (final int pageCount : this.pageCounts) {
+            count += pageCount;
+        }
+        return count;
+    }
+
+    /**
+     * @param fromIndex the first index
+     * @param toIndex   the last index + 1
+     * @return a copy of the elements between the indices
+     */
+    public List<E> subList(final int fromIndex, final int toIndex) {
+        final List<E> list = new ArrayList<E>(toIndex - fromIndex);
+        for (int index = fromIndex; index < toIndex; index++) {
+            list.add(this.get(index));
+        }
+        return list;
+    }
+}
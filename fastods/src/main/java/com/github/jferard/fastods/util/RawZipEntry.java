@@ -0,0 +1,145 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * A zip entry, as it is stored in an archive: the entry keeps the position of its data in the
+ * archive. The data is read only when the entry is copied, is not inflated, and may be written
+ * as is to another archive.
+ *
+ * @author Julien Férard
+ */
+public class RawZipEntry {
+    /**
+     * The archive that contains the data of the entries.
+     */
+    public interface Archive {
+        /**
+         * @param position the position of the data in the archive
+         * @param length   the length of the data
+         * @return a stream on the data. The caller must close it.
+         * @throws IOException if the archive can't be read
+         */
+        InputStream openStream(long position, long length) throws IOException;
+    }
+
+    private final int method;
+    private final long crc;
+    private final long size;
+    private final long compressedSize;
+    private final Archive archive;
+    private final long dataOffset;
+
+    /**
+     * @param method         the method (ZipEntry.STORED or ZipEntry.DEFLATED)
+     * @param crc            the CRC of the uncompressed data
+     * @param size           the size of the uncompressed data
+     * @param compressedSize the size of the data, compressed with the method
+     * @param archive        the archive
+     * @param dataOffset     the position of the compressed data in the archive
+     */
+    public RawZipEntry(final int method, final long crc, final long size,
+                       final long compressedSize, final Archive archive,
+                       final long dataOffset) {
+        this.method = method;
+        this.crc = crc;
+        this.size = size;
+        this.compressedSize = compressedSize;
+        this.archive = archive;
+        this.dataOffset = dataOffset;
+    }
+
+    /**
+     * @param name the name of the entry
+     * @return a zip entry with the method, the CRC and the sizes of this data
+     */
+    public ZipEntry createZipEntry(final String name) {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(this.method);
+        entry.setCrc(this.crc);
+        entry.setSize(this.size);
+        entry.setCompressedSize(this.compressedSize);
+        return entry;
+    }
+
+    /**
+     * @return the method (ZipEntry.STORED or ZipEntry.DEFLATED)
+     */
+    public int getMethod() {
+        return this.method;
+    }
+
+    /**
+     * @return a stream on the data, compressed with the method. The caller must close it.
+     * @throws IOException if the archive can't be read
+     */
+    public InputStream openRawStream() throws IOException {
+        return this.archive.openStream(this.dataOffset, this.compressedSize);
+    }
+
+    /**
+     * @return the data, compressed with the method
+     * @throws IOException if the archive can't be read
+     */
+    public byte[] readBytes() throws IOException {
+        final InputStream in = this.openRawStream();
+        try {
+            return FileUtil.create().readStream(in, (int) this.compressedSize + 1);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @return a stream on the uncompressed data. The caller must close it.
+     * @throws IOException if the archive can't be read
+     */
+    public InputStream openStream() throws IOException {
+        final InputStream in = this.openRawStream();
+        if (this.method == ZipEntry.STORED) {
+            return in;
+        } else {
+            return new InflaterInputStream(in, new Inflater(true));
+        }
+    }
+
+    /**
+     * @return the uncompressed data
+     * @throws IOException if the data can't be read or inflated
+     */
+    public byte[] inflate() throws IOException {
+        final InputStream in = this.openStream();
+        try {
+            return FileUtil.create().readStream(in, (int) this.size + 1);
+        } finally {
+            in.close();
+        }
+    }
+}
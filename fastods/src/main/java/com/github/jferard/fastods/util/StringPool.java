@@ -0,0 +1,139 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded pool of strings for the string values of the cells of a document. A value is
+ * replaced by the pooled instance when the cell is set, and the escaped form of the value is
+ * stored alongside it: a column with a few distinct values holds a few strings, and each value
+ * is escaped once.
+ * <p>
+ * When the pool is full, new values are not pooled any more. The pool is also an escaper: it
+ * delegates the escape of values that are not pooled.
+ *
+ * @author Julien Férard
+ */
+public class StringPool implements XMLEscaper {
+    /**
+     * @param escaper the escaper for the values
+     * @param maxSize the max number of values in the pool
+     * @return a new pool
+     */
+    public static StringPool create(final XMLEscaper escaper, final int maxSize) {
+        return new StringPool(escaper, new ConcurrentHashMap<String, Entry>(), maxSize);
+    }
+
+    private final XMLEscaper escaper;
+    private final ConcurrentMap<String, Entry> entryByValue;
+    private final int maxSize;
+
+    /**
+     * @param escaper      the escaper for the values
+     * @param entryByValue the pooled entries, must be thread safe
+     * @param maxSize      the max number of values in the pool
+     */
+    StringPool(final XMLEscaper escaper, final ConcurrentMap<String, Entry> entryByValue,
+               final int maxSize) {
+        this.escaper = escaper;
+        this.entryByValue = entryByValue;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param value the value
+     * @return the pooled instance of this value, or value itself if the pool is full
+     */
+    public String intern(final String value) {
+        if (value == null) {
+            return null;
+        }
+        final Entry entry = this.entryByValue.get(value);
+        if (entry != null) {
+            return entry.value;
+        }
+        if (this.entryByValue.size() >= this.maxSize) {
+            return value;
+        }
+        final Entry newEntry = new Entry(value);
+        final Entry previousEntry = this.entryByValue.putIfAbsent(value, newEntry);
+        if (previousEntry == null) {
+            return value;
+        }
+        return previousEntry.value;
+    }
+
+    @Override
+    public String escapeXMLAttribute(final String s) {
+        if (s == null) {
+            return null;
+        }
+        final Entry entry = this.entryByValue.get(s);
+        if (entry == null) {
+            return this.escaper.escapeXMLAttribute(s);
+        }
+        String escapedAttribute = entry.escapedAttribute;
+        if (escapedAttribute == null) {
+            escapedAttribute = this.escaper.escapeXMLAttribute(s);
+            entry.escapedAttribute = escapedAttribute;
+        }
+        return escapedAttribute;
+    }
+
+    @Override
+    public String escapeXMLContent(final String s) {
+        return this.escaper.escapeXMLContent(s);
+    }
+
+    @Override
+    public int getAttributeCacheSize() {
+        return this.escaper.getAttributeCacheSize();
+    }
+
+    @Override
+    public int getContentCacheSize() {
+        return this.escaper.getContentCacheSize();
+    }
+
+    /**
+     * @return the number of pooled values
+     */
+    public int size() {
+        return this.entryByValue.size();
+    }
+
+    /**
+     * A pooled value and its escaped form, computed on first write.
+     */
+    static class Entry {
+        private final String value;
+        private volatile String escapedAttribute;
+
+        Entry(final String value) {
+            this.value = value;
+        }
+    }
+}
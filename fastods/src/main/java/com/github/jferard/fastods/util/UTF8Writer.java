@@ -0,0 +1,238 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * A buffered UTF-8 writer. Replaces a BufferedWriter on an OutputStreamWriter: the chars of a
+ * String or a StringBuilder are encoded directly into the byte buffer, without a copy of the
+ * sequence and without a CharsetEncoder, and the bytes of a {@link XMLToken} are copied as is.
+ * An unpaired surrogate is written as '?', like the OutputStreamWriter does.
+ *
+ * @author J. Férard
+ */
+public class UTF8Writer extends Writer {
+    /**
+     * The default size of the byte buffer
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int MIN_BUFFER_SIZE = 16;
+    private static final int CHUNK_SIZE = 1024;
+    private static final int MAX_CHAR_BYTES = 4;
+    private static final byte REPLACEMENT = '?';
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final int limit;
+    private final char[] chunk;
+    private int count;
+    private char highSurrogate;
+
+    /**
+     * @param out the destination
+     */
+    public UTF8Writer(final OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param out        the destination
+     * @param bufferSize the size of the byte buffer
+     */
+    public UTF8Writer(final OutputStream out, final int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, MIN_BUFFER_SIZE)];
+        this.limit = this.buffer.length - MAX_CHAR_BYTES;
+        this.chunk = new char[CHUNK_SIZE];
+        this.count = 0;
+        this.highSurrogate = 0;
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        this.writeChar((char) c);
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        final int end = off + len;
+        for (int i = off; i < end; i++) {
+            final char c = cbuf[i];
+            if (this.count >= this.limit) {
+                this.flushBuffer();
+            }
+            if (c < 0x80 && this.highSurrogate == 0) {
+                this.buffer[this.count++] = (byte) c;
+            } else {
+                this.writeNonASCII(c);
+            }
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        this.writeChunks(str, off, off + len);
+    }
+
+    @Override
+    public Writer append(final char c) throws IOException {
+        this.writeChar(c);
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) throws IOException {
+        if (csq instanceof XMLToken) {
+            this.writeBytes(((XMLToken) csq).getBytes());
+        } else if (csq == null) {
+            this.write("null");
+        } else {
+            this.writeChunks(csq, 0, csq.length());
+        }
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq, final int start, final int end)
+            throws IOException {
+        if (csq == null) {
+            return this.append("null", start, end);
+        }
+        this.writeChunks(csq, start, end);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.flushBuffer();
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.highSurrogate != 0) {
+            this.highSurrogate = 0;
+            this.writeChar((char) REPLACEMENT);
+        }
+        this.flush();
+        this.out.close();
+    }
+
+    /**
+     * Copy the chars of the sequence by chunks: String and StringBuilder have a bulk getChars.
+     */
+    private void writeChunks(final CharSequence csq, final int start, final int end)
+            throws IOException {
+        if (csq instanceof String) {
+            final String s = (String) csq;
+            for (int i = start; i < end; i += CHUNK_SIZE) {
+                final int chunkEnd = Math.min(i + CHUNK_SIZE, end);
+                s.getChars(i, chunkEnd, this.chunk, 0);
+                this.write(this.chunk, 0, chunkEnd - i);
+            }
+        } else if (csq instanceof StringBuilder) {
+            final StringBuilder sb = (StringBuilder) csq;
+            for (int i = start; i < end; i += CHUNK_SIZE) {
+                final int chunkEnd = Math.min(i + CHUNK_SIZE, end);
+                sb.getChars(i, chunkEnd, this.chunk, 0);
+                this.write(this.chunk, 0, chunkEnd - i);
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                this.writeChar(csq.charAt(i));
+            }
+        }
+    }
+
+    private void writeChar(final char c) throws IOException {
+        if (this.count >= this.limit) {
+            this.flushBuffer();
+        }
+        if (c < 0x80 && this.highSurrogate == 0) {
+            this.buffer[this.count++] = (byte) c;
+        } else {
+            this.writeNonASCII(c);
+        }
+    }
+
+    /**
+     * Write a char that is not ASCII, or any char after a high surrogate. There is room for
+     * {@link #MAX_CHAR_BYTES} in the buffer.
+     */
+    private void writeNonASCII(final char c) throws IOException {
+        if (this.highSurrogate != 0) {
+            final char high = this.highSurrogate;
+            this.highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(high, c);
+                this.buffer[this.count++] = (byte) (0xF0 | (codePoint >> 18));
+                this.buffer[this.count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                this.buffer[this.count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                this.buffer[this.count++] = (byte) (0x80 | (codePoint & 0x3F));
+                return;
+            }
+            this.buffer[this.count++] = REPLACEMENT;
+            this.writeChar(c);
+            return;
+        }
+        if (c < 0x800) {
+            this.buffer[this.count++] = (byte) (0xC0 | (c >> 6));
+            this.buffer[this.count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            this.highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            this.buffer[this.count++] = REPLACEMENT;
+        } else {
+            this.buffer[this.count++] = (byte) (0xE0 | (c >> 12));
+            this.buffer[this.count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            this.buffer[this.count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        if (this.highSurrogate != 0) {
+            this.highSurrogate = 0;
+            this.writeChar((char) REPLACEMENT);
+        }
+        if (bytes.length > this.buffer.length - this.count) {
+            this.flushBuffer();
+            if (bytes.length > this.buffer.length) {
+                this.out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, this.buffer, this.count, bytes.length);
+        this.count += bytes.length;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (this.count > 0) {
+            this.out.write(this.buffer, 0, this.count);
+            this.count = 0;
+        }
+    }
+}
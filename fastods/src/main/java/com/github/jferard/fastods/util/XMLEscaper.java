@@ -38,4 +38,14 @@ public interface XMLEscaper {
      * @return the string escaped as a content (text node)
      */
     String escapeXMLContent(final String s);
+
+    /**
+     * @return the number of escaped attributes in the cache
+     */
+    int getAttributeCacheSize();
+
+    /**
+     * @return the number of escaped contents in the cache
+     */
+    int getContentCacheSize();
 }
@@ -0,0 +1,110 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.IOException;
+
+/**
+ * A constant XML fragment, e.g. {@code <table:table-cell}, with its UTF-8 bytes. A
+ * {@link UTF8Writer} copies the bytes in one bulk copy instead of encoding the chars.
+ *
+ * @author J. Férard
+ */
+public final class XMLToken implements CharSequence {
+    /**
+     * @param text the fragment, already escaped
+     * @return the token
+     */
+    public static XMLToken create(final String text) {
+        return new XMLToken(text, text.getBytes(ZipUTF8Writer.UTF_8));
+    }
+
+    /**
+     * Create the token of an attribute, with a leading space. The value is escaped like
+     * {@link XMLEscaper#escapeXMLAttribute(String)} does, without a cache.
+     *
+     * @param attrName     the name of the attribute
+     * @param attrRawValue the raw value
+     * @return the token {@code  attrName="escaped value"}
+     */
+    public static XMLToken createAttribute(final String attrName, final String attrRawValue) {
+        final String escaped = ConcurrentXMLEscaper.getEscapedString(attrRawValue,
+                FastOdsXMLEscaper.CHAR_SUBSTITUTES_IN_ATTRIBUTE);
+        return XMLToken.create(" " + attrName + "=\"" + escaped + "\"");
+    }
+
+    private final String text;
+    private final byte[] bytes;
+
+    /**
+     * @param text  the fragment
+     * @param bytes the UTF-8 bytes of the fragment
+     */
+    private XMLToken(final String text, final byte[] bytes) {
+        this.text = text;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Append this token: the bytes if the appendable is a {@link UTF8Writer}, the text if it is
+     * a StringBuilder.
+     *
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendTo(final Appendable appendable) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            ((StringBuilder) appendable).append(this.text);
+        } else {
+            appendable.append(this);
+        }
+    }
+
+    /**
+     * @return the UTF-8 bytes. Do not modify.
+     */
+    byte[] getBytes() {
+        return this.bytes;
+    }
+
+    @Override
+    public int length() {
+        return this.text.length();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return this.text.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return this.text.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return this.text;
+    }
+}
@@ -48,7 +48,32 @@ public class XMLUtil {
         return new XMLUtil(escaper);
     }
 
+    /**
+     * @return a new xml util that may be shared between threads
+     */
+    public static XMLUtil createConcurrent() {
+        final XMLEscaper escaper = ConcurrentXMLEscaper.create();
+        return new XMLUtil(escaper);
+    }
+
+    /**
+     * @param maxSize    the max number of values in the string pool
+     * @param concurrent true if the util may be shared between threads
+     * @return a new xml util with a string pool for the string values of the cells
+     */
+    public static XMLUtil createPooled(final int maxSize, final boolean concurrent) {
+        final XMLEscaper escaper;
+        if (concurrent) {
+            escaper = ConcurrentXMLEscaper.create();
+        } else {
+            escaper = FastOdsXMLEscaper.create();
+        }
+        final StringPool stringPool = StringPool.create(escaper, maxSize);
+        return new XMLUtil(stringPool, stringPool);
+    }
+
     private final XMLEscaper escaper;
+    private final StringPool stringPool;
 
     /**
      * Create a new util
@@ -56,7 +81,29 @@ public class XMLUtil {
      * @param escaper the embedded escaper
      */
     XMLUtil(final XMLEscaper escaper) {
+        this(escaper, null);
+    }
+
+    /**
+     * Create a new util
+     *
+     * @param escaper    the embedded escaper
+     * @param stringPool the string pool, or null
+     */
+    XMLUtil(final XMLEscaper escaper, final StringPool stringPool) {
         this.escaper = escaper;
+        this.stringPool = stringPool;
+    }
+
+    /**
+     * @param value a string value of a cell
+     * @return the pooled instance of the value if there is a string pool, value otherwise
+     */
+    public String internStringValue(final String value) {
+        if (this.stringPool == null) {
+            return value;
+        }
+        return this.stringPool.intern(value);
     }
 
     /**
@@ -76,6 +123,47 @@ public class XMLUtil {
                 .append(this.escaper.escapeXMLAttribute(attrRawValue)).append('"');
     }
 
+    /**
+     * Append a space, then a new element to the appendable element, the name of the element is
+     * attrName and the value is attrRawValue, escaped if it contains a special char. Use this
+     * method for a value that is written once: the escaper caches only the values that were
+     * escaped.
+     *
+     * @param appendable   where to write
+     * @param attrName     the name of the attribute
+     * @param attrRawValue the raw value of the attribute
+     * @throws IOException If an I/O error occurs
+     */
+    public void appendTransientEAttribute(final Appendable appendable,
+                                          final CharSequence attrName,
+                                          final String attrRawValue) throws IOException {
+        appendable.append(' ').append(attrName).append("=\"");
+        this.appendTransientEValue(appendable, attrRawValue);
+        appendable.append('"');
+    }
+
+    /**
+     * Append an attribute value, escaped if it contains a special char. The escaper caches only
+     * the values that were escaped.
+     *
+     * @param appendable   where to write
+     * @param attrRawValue the raw value of the attribute
+     * @throws IOException If an I/O error occurs
+     */
+    public void appendTransientEValue(final Appendable appendable, final String attrRawValue)
+            throws IOException {
+        final char[][] substitutes = FastOdsXMLEscaper.CHAR_SUBSTITUTES_IN_ATTRIBUTE;
+        final int length = attrRawValue.length();
+        for (int i = 0; i < length; i++) {
+            final char c = attrRawValue.charAt(i);
+            if (c <= '>' && substitutes[c] != null) {
+                appendable.append(this.escaper.escapeXMLAttribute(attrRawValue));
+                return;
+            }
+        }
+        appendable.append(attrRawValue);
+    }
+
     /**
      * Append a new element to the appendable element, the name of the element is
      * attrName and the value is the boolean attrValue.
@@ -192,6 +280,20 @@ public class XMLUtil {
         return this.escaper.escapeXMLContent(s);
     }
 
+    /**
+     * @return the number of escaped attributes in the cache of the escaper
+     */
+    public int getAttributeCacheSize() {
+        return this.escaper.getAttributeCacheSize();
+    }
+
+    /**
+     * @return the number of escaped contents in the cache of the escaper
+     */
+    public int getContentCacheSize() {
+        return this.escaper.getContentCacheSize();
+    }
+
     /**
      * XML Schema Part 2, 3.2.6 duration
      * "'P'yyyy'Y'MM'M'dd'DT'HH'H'mm'M'ss.SSS'S'"
@@ -23,8 +23,6 @@
 
 package com.github.jferard.fastods.util;
 
-import java.io.Closeable;
-import java.io.Flushable;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.zip.ZipEntry;
@@ -34,7 +32,7 @@ import java.util.zip.ZipEntry;
  *
  * @author Julien Férard
  */
-public interface ZipUTF8Writer extends Closeable, Flushable, Appendable {
+public interface ZipUTF8Writer extends XMLUTF8Writer {
     /**
      * the utf-8 encoding
      */
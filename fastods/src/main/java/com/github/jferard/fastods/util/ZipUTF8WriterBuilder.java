@@ -24,11 +24,11 @@
 package com.github.jferard.fastods.util;
 
 import java.io.BufferedOutputStream;
-import java.io.BufferedWriter;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 /**
@@ -43,6 +43,7 @@ public class ZipUTF8WriterBuilder {
     private int level;
     private int writerBufferSize;
     private int zipBufferSize;
+    private boolean odsZip;
 
     /**
      * Create a new builder
@@ -72,23 +73,32 @@ public class ZipUTF8WriterBuilder {
                 bufferedOut = new BufferedOutputStream(out, this.zipBufferSize);
                 break;
         }
+        if (this.odsZip) {
+            final OdsZipOutputStream zipOut = new OdsZipOutputStream(bufferedOut);
+            zipOut.setMethod(ZipEntry.DEFLATED);
+            zipOut.setLevel(this.level);
+            return new OdsZipUTF8Writer(zipOut, this.createWriter(zipOut));
+        }
         final ZipOutputStream zipOut = new ZipOutputStream(bufferedOut);
         zipOut.setMethod(ZipOutputStream.DEFLATED);
         zipOut.setLevel(this.level);
-        final Writer writer = new OutputStreamWriter(zipOut, ZipUTF8Writer.UTF_8);
-        final Writer bufferedWriter;
+        return new ZipUTF8WriterImpl(zipOut, this.createWriter(zipOut));
+    }
+
+    private Writer createWriter(final OutputStream zipOut) {
+        final Writer writer;
         switch (this.writerBufferSize) {
             case NO_BUFFER:
-                bufferedWriter = writer;
+                writer = new OutputStreamWriter(zipOut, ZipUTF8Writer.UTF_8);
                 break;
             case DEFAULT_BUFFER:
-                bufferedWriter = new BufferedWriter(writer);
+                writer = new UTF8Writer(zipOut);
                 break;
             default:
-                bufferedWriter = new BufferedWriter(writer, this.writerBufferSize);
+                writer = new UTF8Writer(zipOut, this.writerBufferSize);
                 break;
         }
-        return new ZipUTF8WriterImpl(zipOut, bufferedWriter);
+        return writer;
     }
 
     /**
@@ -122,6 +132,18 @@ public class ZipUTF8WriterBuilder {
         return this;
     }
 
+    /**
+     * Use the in-house zip writer ({@link OdsZipOutputStream}) instead of
+     * java.util.zip.ZipOutputStream: Zip64 support on any runtime, method and level per entry,
+     * raw copy of compressed entries.
+     *
+     * @return this for fluent style
+     */
+    public ZipUTF8WriterBuilder odsZip() {
+        this.odsZip = true;
+        return this;
+    }
+
     /**
      * Set the buffer size for the writer to 0
      *
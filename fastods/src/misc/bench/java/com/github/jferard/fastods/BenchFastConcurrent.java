@@ -0,0 +1,111 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.testlib.Bench;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Every thread fills and saves its own document, with a shared thread safe factory. The work
+ * per thread is constant: if the generation scales linearly, the time does not depend on the
+ * number of threads.
+ */
+public class BenchFastConcurrent extends Bench {
+    private final Logger logger;
+    private final OdsFactory odsFactory;
+    private final int threadCount;
+
+    public BenchFastConcurrent(final Logger logger, final int rowCount, final int colCount,
+                               final int threadCount) {
+        super(logger, "FastODSConcurrent" + threadCount, rowCount, colCount);
+        this.logger = logger;
+        this.threadCount = threadCount;
+        this.odsFactory = OdsFactory.builder(this.logger, Locale.US).threadSafe().build();
+    }
+
+    @Test
+    public void test0() throws IOException {
+        this.test();
+    }
+
+    @Override
+    public long test() throws IOException {
+        this.logger.info(
+                "testFastConcurrent: filling " + this.threadCount + " spreadsheets of " +
+                        this.getRowCount() + " rows, " + this.getColCount() + " columns");
+        final ExecutorService executor = Executors.newFixedThreadPool(this.threadCount);
+        final long t1 = System.currentTimeMillis();
+        final List<Future<Integer>> futures = new ArrayList<Future<Integer>>(this.threadCount);
+        for (int i = 0; i < this.threadCount; i++) {
+            futures.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws IOException {
+                    return BenchFastConcurrent.this.fillAndSave();
+                }
+            }));
+        }
+        try {
+            for (final Future<Integer> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            throw new IOException(e);
+        } catch (final ExecutionException e) {
+            throw new IOException(e);
+        } finally {
+            executor.shutdown();
+        }
+        final long t2 = System.currentTimeMillis();
+        this.logger.info("Filled in " + (t2 - t1) + " ms");
+        return t2 - t1;
+    }
+
+    private int fillAndSave() throws IOException {
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        final OdsDocument document = writer.document();
+        final Table table = document.addTable("test", this.getRowCount(), this.getColCount());
+        final Object[] values = new Object[this.getColCount()];
+        for (int y = 0; y < this.getRowCount(); y++) {
+            for (int x = 0; x < this.getColCount(); x++) {
+                values[x] = "<" + (y % 1000) + " & " + x + ">";
+            }
+            table.appendRow(values);
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.save(out);
+        return out.size();
+    }
+}
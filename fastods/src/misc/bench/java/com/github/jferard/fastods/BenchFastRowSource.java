@@ -0,0 +1,128 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.CellType;
+import com.github.jferard.fastods.testlib.Bench;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * The rows are read from a source while the document is written: no row or cell is retained.
+ * If the thread count is positive, the rows are rendered by a pool of threads.
+ */
+public class BenchFastRowSource extends Bench {
+    private static final int BATCH_SIZE = 1024;
+
+    private final Logger logger;
+    private final OdsFactory odsFactory;
+    private final int threadCount;
+
+    public BenchFastRowSource(final Logger logger, final int rowCount, final int colCount) {
+        this(logger, rowCount, colCount, 0);
+    }
+
+    public BenchFastRowSource(final Logger logger, final int rowCount, final int colCount,
+                              final int threadCount) {
+        super(logger, "FastODSRowSource" + (threadCount > 0 ? threadCount : ""), rowCount,
+                colCount);
+        this.logger = logger;
+        this.threadCount = threadCount;
+        this.odsFactory = OdsFactory.create(this.logger, Locale.US);
+    }
+
+    @Test
+    public void test0() throws IOException {
+        this.test();
+    }
+
+    @Override
+    public long test() throws IOException {
+        // Open the file.
+        this.logger.info(
+                "testFastRowSource: writing a " + this.getRowCount() + " rows, " +
+                        this.getColCount() + " columns spreadsheet");
+        final long t1 = System.currentTimeMillis();
+        final NamedOdsFileWriter writer = this.odsFactory
+                .createWriter(new File("generated_files", "fastods_row_source_benchmark.ods"));
+        final NamedOdsDocument document = writer.document();
+        final Table table = document.addTable("test", this.getRowCount(), this.getColCount());
+        final TableSchemaBuilder schemaBuilder = TableSchema.builder();
+        for (int x = 0; x < this.getColCount(); x++) {
+            schemaBuilder.column("c" + x, CellType.FLOAT);
+        }
+        table.setSchema(schemaBuilder.build());
+        final Iterator<Object[]> rowSource = new Iterator<Object[]>() {
+            private int y = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.y < BenchFastRowSource.this.getRowCount();
+            }
+
+            @Override
+            public Object[] next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                this.y++;
+                final Object[] values = new Object[BenchFastRowSource.this.getColCount()];
+                for (int x = 0; x < values.length; x++) {
+                    values[x] = BenchFastRowSource.this.getRandom().nextInt(1000);
+                }
+                return values;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        if (this.threadCount > 0) {
+            final ExecutorService executor = Executors.newFixedThreadPool(this.threadCount);
+            try {
+                table.setRowSource(rowSource, executor, BATCH_SIZE);
+                document.save();
+            } finally {
+                executor.shutdown();
+            }
+        } else {
+            table.setRowSource(rowSource);
+            document.save();
+        }
+        writer.close();
+        final long t2 = System.currentTimeMillis();
+        this.logger.info("Filled in " + (t2 - t1) + " ms");
+        return t2 - t1;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.testlib.Bench;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * The time to the first saved document: a new JVM creates a small document and saves it.
+ * This measures the class loading and the static initialization paid by short-lived runs.
+ */
+public class BenchFastStartup extends Bench {
+    /**
+     * Create and save a small document, then exit.
+     *
+     * @param args the rows and the cols
+     * @throws IOException if the document can't be saved
+     */
+    public static void main(final String[] args) throws IOException {
+        final int rowCount = Integer.parseInt(args[0]);
+        final int colCount = Integer.parseInt(args[1]);
+        final OdsFactory odsFactory =
+                OdsFactory.create(Logger.getLogger("startup"), Locale.US);
+        final AnonymousOdsFileWriter writer = odsFactory.createWriter();
+        final OdsDocument document = writer.document();
+        final Table table = document.addTable("test", rowCount, colCount);
+        final TableCellWalker walker = table.getWalker();
+        for (int y = 0; y < rowCount; y++) {
+            for (int x = 0; x < colCount; x++) {
+                walker.setFloatValue(x * y);
+                walker.next();
+            }
+            walker.nextRow();
+        }
+        writer.saveAs(new File("generated_files", "fastods_startup_benchmark.ods"));
+    }
+
+    private final Logger logger;
+
+    public BenchFastStartup(final Logger logger, final int rowCount, final int colCount) {
+        super(logger, "FastODSStartup", rowCount, colCount);
+        this.logger = logger;
+    }
+
+    @Test
+    public void test0() throws IOException {
+        this.test();
+    }
+
+    @Override
+    public long test() throws IOException {
+        this.logger.info("testFastStartup: first document of " + this.getRowCount() + " rows, " +
+                this.getColCount() + " columns in a new JVM");
+        final String java =
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        final ProcessBuilder builder = new ProcessBuilder(java, "-cp",
+                System.getProperty("java.class.path"), BenchFastStartup.class.getName(),
+                String.valueOf(this.getRowCount()), String.valueOf(this.getColCount()));
+        builder.redirectErrorStream(true);
+        final long t1 = System.currentTimeMillis();
+        final Process process = builder.start();
+        try {
+            while (process.getInputStream().read() != -1) {
+                // drain the output
+            }
+            if (process.waitFor() != 0) {
+                throw new IOException("The startup process failed");
+            }
+        } catch (final InterruptedException e) {
+            throw new IOException(e);
+        }
+        final long t2 = System.currentTimeMillis();
+        this.logger.info("First document saved in " + (t2 - t1) + " ms");
+        return t2 - t1;
+    }
+}
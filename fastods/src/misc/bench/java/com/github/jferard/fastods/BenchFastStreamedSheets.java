@@ -0,0 +1,127 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.testlib.Bench;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * The 12 sheets of one document are streamed concurrently by a pool of threads: each thread
+ * ends its sheet, and the document is saved when every sheet is filled.
+ */
+public class BenchFastStreamedSheets extends Bench {
+    private static final int SHEET_COUNT = 12;
+
+    private final Logger logger;
+    private final OdsFactory odsFactory;
+    private final int threadCount;
+    private final TableCellStyle[] styles;
+
+    public BenchFastStreamedSheets(final Logger logger, final int rowCount, final int colCount,
+                                   final int threadCount) {
+        super(logger, "FastODSStreamedSheets" + threadCount, rowCount, colCount);
+        this.logger = logger;
+        this.threadCount = threadCount;
+        this.odsFactory = OdsFactory.builder(this.logger, Locale.US).threadSafe().build();
+        this.styles = new TableCellStyle[colCount];
+        for (int x = 0; x < colCount; x++) {
+            this.styles[x] = TableCellStyle.builder("cc" + (x % 10)).fontWeightBold().build();
+        }
+    }
+
+    @Test
+    public void test0() throws IOException {
+        this.test();
+    }
+
+    @Override
+    public long test() throws IOException {
+        this.logger.info("testFastStreamedSheets: streaming " + SHEET_COUNT + " sheets of " +
+                this.getRowCount() + " rows, " + this.getColCount() + " columns with " +
+                this.threadCount + " threads");
+        final long t1 = System.currentTimeMillis();
+        final NamedOdsFileWriter writer = this.odsFactory
+                .createWriter(new File("generated_files", "fastods_streamed_sheets.ods"));
+        final NamedOdsDocument document = writer.document();
+        document.streamTablesConcurrently();
+        final List<Table> tables = new ArrayList<Table>(SHEET_COUNT);
+        for (int i = 0; i < SHEET_COUNT; i++) {
+            tables.add(document.addTable("sheet" + i, this.getRowCount(), this.getColCount()));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(this.threadCount);
+        final List<Future<Void>> futures = new ArrayList<Future<Void>>(SHEET_COUNT);
+        for (final Table table : tables) {
+            futures.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws IOException {
+                    BenchFastStreamedSheets.this.fill(table);
+                    document.endTable(table);
+                    return null;
+                }
+            }));
+        }
+        try {
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            throw new IOException(e);
+        } catch (final ExecutionException e) {
+            throw new IOException(e);
+        } finally {
+            executor.shutdown();
+        }
+        final long t2 = System.currentTimeMillis();
+        writer.save();
+        writer.close();
+        final long t3 = System.currentTimeMillis();
+        this.logger.info("Filled in " + (t2 - t1) + " ms, saved in " + (t3 - t2) + " ms");
+        return t2 - t1;
+    }
+
+    private void fill(final Table table) throws IOException {
+        for (int y = 0; y < this.getRowCount(); y++) {
+            final TableRowImpl row = table.getRow(y);
+            for (int x = 0; x < this.getColCount(); x++) {
+                final TableCell cell = row.getOrCreateCell(x);
+                cell.setFloatValue((x * 31 + y) % 1000);
+                cell.setStyle(this.styles[x]);
+            }
+        }
+    }
+}
@@ -98,9 +98,45 @@ public class BenchmarkTest {
         this.logger.info(bench1c.getWithoutWarmUp().toString());
     }
 
+    @Test
+    public void checkStartup() throws IOException {
+        final Bench bench = new BenchFastStartup(this.logger, 10, 5);
+        for (int i = 0; i < BenchmarkTest.TIMES; i++) {
+            bench.iteration();
+        }
+        this.logger.info(bench.getWithWarmUp().toString());
+    }
+
+    //	@Test
+    public void checkScaling() throws IOException {
+        final int processorCount = Runtime.getRuntime().availableProcessors();
+        for (int threadCount = 1; threadCount <= processorCount; threadCount *= 2) {
+            final Bench bench = new BenchFastConcurrent(this.logger, BenchmarkTest.ROW_COUNT,
+                    BenchmarkTest.COL_COUNT, threadCount);
+            final Bench sheetsBench = new BenchFastParallelSheets(this.logger,
+                    BenchmarkTest.ROW_COUNT, BenchmarkTest.COL_COUNT, threadCount);
+            final Bench streamedBench = new BenchFastStreamedSheets(this.logger,
+                    BenchmarkTest.ROW_COUNT, BenchmarkTest.COL_COUNT, threadCount);
+            final Bench sourceBench = new BenchFastRowSource(this.logger,
+                    BenchmarkTest.ROW_COUNT, BenchmarkTest.COL_COUNT, threadCount);
+            for (int i = 0; i < BenchmarkTest.TIMES; i++) {
+                bench.iteration();
+                sheetsBench.iteration();
+                streamedBench.iteration();
+                sourceBench.iteration();
+            }
+            this.logger.info(bench.getWithWarmUp().toString());
+            this.logger.info(sheetsBench.getWithWarmUp().toString());
+            this.logger.info(streamedBench.getWithWarmUp().toString());
+            this.logger.info(sourceBench.getWithWarmUp().toString());
+        }
+    }
+
     private void test(final int rowCount, final int colCount, final int times) throws IOException {
         final List<Bench> benches =
                 Lists.newArrayList(new BenchFast(this.logger, rowCount, colCount),
+                        new BenchFastBulk(this.logger, rowCount, colCount),
+                        new BenchFastRowSource(this.logger, rowCount, colCount),
                         new BenchFastFlush(this.logger, rowCount, colCount),
                         new BenchFastFlushWithThreads(this.logger, rowCount, colCount),
                         new BenchSimpleOds(this.logger, rowCount, colCount),
@@ -63,8 +63,8 @@ public class AnonymousOdsDocumentTest extends OdsDocumentTest<AnonymousOdsDocume
 
         PowerMock.resetAll();
         TestHelper.initMockDocument(this.odsElements);
-        this.odsElements.createEmptyElements(writer);
         this.odsElements.writeMimeType(this.xmlUtil, writer);
+        this.odsElements.createEmptyElements(writer);
         this.odsElements.writeMeta(this.xmlUtil, writer);
         this.odsElements.writeStyles(this.xmlUtil, writer);
         this.odsElements.writeContent(this.xmlUtil, writer);
@@ -295,9 +295,9 @@ public class AnonymousOdsFileWriterTest {
 
         PowerMock.resetAll();
         TestHelper.initMockDocument(this.odsElements);
-        this.odsElements.createEmptyElements(EasyMock.isA(ZipUTF8Writer.class));
         this.odsElements
                 .writeMimeType(EasyMock.eq(this.xmlUtil), EasyMock.isA(ZipUTF8Writer.class));
+        this.odsElements.createEmptyElements(EasyMock.isA(ZipUTF8Writer.class));
         this.odsElements.writeMeta(EasyMock.eq(this.xmlUtil), EasyMock.isA(ZipUTF8Writer.class));
         this.odsElements.writeStyles(EasyMock.eq(this.xmlUtil), EasyMock.isA(ZipUTF8Writer.class));
         this.odsElements.writeContent(EasyMock.eq(this.xmlUtil), EasyMock.isA(ZipUTF8Writer.class));
@@ -345,9 +345,9 @@ public class AnonymousOdsFileWriterTest {
         TestHelper.initMockDocument(this.odsElements);
         EasyMock.expect(this.builder.build(EasyMock.isA(FileOutputStream.class))).andReturn(z);
 
-        this.odsElements.createEmptyElements(EasyMock.isA(ZipUTF8Writer.class));
         this.odsElements
                 .writeMimeType(EasyMock.eq(this.xmlUtil), EasyMock.isA(ZipUTF8Writer.class));
+        this.odsElements.createEmptyElements(EasyMock.isA(ZipUTF8Writer.class));
         this.odsElements.writeMeta(EasyMock.eq(this.xmlUtil), EasyMock.isA(ZipUTF8Writer.class));
         this.odsElements.writeStyles(EasyMock.eq(this.xmlUtil), EasyMock.isA(ZipUTF8Writer.class));
         this.odsElements.writeContent(EasyMock.eq(this.xmlUtil), EasyMock.isA(ZipUTF8Writer.class));
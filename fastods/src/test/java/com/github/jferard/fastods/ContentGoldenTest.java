@@ -0,0 +1,168 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.CellType;
+import com.github.jferard.fastods.style.TableCellStyle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Compare the bytes of a content.xml to a golden file.
+ */
+public class ContentGoldenTest {
+    private static final String GOLDEN_CONTENT = "/golden/content.xml";
+    private static final String GOLDEN_RAW_CONTENT = "/golden/raw-content.xml";
+
+    /**
+     * @return the bytes of the content.xml of a document that covers the cell types
+     * @throws IOException if an I/O error occurs
+     */
+    static byte[] createContent() throws IOException {
+        final OdsFactory odsFactory =
+                OdsFactory.create(Logger.getLogger("golden"), Locale.US);
+        final AnonymousOdsFileWriter writer = odsFactory.createWriter();
+        final OdsDocument document = writer.document();
+        final Table table = document.addTable("golden");
+        ContentGoldenTest.fillTable(table);
+        return ContentGoldenTest.getContent(writer);
+    }
+
+    /**
+     * @return the bytes of the content.xml of a document that covers the cell types, without
+     * the LibreOffice mode, hence with cells that have no style, and with a row source
+     * @throws IOException if an I/O error occurs
+     */
+    static byte[] createRawContent() throws IOException {
+        final OdsFactory odsFactory =
+                OdsFactory.builder(Logger.getLogger("golden"), Locale.US).noLibreOfficeMode()
+                        .build();
+        final AnonymousOdsFileWriter writer = odsFactory.createWriter();
+        final OdsDocument document = writer.document();
+        final Table table = document.addTable("golden");
+        ContentGoldenTest.fillTable(table);
+
+        final Table sourceTable = document.addTable("source");
+        final TableCellStyle boldStyle = TableCellStyle.builder("bold").fontWeightBold().build();
+        sourceTable.setSchema(TableSchema.builder().currency("EUR").column("a", CellType.FLOAT)
+                .column("b", CellType.STRING, boldStyle, null).column("c", CellType.DATE)
+                .column("d", CellType.CURRENCY).column("e", CellType.BOOLEAN)
+                .column("f", CellType.STRING).build());
+        final List<Object[]> values = new ArrayList<Object[]>();
+        for (int r = 0; r < 4; r++) {
+            values.add(new Object[]{r + 0.5, "b<&" + r, new Date(86400000L * r),
+                    r % 3 == 0 ? null : r * 10, r % 2 == 0, "é\"' 😀 " + r});
+        }
+        values.add(new Object[]{1});
+        sourceTable.setRowSource(values.iterator());
+        return ContentGoldenTest.getContent(writer);
+    }
+
+    private static void fillTable(final Table table) throws IOException {
+        final TableCellStyle style = TableCellStyle.builder("gold").fontWeightBold().build();
+        for (int r = 0; r < 3; r++) {
+            final TableRowImpl row = table.getRow(r * 2);
+            row.getOrCreateCell(0).setStringValue("é<&\"' 😀 " + r);
+            row.getOrCreateCell(1).setFloatValue(r + 0.5);
+            row.getOrCreateCell(2).setPercentageValue(r / 4.0);
+            row.getOrCreateCell(3).setCurrencyValue(r * 10, "EUR");
+            row.getOrCreateCell(4).setBooleanValue(r % 2 == 0);
+            row.getOrCreateCell(5).setDateValue(new Date(86400000L * r));
+            row.getOrCreateCell(6).setTimeValue(3600000L * r);
+            final TableCell cell = row.getOrCreateCell(9);
+            cell.setFloatValue(r);
+            cell.setStyle(style);
+        }
+        table.setCellMerge(4, 1, 2, 2);
+        table.getRow(5).getOrCreateCell(8).setStringValue("after");
+    }
+
+    private static byte[] getContent(final AnonymousOdsFileWriter writer) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.save(out);
+        final ZipInputStream zip =
+                new ZipInputStream(new ByteArrayInputStream(out.toByteArray()));
+        ZipEntry entry = zip.getNextEntry();
+        while (entry != null) {
+            if (entry.getName().equals("content.xml")) {
+                return ContentGoldenTest.readAll(zip);
+            }
+            entry = zip.getNextEntry();
+        }
+        throw new AssertionError("No content.xml");
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int count = in.read(buffer);
+        while (count != -1) {
+            bytes.write(buffer, 0, count);
+            count = in.read(buffer);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testContentBytes() throws IOException {
+        ContentGoldenTest.assertGolden(GOLDEN_CONTENT, ContentGoldenTest.createContent());
+    }
+
+    @Test
+    public void testRawContentBytes() throws IOException {
+        ContentGoldenTest.assertGolden(GOLDEN_RAW_CONTENT, ContentGoldenTest.createRawContent());
+    }
+
+    private static void assertGolden(final String resourceName, final byte[] actual)
+            throws IOException {
+        final InputStream golden = ContentGoldenTest.class.getResourceAsStream(resourceName);
+        final byte[] expected;
+        try {
+            expected = ContentGoldenTest.readAll(golden);
+        } finally {
+            golden.close();
+        }
+        final int length = Math.min(expected.length, actual.length);
+        for (int i = 0; i < length; i++) {
+            if (expected[i] != actual[i]) {
+                Assert.fail("Bytes differ at " + i + ": " + new String(actual,
+                        Math.max(0, i - 40), Math.min(80, actual.length - Math.max(0, i - 40)),
+                        "UTF-8"));
+            }
+        }
+        Assert.assertEquals(expected.length, actual.length);
+    }
+}
@@ -53,6 +53,7 @@ public class EndTableFlusherTest {
         final List<TableRowImpl> rows = Collections.emptyList();
 
         PowerMock.resetAll();
+        this.appender.appendRowSource(this.util, this.w);
         this.appender.appendPostamble(this.w);
 
         PowerMock.replayAll();
@@ -71,6 +72,7 @@ public class EndTableFlusherTest {
         PowerMock.resetAll();
         r1.appendXMLToTable(this.util, this.w);
         r2.appendXMLToTable(this.util, this.w);
+        this.appender.appendRowSource(this.util, this.w);
         this.appender.appendPostamble(this.w);
 
         PowerMock.replayAll();
@@ -0,0 +1,153 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.zip.ZipFile;
+
+public class ExportGovernorTest {
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoBudget() {
+        ExportGovernor.create(0, 1);
+    }
+
+    @Test
+    public void testCredits() throws Exception {
+        final ExportGovernor governor = ExportGovernor.create(100, 1);
+        governor.acquireCredits(60);
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    governor.acquireCredits(60);
+                } catch (final IOException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        });
+        thread.start();
+        thread.join(100);
+        Assert.assertTrue(thread.isAlive());
+        Assert.assertEquals(60L, governor.getQueuedSize());
+
+        governor.releaseCredits(60);
+        thread.join();
+        Assert.assertEquals(60L, governor.getQueuedSize());
+    }
+
+    @Test
+    public void testLargeBatch() throws Exception {
+        final ExportGovernor governor = ExportGovernor.create(100, 1);
+        governor.acquireCredits(1000);
+        Assert.assertEquals(1000L, governor.getQueuedSize());
+        governor.releaseCredits(1000);
+        Assert.assertEquals(0L, governor.getQueuedSize());
+    }
+
+    @Test
+    public void testWorkers() throws Exception {
+        final ExportGovernor governor = ExportGovernor.create(100, 1);
+        governor.acquireWorker();
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    governor.acquireWorker();
+                } catch (final IOException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        });
+        thread.start();
+        thread.join(100);
+        Assert.assertTrue(thread.isAlive());
+        Assert.assertEquals(1, governor.getWorkerCount());
+
+        governor.releaseWorker();
+        thread.join();
+        Assert.assertEquals(1, governor.getWorkerCount());
+    }
+
+    @Test
+    public void testBackgroundWriters() throws Exception {
+        final ExportGovernor governor = ExportGovernor.create(64 * 1024, 1);
+        final OdsFactory odsFactory =
+                OdsFactory.builder(Logger.getLogger("governor"), Locale.US).governor(governor)
+                        .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Callable<File>> tasks = new ArrayList<Callable<File>>();
+            for (int i = 0; i < 4; i++) {
+                tasks.add(new Callable<File>() {
+                    @Override
+                    public File call() throws Exception {
+                        return ExportGovernorTest.this.export(odsFactory);
+                    }
+                });
+            }
+            for (final Future<File> future : executor.invokeAll(tasks)) {
+                final ZipFile zipFile = new ZipFile(future.get());
+                try {
+                    Assert.assertNotNull(zipFile.getEntry("content.xml"));
+                } finally {
+                    zipFile.close();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(0L, governor.getQueuedSize());
+        Assert.assertEquals(0, governor.getWorkerCount());
+        Assert.assertEquals(0, governor.getDocumentCount());
+    }
+
+    private File export(final OdsFactory odsFactory) throws IOException {
+        final File file = File.createTempFile("fastods-governor", ".ods");
+        file.deleteOnExit();
+        if (!file.delete()) {
+            throw new IOException("Can't delete " + file);
+        }
+        final OdsFileBackgroundWriter writer = odsFactory.createBackgroundWriter(file);
+        final Table table = writer.document().addTable("t");
+        for (int r = 0; r < 40000; r++) {
+            final TableRowImpl row = table.nextRow();
+            row.getOrCreateCell(0).setStringValue("row " + r);
+            row.getOrCreateCell(1).setFloatValue(r);
+        }
+        writer.save();
+        return file;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.util.XMLUtil;
+import com.github.jferard.fastods.util.ZipUTF8Writer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+
+public class FlatDocumentTest {
+    private OdsFactory odsFactory;
+
+    @Before
+    public void setUp() {
+        this.odsFactory = OdsFactory.create(Logger.getLogger("flat"), Locale.US);
+    }
+
+    @Test
+    public void testAnonymous() throws Exception {
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        this.fill(writer.document());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.saveFlat(out);
+
+        final Document document = this.parse(out.toByteArray());
+        final Element root = document.getDocumentElement();
+        Assert.assertEquals("office:document", root.getTagName());
+        Assert.assertEquals("application/vnd.oasis.opendocument.spreadsheet",
+                root.getAttribute("office:mimetype"));
+        Assert.assertEquals(Arrays.asList("office:meta", "office:settings",
+                "office:font-face-decls", "office:styles", "office:automatic-styles",
+                "office:master-styles", "office:body"), this.getChildNames(root));
+        final NodeList tables = document.getElementsByTagName("table:table");
+        Assert.assertEquals(2, tables.getLength());
+        Assert.assertEquals("t1", ((Element) tables.item(0)).getAttribute("table:name"));
+        Assert.assertEquals("t2", ((Element) tables.item(1)).getAttribute("table:name"));
+        Assert.assertEquals(1, document.getElementsByTagName("table:database-range").getLength());
+    }
+
+    @Test
+    public void testStreamedBodyIsAnonymousBody() throws Exception {
+        final AnonymousOdsFileWriter anonymousWriter = this.odsFactory.createWriter();
+        this.fill(anonymousWriter.document());
+        final ByteArrayOutputStream anonymousOut = new ByteArrayOutputStream();
+        anonymousWriter.saveFlat(anonymousOut);
+
+        final ByteArrayOutputStream namedOut = new ByteArrayOutputStream();
+        final NamedOdsFileWriter namedWriter = this.odsFactory.createFlatWriter(namedOut);
+        this.fill(namedWriter.document());
+        namedWriter.save();
+
+        this.parse(namedOut.toByteArray());
+        Assert.assertEquals(this.getBody(anonymousOut), this.getBody(namedOut));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNoEntry() throws IOException {
+        final NamedOdsFileWriter writer =
+                this.odsFactory.createFlatWriter(new ByteArrayOutputStream());
+        writer.update(new OdsAsyncFlusher() {
+            @Override
+            public void flushInto(final XMLUtil xmlUtil, final ZipUTF8Writer writer)
+                    throws IOException {
+                writer.putNextEntry(new ZipEntry("x"));
+            }
+
+            @Override
+            public boolean isEnd() {
+                return false;
+            }
+        });
+    }
+
+    private void fill(final OdsDocument document) throws IOException {
+        final TableCellStyle boldStyle = TableCellStyle.builder("bold").fontWeightBold().build();
+        final Table t1 = document.addTable("t1");
+        for (int r = 0; r < 10; r++) {
+            final TableRowImpl row = t1.getRow(r);
+            final TableCell cell = row.getOrCreateCell(0);
+            cell.setStringValue("a<" + r);
+            cell.setStyle(boldStyle);
+            row.getOrCreateCell(1).setFloatValue(r);
+        }
+        document.addAutoFilter("filter", t1, 0, 0, 9, 1);
+        final Table t2 = document.addTable("t2");
+        t2.getRow(0).getOrCreateCell(0).setBooleanValue(true);
+    }
+
+    private Document parse(final byte[] bytes) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(bytes));
+    }
+
+    private List<String> getChildNames(final Element element) {
+        final List<String> names = new ArrayList<String>();
+        final NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            final Node child = children.item(i);
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                names.add(child.getNodeName());
+            }
+        }
+        return names;
+    }
+
+    private String getBody(final ByteArrayOutputStream out) throws IOException {
+        final String xml = out.toString("UTF-8");
+        return xml.substring(xml.indexOf("<office:body>"));
+    }
+}
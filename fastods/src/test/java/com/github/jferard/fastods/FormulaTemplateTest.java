@@ -0,0 +1,104 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.FastFullList;
+import com.github.jferard.fastods.util.WriteUtil;
+import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class FormulaTemplateTest {
+    private XMLUtil xmlUtil;
+
+    @Before
+    public void setUp() {
+        this.xmlUtil = XMLUtil.create();
+    }
+
+    @Test
+    public void testRelative() throws IOException {
+        this.assertCell("<table:table-cell table:formula=\"of:=[.B7]*[.C7]\"/>",
+                "[.B{r}]*[.{c-1}{r}]", 3, 6);
+    }
+
+    @Test
+    public void testOffsets() throws IOException {
+        this.assertCell("<table:table-cell table:formula=\"of:=SUM([.AA1:.AA3])\"/>",
+                "SUM([.{c+26}{r-1}:.{c+26}{r+1}])", 0, 1);
+    }
+
+    @Test
+    public void testNoPlaceholder() throws IOException {
+        this.assertCell("<table:table-cell table:formula=\"of:=SUM({1;2};{r)\"/>",
+                "SUM({1;2};{r)", 0, 1);
+    }
+
+    @Test
+    public void testEscape() throws IOException {
+        this.assertCell(
+                "<table:table-cell table:formula=\"of:=&quot;a&lt;&quot;&amp;[.A10]\"/>",
+                "\"a<\"&[.A{r}]", 5, 9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeColumn() {
+        FormulaTemplate.create(this.xmlUtil, 0, "[.{c-1}1]");
+    }
+
+    @Test
+    public void testRow() throws IOException {
+        final FastFullList<FormulaTemplate> formulas = FastFullList.newListWithCapacity(10);
+        formulas.set(1, FormulaTemplate.create(this.xmlUtil, 1, "[.A{r}]*2"));
+        formulas.set(3, FormulaTemplate.create(this.xmlUtil, 3, "[.C{r}]*2"));
+        formulas.set(4, FormulaTemplate.create(this.xmlUtil, 4, "[.D{r}]*2"));
+        final TableRowImpl row = new TableRowImpl(WriteUtil.create(), this.xmlUtil, null, null,
+                false, null, 4, 10, formulas);
+        row.getOrCreateCell(0).setStringValue("a");
+        row.getOrCreateCell(3).setStringValue("d");
+        row.getOrCreateCell(6).setStringValue("g");
+
+        final StringBuilder sb = new StringBuilder();
+        row.appendXMLToTable(this.xmlUtil, sb);
+        Assert.assertEquals("<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell office:value-type=\"string\" office:string-value=\"a\"/>" +
+                "<table:table-cell table:formula=\"of:=[.A5]*2\"/>" +
+                "<table:table-cell/>" +
+                "<table:table-cell office:value-type=\"string\" office:string-value=\"d\"/>" +
+                "<table:table-cell table:formula=\"of:=[.D5]*2\"/>" +
+                "<table:table-cell/>" +
+                "<table:table-cell office:value-type=\"string\" office:string-value=\"g\"/>" +
+                "</table:table-row>", sb.toString());
+    }
+
+    private void assertCell(final String expected, final String template, final int col,
+                            final int row) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        FormulaTemplate.create(this.xmlUtil, col, template).appendXMLToTableRow(sb, row);
+        Assert.assertEquals(expected, sb.toString());
+    }
+}
@@ -42,8 +42,8 @@ public class ImmutableElementsFlusherTest {
         final ZipUTF8Writer w = PowerMock.createMock(ZipUTF8Writer.class);
 
         PowerMock.resetAll();
-        odsElements.createEmptyElements(w);
         odsElements.writeMimeType(util, w);
+        odsElements.createEmptyElements(w);
 
         PowerMock.replayAll();
         final OdsAsyncFlusher flusher = new ImmutableElementsFlusher(odsElements);
@@ -0,0 +1,117 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class MergeIndexTest {
+    @Test
+    public final void testUnion() {
+        int[] ranges = MergeIndex.union(null, 5, 7);
+        Assert.assertArrayEquals(new int[]{5, 7}, ranges);
+        ranges = MergeIndex.union(ranges, 1, 2);
+        Assert.assertArrayEquals(new int[]{1, 2, 5, 7}, ranges);
+        ranges = MergeIndex.union(ranges, 10, 12);
+        Assert.assertArrayEquals(new int[]{1, 2, 5, 7, 10, 12}, ranges);
+        ranges = MergeIndex.union(ranges, 7, 8);
+        Assert.assertArrayEquals(new int[]{1, 2, 5, 8, 10, 12}, ranges);
+        ranges = MergeIndex.union(ranges, 0, 11);
+        Assert.assertArrayEquals(new int[]{0, 12}, ranges);
+    }
+
+    @Test
+    public final void testEmpty() {
+        final MergeIndex index = MergeIndex.create();
+        Assert.assertTrue(index.isEmpty());
+        Assert.assertEquals(0, index.getRowEnd());
+        Assert.assertFalse(index.isCoveredRow(0));
+        Assert.assertEquals(Integer.MAX_VALUE, index.nextCoveredRowIndex(0));
+        Assert.assertNull(index.getCoveredColumns(0));
+
+        index.add(5, 5, 0, 10);
+        Assert.assertTrue(index.isEmpty());
+    }
+
+    @Test
+    public final void testRows() {
+        final MergeIndex index = MergeIndex.create();
+        index.add(1000, 3000, 2, 4);
+        index.add(10000, 10001, 0, 1);
+        Assert.assertFalse(index.isEmpty());
+        Assert.assertEquals(10001, index.getRowEnd());
+        Assert.assertFalse(index.isCoveredRow(999));
+        Assert.assertTrue(index.isCoveredRow(1000));
+        Assert.assertTrue(index.isCoveredRow(2999));
+        Assert.assertFalse(index.isCoveredRow(3000));
+        Assert.assertTrue(index.isCoveredRow(10000));
+
+        Assert.assertEquals(1000, index.nextCoveredRowIndex(0));
+        Assert.assertEquals(2500, index.nextCoveredRowIndex(2500));
+        Assert.assertEquals(10000, index.nextCoveredRowIndex(3000));
+        Assert.assertEquals(Integer.MAX_VALUE, index.nextCoveredRowIndex(10001));
+    }
+
+    @Test
+    public final void testColumns() {
+        final MergeIndex index = MergeIndex.create();
+        index.add(0, 10, 2, 4);
+        index.add(5, 6, 4, 5);
+        index.add(5, 8, 8, 10);
+        Assert.assertArrayEquals(new int[]{2, 4}, index.getCoveredColumns(0));
+        Assert.assertArrayEquals(new int[]{2, 5, 8, 10}, index.getCoveredColumns(5));
+        Assert.assertArrayEquals(new int[]{2, 4, 8, 10}, index.getCoveredColumns(7));
+        Assert.assertNull(index.getCoveredColumns(10));
+    }
+
+    @Test
+    public final void testAppendCoveredRow() throws IOException {
+        final MergeIndex index = MergeIndex.create();
+        index.add(0, 10, 0, 1);
+        index.add(0, 10, 3, 6);
+
+        final StringBuilder sb = new StringBuilder();
+        index.appendCoveredRow(XMLUtil.create(), sb, 3);
+        Assert.assertEquals("<table:table-row table:style-name=\"ro1\">" +
+                "<table:covered-table-cell/>" +
+                "<table:table-cell table:number-columns-repeated=\"2\"/>" +
+                "<table:covered-table-cell table:number-columns-repeated=\"3\"/>" +
+                "</table:table-row>", sb.toString());
+    }
+
+    @Test
+    public final void testRemoveRowsBefore() {
+        final MergeIndex index = MergeIndex.create();
+        index.add(0, 10, 0, 1);
+        index.add(1000, 3000, 0, 1);
+        index.removeRowsBefore(2048);
+        Assert.assertFalse(index.isCoveredRow(5));
+        Assert.assertTrue(index.isCoveredRow(2048));
+        Assert.assertEquals(2048, index.nextCoveredRowIndex(2048));
+        Assert.assertEquals(Integer.MAX_VALUE, index.nextCoveredRowIndex(3000));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+public class OdsDocumentStatsTest {
+    private Logger logger;
+    private OdsFactory factory;
+    private MBeanServer server;
+
+    @Before
+    public void setUp() {
+        this.logger = Logger.getLogger("stats");
+        this.factory = OdsFactory.builder(this.logger, Locale.US).jmxStats().build();
+        this.server = ManagementFactory.getPlatformMBeanServer();
+    }
+
+    @Test
+    public void testAnonymous() throws Exception {
+        final AnonymousOdsFileWriter writer = this.factory.createWriter();
+        final ObjectName name = this.getLastName();
+        final Table table = writer.document().addTable("t");
+        final TableCellWalker walker = table.getWalker();
+        for (int r = 0; r < 10; r++) {
+            walker.setFloatValue(r);
+            walker.setStringValue("a&b");
+            walker.nextRow();
+        }
+
+        Assert.assertArrayEquals(new String[]{"t"},
+                (String[]) this.server.getAttribute(name, "TableNames"));
+        Assert.assertArrayEquals(new int[]{11},
+                (int[]) this.server.getAttribute(name, "ResidentRowCounts"));
+        Assert.assertArrayEquals(new int[]{0},
+                (int[]) this.server.getAttribute(name, "FlushedRowCounts"));
+        Assert.assertTrue((Integer) this.server.getAttribute(name, "AnonymousStyleCount") > 0);
+        Assert.assertEquals(0L, this.server.getAttribute(name, "BytesWritten"));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.save(out);
+        Assert.assertFalse(this.server.isRegistered(name));
+    }
+
+    @Test
+    public void testAnonymousFailedSave() throws Exception {
+        final AnonymousOdsFileWriter writer = this.factory.createWriter();
+        final ObjectName name = this.getLastName();
+        writer.document().addTable("t").getWalker().setFloatValue(1);
+        try {
+            writer.save(new OutputStream() {
+                @Override
+                public void write(final int b) throws IOException {
+                    throw new IOException("disk full");
+                }
+            });
+            Assert.fail();
+        } catch (final IOException e) {
+            Assert.assertFalse(this.server.isRegistered(name));
+        }
+    }
+
+    @Test
+    public void testNamed() throws Exception {
+        final File file = File.createTempFile("stats", ".ods");
+        file.delete();
+        try {
+            final NamedOdsFileWriter writer = this.factory.createWriter(file);
+            final ObjectName name = this.getLastName();
+            final Table table = writer.document().addTable("t");
+            final TableCellWalker walker = table.getWalker();
+            for (int r = 0; r < 10000; r++) {
+                walker.setFloatValue(r);
+                walker.nextRow();
+            }
+
+            final int[] flushed = (int[]) this.server.getAttribute(name, "FlushedRowCounts");
+            Assert.assertArrayEquals(new int[]{8192}, flushed);
+            Assert.assertArrayEquals(new int[]{10001 - 8192},
+                    (int[]) this.server.getAttribute(name, "ResidentRowCounts"));
+            Assert.assertTrue((Long) this.server.getAttribute(name, "BytesWritten") > 0);
+
+            writer.save();
+            writer.close();
+            Assert.assertFalse(this.server.isRegistered(name));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testNamedClosedWithoutSave() throws Exception {
+        final File file = File.createTempFile("stats", ".ods");
+        file.delete();
+        try {
+            final NamedOdsFileWriter writer = this.factory.createWriter(file);
+            final ObjectName name = this.getLastName();
+            writer.document().addTable("t").getWalker().setFloatValue(1);
+            Assert.assertTrue(this.server.isRegistered(name));
+
+            writer.close();
+            Assert.assertFalse(this.server.isRegistered(name));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testAdapter() throws Exception {
+        final File file = File.createTempFile("stats", ".ods");
+        file.delete();
+        try {
+            final OdsFileWriterAdapter writerAdapter = this.factory.createWriterAdapter(file);
+            final ObjectName name = this.getLastName();
+            final Table table = writerAdapter.document().addTable("t");
+            final TableCellWalker walker = table.getWalker();
+            for (int r = 0; r < 10000; r++) {
+                walker.setFloatValue(r);
+                walker.nextRow();
+            }
+
+            Assert.assertEquals(writerAdapter.getQueuedFlusherCount(),
+                    this.server.getAttribute(name, "QueuedFlusherCount"));
+            Assert.assertTrue((Long) this.server.getAttribute(name, "QueuedFlusherSize") > 0);
+
+            writerAdapter.document().save();
+            writerAdapter.flushAdaptee();
+            Assert.assertEquals(0L, writerAdapter.getQueuedSize());
+            Assert.assertFalse(this.server.isRegistered(name));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testNoStats() throws Exception {
+        final int count = this.server.queryNames(
+                new ObjectName(OdsDocumentStats.DOMAIN + ":type=OdsDocumentStats,*"), null).size();
+        OdsFactory.create(this.logger, Locale.US).createWriter();
+        Assert.assertEquals(count, this.server.queryNames(
+                new ObjectName(OdsDocumentStats.DOMAIN + ":type=OdsDocumentStats,*"), null).size());
+    }
+
+    private ObjectName getLastName() throws Exception {
+        ObjectName last = null;
+        int lastIndex = -1;
+        for (final ObjectName name : this.server.queryNames(
+                new ObjectName(OdsDocumentStats.DOMAIN + ":type=OdsDocumentStats,*"), null)) {
+            final int index = Integer.parseInt(name.getKeyProperty("name").substring(9));
+            if (index > lastIndex) {
+                lastIndex = index;
+                last = name;
+            }
+        }
+        return last;
+    }
+}
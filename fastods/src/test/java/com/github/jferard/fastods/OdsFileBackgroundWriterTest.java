@@ -0,0 +1,194 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.XMLUtil;
+import com.github.jferard.fastods.util.ZipUTF8Writer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+import java.util.zip.ZipFile;
+
+public class OdsFileBackgroundWriterTest {
+    private Logger logger;
+    private OdsFactory odsFactory;
+
+    @Before
+    public void setUp() {
+        this.logger = Logger.getLogger("background");
+        this.odsFactory = OdsFactory.create(this.logger, Locale.US);
+    }
+
+    @Test
+    public void testThread() throws IOException {
+        final File file = this.createTempFile();
+        final OdsFileBackgroundWriter writer = this.odsFactory.createBackgroundWriter(file);
+        this.fill(writer.document());
+        writer.save();
+        writer.close();
+
+        Assert.assertEquals(this.getDirectContent(), this.getContent(file));
+        Assert.assertEquals(0, writer.getQueuedFlusherCount());
+        Assert.assertEquals(0L, writer.getQueuedSize());
+    }
+
+    @Test
+    public void testExecutor() throws IOException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final File file = this.createTempFile();
+            final OdsFileBackgroundWriter writer =
+                    this.odsFactory.createBackgroundWriter(file, executor);
+            this.fill(writer.document());
+            writer.save();
+
+            Assert.assertEquals(this.getDirectContent(), this.getContent(file));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSmallQueue() throws IOException {
+        final File file = this.createTempFile();
+        final NamedOdsFileWriter adaptee = this.odsFactory.createWriter(file);
+        final OdsFileBackgroundWriter writer =
+                OdsFileBackgroundWriter.create(this.logger, adaptee, null, 1);
+        adaptee.document().addObserver(writer);
+        this.fill(writer.document());
+        writer.save();
+
+        Assert.assertEquals(this.getDirectContent(), this.getContent(file));
+    }
+
+    @Test
+    public void testError() throws IOException {
+        final IOException exception = new IOException("disk full");
+        final NamedOdsFileWriter adaptee = new NamedOdsFileWriter() {
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public NamedOdsDocument document() {
+                return null;
+            }
+
+            @Override
+            public void save() {
+            }
+
+            @Override
+            public void update(final OdsAsyncFlusher flusher) throws IOException {
+                throw exception;
+            }
+        };
+        final OdsFileBackgroundWriter writer =
+                OdsFileBackgroundWriter.create(this.logger, adaptee, null, 1024);
+        writer.update(new BeginTableFlusher(null));
+        try {
+            writer.close();
+            Assert.fail();
+        } catch (final IOException e) {
+            Assert.assertSame(exception, e.getCause());
+        }
+        try {
+            writer.update(new BeginTableFlusher(null));
+            Assert.fail();
+        } catch (final IOException e) {
+            Assert.assertSame(exception, e.getCause());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testUpdateAfterClose() throws IOException {
+        final OdsFileBackgroundWriter writer =
+                this.odsFactory.createBackgroundWriter(this.createTempFile());
+        writer.close();
+        writer.update(new OdsAsyncFlusher() {
+            @Override
+            public void flushInto(final XMLUtil xmlUtil, final ZipUTF8Writer writer) {
+            }
+
+            @Override
+            public boolean isEnd() {
+                return false;
+            }
+        });
+    }
+
+    private void fill(final NamedOdsDocument document) throws IOException {
+        for (int t = 0; t < 3; t++) {
+            final Table table = document.addTable("t" + t);
+            for (int r = 0; r < 3000; r++) {
+                final TableRowImpl row = table.nextRow();
+                row.getOrCreateCell(0).setStringValue("row " + r);
+                row.getOrCreateCell(1).setFloatValue(r * t);
+            }
+        }
+    }
+
+    private String getDirectContent() throws IOException {
+        final File file = this.createTempFile();
+        final NamedOdsFileWriter writer = this.odsFactory.createWriter(file);
+        this.fill(writer.document());
+        writer.save();
+        return this.getContent(file);
+    }
+
+    private String getContent(final File file) throws IOException {
+        final ZipFile zipFile = new ZipFile(file);
+        try {
+            final InputStream in = zipFile.getInputStream(zipFile.getEntry("content.xml"));
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int len = in.read(buffer);
+            while (len != -1) {
+                out.write(buffer, 0, len);
+                len = in.read(buffer);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    private File createTempFile() throws IOException {
+        final File file = File.createTempFile("fastods-background", ".ods");
+        file.deleteOnExit();
+        if (!file.delete()) {
+            throw new IOException("Can't delete " + file);
+        }
+        return file;
+    }
+}
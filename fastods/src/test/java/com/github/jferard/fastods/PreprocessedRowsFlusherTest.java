@@ -23,6 +23,7 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.PagedFullList;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 import org.easymock.Capture;
@@ -113,4 +114,55 @@ public class PreprocessedRowsFlusherTest {
         PowerMock.verifyAll();
         Assert.assertEquals("<row />", capturedArgument.getValue().toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void createFromPagedList() throws Exception {
+        final TableRowImpl row = PowerMock.createMock(TableRowImpl.class);
+        final PagedFullList<TableRowImpl> rows = PagedFullList.newListWithCapacity(10);
+        rows.set(5000, row);
+
+        PowerMock.resetAll();
+        row.appendXMLToTable(EasyMock.eq(this.util), EasyMock.isA(StringBuilder.class));
+        final Capture<CharSequence> capturedArgument = EasyMock.newCapture();
+        EasyMock.expect(this.w.append(EasyMock.capture(capturedArgument))).andReturn(this.w);
+
+        PowerMock.replayAll();
+        final OdsAsyncFlusher flusher = PreprocessedRowsFlusher.create(this.util, rows,
+                MergeIndex.create(), 1, 5002);
+        flusher.flushInto(this.util, this.w);
+
+        PowerMock.verifyAll();
+        Assert.assertEquals("<table:table-row table:number-rows-repeated=\"4999\" " +
+                "table:style-name=\"ro1\"><table:table-cell/></table:table-row>" +
+                "<table:table-row table:style-name=\"ro1\"><table:table-cell/></table:table-row>",
+                capturedArgument.getValue().toString());
+        Assert.assertNull(rows.get(5000));
+        Assert.assertEquals(5001, rows.usedSize());
+    }
+
+    @Test
+    public void createWithCoveredRows() throws Exception {
+        final PagedFullList<TableRowImpl> rows = PagedFullList.newListWithCapacity(10);
+        final MergeIndex mergeIndex = MergeIndex.create();
+        mergeIndex.add(2, 4, 1, 3);
+
+        PowerMock.resetAll();
+        final Capture<CharSequence> capturedArgument = EasyMock.newCapture();
+        EasyMock.expect(this.w.append(EasyMock.capture(capturedArgument))).andReturn(this.w);
+
+        PowerMock.replayAll();
+        final OdsAsyncFlusher flusher = PreprocessedRowsFlusher.create(this.util, rows,
+                mergeIndex, 0, 5);
+        flusher.flushInto(this.util, this.w);
+
+        PowerMock.verifyAll();
+        final String coveredRow = "<table:table-row table:style-name=\"ro1\"><table:table-cell/>" +
+                "<table:covered-table-cell table:number-columns-repeated=\"2\"/>" +
+                "</table:table-row>";
+        Assert.assertEquals("<table:table-row table:number-rows-repeated=\"2\" " +
+                "table:style-name=\"ro1\"><table:table-cell/></table:table-row>" +
+                coveredRow + coveredRow +
+                "<table:table-row table:style-name=\"ro1\"><table:table-cell/></table:table-row>",
+                capturedArgument.getValue().toString());
+    }
+}
@@ -86,7 +86,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testBoolean() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(8)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(8)).andReturn(this.cell);
         this.cell.setBooleanValue(true);
         expect(this.row.getColumnCount()).andReturn(10);
 
@@ -103,7 +103,7 @@ public class RowCellWalkerImplTest {
         final Text t = Text.content("a");
 
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(8)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(8)).andReturn(this.cell);
         this.cell.setText(t);
         expect(this.row.getColumnCount()).andReturn(10);
 
@@ -154,7 +154,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testVoidValue() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setVoidValue();
 
         PowerMock.replayAll();
@@ -167,7 +167,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testTimeValue() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setTimeValue(1000);
 
         PowerMock.replayAll();
@@ -180,7 +180,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testTooltip() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setTooltip("1000");
 
         PowerMock.replayAll();
@@ -193,7 +193,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testFormula() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setFormula("1000");
 
         PowerMock.replayAll();
@@ -206,7 +206,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testIsCovered() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         expect(this.cell.isCovered()).andReturn(true);
 
         PowerMock.replayAll();
@@ -219,7 +219,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testSetCovered() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setCovered();
 
         PowerMock.replayAll();
@@ -244,7 +244,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testPrevious() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(4)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(4)).andReturn(this.cell);
         this.cell.setBooleanValue(true);
 
         PowerMock.replayAll();
@@ -271,7 +271,7 @@ public class RowCellWalkerImplTest {
         c.setTimeInMillis(TIME_IN_MILLIS);
 
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setDateValue(c);
 
         PowerMock.replayAll();
@@ -284,7 +284,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testCurrencyFloat() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setCurrencyValue(10.0f, "€");
 
         PowerMock.replayAll();
@@ -297,7 +297,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testCurrencyInt() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setCurrencyValue(9, "€");
 
         PowerMock.replayAll();
@@ -310,7 +310,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testCurrencyNumber() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setCurrencyValue(10.0, "€");
 
         PowerMock.replayAll();
@@ -327,7 +327,7 @@ public class RowCellWalkerImplTest {
         final Date date = c.getTime();
 
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setDateValue(date);
 
         PowerMock.replayAll();
@@ -340,7 +340,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testDouble() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setFloatValue(10.999);
 
         PowerMock.replayAll();
@@ -353,7 +353,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testFloat() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setFloatValue(9.999f);
 
         PowerMock.replayAll();
@@ -366,7 +366,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testInt() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setFloatValue(999);
 
         PowerMock.replayAll();
@@ -421,7 +421,7 @@ public class RowCellWalkerImplTest {
         final CellValue value = this.converter.from(null);
 
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setCellValue(value);
 
         PowerMock.replayAll();
@@ -434,7 +434,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testPercentageFloat() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setPercentageValue(0.98f);
 
         PowerMock.replayAll();
@@ -447,7 +447,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testPercentageNumber() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setPercentageValue(0.98);
 
         PowerMock.replayAll();
@@ -460,7 +460,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testPercentageInt() {
         PowerMock.resetAll();
-        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(10)).andReturn(this.cell);
         this.cell.setPercentageValue(98);
 
         PowerMock.replayAll();
@@ -473,7 +473,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testSetTimeValueMillis() {
         PowerMock.resetAll();
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
         this.cell.setTimeValue(TIME_IN_MILLIS);
 
         PowerMock.replayAll();
@@ -485,7 +485,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testSetTimeValue() {
         PowerMock.resetAll();
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
         this.cell.setTimeValue(1, 2, 3, 4, 5, 6);
 
         PowerMock.replayAll();
@@ -497,7 +497,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testSetNegTimeValue() {
         PowerMock.resetAll();
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
         this.cell.setNegTimeValue(1, 2, 3, 4, 5, 6);
 
         PowerMock.replayAll();
@@ -509,7 +509,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testSetTooltipLong() {
         PowerMock.resetAll();
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
         this.cell.setTooltip("tt", SimpleLength.cm(3), SimpleLength.cm(4), true);
 
         PowerMock.replayAll();
@@ -523,7 +523,7 @@ public class RowCellWalkerImplTest {
         final BooleanStyle bs = new BooleanStyleBuilder("bs", Locale.US).build();
 
         PowerMock.resetAll();
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
         this.cell.setDataStyle(bs);
 
         PowerMock.replayAll();
@@ -535,7 +535,7 @@ public class RowCellWalkerImplTest {
     @Test
     public final void testHasValue() {
         PowerMock.resetAll();
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
         EasyMock.expect(this.cell.hasValue()).andReturn(true);
 
         PowerMock.replayAll();
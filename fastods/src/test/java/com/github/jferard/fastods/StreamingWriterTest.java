@@ -0,0 +1,116 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class StreamingWriterTest {
+    private OdsFactory odsFactory;
+
+    @Before
+    public void setUp() {
+        this.odsFactory = OdsFactory.create(Logger.getLogger("streaming"), Locale.US);
+    }
+
+    @Test
+    public void testFirstBytes() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OdsFileDirectWriter writer = this.odsFactory.createStreamingWriter(out);
+        Assert.assertTrue(out.size() > 0);
+        Assert.assertEquals(out.size(), writer.getBytesSent());
+
+        final Table table = writer.document().addTable("t");
+        for (int r = 0; r < 50000; r++) {
+            final TableRowImpl row = table.nextRow();
+            row.getOrCreateCell(0).setStringValue("row " + r);
+            row.getOrCreateCell(1).setFloatValue(r);
+        }
+        final int sizeBeforeSave = out.size();
+        writer.save();
+
+        Assert.assertTrue(sizeBeforeSave > out.size() / 2);
+        Assert.assertEquals(out.size(), writer.getBytesSent());
+        this.assertArchive(out.toByteArray());
+    }
+
+    @Test
+    public void testChannel() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OdsFileDirectWriter writer =
+                this.odsFactory.createStreamingWriter(Channels.newChannel(out));
+        writer.document().addTable("t").getRow(0).getOrCreateCell(0).setStringValue("a");
+        writer.save();
+
+        Assert.assertEquals(out.size(), writer.getBytesSent());
+        this.assertArchive(out.toByteArray());
+    }
+
+    @Test
+    public void testNotStreamed() throws IOException {
+        final File file = File.createTempFile("fastods-streaming", ".ods");
+        file.deleteOnExit();
+        Assert.assertTrue(file.delete());
+        final OdsFileDirectWriter writer =
+                (OdsFileDirectWriter) this.odsFactory.createWriter(file);
+        Assert.assertEquals(-1L, writer.getBytesSent());
+        writer.close();
+    }
+
+    private void assertArchive(final byte[] bytes) throws IOException {
+        final Set<String> names = this.getEntryNames(bytes);
+        Assert.assertTrue(names.contains("mimetype"));
+        Assert.assertTrue(names.contains("content.xml"));
+        Assert.assertTrue(names.contains("styles.xml"));
+        Assert.assertTrue(names.contains("META-INF/manifest.xml"));
+    }
+
+    private Set<String> getEntryNames(final byte[] bytes) throws IOException {
+        final Set<String> names = new HashSet<String>();
+        final ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(bytes));
+        try {
+            ZipEntry entry = zis.getNextEntry();
+            while (entry != null) {
+                names.add(entry.getName());
+                entry = zis.getNextEntry();
+            }
+        } finally {
+            zis.close();
+        }
+        return names;
+    }
+}
@@ -30,8 +30,10 @@ import com.github.jferard.fastods.style.TableColumnStyle;
 import com.github.jferard.fastods.testlib.DomTester;
 import com.github.jferard.fastods.util.FastFullList;
 import com.github.jferard.fastods.util.SVGRectangle;
+import com.github.jferard.fastods.util.XMLToken;
 import com.github.jferard.fastods.util.XMLUtil;
 import org.easymock.EasyMock;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.powermock.api.easymock.PowerMock;
@@ -62,7 +64,8 @@ public class TableAppenderTest {
     public void appendEmptyPreambleTest() throws IOException {
         PowerMock.resetAll();
         EasyMock.expect(this.tb.getName()).andReturn("table1");
-        EasyMock.expect(this.tb.getStyleName()).andReturn("table-style1");
+        EasyMock.expect(this.tb.getStyleNameAttribute())
+                .andReturn(XMLToken.createAttribute("table:style-name", "table-style1"));
         EasyMock.expect(this.tb.getColumnStyles())
                 .andReturn(FastFullList.<TableColumnStyle>newListWithCapacity(1));
         EasyMock.expect(this.tb.getShapes()).andReturn(Collections.<Shape>emptyList());
@@ -86,7 +89,8 @@ public class TableAppenderTest {
 
         PowerMock.resetAll();
         EasyMock.expect(this.tb.getName()).andReturn("table1");
-        EasyMock.expect(this.tb.getStyleName()).andReturn("table-style1");
+        EasyMock.expect(this.tb.getStyleNameAttribute())
+                .andReturn(XMLToken.createAttribute("table:style-name", "table-style1"));
         EasyMock.expect(this.tb.getColumnStyles())
                 .andReturn(FastFullList.<TableColumnStyle>newListWithCapacity(1));
         EasyMock.expect(this.tb.getShapes()).andReturn(Arrays.<Shape>asList(drawFrame));
@@ -112,7 +116,8 @@ public class TableAppenderTest {
     public void appendOneElementPreambleTest() throws IOException {
         PowerMock.resetAll();
         EasyMock.expect(this.tb.getName()).andReturn("table1");
-        EasyMock.expect(this.tb.getStyleName()).andReturn("table-style1");
+        EasyMock.expect(this.tb.getStyleNameAttribute())
+                .andReturn(XMLToken.createAttribute("table:style-name", "table-style1"));
         EasyMock.expect(this.tb.getColumnStyles())
                 .andReturn(FastFullList.newList(this.newTCS("x")));
         EasyMock.expect(this.tb.getShapes()).andReturn(Collections.<Shape>emptyList());
@@ -135,7 +140,8 @@ public class TableAppenderTest {
     public void appendTwoElementsPreambleTest() throws IOException {
         PowerMock.resetAll();
         EasyMock.expect(this.tb.getName()).andReturn("table1");
-        EasyMock.expect(this.tb.getStyleName()).andReturn("table-style1");
+        EasyMock.expect(this.tb.getStyleNameAttribute())
+                .andReturn(XMLToken.createAttribute("table:style-name", "table-style1"));
         EasyMock.expect(this.tb.getColumnStyles())
                 .andReturn(FastFullList.newList(this.newTCS("x"), this.newTCS("x")));
         EasyMock.expect(this.tb.getShapes()).andReturn(Collections.<Shape>emptyList());
@@ -160,7 +166,8 @@ public class TableAppenderTest {
 
         PowerMock.resetAll();
         EasyMock.expect(this.tb.getName()).andReturn("table1");
-        EasyMock.expect(this.tb.getStyleName()).andReturn("table-style1");
+        EasyMock.expect(this.tb.getStyleNameAttribute())
+                .andReturn(XMLToken.createAttribute("table:style-name", "table-style1"));
         EasyMock.expect(this.tb.getColumnStyles())
                 .andReturn(FastFullList.newList(x, x, this.newTCS("y"), x));
         EasyMock.expect(this.tb.getShapes()).andReturn(Collections.<Shape>emptyList());
@@ -190,7 +197,8 @@ public class TableAppenderTest {
 
         PowerMock.resetAll();
         EasyMock.expect(this.tb.getName()).andReturn("table1");
-        EasyMock.expect(this.tb.getStyleName()).andReturn("table-style1");
+        EasyMock.expect(this.tb.getStyleNameAttribute())
+                .andReturn(XMLToken.createAttribute("table:style-name", "table-style1"));
         EasyMock.expect(this.tb.getColumnStyles())
                 .andReturn(FastFullList.newList(x, x, x, x, x, y, y, y, x, x));
         EasyMock.expect(this.tb.getShapes()).andReturn(Collections.<Shape>emptyList());
@@ -220,7 +228,8 @@ public class TableAppenderTest {
 
         PowerMock.resetAll();
         EasyMock.expect(this.tb.getName()).andReturn("tb");
-        EasyMock.expect(this.tb.getStyleName()).andReturn("tb-style");
+        EasyMock.expect(this.tb.getStyleNameAttribute())
+                .andReturn(XMLToken.createAttribute("table:style-name", "tb-style"));
         EasyMock.expect(this.tb.getColumnStyles())
                 .andReturn(FastFullList.<TableColumnStyle>builder().build());
         EasyMock.expect(this.tb.getTableRowsUsedSize()).andReturn(0);
@@ -246,7 +255,8 @@ public class TableAppenderTest {
 
         PowerMock.resetAll();
         EasyMock.expect(this.tb.getName()).andReturn("tb").times(2);
-        EasyMock.expect(this.tb.getStyleName()).andReturn("tb-style").times(2);
+        EasyMock.expect(this.tb.getStyleNameAttribute())
+                .andReturn(XMLToken.createAttribute("table:style-name", "tb-style")).times(2);
         EasyMock.expect(this.tb.getColumnStyles()).andReturn(emptyFullList).times(2);
         EasyMock.expect(this.tb.getTableRowsUsedSize()).andReturn(0).times(2);
         EasyMock.expect(this.tb.getShapes()).andReturn(Collections.<Shape>emptyList()).times(2);
@@ -259,6 +269,30 @@ public class TableAppenderTest {
         DomTester.assertEquals(sb1.toString(), sb2.toString());
     }
 
+    @Test
+    public final void testEmptyPages() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        final TableRowImpl row = PowerMock.createMock(TableRowImpl.class);
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.tb.getTableRowsUsedSize()).andReturn(5001);
+        EasyMock.expect(this.tb.nextAllocatedRowIndex(1)).andReturn(4096);
+        EasyMock.expect(this.tb.nextAllocatedRowIndex(4096)).andReturn(4096);
+        EasyMock.expect(this.tb.getTableRow(4096)).andReturn(null);
+        EasyMock.expect(this.tb.isCoveredRow(4096)).andReturn(false);
+        EasyMock.expect(this.tb.nextAllocatedRowIndex(4097)).andReturn(5000);
+        EasyMock.expect(this.tb.nextAllocatedRowIndex(5000)).andReturn(5000);
+        EasyMock.expect(this.tb.getTableRow(5000)).andReturn(row);
+        row.appendXMLToTable(this.xmlUtil, sb);
+
+        PowerMock.replayAll();
+        this.tableAppender.appendSomeAvailableRowsFrom(this.xmlUtil, sb, 1);
+
+        PowerMock.verifyAll();
+        Assert.assertEquals("<table:table-row table:number-rows-repeated=\"4999\" " +
+                "table:style-name=\"ro1\"><table:table-cell/></table:table-row>", sb.toString());
+    }
+
     private void assertPreambleXMLEquals(final String xml) throws IOException {
         final StringBuilder sb = new StringBuilder();
         this.tableAppender.appendPreambleOnce(this.xmlUtil, sb);
@@ -202,6 +202,24 @@ public class TableBuilderTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public final void testMergeDoesNotCreateRows() throws IOException {
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        this.builder.setCellMerge(this.table, this.appender, 0, 0, 10000, 3);
+        Assert.assertEquals(1, this.builder.getResidentRowCount());
+        Assert.assertEquals(10000, this.builder.getRowCount());
+        Assert.assertTrue(this.builder.isCoveredRow(9999));
+        Assert.assertFalse(this.builder.isCoveredRow(10000));
+
+        final TableRowImpl row = this.builder.getRow(this.table, this.appender, 5000);
+        Assert.assertTrue(row.isCovered(2));
+        Assert.assertFalse(row.isCovered(3));
+        Assert.assertTrue(row.getOrCreateCell(0).isCovered());
+        Assert.assertEquals(2, this.builder.getResidentRowCount());
+        PowerMock.verifyAll();
+    }
+
     @Test
     public final void testMergeWithObserver1() throws IOException {
         final NamedOdsFileWriter writer = PowerMock.createMock(NamedOdsFileWriter.class);
@@ -0,0 +1,186 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.datastyle.FloatStyle;
+import com.github.jferard.fastods.datastyle.FloatStyleBuilder;
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TableColumnStyle;
+import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+public class TableBulkRowTest {
+    private XMLUtil xmlUtil;
+    private ObjectToCellValueConverter converter;
+    private Table walkerTable;
+    private Table bulkTable;
+    private TableCellStyle boldStyle;
+
+    @Before
+    public void setUp() throws IOException {
+        final OdsFactory odsFactory = OdsFactory.create(Logger.getLogger("bulk"), Locale.US);
+        final OdsDocument document = odsFactory.createWriter().document();
+        this.walkerTable = document.addTable("walker");
+        this.bulkTable = document.addTable("bulk");
+        this.xmlUtil = XMLUtil.create();
+        this.converter = new ObjectToCellValueConverter("USD");
+        this.boldStyle = TableCellStyle.builder("bold").fontWeightBold().build();
+    }
+
+    @Test
+    public void testObjects() throws IOException {
+        final Calendar cal = new GregorianCalendar(2020, Calendar.FEBRUARY, 3);
+        final Object[] values = {"a&b", 1, 2.5, true, null, new Date(0), cal,
+                new StringValue("sv"), new StringBuilder("sb")};
+
+        final TableRowImpl walkerRow = this.walkerRow(values);
+        final TableRowImpl bulkRow = this.bulkTable.appendRow(values);
+        Assert.assertEquals(values.length, bulkRow.getColumnCount());
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(bulkRow));
+    }
+
+    @Test
+    public void testCellValues() throws IOException {
+        final List<CellValue> values = Arrays.<CellValue>asList(new StringValue("a"),
+                new BooleanValue(false), VoidValue.INSTANCE);
+
+        final TableRowImpl walkerRow = this.walkerRow(values.toArray());
+        final TableRowImpl bulkRow = this.bulkTable.appendRow(values);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(bulkRow));
+    }
+
+    @Test
+    public void testDoubles() throws IOException {
+        final TableRowImpl walkerRow = this.walkerRow(1.0, -2.5, 1e20);
+        final TableRowImpl bulkRow = this.bulkTable.appendFloatRow(null, 1.0, -2.5, 1e20);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(bulkRow));
+    }
+
+    @Test
+    public void testLongs() throws IOException {
+        final TableRowImpl walkerRow = this.walkerRow(1L, -2000L, Long.MAX_VALUE);
+        final TableRowImpl bulkRow =
+                this.bulkTable.appendFloatRow(null, 1L, -2000L, Long.MAX_VALUE);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(bulkRow));
+    }
+
+    @Test
+    public void testDataStyle() throws IOException {
+        final FloatStyle floatStyle =
+                new FloatStyleBuilder("float3", Locale.US).decimalPlaces(3).build();
+        final TableRowImpl walkerRow = this.walkerTable.nextRow();
+        for (int c = 0; c < 2; c++) {
+            final TableCell cell = walkerRow.getOrCreateCell(c);
+            cell.setFloatValue(c);
+            cell.setDataStyle(floatStyle);
+        }
+        final TableRowImpl bulkRow = this.bulkTable.appendFloatRow(floatStyle, 0, 1);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(bulkRow));
+    }
+
+    @Test
+    public void testColumnStyle() throws IOException {
+        this.bulkTable.appendFloatRow(null, 1, 2);
+        final TableColumnStyle columnStyle =
+                TableColumnStyle.builder("col").defaultCellStyle(this.boldStyle).build();
+        this.walkerTable.setColumnStyle(1, columnStyle);
+        this.bulkTable.setColumnStyle(1, columnStyle);
+
+        final TableRowImpl walkerRow = this.walkerRow(1L, 2L);
+        final TableRowImpl bulkRow = this.bulkTable.appendFloatRow(null, 1, 2);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(bulkRow));
+    }
+
+    @Test
+    public void testDataStyleOverColumnDataStyle() throws IOException {
+        final FloatStyle columnFloatStyle =
+                new FloatStyleBuilder("float1", Locale.US).decimalPlaces(1).build();
+        final FloatStyle floatStyle =
+                new FloatStyleBuilder("float3", Locale.US).decimalPlaces(3).build();
+        final TableCellStyle cellStyle =
+                TableCellStyle.builder("col-cell").dataStyle(columnFloatStyle).build();
+        final TableColumnStyle columnStyle =
+                TableColumnStyle.builder("col").defaultCellStyle(cellStyle).build();
+        this.walkerTable.setColumnStyle(0, columnStyle);
+        this.bulkTable.setColumnStyle(0, columnStyle);
+
+        final TableRowImpl walkerRow = this.walkerTable.nextRow();
+        final TableCell walkerCell = walkerRow.getOrCreateCell(0);
+        walkerCell.setFloatValue(1.0);
+        walkerCell.setDataStyle(floatStyle);
+        final TableRowImpl bulkRow = this.bulkTable.appendFloatRow(floatStyle, 1.0);
+        final String bulkXML = this.toXML(bulkRow);
+        Assert.assertEquals(this.toXML(walkerRow), bulkXML);
+        final TableRowImpl implicitRow = this.bulkTable.appendFloatRow(null, 1.0);
+        Assert.assertNotEquals(this.toXML(implicitRow), bulkXML);
+    }
+
+    @Test
+    public void testRowDefaultCellStyle() throws IOException {
+        final TableRowImpl walkerRow = this.walkerTable.nextRow();
+        walkerRow.setDefaultCellStyle(this.boldStyle);
+        walkerRow.getOrCreateCell(0).setFloatValue(1);
+        final TableRowImpl bulkRow = this.bulkTable.nextRow();
+        bulkRow.setDefaultCellStyle(this.boldStyle);
+        bulkRow.setFloatValues(null, 1L);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(bulkRow));
+    }
+
+    @Test
+    public void testExistingCell() throws IOException {
+        final TableRowImpl walkerRow = this.walkerTable.nextRow();
+        walkerRow.getOrCreateCell(1).setStyle(this.boldStyle);
+        walkerRow.getOrCreateCell(0).setFloatValue(1);
+        walkerRow.getOrCreateCell(1).setFloatValue(2);
+        final TableRowImpl bulkRow = this.bulkTable.nextRow();
+        bulkRow.getOrCreateCell(1).setStyle(this.boldStyle);
+        bulkRow.setValues(1, 2);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(bulkRow));
+    }
+
+    private TableRowImpl walkerRow(final Object... values) throws IOException {
+        final TableRowImpl row = this.walkerTable.nextRow();
+        for (int c = 0; c < values.length; c++) {
+            row.getOrCreateCell(c).setCellValue(this.converter.from(values[c]));
+        }
+        return row;
+    }
+
+    private String toXML(final TableRowImpl row) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        row.appendXMLToTable(this.xmlUtil, sb);
+        return sb.toString();
+    }
+}
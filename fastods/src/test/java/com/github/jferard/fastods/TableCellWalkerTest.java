@@ -76,7 +76,7 @@ public class TableCellWalkerTest {
         PowerMock.resetAll();
         this.initWalker(0);
         EasyMock.expect(this.table.getRow(1)).andReturn(this.row);
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -90,7 +90,7 @@ public class TableCellWalkerTest {
         PowerMock.resetAll();
         this.initWalker(0);
         EasyMock.expect(this.table.getRow(10)).andReturn(this.row);
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -104,7 +104,7 @@ public class TableCellWalkerTest {
         PowerMock.resetAll();
         this.initWalker(0);
         EasyMock.expect(this.table.getRow(10)).andReturn(this.row);
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -119,7 +119,7 @@ public class TableCellWalkerTest {
         PowerMock.resetAll();
         this.initWalker(0);
         EasyMock.expect(this.table.getRow(10)).andReturn(this.row);
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -135,9 +135,9 @@ public class TableCellWalkerTest {
         PowerMock.resetAll();
         this.initWalker(0);
         EasyMock.expect(this.table.getRow(10)).andReturn(this.row);
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
         EasyMock.expect(this.table.getRow(9)).andReturn(this.row);
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -153,7 +153,7 @@ public class TableCellWalkerTest {
         this.initWalker(0);
         EasyMock.expect(this.table.getRowCount()).andReturn(7);
         EasyMock.expect(this.table.getRow(6)).andReturn(this.row);
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -167,7 +167,7 @@ public class TableCellWalkerTest {
         PowerMock.resetAll();
         this.initWalker(0);
         EasyMock.expect(this.row.getColumnCount()).andReturn(6);
-        EasyMock.expect(this.row.getOrCreateCell(5)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(5)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -207,7 +207,7 @@ public class TableCellWalkerTest {
         PowerMock.resetAll();
         this.to(0, 8);
         this.cell.setBooleanValue(true);
-        expect(this.row.getOrCreateCell(9)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(9)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -225,7 +225,7 @@ public class TableCellWalkerTest {
         PowerMock.resetAll();
         this.to(0, 8);
         this.cell.setText(t);
-        expect(this.row.getOrCreateCell(9)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(9)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -446,7 +446,7 @@ public class TableCellWalkerTest {
     public final void testNext() throws IOException {
         PowerMock.resetAll();
         this.to(0, 10);
-        EasyMock.expect(this.row.getOrCreateCell(11)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(11)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -460,7 +460,7 @@ public class TableCellWalkerTest {
     public final void testPrevious() throws IOException {
         PowerMock.resetAll();
         this.to(0, 5);
-        expect(this.row.getOrCreateCell(4)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(4)).andReturn(this.cell);
         this.cell.setBooleanValue(true);
 
         PowerMock.replayAll();
@@ -748,7 +748,7 @@ public class TableCellWalkerTest {
 
         PowerMock.resetAll();
         this.initWalker(0);
-        EasyMock.expect(this.row.getOrCreateCell(1)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(1)).andReturn(this.cell);
         this.table.setColumnStyle(1, tcs);
 
         PowerMock.replayAll();
@@ -823,7 +823,7 @@ public class TableCellWalkerTest {
         PowerMock.resetAll();
         this.initWalker(0);
         EasyMock.expect(this.table.getRow(1)).andReturn(this.row);
-        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        EasyMock.expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
 
         PowerMock.replayAll();
         this.cellWalker = new TableCellWalker(this.table);
@@ -941,12 +941,12 @@ public class TableCellWalkerTest {
 
     private void to(final int r, final int c) throws IOException {
         this.initWalker(r);
-        expect(this.row.getOrCreateCell(c)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(c)).andReturn(this.cell);
     }
 
     private void initWalker(final int r) throws IOException {
         expect(this.table.getRow(r)).andReturn(this.row);
-        expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        expect(this.row.getOrCreateWalkerCell(0)).andReturn(this.cell);
     }
 
 }
@@ -0,0 +1,252 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.SimpleLength;
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TableRowStyle;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.zip.ZipFile;
+
+public class TableRowRecyclingTest {
+    private OdsFactory odsFactory;
+    private TableCellStyle cellStyle;
+    private TableRowStyle rowStyle;
+
+    @Before
+    public void setUp() {
+        this.odsFactory = OdsFactory.create(Logger.getLogger("recycling"), Locale.US);
+        this.cellStyle = TableCellStyle.builder("bold").fontWeightBold().build();
+        this.rowStyle = TableRowStyle.builder("tall").rowHeight(SimpleLength.cm(1.0)).build();
+    }
+
+    @Test
+    public void testSameContent() throws IOException {
+        Assert.assertEquals(this.write(false), this.write(true));
+    }
+
+    @Test
+    public void testSameContentWithRecycledCells() throws IOException {
+        Assert.assertEquals(this.walk(false), this.walk(true));
+    }
+
+    @Test
+    public void testStaleRow() throws IOException {
+        final NamedOdsFileWriter writer = this.odsFactory.createWriter(this.createTempFile());
+        final Table table = writer.document().addTable("t");
+        table.setRowRecycling(true);
+        TableRowImpl staleRow = null;
+        for (int r = 0; r <= 8192; r++) {
+            final TableRowImpl row = table.nextRow();
+            row.setValues(r);
+            if (r == 8191) {
+                staleRow = row;
+            }
+        }
+        try {
+            staleRow.getOrCreateCell(1);
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("The row 8191 was flushed and can't be used anymore",
+                    e.getMessage());
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testStaleCell() throws IOException {
+        final NamedOdsFileWriter writer = this.odsFactory.createWriter(this.createTempFile());
+        final Table table = writer.document().addTable("t");
+        table.setRowRecycling(true);
+        TableCell staleCell = null;
+        for (int r = 0; r <= 8192; r++) {
+            final TableCell cell = table.nextRow().getOrCreateCell(0);
+            cell.setFloatValue(r);
+            if (r == 0) {
+                staleCell = cell;
+            }
+        }
+        try {
+            staleCell.setStringValue("stale");
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("The cell 0/0 was flushed and can't be used anymore",
+                    e.getMessage());
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testStaleRowAfterReuse() throws IOException {
+        final File file = this.createTempFile();
+        final NamedOdsFileWriter writer = this.odsFactory.createWriter(file);
+        final Table table = writer.document().addTable("t");
+        table.setRowRecycling(true);
+        final TableRowImpl staleRow = table.nextRow();
+        staleRow.setValues("s0");
+        final List<TableRowImpl> rows = new ArrayList<TableRowImpl>();
+        for (int r = 1; r <= 16385; r++) {
+            final TableRowImpl row = table.nextRow();
+            row.setValues("s" + r);
+            rows.add(row);
+        }
+        for (final TableRowImpl row : rows) {
+            Assert.assertNotSame(staleRow, row);
+        }
+        try {
+            staleRow.getOrCreateCell(1).setStringValue("STALE");
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("The row 0 was flushed and can't be used anymore",
+                    e.getMessage());
+        }
+        writer.save();
+        writer.close();
+        final String content = this.getContent(file);
+        Assert.assertFalse(content.contains("STALE"));
+        Assert.assertTrue(content.contains("s16385"));
+    }
+
+    @Test
+    public void testStaleCellAtTheEndOfTheTable() throws IOException {
+        final NamedOdsFileWriter writer = this.odsFactory.createWriter(this.createTempFile());
+        final Table table = writer.document().addTable("t");
+        table.setRowRecycling(true);
+        final TableCell staleCell = table.nextRow().getOrCreateCell(0);
+        staleCell.setFloatValue(1);
+        writer.save();
+        try {
+            staleCell.setStringValue("stale");
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("The cell 0/0 was flushed and can't be used anymore",
+                    e.getMessage());
+        } finally {
+            writer.close();
+        }
+    }
+
+    private String write(final boolean rowRecycling) throws IOException {
+        final File file = this.createTempFile();
+        final NamedOdsFileWriter writer = this.odsFactory.createWriter(file);
+        final Table table = writer.document().addTable("t");
+        table.setRowRecycling(rowRecycling);
+        for (int r = 0; r < 30000; r++) {
+            final TableRowImpl row = table.nextRow();
+            final int width = 1 + r % 7;
+            for (int c = 0; c < width; c++) {
+                final TableCell cell = row.getOrCreateCell(c * (1 + r % 3));
+                switch ((r + c) % 4) {
+                    case 0:
+                        cell.setStringValue("s" + r);
+                        break;
+                    case 1:
+                        cell.setFloatValue(r * c);
+                        break;
+                    case 2:
+                        cell.setDateValue(new Date(1000000L * r));
+                        break;
+                    default:
+                        cell.setCurrencyValue(r, "EUR");
+                        cell.setStyle(this.cellStyle);
+                        break;
+                }
+            }
+            if (r % 11 == 0) {
+                row.setRowStyle(this.rowStyle);
+            }
+            if (r % 13 == 0) {
+                row.setDefaultCellStyle(this.cellStyle);
+            }
+            if (r % 97 == 0) {
+                row.getOrCreateCell(10).setCellMerge(1, 2);
+            }
+        }
+        writer.save();
+        return this.getContent(file);
+    }
+
+    private String walk(final boolean rowRecycling) throws IOException {
+        final File file = this.createTempFile();
+        final NamedOdsFileWriter writer = this.odsFactory.createWriter(file);
+        final Table table = writer.document().addTable("t");
+        table.setRowRecycling(rowRecycling);
+        final TableCellWalker walker = table.getWalker();
+        for (int r = 0; r < 30000; r++) {
+            final int width = 1 + r % 7;
+            for (int c = 0; c < width; c++) {
+                walker.to(c * (1 + r % 3));
+                if ((r + c) % 2 == 0) {
+                    walker.setStringValue("s" + r);
+                } else {
+                    walker.setFloatValue(r * c);
+                    walker.setStyle(this.cellStyle);
+                }
+            }
+            walker.nextRow();
+        }
+        writer.save();
+        return this.getContent(file);
+    }
+
+    private String getContent(final File file) throws IOException {
+        final ZipFile zipFile = new ZipFile(file);
+        try {
+            final InputStream in = zipFile.getInputStream(zipFile.getEntry("content.xml"));
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int len = in.read(buffer);
+            while (len != -1) {
+                out.write(buffer, 0, len);
+                len = in.read(buffer);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    private File createTempFile() throws IOException {
+        final File file = File.createTempFile("fastods-recycling", ".ods");
+        file.deleteOnExit();
+        if (!file.delete()) {
+            throw new IOException("Can't delete " + file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.CellType;
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+public class TableRowSourceTest {
+    private XMLUtil xmlUtil;
+    private Table rowTable;
+    private Table sourceTable;
+    private TableSchema schema;
+
+    @Before
+    public void setUp() throws IOException {
+        final OdsFactory odsFactory = OdsFactory.create(Logger.getLogger("source"), Locale.US);
+        final OdsDocument document = odsFactory.createWriter().document();
+        this.rowTable = document.addTable("rows");
+        this.sourceTable = document.addTable("source");
+        this.xmlUtil = XMLUtil.create();
+        final TableCellStyle boldStyle = TableCellStyle.builder("bold").fontWeightBold().build();
+        this.schema = TableSchema.builder().currency("EUR").column("a", CellType.FLOAT)
+                .column("b", CellType.STRING, boldStyle, null).column("c", CellType.DATE)
+                .column("d", CellType.CURRENCY).column("e", CellType.BOOLEAN).build();
+        this.rowTable.setSchema(this.schema);
+        this.sourceTable.setSchema(this.schema);
+    }
+
+    @Test
+    public void testSource() throws IOException {
+        final List<Object[]> values = Arrays.asList(new Object[]{1, "a&b", new Date(0), 10, true},
+                new Object[]{3, "y", new Date(1000), 20, false},
+                new Object[]{2.5, "x"}, new Object[]{});
+
+        this.rowTable.appendHeaderRow(null);
+        for (final Object[] rowValues : values) {
+            this.rowTable.appendRow(rowValues);
+        }
+        this.sourceTable.appendHeaderRow(null);
+        this.sourceTable.setRowSource(values.iterator());
+
+        Assert.assertEquals(this.toXML(this.rowTable).replace("\"rows\"", "\"source\""),
+                this.toXML(this.sourceTable));
+    }
+
+    @Test
+    public void testNullValues() throws IOException {
+        final List<Object[]> values =
+                Collections.singletonList(new Object[]{null, null, null, 10, null});
+        this.sourceTable.setRowSource(values.iterator());
+
+        final String xml = this.toXML(this.sourceTable);
+        Assert.assertTrue(xml.contains("<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell table:number-columns-repeated=\"3\"/>" +
+                "<table:table-cell table:style-name=\"Default-_-currency-data\" " +
+                "office:value-type=\"currency\" office:value=\"10\" office:currency=\"EUR\"/>" +
+                "</table:table-row>"));
+    }
+
+    @Test
+    public void testSourceReadOnce() throws IOException {
+        final List<Object[]> values = Collections.singletonList(new Object[]{1, "a"});
+        this.sourceTable.setRowSource(values.iterator());
+        final String xml = this.toXML(this.sourceTable);
+
+        Assert.assertTrue(xml.contains("office:value=\"1\""));
+        Assert.assertFalse(this.toXML(this.sourceTable).contains("office:value=\"1\""));
+    }
+
+    @Test
+    public void testPipelinedSource() throws IOException {
+        final List<Object[]> values = new ArrayList<Object[]>();
+        for (int i = 0; i < 100; i++) {
+            values.add(new Object[]{i, "a<" + i % 7, new Date(i * 1000L), i % 3 == 0 ? null : i,
+                    i % 2 == 0});
+        }
+        this.rowTable.setRowSource(values.iterator());
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            this.sourceTable.setRowSource(values.iterator(), executor, 7);
+            Assert.assertEquals(this.toXML(this.rowTable).replace("\"rows\"", "\"source\""),
+                    this.toXML(this.sourceTable));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPipelinedSourceError() throws IOException {
+        final List<Object[]> values = new ArrayList<Object[]>();
+        for (int i = 0; i < 100; i++) {
+            values.add(new Object[]{i});
+        }
+        values.add(new Object[]{"not a number"});
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            this.sourceTable.setRowSource(values.iterator(), executor, 7);
+            this.toXML(this.sourceTable);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPipelineDepth() {
+        final ExecutorService fixedExecutor = Executors.newFixedThreadPool(3);
+        final ExecutorService cachedExecutor = Executors.newCachedThreadPool();
+        try {
+            Assert.assertEquals(6, RowSourceAppender.getPipelineDepth(fixedExecutor));
+            Assert.assertEquals(2 * Runtime.getRuntime().availableProcessors(),
+                    RowSourceAppender.getPipelineDepth(cachedExecutor));
+        } finally {
+            fixedExecutor.shutdown();
+            cachedExecutor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPipelinedSourceBatchSize() {
+        final ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            this.sourceTable
+                    .setRowSource(Collections.<Object[]>emptyList().iterator(), executor, 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSourceWithoutSchema() {
+        this.sourceTable.setSchema(null);
+        this.sourceTable.setRowSource(Collections.<Object[]>emptyList().iterator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyValues() throws IOException {
+        final List<Object[]> values = Collections.singletonList(new Object[]{1, 2, 3, 4, 5, 6});
+        this.sourceTable.setRowSource(values.iterator());
+        this.toXML(this.sourceTable);
+    }
+
+    private String toXML(final Table table) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        table.appendXMLContent(this.xmlUtil, sb);
+        return sb.toString();
+    }
+}
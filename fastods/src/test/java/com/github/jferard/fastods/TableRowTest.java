@@ -235,6 +235,28 @@ public class TableRowTest {
                 "\"></table:table-row>");
     }
 
+    @Test
+    public final void testSparseRow() throws IOException {
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        this.row.getOrCreateCell(2).setStringValue("a");
+        this.row.getOrCreateCell(15000).setStringValue("b");
+        this.row.getOrCreateCell(15003).setStringValue("c");
+
+        PowerMock.verifyAll();
+        Assert.assertEquals(15004, this.row.getColumnCount());
+        this.assertTableXMLEquals(
+                "<table:table-row table:style-name=\"ro1\">" + "<table:table-cell " +
+                        "table:number-columns-repeated=\"2\"/>" +
+                        "<table:table-cell office:value-type=\"string\" " +
+                        "office:string-value=\"a\"/>" + "<table:table-cell " +
+                        "table:number-columns-repeated=\"14997\"/>" +
+                        "<table:table-cell office:value-type=\"string\" " +
+                        "office:string-value=\"b\"/>" + "<table:table-cell " +
+                        "table:number-columns-repeated=\"2\"/>" +
+                        "<table:table-cell office:value-type=\"string\" " +
+                        "office:string-value=\"c\"/>" + "</table:table-row>");
+    }
 
     private void assertTableXMLEquals(final String xml) throws IOException {
         final StringBuilder sb = new StringBuilder();
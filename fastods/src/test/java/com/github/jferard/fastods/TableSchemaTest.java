@@ -0,0 +1,187 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.CellType;
+import com.github.jferard.fastods.datastyle.FloatStyle;
+import com.github.jferard.fastods.datastyle.FloatStyleBuilder;
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TableColumnStyle;
+import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+public class TableSchemaTest {
+    private XMLUtil xmlUtil;
+    private Table walkerTable;
+    private Table schemaTable;
+    private TableCellStyle boldStyle;
+    private FloatStyle floatStyle;
+
+    @Before
+    public void setUp() throws IOException {
+        final OdsFactory odsFactory = OdsFactory.create(Logger.getLogger("schema"), Locale.US);
+        final OdsDocument document = odsFactory.createWriter().document();
+        this.walkerTable = document.addTable("walker");
+        this.schemaTable = document.addTable("schema");
+        this.xmlUtil = XMLUtil.create();
+        this.boldStyle = TableCellStyle.builder("bold").fontWeightBold().build();
+        this.floatStyle = new FloatStyleBuilder("float3", Locale.US).decimalPlaces(3).build();
+    }
+
+    @Test
+    public void testFastPath() throws IOException {
+        this.schemaTable.setSchema(TableSchema.builder().column("a", CellType.FLOAT)
+                .column("b", CellType.STRING, this.boldStyle, null)
+                .column("c", CellType.FLOAT, null, this.floatStyle)
+                .column("d", CellType.DATE).column("e", CellType.BOOLEAN)
+                .column("f", CellType.PERCENTAGE).build());
+        final Date date = new Date(0);
+
+        final TableRowImpl walkerRow = this.walkerTable.nextRow();
+        walkerRow.getOrCreateCell(0).setFloatValue(1);
+        walkerRow.getOrCreateCell(1).setStringValue("x");
+        walkerRow.getOrCreateCell(1).setStyle(this.boldStyle);
+        walkerRow.getOrCreateCell(2).setFloatValue(2.5);
+        walkerRow.getOrCreateCell(2).setDataStyle(this.floatStyle);
+        walkerRow.getOrCreateCell(3).setDateValue(date);
+        walkerRow.getOrCreateCell(4).setBooleanValue(true);
+        walkerRow.getOrCreateCell(5).setPercentageValue(0.5);
+        final TableRowImpl schemaRow = this.schemaTable.appendRow(1, "x", 2.5, date, true, 0.5);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(schemaRow));
+    }
+
+    @Test
+    public void testSlowPath() throws IOException {
+        this.schemaTable.setSchema(TableSchema.builder().currency("EUR")
+                .column("a", CellType.CURRENCY).column("b", CellType.FLOAT)
+                .column("c", CellType.STRING, null, null, new ObjectToCellValueConverter("USD") {
+                    @Override
+                    public CellValue from(final CellType type, final Object o) {
+                        return new StringValue("<" + o + ">");
+                    }
+                }).build());
+
+        final TableRowImpl walkerRow = this.walkerTable.nextRow();
+        walkerRow.getOrCreateCell(0).setCurrencyValue(10, "EUR");
+        walkerRow.getOrCreateCell(1).setVoidValue();
+        walkerRow.getOrCreateCell(2).setStringValue("<1>");
+        final TableRowImpl schemaRow = this.schemaTable.appendRow(10, null, 1);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(schemaRow));
+    }
+
+    @Test
+    public void testColumnStyle() throws IOException {
+        this.schemaTable.setSchema(TableSchema.builder().column("a", CellType.FLOAT).build());
+        final TableColumnStyle columnStyle =
+                TableColumnStyle.builder("col").defaultCellStyle(this.boldStyle).build();
+        this.walkerTable.setColumnStyle(0, columnStyle);
+        this.schemaTable.setColumnStyle(0, columnStyle);
+
+        final TableRowImpl walkerRow = this.walkerTable.nextRow();
+        walkerRow.getOrCreateCell(0).setFloatValue(1);
+        final TableRowImpl schemaRow = this.schemaTable.appendRow(1);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(schemaRow));
+    }
+
+    @Test
+    public void testRowDefaultCellStyle() throws IOException {
+        this.schemaTable.setSchema(TableSchema.builder().column("a", CellType.FLOAT).build());
+
+        final TableRowImpl walkerRow = this.walkerTable.nextRow();
+        walkerRow.setDefaultCellStyle(this.boldStyle);
+        walkerRow.getOrCreateCell(0).setFloatValue(1);
+        final TableRowImpl schemaRow = this.schemaTable.nextRow();
+        schemaRow.setDefaultCellStyle(this.boldStyle);
+        schemaRow.setValues(1);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(schemaRow));
+    }
+
+    @Test
+    public void testRowDefaultCellStyleResolvedOnce() throws IOException {
+        this.schemaTable.setSchema(TableSchema.builder().column("a", CellType.FLOAT).build());
+        final TableCellStyle style = this.schemaTable.getSchemaStyle(0, this.boldStyle);
+        Assert.assertNotNull(style);
+        Assert.assertSame(style, this.schemaTable.getSchemaStyle(0, this.boldStyle));
+        Assert.assertNotSame(style, this.schemaTable.getSchemaStyle(0));
+    }
+
+    @Test
+    public void testHeaderRow() throws IOException {
+        this.schemaTable.setSchema(
+                TableSchema.builder().column("a", CellType.FLOAT).column("b", CellType.DATE)
+                        .build());
+
+        final TableRowImpl walkerRow = this.walkerTable.nextRow();
+        walkerRow.getOrCreateCell(0).setStringValue("a");
+        walkerRow.getOrCreateCell(0).setStyle(this.boldStyle);
+        walkerRow.getOrCreateCell(1).setStringValue("b");
+        walkerRow.getOrCreateCell(1).setStyle(this.boldStyle);
+        final TableRowImpl schemaRow = this.schemaTable.appendHeaderRow(this.boldStyle);
+        Assert.assertEquals(this.toXML(walkerRow), this.toXML(schemaRow));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testHeaderRowWithoutSchema() throws IOException {
+        this.schemaTable.appendHeaderRow(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongType() throws IOException {
+        this.schemaTable.setSchema(TableSchema.builder().column("a", CellType.FLOAT).build());
+        this.schemaTable.appendRow("not a number");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyValues() throws IOException {
+        this.schemaTable.setSchema(TableSchema.builder().column("a", CellType.FLOAT).build());
+        this.schemaTable.appendRow(1, 2);
+    }
+
+    @Test
+    public void testColumn() {
+        final TableSchema schema =
+                TableSchema.builder().column("a", CellType.FLOAT, this.boldStyle, this.floatStyle)
+                        .build();
+        Assert.assertEquals(1, schema.getColumnCount());
+        final TableSchemaColumn column = schema.getColumn(0);
+        Assert.assertEquals("a", column.getName());
+        Assert.assertEquals(CellType.FLOAT, column.getType());
+        Assert.assertEquals(this.boldStyle, column.getStyle());
+        Assert.assertEquals(this.floatStyle, column.getDataStyle());
+        Assert.assertNull(column.getConverter());
+    }
+
+    private String toXML(final TableRowImpl row) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        row.appendXMLToTable(this.xmlUtil, sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.XMLUTF8Writer;
+import com.github.jferard.fastods.util.XMLUtil;
+import com.github.jferard.fastods.util.ZipUTF8Writer;
+import com.github.jferard.fastods.util.ZipUTF8WriterImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class TableSpillSegmentTest {
+    private Logger logger;
+    private OdsFactory factory;
+
+    @Before
+    public void setUp() {
+        this.logger = Logger.getLogger("spill");
+        this.factory = OdsFactory.builder(this.logger, Locale.US).threadSafe().build();
+    }
+
+    @Test
+    public void testSegment() throws IOException {
+        final Table table = this.factory.createWriter().document().createTable("t");
+        final TableSpillSegment segment =
+                TableSpillSegment.create(XMLUtil.create(), table, null);
+        this.fill(table, 2000);
+        Assert.assertFalse(segment.isEnded());
+        segment.endTable();
+        Assert.assertTrue(segment.isEnded());
+        segment.endTable();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ZipUTF8Writer writer = ZipUTF8WriterImpl.builder().build(out);
+        writer.putNextEntry(new ZipEntry("content.xml"));
+        segment.flushInto(XMLUtil.create(), writer);
+        writer.closeEntry();
+        writer.close();
+
+        final String xml = this.readEntry(new ByteArrayInputStream(out.toByteArray()));
+        Assert.assertTrue(xml.startsWith("<table:table table:name=\"t\""));
+        Assert.assertTrue(xml.contains("office:string-value=\"1999&amp;\""));
+        Assert.assertTrue(xml.endsWith("</table:table>"));
+    }
+
+    @Test
+    public void testFileDeletedOnError() throws IOException {
+        final File file = File.createTempFile("spill", ".xml");
+        final Writer fileWriter = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            fileWriter.write("<table:table-row/>");
+        } finally {
+            fileWriter.close();
+        }
+        final TableSpillSegment segment =
+                new TableSpillSegment(XMLUtil.create(), null, null, file, null);
+        try {
+            segment.flushXMLInto(XMLUtil.create(), new FailingWriter());
+            Assert.fail();
+        } catch (final IOException e) {
+            Assert.assertEquals("disk full", e.getMessage());
+        }
+        Assert.assertFalse(file.exists());
+    }
+
+    @Test
+    public void testTablesEndedInReverseOrder() throws IOException {
+        final String expected = this.save(false);
+        Assert.assertEquals(expected, this.save(true));
+        Assert.assertTrue(expected.indexOf("table:name=\"t0\"") <
+                expected.indexOf("table:name=\"t1\""));
+    }
+
+    private String save(final boolean concurrent) throws IOException {
+        final File file = File.createTempFile("spill", ".ods");
+        file.delete();
+        try {
+            final NamedOdsFileWriter writer = this.factory.createWriter(file);
+            final NamedOdsDocument document = writer.document();
+            if (concurrent) {
+                document.streamTablesConcurrently();
+                final Table t0 = document.addTable("t0");
+                final Table t1 = document.addTable("t1");
+                final Table t2 = document.addTable("t2");
+                this.fill(t2, 10);
+                this.fill(t1, 3000);
+                document.endTable(t1);
+                this.fill(t0, 2000);
+                document.endTable(t0);
+            } else {
+                this.fill(document.addTable("t0"), 2000);
+                this.fill(document.addTable("t1"), 3000);
+                this.fill(document.addTable("t2"), 10);
+            }
+            writer.save();
+            writer.close();
+            return this.readEntry(new FileInputStream(file));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private void fill(final Table table, final int rowCount) throws IOException {
+        final TableCellWalker walker = table.getWalker();
+        for (int r = 0; r < rowCount; r++) {
+            walker.setFloatValue(r);
+            walker.next();
+            walker.setStringValue(r + "&");
+            walker.nextRow();
+        }
+    }
+
+    private String readEntry(final InputStream in) throws IOException {
+        final ZipInputStream zis = new ZipInputStream(in);
+        try {
+            ZipEntry entry = zis.getNextEntry();
+            while (entry != null && !entry.getName().equals("content.xml")) {
+                entry = zis.getNextEntry();
+            }
+            Assert.assertNotNull(entry);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int count = zis.read(buffer);
+            while (count != -1) {
+                out.write(buffer, 0, count);
+                count = zis.read(buffer);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            zis.close();
+        }
+    }
+
+    private static class FailingWriter implements XMLUTF8Writer {
+        @Override
+        public Appendable append(final CharSequence csq) throws IOException {
+            throw new IOException("disk full");
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end)
+                throws IOException {
+            throw new IOException("disk full");
+        }
+
+        @Override
+        public Appendable append(final char c) throws IOException {
+            throw new IOException("disk full");
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -354,7 +354,7 @@ public class TableTest {
 
         PowerMock.resetAll();
         EasyMock.expect(this.tb.getRow(this.tableWithMockBuilder, this.ta, 0)).andReturn(row);
-        EasyMock.expect(row.getOrCreateCell(0)).andReturn(cell);
+        EasyMock.expect(row.getOrCreateWalkerCell(0)).andReturn(cell);
 
         PowerMock.replayAll();
         this.tableWithMockBuilder.getWalker();
@@ -48,6 +48,9 @@ public class DataStyleTestHelper {
             final DataStyleBuilder<S, T> builder) {
         final S style = builder.build();
         Assert.assertEquals("test", style.getName());
+        Assert.assertEquals(" style:data-style-name=\"test\"",
+                style.getNameAttribute().toString());
+        Assert.assertSame(style.getNameAttribute(), style.getNameAttribute());
         Assert.assertTrue(style.isHidden());
         Assert.assertFalse(builder.visible().build().isHidden());
 
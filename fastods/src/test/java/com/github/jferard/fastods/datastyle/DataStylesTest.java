@@ -140,6 +140,20 @@ public class DataStylesTest {
                 ds.getTimeDataStyle());
     }
 
+    @Test
+    public void testDefaultDataStyles() throws IOException {
+        final DataStyles usDataStyles = DataStyles.defaultDataStyles(Locale.US);
+        Assert.assertSame(usDataStyles, DataStyles.defaultDataStyles(Locale.US));
+        Assert.assertNotSame(usDataStyles, DataStyles.defaultDataStyles(Locale.FRANCE));
+
+        final String xml = "<number:number-style style:name=\"float-data\" " +
+                "number:language=\"en\" number:country=\"US\" style:volatile=\"true\">" +
+                "<number:number number:decimal-places=\"2\" number:min-integer-digits=\"1\"/>" +
+                "</number:number-style>";
+        TestHelper.assertXMLEquals(xml, usDataStyles.getFloatDataStyle());
+        TestHelper.assertXMLEquals(xml, usDataStyles.getFloatDataStyle());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testNull() {
         new DataStyles(null, this.ds.getCurrencyDataStyle(), this.ds.getDateDataStyle(),
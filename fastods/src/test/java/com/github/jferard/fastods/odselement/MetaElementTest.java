@@ -77,6 +77,16 @@ public class MetaElementTest {
                 string);
     }
 
+    @Test
+    public void testFormatDateTime() {
+        Assert.assertEquals("1970-01-01T00:00:00", MetaElementBuilder.formatDateTime(0));
+        Assert.assertEquals("1969-12-31T23:59:59", MetaElementBuilder.formatDateTime(-1));
+        Assert.assertEquals("2000-02-29T23:59:59",
+                MetaElementBuilder.formatDateTime(951868799999L));
+        Assert.assertEquals("2017-12-31T18:12:59",
+                MetaElementBuilder.formatDateTime(1514743979000L));
+    }
+
     private String getString(final MetaElement element) throws IOException {
         final ZipUTF8WriterMockHandler handler = ZipUTF8WriterMockHandler.create();
         final ZipUTF8Writer instance = handler.getInstance(ZipUTF8Writer.class);
@@ -37,6 +37,8 @@ import org.junit.Test;
 import org.powermock.api.easymock.PowerMock;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.logging.Logger;
 
@@ -111,6 +113,54 @@ public class StylesContainerTest {
     }
 
     // CONTENT
+    @Test
+    public final void testConcurrentRegistration() throws IOException, InterruptedException {
+        final List<TableCellStyle> styles = new ArrayList<TableCellStyle>();
+        for (int i = 0; i < 50; i++) {
+            styles.add(TableCellStyle.builder("style" + i).fontWeightBold().build());
+        }
+        final StylesContainerImpl sequentialContainer =
+                StylesContainerImpl.createConcurrent(this.logger);
+        for (int i = styles.size() - 1; i >= 0; i--) {
+            sequentialContainer.addContentFontFaceContainerStyle(styles.get(i));
+        }
+
+        final StylesContainerImpl concurrentContainer =
+                StylesContainerImpl.createConcurrent(this.logger);
+        final List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t * 7;
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < styles.size(); i++) {
+                        concurrentContainer.addContentFontFaceContainerStyle(
+                                styles.get((i + offset) % styles.size()));
+                        concurrentContainer.addChildCellStyle(styles.get(i),
+                                StylesContainerTest.this.ds1);
+                    }
+                }
+            });
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        for (final TableCellStyle style : styles) {
+            sequentialContainer.addChildCellStyle(style, this.ds1);
+        }
+
+        Assert.assertEquals(50, concurrentContainer.getAnonymousStyleCount());
+        final StringBuilder expected = new StringBuilder();
+        sequentialContainer.writeStylesCommonStyles(this.util, expected);
+        final StringBuilder actual = new StringBuilder();
+        concurrentContainer.writeStylesCommonStyles(this.util, actual);
+        Assert.assertEquals(expected.toString(), actual.toString());
+        Assert.assertTrue(actual.indexOf("style0") < actual.indexOf("style1"));
+    }
+
     @Test
     public final void testAddDataStyle() {
         final DataStyle dataStyle = new BooleanStyleBuilder("test", this.locale).build();
@@ -76,6 +76,17 @@ public class LocalCellAddressParserTest {
         this.parser.parse("0A");
     }
 
+    @Test
+    public void testParsePositionErrorIsLocal() {
+        try {
+            this.parser.parsePosition("t.b2", 2, 4);
+            Assert.fail();
+        } catch (final ParseException e) {
+            Assert.assertEquals("Expected letter or $: [b]2", e.getMessage());
+            Assert.assertEquals(0, e.getErrorOffset());
+        }
+    }
+
     @Test
     public void testA1A() throws ParseException {
         this.exception.expect(ParseException.class);
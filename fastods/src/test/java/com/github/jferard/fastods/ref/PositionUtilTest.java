@@ -199,4 +199,81 @@ public class PositionUtilTest {
         PowerMock.verifyAll();
         Assert.assertEquals("'no problem'.A1", cellAddress);
     }
+
+    @Test
+    public final void testParsePosition() throws ParseException {
+        final long position = this.util.parsePosition("AB6666");
+        Assert.assertEquals(6665, PositionUtil.getRow(position));
+        Assert.assertEquals(27, PositionUtil.getColumn(position));
+        Assert.assertEquals(PositionUtil.toPosition(5, 1), this.util.parsePosition("$B$6"));
+        Assert.assertEquals(PositionUtil.toPosition(0, 1023),
+                this.util.parsePosition("'f.ods'#t.AMJ1"));
+    }
+
+    @Test(expected = ParseException.class)
+    public final void testParsePositionError() throws ParseException {
+        this.util.parsePosition("t.$B$6$");
+    }
+
+    @Test
+    public final void testParsePositionErrorText() throws IOException {
+        String expected = null;
+        try {
+            this.util.newCellRef("t.b2");
+            Assert.fail();
+        } catch (final ParseException e) {
+            expected = e.getMessage();
+        }
+        try {
+            this.util.parsePosition("t.b2");
+            Assert.fail();
+        } catch (final ParseException e) {
+            Assert.assertEquals("Expected letter or $: [b]2", e.getMessage());
+            Assert.assertEquals(expected, e.getMessage());
+        }
+    }
+
+    @Test
+    public final void testParsePositionQuotedTable() throws ParseException {
+        Assert.assertEquals(PositionUtil.toPosition(1, 1), this.util.parsePosition("'a''.b'.B2"));
+        Assert.assertEquals(PositionUtil.toPosition(1, 1), this.util.parsePosition("$t.B2"));
+    }
+
+    @Test(expected = ParseException.class)
+    public final void testParsePositionEmptyTable() throws ParseException {
+        this.util.parsePosition(".B2");
+    }
+
+    @Test(expected = ParseException.class)
+    public final void testParsePositionUnquotedTable() throws ParseException {
+        this.util.parsePosition("'t.B2");
+    }
+
+    @Test(expected = ParseException.class)
+    public final void testParsePositionMissingClosingQuote() throws ParseException {
+        this.util.parsePosition("'a'b'.B2");
+    }
+
+    @Test(expected = ParseException.class)
+    public final void testParsePositionMalformedFile() throws ParseException {
+        this.util.parsePosition("f'#t.B2");
+    }
+
+    @Test
+    public final void testColumnLetters() {
+        Assert.assertEquals("A", PositionUtil.getColumnLetters(0));
+        Assert.assertEquals("Z", PositionUtil.getColumnLetters(25));
+        Assert.assertEquals("AA", PositionUtil.getColumnLetters(26));
+        Assert.assertSame(PositionUtil.getColumnLetters(1023), PositionUtil.getColumnLetters(1023));
+        Assert.assertEquals("AMJ", PositionUtil.getColumnLetters(1023));
+        Assert.assertEquals("AMK", PositionUtil.getColumnLetters(1024));
+    }
+
+    @Test
+    public final void testAppendCellAddress() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        PositionUtil.appendCellAddress(sb, 9, 52);
+        Assert.assertEquals("BA10", sb.toString());
+        Assert.assertEquals("B3", this.util.toCellAddress(2, 1));
+    }
 }
@@ -28,6 +28,7 @@ import com.github.jferard.fastods.attribute.BorderStyle;
 import com.github.jferard.fastods.attribute.SimpleColor;
 import com.github.jferard.fastods.attribute.SimpleLength;
 import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -203,4 +204,12 @@ public class TableCellStyleTest {
                 "style:font-name=\"Liberation Sans\"/><style:paragraph-properties " +
                 "fo:margin=\"0cm\"/></style:style>", style);
     }
+
+    @Test
+    public final void testNameAttribute() {
+        final TableCellStyle style = TableCellStyle.builder("my-style").build();
+        Assert.assertEquals(" table:style-name=\"my-style\"",
+                style.getNameAttribute().toString());
+        Assert.assertSame(style.getNameAttribute(), style.getNameAttribute());
+    }
 }
@@ -60,7 +60,7 @@ public class FastOdsTest {
         final File f = PowerMock.createMock(File.class);
 
         PowerMock.resetAll();
-        if (FastOds.desktop != null) {
+        if (FastOds.getDesktop() != null) {
             EasyMock.expect(f.exists()).andReturn(false);
         }
 
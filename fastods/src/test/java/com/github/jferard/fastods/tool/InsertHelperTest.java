@@ -0,0 +1,188 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.tool;
+
+import com.github.jferard.fastods.AnonymousOdsFileWriter;
+import com.github.jferard.fastods.OdsDocument;
+import com.github.jferard.fastods.OdsFactory;
+import com.github.jferard.fastods.Table;
+import com.github.jferard.fastods.TableRowImpl;
+import com.github.jferard.fastods.style.GraphicStyle;
+import com.github.jferard.fastods.util.FileUtil;
+import com.github.jferard.fastods.util.OdsZipOutputStream;
+import com.github.jferard.fastods.util.RawZipEntry;
+import com.github.jferard.fastods.util.SVGRectangle;
+import com.github.jferard.fastods.util.ZipUTF8WriterImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+
+public class InsertHelperTest {
+    private static final String MEDIA_TYPE = "application/vnd.oasis.opendocument.spreadsheet";
+
+    private OdsFactory odsFactory;
+    private byte[] embedded;
+
+    @Before
+    public void setUp() throws IOException {
+        this.odsFactory = OdsFactory.create(Logger.getLogger("insert"), Locale.US);
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        final Table table = writer.document().addTable("embedded");
+        for (int r = 0; r < 100; r++) {
+            final TableRowImpl row = table.getRow(r);
+            row.getOrCreateCell(0).setStringValue("row " + r);
+            row.getOrCreateCell(1).setFloatValue(r);
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.save(out);
+        this.embedded = out.toByteArray();
+    }
+
+    @Test
+    public void testRawTransfer() throws IOException {
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        this.insertObject(writer.document());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.save(out, ZipUTF8WriterImpl.builder().odsZip());
+
+        final Map<String, RawZipEntry> sourceEntries =
+                RawZipReader.create(this.embedded).readEntries();
+        final Map<String, RawZipEntry> hostEntries =
+                RawZipReader.create(out.toByteArray()).readEntries();
+        final RawZipEntry sourceContent = sourceEntries.get("content.xml");
+        final RawZipEntry hostContent = hostEntries.get("Object 1/content.xml");
+        Assert.assertArrayEquals(sourceContent.readBytes(), hostContent.readBytes());
+        Assert.assertArrayEquals(sourceContent.inflate(), hostContent.inflate());
+        Assert.assertFalse(hostEntries.containsKey("Object 1/mimetype"));
+        Assert.assertTrue(new String(hostEntries.get("META-INF/manifest.xml").inflate(), "UTF-8")
+                .contains("manifest:full-path=\"Object 1/content.xml\" " +
+                        "manifest:media-type=\"text/xml\""));
+    }
+
+    @Test
+    public void testDefaultWriter() throws IOException {
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        this.insertObject(writer.document());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.save(out);
+
+        final Map<String, RawZipEntry> sourceEntries =
+                RawZipReader.create(this.embedded).readEntries();
+        final Map<String, RawZipEntry> hostEntries =
+                RawZipReader.create(out.toByteArray()).readEntries();
+        Assert.assertArrayEquals(sourceEntries.get("content.xml").inflate(),
+                hostEntries.get("Object 1/content.xml").inflate());
+        Assert.assertArrayEquals(sourceEntries.get("styles.xml").inflate(),
+                hostEntries.get("Object 1/styles.xml").inflate());
+    }
+
+    @Test
+    public void testFileSource() throws IOException {
+        final File source = File.createTempFile("fastods-embedded", ".ods");
+        source.deleteOnExit();
+        final FileOutputStream fos = new FileOutputStream(source);
+        try {
+            fos.write(this.embedded);
+        } finally {
+            fos.close();
+        }
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        final OdsDocument document = writer.document();
+        InsertHelper.create().insertObject(document, document.addTable("host"), "frame",
+                "Object 1", MEDIA_TYPE, "1.2", source, SVGRectangle.cm(1, 1, 7, 2),
+                GraphicStyle.builder("gs").build());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.save(out, ZipUTF8WriterImpl.builder().odsZip());
+
+        final Map<String, RawZipEntry> hostEntries =
+                RawZipReader.create(out.toByteArray()).readEntries();
+        Assert.assertArrayEquals(
+                RawZipReader.create(this.embedded).readEntries().get("meta.xml").readBytes(),
+                hostEntries.get("Object 1/meta.xml").readBytes());
+    }
+
+    @Test
+    public void testFileSourceWithDefaultWriter() throws IOException {
+        final File source = File.createTempFile("fastods-embedded", ".ods");
+        source.deleteOnExit();
+        final FileOutputStream fos = new FileOutputStream(source);
+        try {
+            fos.write(this.embedded);
+        } finally {
+            fos.close();
+        }
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        final OdsDocument document = writer.document();
+        InsertHelper.create().insertObject(document, document.addTable("host"), "frame",
+                "Object 1", MEDIA_TYPE, "1.2", source, SVGRectangle.cm(1, 1, 7, 2),
+                GraphicStyle.builder("gs").build());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.save(out);
+
+        final Map<String, RawZipEntry> hostEntries =
+                RawZipReader.create(out.toByteArray()).readEntries();
+        Assert.assertArrayEquals(
+                RawZipReader.create(this.embedded).readEntries().get("content.xml").inflate(),
+                hostEntries.get("Object 1/content.xml").inflate());
+    }
+
+    @Test
+    public void testZip64Directory() throws IOException {
+        final int count = 0x10010;
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OdsZipOutputStream zipStream = new OdsZipOutputStream(out);
+        for (int i = 0; i < count; i++) {
+            zipStream.putNextEntry(new ZipEntry("e" + i));
+            zipStream.write(i);
+        }
+        zipStream.close();
+
+        final Map<String, RawZipEntry> entries = RawZipReader.create(out.toByteArray())
+                .readEntries();
+        Assert.assertEquals(count, entries.size());
+        Assert.assertArrayEquals(new byte[]{(byte) 0x11}, entries.get("e17").inflate());
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotAnArchive() throws IOException {
+        new OdsArchiveExplorer(FileUtil.create(), new ByteArrayInputStream(new byte[100]))
+                .explore();
+    }
+
+    private void insertObject(final OdsDocument document) throws IOException {
+        InsertHelper.create().insertObject(document, document.addTable("host"), "frame",
+                "Object 1", MEDIA_TYPE, "1.2", new ByteArrayInputStream(this.embedded),
+                SVGRectangle.cm(1, 1, 7, 2), GraphicStyle.builder("gs").build());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveFullListTest {
+    @Test
+    public final void testDense() {
+        final AdaptiveFullList<String> l = AdaptiveFullList.newListWithCapacity(10);
+        Assert.assertEquals(0, l.usedSize());
+        Assert.assertNull(l.get(100));
+
+        for (int i = 0; i < 100; i++) {
+            l.set(i, "v" + i);
+            Assert.assertEquals(i + 1, l.usedSize());
+        }
+        Assert.assertFalse(l.isSparse());
+        Assert.assertEquals(100, l.entryCount());
+        Assert.assertEquals(50, l.keyAt(50));
+        Assert.assertEquals("v50", l.valueAt(50));
+        l.set(100, null);
+        Assert.assertEquals(100, l.usedSize());
+    }
+
+    @Test
+    public final void testRemoveTrail() {
+        final AdaptiveFullList<String> l = AdaptiveFullList.newListWithCapacity(10);
+        l.set(10, "10");
+        l.set(10, "20");
+        l.set(5, "5");
+        l.set(10, null);
+        Assert.assertEquals(6, l.usedSize());
+        l.set(5, null);
+        Assert.assertEquals(0, l.usedSize());
+    }
+
+    @Test
+    public final void testSparse() {
+        final AdaptiveFullList<String> l = AdaptiveFullList.newListWithCapacity(10);
+        l.set(1, "1");
+        l.set(15000, "15000");
+        l.set(300, "300");
+        Assert.assertTrue(l.isSparse());
+        Assert.assertEquals(15001, l.usedSize());
+        Assert.assertEquals(3, l.entryCount());
+        Assert.assertEquals(1, l.keyAt(0));
+        Assert.assertEquals(300, l.keyAt(1));
+        Assert.assertEquals(15000, l.keyAt(2));
+        Assert.assertEquals("300", l.valueAt(1));
+        Assert.assertEquals("15000", l.get(15000));
+        Assert.assertNull(l.get(2));
+
+        l.set(300, "three hundred");
+        Assert.assertEquals("three hundred", l.get(300));
+        l.set(15000, null);
+        Assert.assertEquals(301, l.usedSize());
+        Assert.assertEquals(2, l.entryCount());
+        l.set(2, null);
+        Assert.assertEquals(2, l.entryCount());
+    }
+
+    @Test
+    public final void testSparseToDense() {
+        final AdaptiveFullList<String> l = AdaptiveFullList.newListWithCapacity(10);
+        l.set(1000, "1000");
+        Assert.assertTrue(l.isSparse());
+        for (int i = 0; i < 1000; i++) {
+            l.set(i, "v" + i);
+        }
+        Assert.assertFalse(l.isSparse());
+        Assert.assertEquals(1001, l.usedSize());
+        Assert.assertEquals(1001, l.entryCount());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals("v" + i, l.get(i));
+        }
+        Assert.assertEquals("1000", l.get(1000));
+    }
+
+    @Test
+    public final void testClear() {
+        final AdaptiveFullList<String> l = AdaptiveFullList.newListWithCapacity(10);
+        l.set(1, "1");
+        l.set(1000, "1000");
+        Assert.assertTrue(l.isSparse());
+        l.clear();
+        Assert.assertFalse(l.isSparse());
+        Assert.assertEquals(0, l.usedSize());
+        Assert.assertEquals(0, l.entryCount());
+        Assert.assertNull(l.get(1));
+        l.set(3, "3");
+        Assert.assertEquals(4, l.usedSize());
+        Assert.assertNull(l.get(1));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConcurrentXMLEscaperTest {
+    private XMLEscaper escaper;
+
+    @Before
+    public void setUp() {
+        this.escaper = ConcurrentXMLEscaper.create();
+    }
+
+    @Test
+    public final void testAttrExpression() {
+        Assert.assertEquals("w&lt;&amp; &apos; d&quot;gfgh &gt;",
+                this.escaper.escapeXMLAttribute("w<& ' d\"gfgh >"));
+        Assert.assertEquals("&#x9;&#xA;&#xD;\\uFFFD", this.escaper.escapeXMLAttribute("\t\n\r\b"));
+    }
+
+    @Test
+    public final void testContentExpression() {
+        Assert.assertEquals("w&lt;&amp; ' d\"gfgh &gt;",
+                this.escaper.escapeXMLContent("w<& ' d\"gfgh >"));
+        Assert.assertEquals("\t\n\r\\uFFFD", this.escaper.escapeXMLContent("\t\n\r\b"));
+    }
+
+    @Test
+    public final void testBasicChars() {
+        final String s = "abcde";
+        Assert.assertSame(s, this.escaper.escapeXMLAttribute(s));
+        Assert.assertSame(s, this.escaper.escapeXMLContent(s));
+        Assert.assertEquals("", this.escaper.escapeXMLContent(""));
+    }
+
+    @Test
+    public final void testNull() {
+        Assert.assertNull(this.escaper.escapeXMLAttribute(null));
+        Assert.assertNull(this.escaper.escapeXMLContent(null));
+    }
+
+    @Test
+    public final void testCacheSize() {
+        this.escaper.escapeXMLAttribute("a&b");
+        this.escaper.escapeXMLAttribute("a&b");
+        this.escaper.escapeXMLAttribute("c");
+        this.escaper.escapeXMLContent("a<b");
+        Assert.assertEquals(2, this.escaper.getAttributeCacheSize());
+        Assert.assertEquals(1, this.escaper.getContentCacheSize());
+    }
+
+    @Test
+    public final void testMaxCacheSize() {
+        for (int i = 0; i < FastOdsXMLEscaper.MAX_CACHE_SIZE + 10; i++) {
+            Assert.assertEquals("&lt;" + i, this.escaper.escapeXMLContent("<" + i));
+        }
+        Assert.assertEquals(FastOdsXMLEscaper.MAX_CACHE_SIZE,
+                this.escaper.getContentCacheSize());
+        Assert.assertEquals("&lt;" + FastOdsXMLEscaper.MAX_CACHE_SIZE,
+                this.escaper.escapeXMLContent("<" + FastOdsXMLEscaper.MAX_CACHE_SIZE));
+    }
+
+    @Test
+    public final void testSameAsFastOdsEscaper() {
+        final XMLEscaper reference = FastOdsXMLEscaper.create();
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append((char) i);
+            final String s = sb.toString();
+            Assert.assertEquals(reference.escapeXMLAttribute(s), this.escaper.escapeXMLAttribute(s));
+            Assert.assertEquals(reference.escapeXMLContent(s), this.escaper.escapeXMLContent(s));
+        }
+    }
+
+    @Test
+    public final void testThreads() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        for (int t = 0; t < 8; t++) {
+            final int threadIndex = t;
+            futures.add(executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    for (int i = 0; i < 10000; i++) {
+                        final int n = i % 1000 + threadIndex;
+                        final String escaped = ConcurrentXMLEscaperTest.this.escaper
+                                .escapeXMLContent("<" + n + "&" + n + ">");
+                        if (!escaped.equals("&lt;" + n + "&amp;" + n + "&gt;")) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }));
+        }
+        for (final Future<Boolean> future : futures) {
+            Assert.assertTrue(future.get());
+        }
+        executor.shutdown();
+        Assert.assertEquals(1007, this.escaper.getContentCacheSize());
+    }
+}
@@ -70,6 +70,29 @@ public class FastOdsXMLEscaperTest {
         this.assertEqualsToAttrEscaped("&lt; 0", "< 0");
     }
 
+    @Test
+    public final void testCacheSize() {
+        Assert.assertEquals(0, this.escaper.getAttributeCacheSize());
+        Assert.assertEquals(0, this.escaper.getContentCacheSize());
+        this.escaper.escapeXMLAttribute("a&b");
+        this.escaper.escapeXMLAttribute("a&b");
+        this.escaper.escapeXMLAttribute("c");
+        this.escaper.escapeXMLContent("a<b");
+        Assert.assertEquals(2, this.escaper.getAttributeCacheSize());
+        Assert.assertEquals(1, this.escaper.getContentCacheSize());
+    }
+
+    @Test
+    public final void testMaxCacheSize() {
+        for (int i = 0; i < FastOdsXMLEscaper.MAX_CACHE_SIZE + 10; i++) {
+            Assert.assertEquals("&lt;" + i, this.escaper.escapeXMLContent("<" + i));
+        }
+        Assert.assertEquals(FastOdsXMLEscaper.MAX_CACHE_SIZE,
+                this.escaper.getContentCacheSize());
+        Assert.assertEquals("&lt;" + FastOdsXMLEscaper.MAX_CACHE_SIZE,
+                this.escaper.escapeXMLContent("<" + FastOdsXMLEscaper.MAX_CACHE_SIZE));
+    }
+
     @Test
     public final void testAttrNullString() {
         Assert.assertNull(this.escaper.escapeXMLAttribute(null));
@@ -28,8 +28,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.powermock.api.easymock.PowerMock;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -137,6 +140,24 @@ public class MultiContainerTest {
         Assert.assertEquals(m, this.container.getValueByKey(Dest.CONTENT_AUTOMATIC_STYLES));
     }
 
+    @Test
+    public final void testConcurrentOrder() {
+        final MultiContainer<String, Dest, Integer> container =
+                MultiContainer.createConcurrent(this.logger, Dest.class);
+        Assert.assertTrue(container.add("c", Dest.CONTENT_AUTOMATIC_STYLES, 3));
+        Assert.assertTrue(container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, 1));
+        Assert.assertTrue(container.add("b", Dest.CONTENT_AUTOMATIC_STYLES, 2));
+        Assert.assertTrue(container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, 1));
+        container.setMode(Container.Mode.CREATE);
+        Assert.assertFalse(container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, 1));
+
+        final List<Integer> values = new ArrayList<Integer>();
+        for (final Integer value : container.getValues(Dest.CONTENT_AUTOMATIC_STYLES)) {
+            values.add(value);
+        }
+        Assert.assertEquals(Arrays.asList(1, 2, 3), values);
+    }
+
     public enum Dest {
         CONTENT_AUTOMATIC_STYLES, STYLES_AUTOMATIC_STYLES, STYLES_COMMON_STYLES,
     }
@@ -0,0 +1,254 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+public class OdsZipOutputStreamTest {
+    private static final String TEXT = "some long text that can be zipped some long text that " +
+            "can be zipped some long text that can be zipped €";
+
+    private ByteArrayOutputStream out;
+    private OdsZipOutputStream zipStream;
+
+    @Before
+    public void setUp() {
+        this.out = new ByteArrayOutputStream();
+        this.zipStream = new OdsZipOutputStream(this.out);
+    }
+
+    @Test
+    public void testEntries() throws IOException {
+        final byte[] mimetype = "application/vnd.oasis.opendocument.spreadsheet"
+                .getBytes(ZipUTF8Writer.UTF_8);
+        final byte[] text = TEXT.getBytes(ZipUTF8Writer.UTF_8);
+        this.zipStream.putNextEntry(OdsZipOutputStream.createStoredEntry("mimetype", mimetype));
+        this.zipStream.write(mimetype);
+        this.zipStream.putNextEntry(new ZipEntry("content.xml"));
+        this.zipStream.write(text);
+        final ZipEntry storedEntry = new ZipEntry("Pictures/é.png");
+        storedEntry.setMethod(ZipEntry.STORED);
+        this.zipStream.putNextEntry(storedEntry);
+        this.zipStream.write(text);
+        this.zipStream.setLevel(Deflater.NO_COMPRESSION);
+        this.zipStream.putNextEntry(new ZipEntry("styles.xml"));
+        this.zipStream.write(text);
+        this.zipStream.writeRawEntry(this.createDeflatedEntry("raw.xml", text),
+                this.deflate(text));
+        this.zipStream.close();
+
+        final byte[] bytes = this.out.toByteArray();
+        Assert.assertEquals("mimetype", new String(bytes, 30, 8, ZipUTF8Writer.UTF_8));
+        Assert.assertEquals(ZipEntry.STORED, bytes[8]);
+        Assert.assertEquals("application/vnd.oasis.opendocument.spreadsheet",
+                new String(bytes, 38, mimetype.length, ZipUTF8Writer.UTF_8));
+
+        final ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(bytes));
+        this.assertNextEntry(zis, "mimetype", ZipEntry.STORED, mimetype);
+        this.assertNextEntry(zis, "content.xml", ZipEntry.DEFLATED, text);
+        this.assertNextEntry(zis, "Pictures/é.png", ZipEntry.STORED, text);
+        this.assertNextEntry(zis, "styles.xml", ZipEntry.DEFLATED, text);
+        this.assertNextEntry(zis, "raw.xml", ZipEntry.DEFLATED, text);
+        Assert.assertNull(zis.getNextEntry());
+    }
+
+    @Test
+    public void testCentralDirectory() throws IOException {
+        final byte[] text = TEXT.getBytes(ZipUTF8Writer.UTF_8);
+        this.zipStream.putNextEntry(new ZipEntry("a"));
+        this.zipStream.write(text);
+        this.zipStream.putNextEntry(OdsZipOutputStream.createStoredEntry("b", text));
+        this.zipStream.write(text);
+        this.zipStream.setComment("comment");
+        this.zipStream.close();
+
+        final ZipFile zipFile = this.toZipFile();
+        try {
+            Assert.assertEquals(2, zipFile.size());
+            Assert.assertEquals("comment", zipFile.getComment());
+            final ZipEntry entry = zipFile.getEntry("b");
+            Assert.assertEquals(ZipEntry.STORED, entry.getMethod());
+            Assert.assertArrayEquals(text, this.read(zipFile.getInputStream(entry)));
+            Assert.assertArrayEquals(text,
+                    this.read(zipFile.getInputStream(zipFile.getEntry("a"))));
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    @Test
+    public void testZip64EntryCount() throws IOException {
+        final int count = 0x10010;
+        for (int i = 0; i < count; i++) {
+            this.zipStream.putNextEntry(new ZipEntry("e" + i));
+        }
+        this.zipStream.close();
+
+        final ZipFile zipFile = this.toZipFile();
+        try {
+            Assert.assertEquals(count, zipFile.size());
+            int n = 0;
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                entries.nextElement();
+                n++;
+            }
+            Assert.assertEquals(count, n);
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    @Test(expected = ZipException.class)
+    public void testBadStoredCrc() throws IOException {
+        final ZipEntry entry = OdsZipOutputStream.createStoredEntry("a", new byte[]{1, 2});
+        this.zipStream.putNextEntry(entry);
+        this.zipStream.write(new byte[]{1, 3});
+        this.zipStream.closeEntry();
+    }
+
+    @Test(expected = ZipException.class)
+    public void testRawEntryWithoutCrc() throws IOException {
+        final ZipEntry entry = new ZipEntry("a");
+        entry.setMethod(ZipEntry.DEFLATED);
+        this.zipStream.writeRawEntry(entry, new byte[]{1, 2});
+    }
+
+    @Test
+    public void testRawEntryFromStream() throws IOException {
+        final byte[] text = TEXT.getBytes(ZipUTF8Writer.UTF_8);
+        final byte[] compressed = this.deflate(text);
+        final ZipEntry entry = this.createDeflatedEntry("raw.xml", text);
+        entry.setCompressedSize(compressed.length);
+        this.zipStream.writeRawEntry(entry, new ByteArrayInputStream(compressed));
+        this.zipStream.close();
+
+        final ZipInputStream zis =
+                new ZipInputStream(new ByteArrayInputStream(this.out.toByteArray()));
+        this.assertNextEntry(zis, "raw.xml", ZipEntry.DEFLATED, text);
+        Assert.assertNull(zis.getNextEntry());
+    }
+
+    @Test(expected = ZipException.class)
+    public void testTruncatedRawEntry() throws IOException {
+        final byte[] text = TEXT.getBytes(ZipUTF8Writer.UTF_8);
+        final byte[] compressed = this.deflate(text);
+        final ZipEntry entry = this.createDeflatedEntry("raw.xml", text);
+        entry.setCompressedSize(compressed.length + 1);
+        this.zipStream.writeRawEntry(entry, new ByteArrayInputStream(compressed));
+    }
+
+    @Test(expected = ZipException.class)
+    public void testWriteWithoutEntry() throws IOException {
+        this.zipStream.write(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLevel99() {
+        this.zipStream.setLevel(99);
+    }
+
+    @Test
+    public void testBuilder() throws IOException {
+        final ZipUTF8Writer writer = ZipUTF8WriterImpl.builder().odsZip().build(this.out);
+        Assert.assertTrue(writer instanceof OdsZipUTF8Writer);
+        writer.putNextEntry(new ZipEntry("a"));
+        writer.append(TEXT);
+        writer.closeEntry();
+        writer.close();
+
+        final ZipInputStream zis =
+                new ZipInputStream(new ByteArrayInputStream(this.out.toByteArray()));
+        this.assertNextEntry(zis, "a", ZipEntry.DEFLATED, TEXT.getBytes(ZipUTF8Writer.UTF_8));
+    }
+
+    private ZipEntry createDeflatedEntry(final String name, final byte[] data) {
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.DEFLATED);
+        entry.setSize(data.length);
+        entry.setCrc(crc.getValue());
+        return entry;
+    }
+
+    private byte[] deflate(final byte[] data) {
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        deflater.setInput(data);
+        deflater.finish();
+        final byte[] buffer = new byte[1024];
+        final int len = deflater.deflate(buffer);
+        deflater.end();
+        final byte[] compressed = new byte[len];
+        System.arraycopy(buffer, 0, compressed, 0, len);
+        return compressed;
+    }
+
+    private void assertNextEntry(final ZipInputStream zis, final String name, final int method,
+                                 final byte[] expected) throws IOException {
+        final ZipEntry entry = zis.getNextEntry();
+        Assert.assertEquals(name, entry.getName());
+        Assert.assertEquals(method, entry.getMethod());
+        Assert.assertArrayEquals(expected, this.read(zis));
+    }
+
+    private byte[] read(final InputStream is) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int len = is.read(buffer);
+        while (len != -1) {
+            bytes.write(buffer, 0, len);
+            len = is.read(buffer);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ZipFile toZipFile() throws IOException {
+        final File file = File.createTempFile("fastods-zip", ".zip");
+        file.deleteOnExit();
+        final FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(this.out.toByteArray());
+        } finally {
+            fos.close();
+        }
+        return new ZipFile(file);
+    }
+}
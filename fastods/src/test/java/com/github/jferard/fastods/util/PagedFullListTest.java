@@ -0,0 +1,108 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class PagedFullListTest {
+    @Test
+    public final void testSetAndGet() {
+        final PagedFullList<String> l = PagedFullList.newListWithCapacity(10);
+        Assert.assertEquals(0, l.usedSize());
+        Assert.assertNull(l.get(100000));
+
+        l.set(5000000, "far");
+        Assert.assertEquals(5000001, l.usedSize());
+        Assert.assertEquals("far", l.get(5000000));
+        Assert.assertNull(l.get(4999999));
+        Assert.assertEquals(1, l.count());
+
+        for (int i = 0; i < 3000; i++) {
+            l.set(i, "v" + i);
+        }
+        Assert.assertEquals("v2999", l.get(2999));
+        Assert.assertEquals(3001, l.count());
+    }
+
+    @Test
+    public final void testRemoveTrail() {
+        final PagedFullList<String> l = PagedFullList.newListWithCapacity(10);
+        l.set(10, "10");
+        l.set(10, "20");
+        l.set(5, "5");
+        l.set(10, null);
+        Assert.assertEquals(6, l.usedSize());
+
+        l.set(100000, "100000");
+        l.set(100000, null);
+        Assert.assertEquals(6, l.usedSize());
+        l.set(5, null);
+        Assert.assertEquals(0, l.usedSize());
+        Assert.assertEquals(0, l.count());
+    }
+
+    @Test
+    public final void testNextAllocatedIndex() {
+        final PagedFullList<String> l = PagedFullList.newListWithCapacity(10);
+        l.set(1, "1");
+        l.set(5000, "5000");
+        Assert.assertEquals(0, l.nextAllocatedIndex(0));
+        Assert.assertEquals(1000, l.nextAllocatedIndex(1000));
+        Assert.assertEquals(4096, l.nextAllocatedIndex(1024));
+        Assert.assertEquals(4500, l.nextAllocatedIndex(4500));
+        Assert.assertEquals(5001, l.nextAllocatedIndex(5120));
+    }
+
+    @Test
+    public final void testFree() {
+        final PagedFullList<String> l = PagedFullList.newListWithCapacity(10);
+        for (int i = 0; i < 3000; i++) {
+            l.set(i, "v" + i);
+        }
+        l.free(10, 2048);
+        Assert.assertEquals(3000, l.usedSize());
+        Assert.assertEquals(10 + 952, l.count());
+        Assert.assertEquals("v9", l.get(9));
+        Assert.assertNull(l.get(10));
+        Assert.assertNull(l.get(2047));
+        Assert.assertEquals("v2048", l.get(2048));
+        Assert.assertEquals(2048, l.nextAllocatedIndex(1024));
+
+        l.free(0, 3000);
+        Assert.assertEquals(3000, l.usedSize());
+        Assert.assertEquals(0, l.count());
+        Assert.assertEquals(3000, l.nextAllocatedIndex(0));
+    }
+
+    @Test
+    public final void testSubList() {
+        final PagedFullList<String> l = PagedFullList.newListWithCapacity(10);
+        l.set(1, "1");
+        l.set(3, "3");
+        Assert.assertEquals(Arrays.asList(null, "1", null, "3"), l.subList(0, 4));
+    }
+}
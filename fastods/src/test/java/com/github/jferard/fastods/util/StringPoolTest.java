@@ -0,0 +1,78 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StringPoolTest {
+    private StringPool pool;
+
+    @Before
+    public void setUp() {
+        this.pool = StringPool.create(FastOdsXMLEscaper.create(), 2);
+    }
+
+    @Test
+    public final void testIntern() {
+        final String a = new String("a&b");
+        Assert.assertSame(a, this.pool.intern(a));
+        Assert.assertSame(a, this.pool.intern(new String("a&b")));
+        Assert.assertEquals(1, this.pool.size());
+        Assert.assertNull(this.pool.intern(null));
+    }
+
+    @Test
+    public final void testFull() {
+        this.pool.intern("a");
+        this.pool.intern("b");
+        final String c = new String("c");
+        Assert.assertSame(c, this.pool.intern(c));
+        Assert.assertNotSame(c, this.pool.intern(new String("c")));
+        Assert.assertEquals(2, this.pool.size());
+    }
+
+    @Test
+    public final void testEscape() {
+        final String a = this.pool.intern("a<b");
+        final String escaped = this.pool.escapeXMLAttribute(a);
+        Assert.assertEquals("a&lt;b", escaped);
+        Assert.assertSame(escaped, this.pool.escapeXMLAttribute(new String("a<b")));
+        Assert.assertEquals("c&amp;d", this.pool.escapeXMLAttribute("c&d"));
+        Assert.assertEquals("\"e\" &amp;", this.pool.escapeXMLContent("\"e\" &"));
+        Assert.assertNull(this.pool.escapeXMLAttribute(null));
+    }
+
+    @Test
+    public final void testXMLUtil() {
+        final XMLUtil util = XMLUtil.createPooled(10, true);
+        final String a = new String("a");
+        Assert.assertSame(a, util.internStringValue(a));
+        Assert.assertSame(a, util.internStringValue(new String("a")));
+
+        final String b = new String("b");
+        Assert.assertSame(b, XMLUtil.create().internStringValue(b));
+    }
+}
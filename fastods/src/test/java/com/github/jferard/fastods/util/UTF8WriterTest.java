@@ -0,0 +1,94 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2019 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public class UTF8WriterTest {
+    private static final String TEXT = "a<é>€😀\"z";
+
+    private ByteArrayOutputStream out;
+    private UTF8Writer writer;
+
+    @Before
+    public void setUp() {
+        this.out = new ByteArrayOutputStream();
+        this.writer = new UTF8Writer(this.out, 1);
+    }
+
+    @Test
+    public void testString() throws IOException {
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            expected.append(TEXT).append(i);
+        }
+        this.writer.append(expected.toString());
+        this.writer.append(expected);
+        this.writer.write(expected.toString(), 3, 10);
+        this.writer.flush();
+
+        final String s = expected.toString();
+        Assert.assertArrayEquals((s + s + s.substring(3, 13)).getBytes(ZipUTF8Writer.UTF_8),
+                this.out.toByteArray());
+    }
+
+    @Test
+    public void testChars() throws IOException {
+        for (int i = 0; i < TEXT.length(); i++) {
+            this.writer.append(TEXT.charAt(i));
+        }
+        this.writer.append(new StringBuffer(TEXT), 1, 7);
+        this.writer.close();
+
+        Assert.assertArrayEquals((TEXT + TEXT.substring(1, 7)).getBytes(ZipUTF8Writer.UTF_8),
+                this.out.toByteArray());
+    }
+
+    @Test
+    public void testToken() throws IOException {
+        final XMLToken token = XMLToken.create("<table:table-cell office:value=\"é\"");
+        this.writer.append("x");
+        token.appendTo(this.writer);
+        this.writer.append(token);
+        this.writer.flush();
+
+        Assert.assertEquals("x" + token + token, this.out.toString("UTF-8"));
+        final StringBuilder sb = new StringBuilder();
+        token.appendTo(sb);
+        Assert.assertEquals(token.toString(), sb.toString());
+    }
+
+    @Test
+    public void testUnpairedSurrogates() throws IOException {
+        this.writer.append("a\uD83Db\uDE00c\uD83D");
+        this.writer.close();
+
+        Assert.assertEquals("a?b?c?", this.out.toString("UTF-8"));
+    }
+}